@@ -4,11 +4,15 @@
  */
 package org.geoserver.backuprestore;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.geoserver.platform.resource.Resource;
 import org.geotools.api.filter.Filter;
@@ -211,6 +215,22 @@ public String getProgress() {
         return progress.toString();
     }
 
+    /**
+     * Returns the throughput of the executed steps, as items written per second, for the steps that wrote any item.
+     * Running steps are measured up to now.
+     */
+    public Map<String, Double> getThroughput() {
+        Map<String, Double> throughput = new LinkedHashMap<>();
+        for (StepExecution step : delegate.getStepExecutions()) {
+            if (step.getWriteCount() > 0 && step.getStartTime() != null) {
+                LocalDateTime end = step.getEndTime() != null ? step.getEndTime() : LocalDateTime.now();
+                long millis = Math.max(1, Duration.between(step.getStartTime(), end).toMillis());
+                throughput.put(step.getStepName(), Math.round(step.getWriteCount() * 10000d / millis) / 10d);
+            }
+        }
+        return throughput;
+    }
+
     /** @return the archiveFile */
     public Resource getArchiveFile() {
         return archiveFile;
@@ -76,6 +76,9 @@ public class Backup implements DisposableBean, ApplicationContextAware, Applicat
 
     public static final String PARAM_SKIP_GWC = "BK_SKIP_GWC";
 
+    /** Number of workspaces backed up or restored in parallel, defaults to the number of available processors */
+    public static final String PARAM_PARALLELISM = "BK_PARALLELISM";
+
     static Logger LOGGER = Logging.getLogger(Backup.class);
 
     /* Job Parameters Keys **/
@@ -666,6 +669,7 @@ private void parseParams(final Hints params, JobParametersBuilder paramsBuilder)
                         switch (k) {
                             case PARAM_EXCLUDE_FILE_PATH:
                             case PARAM_PASSWORD_TOKENS:
+                            case PARAM_PARALLELISM:
                                 paramsBuilder.addString(k, (String) param.getValue());
                                 break;
                             case PARAM_PARAMETERIZE_PASSWDS:
@@ -105,6 +105,10 @@ public void afterJob(JobExecution jobExecution) {
                 LOGGER.fine(
                         "Executions Summary : " + backupFacade.getJobOperator().getSummary(executionId));
 
+                if (backupExecution != null) {
+                    LOGGER.info("Backup " + executionId + " throughput (items/s): " + backupExecution.getThroughput());
+                }
+
                 if (jobExecution.getStatus() == BatchStatus.COMPLETED) {
                     JobParameters jobParameters = backupExecution.getJobParameters();
                     Resource sourceFolder = Resources.fromURL(jobParameters.getString(Backup.PARAM_OUTPUT_FILE_PATH));
@@ -155,6 +155,11 @@ public void afterJob(JobExecution jobExecution) {
                 LOGGER.fine(
                         "Executions Summary : " + backupFacade.getJobOperator().getSummary(executionId));
 
+                if (restoreExecution != null) {
+                    LOGGER.info(
+                            "Restore " + executionId + " throughput (items/s): " + restoreExecution.getThroughput());
+                }
+
                 if (jobExecution.getStatus() == BatchStatus.COMPLETED) {
                     cleanUp();
                 }
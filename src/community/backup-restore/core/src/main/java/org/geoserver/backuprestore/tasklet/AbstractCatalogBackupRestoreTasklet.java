@@ -10,12 +10,20 @@
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geoserver.backuprestore.Backup;
@@ -46,10 +54,13 @@
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.StoppableTasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.Assert;
 
 /**
@@ -181,6 +192,8 @@ public AbstractCatalogBackupRestoreTasklet(Backup backupFacade) {
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         super.retrieveInterstepData(chunkContext.getStepContext().getStepExecution());
+        this.execution = chunkContext.getStepContext().getStepExecution();
+        this.stopped = false;
         JobExecution jobExecution =
                 chunkContext.getStepContext().getStepExecution().getJobExecution();
 
@@ -236,6 +249,143 @@ public RepeatStatus call() throws Exception {
     abstract RepeatStatus doExecute(StepContribution contribution, ChunkContext chunkContext, JobExecution jobExecution)
             throws Exception;
 
+    /** An action performed on a single workspace, see {@link #forEachWorkspace(List, String, WorkspaceAction)} */
+    @FunctionalInterface
+    protected interface WorkspaceAction {
+        void run(WorkspaceInfo ws) throws Exception;
+    }
+
+    /**
+     * Performs the action on each workspace, partitioning the workspaces among up to {@link Backup#PARAM_PARALLELISM}
+     * threads. The action is responsible for filtering out the workspaces, and must only touch the resources of the
+     * workspace it has been called for.
+     *
+     * <p>The names of the completed workspaces are recorded in the step execution context under the given key, so that
+     * restarting a failed or stopped step skips the workspaces already completed.
+     *
+     * @param workspaces the workspaces to be processed
+     * @param checkpointKey the step execution context key tracking the completed workspaces
+     * @param action the action to be performed on each workspace
+     */
+    protected void forEachWorkspace(List<WorkspaceInfo> workspaces, String checkpointKey, WorkspaceAction action)
+            throws Exception {
+        forEachWorkspace(execution, workspaces, checkpointKey, action);
+    }
+
+    /** Same as {@link #forEachWorkspace(List, String, WorkspaceAction)}, for the given step execution */
+    void forEachWorkspace(
+            StepExecution stepExecution, List<WorkspaceInfo> workspaces, String checkpointKey, WorkspaceAction action)
+            throws Exception {
+        final ExecutionContext context =
+                stepExecution != null ? stepExecution.getExecutionContext() : new ExecutionContext();
+        final Set<String> completed = ConcurrentHashMap.newKeySet();
+        if (context.get(checkpointKey) instanceof Collection<?> names) {
+            names.forEach(name -> completed.add(String.valueOf(name)));
+        }
+
+        List<Callable<Void>> jobs = new ArrayList<>();
+        for (WorkspaceInfo ws : workspaces) {
+            if (completed.contains(ws.getName())) {
+                continue;
+            }
+            jobs.add(() -> {
+                if (!isStopping(stepExecution)) {
+                    action.run(ws);
+                    completed.add(ws.getName());
+                    synchronized (context) {
+                        context.put(checkpointKey, new ArrayList<>(completed));
+                    }
+                }
+                return null;
+            });
+        }
+        if (jobs.size() < workspaces.size()) {
+            LOGGER.info("Resuming from checkpoint, skipping " + (workspaces.size() - jobs.size())
+                    + " workspaces completed by a previous execution");
+        }
+
+        long start = System.currentTimeMillis();
+        int threads = Math.min(getParallelism(stepExecution), jobs.size());
+        if (threads < 2) {
+            for (Callable<Void> job : jobs) {
+                job.call();
+            }
+        } else {
+            invokeAll(threads, jobs);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            LOGGER.fine("Processed " + jobs.size() + " workspaces on " + Math.max(1, threads) + " threads in " + elapsed
+                    + " ms (" + (jobs.size() * 1000 / elapsed) + " workspaces/s)");
+        }
+    }
+
+    private boolean isStopping(StepExecution stepExecution) {
+        if (stopped) {
+            return true;
+        }
+        return stepExecution != null
+                && (stepExecution.isTerminateOnly() || stepExecution.getJobExecution().isStopping());
+    }
+
+    private static int getParallelism(StepExecution stepExecution) {
+        String value = stepExecution != null
+                ? stepExecution.getJobParameters().getString(Backup.PARAM_PARALLELISM)
+                : null;
+        if (value != null) {
+            try {
+                return Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid value for " + Backup.PARAM_PARALLELISM + ": " + value);
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Runs the jobs on a pool of threads sharing the current authentication, waits for all of them and rethrows the
+     * first failure, if any
+     */
+    private static void invokeAll(int threads, List<Callable<Void>> jobs) throws Exception {
+        final Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        List<Callable<Void>> authenticated = new ArrayList<>(jobs.size());
+        for (Callable<Void> job : jobs) {
+            authenticated.add(() -> {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                try {
+                    return job.call();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Backup/Restore workspaces #" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Exception failure = null;
+            for (Future<Void> future : executor.invokeAll(authenticated)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Error error) throw error;
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception cause ? cause : e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /** */
     @SuppressWarnings("unchecked")
     public void backupRestoreAdditionalResources(ResourceStore resourceStore, Resource baseDir) throws Exception {
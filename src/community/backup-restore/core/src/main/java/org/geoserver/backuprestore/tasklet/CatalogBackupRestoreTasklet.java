@@ -61,6 +61,11 @@ public class CatalogBackupRestoreTasklet extends AbstractCatalogBackupRestoreTas
 
     private static final String GWC_GEOSERVER_CONFIG_PERSISTER = "gwcGeoServervConfigPersister";
 
+    // step execution context keys of the workspaces already backed up / restored
+    private static final String BACKUP_WORKSPACES_CHECKPOINT = "backup.workspaces.completed";
+
+    private static final String RESTORE_WORKSPACES_CHECKPOINT = "restore.workspaces.completed";
+
     // whether existing resources should be deleted
     private boolean purge = true;
 
@@ -149,39 +154,40 @@ private void doBackup(
                 doWrite(getCatalog().getDefaultWorkspace(), targetWorkspacesFolder, "default.xml");
             }
 
-            // Store Workspace Specific Settings and Services
-            for (WorkspaceInfo ws : getCatalog().getWorkspaces()) {
-                if (!filteredResource(ws, true)) {
-                    if (geoserver.getSettings(ws) != null) {
-                        doWrite(
-                                geoserver.getSettings(ws),
-                                BackupUtils.dir(targetWorkspacesFolder, ws.getName()),
-                                "settings.xml");
-                    }
+            // Store Workspace Specific Settings and Services, in parallel partitions
+            forEachWorkspace(getCatalog().getWorkspaces(), BACKUP_WORKSPACES_CHECKPOINT, ws -> {
+                if (filteredResource(ws, true)) {
+                    return;
+                }
+                if (geoserver.getSettings(ws) != null) {
+                    doWrite(
+                            geoserver.getSettings(ws),
+                            BackupUtils.dir(targetWorkspacesFolder, ws.getName()),
+                            "settings.xml");
+                }
 
-                    if (geoserver.getServices(ws) != null) {
-                        for (ServiceInfo service : geoserver.getServices(ws)) {
-                            doWrite(service, targetWorkspacesFolder, ws.getName());
-                        }
+                if (geoserver.getServices(ws) != null) {
+                    for (ServiceInfo service : geoserver.getServices(ws)) {
+                        doWrite(service, targetWorkspacesFolder, ws.getName());
                     }
+                }
 
-                    // Backup other configuration bits, like images, palettes, user projections and
-                    // so on...
-                    GeoServerDataDirectory wsDd = new GeoServerDataDirectory(
-                            dd.get(Paths.path("workspaces", ws.getName())).dir());
-                    backupRestoreAdditionalResources(wsDd.getResourceStore(), targetWorkspacesFolder.get(ws.getName()));
-
-                    // Backup Style SLDs
-                    for (StyleInfo sty : getCatalog().getStylesByWorkspace(ws)) {
-                        Resource styResource = wsDd.get(Paths.path("styles", sty.getFilename()));
-                        if (Resources.exists(styResource)) {
-                            Resources.copy(
-                                    styResource.file(),
-                                    BackupUtils.dir(targetWorkspacesFolder.get(ws.getName()), "styles"));
-                        }
+                // Backup other configuration bits, like images, palettes, user projections and
+                // so on...
+                GeoServerDataDirectory wsDd = new GeoServerDataDirectory(
+                        dd.get(Paths.path("workspaces", ws.getName())).dir());
+                backupRestoreAdditionalResources(wsDd.getResourceStore(), targetWorkspacesFolder.get(ws.getName()));
+
+                // Backup Style SLDs
+                for (StyleInfo sty : getCatalog().getStylesByWorkspace(ws)) {
+                    Resource styResource = wsDd.get(Paths.path("styles", sty.getFilename()));
+                    if (Resources.exists(styResource)) {
+                        Resources.copy(
+                                styResource.file(),
+                                BackupUtils.dir(targetWorkspacesFolder.get(ws.getName()), "styles"));
                     }
                 }
-            }
+            });
 
             if (!filterIsValid()) {
                 // Backup additional stuff only when performing a FULL backup
@@ -739,133 +745,134 @@ private void restoreWorkSpacesAndLayers(Resource sourceRestoreFolder, Resource w
             doWrite(getCatalog().getDefaultWorkspace(), workspaces, "default.xml");
         }
 
-        // - Restore Workspaces/Namespaces definitions and settings
-        for (WorkspaceInfo ws : getCatalog().getWorkspaces()) {
-            if (!filteredResource(ws, true)) {
-                // Restore Workspace and Namespace configuration
-                // - Prepare Folder
-                Resource wsFolder = BackupUtils.dir(workspaces, ws.getName());
-                if (getFilters().length == 1 || getFilters()[1] == null) {
-                    Files.delete(workspaces.get(ws.getName()).dir());
-
-                    doWrite(getCatalog().getNamespaceByPrefix(ws.getName()), wsFolder, "namespace.xml");
-                    doWrite(ws, wsFolder, "workspace.xml");
-                }
+        // - Restore Workspaces/Namespaces definitions and settings, in parallel partitions
+        forEachWorkspace(getCatalog().getWorkspaces(), RESTORE_WORKSPACES_CHECKPOINT, ws -> {
+            if (filteredResource(ws, true)) {
+                return;
+            }
+            // Restore Workspace and Namespace configuration
+            // - Prepare Folder
+            Resource wsFolder = BackupUtils.dir(workspaces, ws.getName());
+            if (getFilters().length == 1 || getFilters()[1] == null) {
+                Files.delete(workspaces.get(ws.getName()).dir());
+
+                doWrite(getCatalog().getNamespaceByPrefix(ws.getName()), wsFolder, "namespace.xml");
+                doWrite(ws, wsFolder, "workspace.xml");
+            }
 
-                // Restore DataStores/CoverageStores
-                for (DataStoreInfo ds : getCatalog().getStoresByWorkspace(ws.getName(), DataStoreInfo.class)) {
-                    if (!filteredResource(ds, ws, true, DataStoreInfo.class)) {
-                        // - Prepare Folder
-                        Resource dsFolder = BackupUtils.dir(wsFolder, ds.getName());
+            // Restore DataStores/CoverageStores
+            for (DataStoreInfo ds : getCatalog().getStoresByWorkspace(ws.getName(), DataStoreInfo.class)) {
+                if (!filteredResource(ds, ws, true, DataStoreInfo.class)) {
+                    // - Prepare Folder
+                    Resource dsFolder = BackupUtils.dir(wsFolder, ds.getName());
 
-                        if (getFilters().length == 3 && getFilters()[2] == null) {
-                            Files.delete(dsFolder.dir());
-                            ds.setWorkspace(ws);
-                            doWrite(ds, dsFolder, "datastore.xml");
-                        }
+                    if (getFilters().length == 3 && getFilters()[2] == null) {
+                        Files.delete(dsFolder.dir());
+                        ds.setWorkspace(ws);
+                        doWrite(ds, dsFolder, "datastore.xml");
+                    }
 
-                        // Restore Resources
-                        for (FeatureTypeInfo ft : getCatalog().getFeatureTypesByDataStore(ds)) {
-                            if (!filteredResource(ft, ws, true, FeatureTypeInfo.class)) {
-                                // - Prepare Folder
-                                Files.delete(dsFolder.get(ft.getName()).dir());
-                                Resource ftFolder = BackupUtils.dir(dsFolder, ft.getName());
-
-                                doWrite(ft, ftFolder, "featuretype.xml");
-
-                                // Restore Layers
-                                for (LayerInfo ly : getCatalog().getLayers(ft)) {
-                                    if (!filteredResource(ly, ws, true, LayerInfo.class)) {
-                                        doWrite(ly, ftFolder, "layer.xml");
-
-                                        Resource ftResource = sourceRestoreFolder.get(Paths.path(
-                                                "workspaces/" + ws.getName() + "/" + ds.getName(), ft.getName()));
-                                        List<Resource> resources = Resources.list(
-                                                ftResource,
-                                                new Filter<Resource>() {
-                                                    @Override
-                                                    public boolean accept(Resource res) {
-                                                        if (res.getType() == Type.RESOURCE
-                                                                && !res.name().endsWith(".xml")) {
-                                                            return true;
-                                                        }
-                                                        return false;
+                    // Restore Resources
+                    for (FeatureTypeInfo ft : getCatalog().getFeatureTypesByDataStore(ds)) {
+                        if (!filteredResource(ft, ws, true, FeatureTypeInfo.class)) {
+                            // - Prepare Folder
+                            Files.delete(dsFolder.get(ft.getName()).dir());
+                            Resource ftFolder = BackupUtils.dir(dsFolder, ft.getName());
+
+                            doWrite(ft, ftFolder, "featuretype.xml");
+
+                            // Restore Layers
+                            for (LayerInfo ly : getCatalog().getLayers(ft)) {
+                                if (!filteredResource(ly, ws, true, LayerInfo.class)) {
+                                    doWrite(ly, ftFolder, "layer.xml");
+
+                                    Resource ftResource = sourceRestoreFolder.get(Paths.path(
+                                            "workspaces/" + ws.getName() + "/" + ds.getName(), ft.getName()));
+                                    List<Resource> resources = Resources.list(
+                                            ftResource,
+                                            new Filter<Resource>() {
+                                                @Override
+                                                public boolean accept(Resource res) {
+                                                    if (res.getType() == Type.RESOURCE
+                                                            && !res.name().endsWith(".xml")) {
+                                                        return true;
                                                     }
-                                                },
-                                                true);
+                                                    return false;
+                                                }
+                                            },
+                                            true);
 
-                                        for (Resource resource : resources) {
-                                            Resources.copy(resource.in(), ftFolder, resource.name());
-                                        }
+                                    for (Resource resource : resources) {
+                                        Resources.copy(resource.in(), ftFolder, resource.name());
                                     }
                                 }
                             }
                         }
                     }
                 }
+            }
 
-                for (CoverageStoreInfo cs : getCatalog().getStoresByWorkspace(ws.getName(), CoverageStoreInfo.class)) {
-                    if (!filteredResource(cs, ws, true, CoverageStoreInfo.class)) {
-                        // - Prepare Folder
-                        Resource csFolder = BackupUtils.dir(wsFolder, cs.getName());
-
-                        cs.setWorkspace(ws);
-
-                        doWrite(cs, csFolder, "coveragestore.xml");
-
-                        // Restore Resources
-                        for (CoverageInfo ci : getCatalog().getCoveragesByCoverageStore(cs)) {
-                            if (!filteredResource(ci, ws, true, CoverageInfo.class)) {
-                                // - Prepare Folder
-                                Files.delete(csFolder.get(ci.getName()).dir());
-                                Resource ciFolder = BackupUtils.dir(csFolder, ci.getName());
-
-                                doWrite(ci, ciFolder, "coverage.xml");
-
-                                // Restore Layers
-                                for (LayerInfo ly : getCatalog().getLayers(ci)) {
-                                    if (!filteredResource(ly, ws, true, LayerInfo.class)) {
-                                        doWrite(ly, ciFolder, "layer.xml");
-
-                                        Resource ftResource = sourceRestoreFolder.get(Paths.path(
-                                                "workspaces/" + ws.getName() + "/" + cs.getName(), ci.getName()));
-                                        List<Resource> resources = Resources.list(
-                                                ftResource,
-                                                new Filter<Resource>() {
-                                                    @Override
-                                                    public boolean accept(Resource res) {
-                                                        if (res.getType() == Type.RESOURCE
-                                                                && !res.name().endsWith(".xml")) {
-                                                            return true;
-                                                        }
-                                                        return false;
+            for (CoverageStoreInfo cs : getCatalog().getStoresByWorkspace(ws.getName(), CoverageStoreInfo.class)) {
+                if (!filteredResource(cs, ws, true, CoverageStoreInfo.class)) {
+                    // - Prepare Folder
+                    Resource csFolder = BackupUtils.dir(wsFolder, cs.getName());
+
+                    cs.setWorkspace(ws);
+
+                    doWrite(cs, csFolder, "coveragestore.xml");
+
+                    // Restore Resources
+                    for (CoverageInfo ci : getCatalog().getCoveragesByCoverageStore(cs)) {
+                        if (!filteredResource(ci, ws, true, CoverageInfo.class)) {
+                            // - Prepare Folder
+                            Files.delete(csFolder.get(ci.getName()).dir());
+                            Resource ciFolder = BackupUtils.dir(csFolder, ci.getName());
+
+                            doWrite(ci, ciFolder, "coverage.xml");
+
+                            // Restore Layers
+                            for (LayerInfo ly : getCatalog().getLayers(ci)) {
+                                if (!filteredResource(ly, ws, true, LayerInfo.class)) {
+                                    doWrite(ly, ciFolder, "layer.xml");
+
+                                    Resource ftResource = sourceRestoreFolder.get(Paths.path(
+                                            "workspaces/" + ws.getName() + "/" + cs.getName(), ci.getName()));
+                                    List<Resource> resources = Resources.list(
+                                            ftResource,
+                                            new Filter<Resource>() {
+                                                @Override
+                                                public boolean accept(Resource res) {
+                                                    if (res.getType() == Type.RESOURCE
+                                                            && !res.name().endsWith(".xml")) {
+                                                        return true;
                                                     }
-                                                },
-                                                true);
+                                                    return false;
+                                                }
+                                            },
+                                            true);
 
-                                        for (Resource resource : resources) {
-                                            Resources.copy(resource.in(), ciFolder, resource.name());
-                                        }
+                                    for (Resource resource : resources) {
+                                        Resources.copy(resource.in(), ciFolder, resource.name());
                                     }
                                 }
                             }
                         }
                     }
                 }
+            }
 
-                for (WMSStoreInfo wms : getCatalog().getStoresByWorkspace(ws.getName(), WMSStoreInfo.class)) {
-                    if (!filteredResource(wms, ws, true, WMSStoreInfo.class)) {
-                        restoreWMSStoreInfo(sourceRestoreFolder, ws, wsFolder, wms);
-                    }
+            for (WMSStoreInfo wms : getCatalog().getStoresByWorkspace(ws.getName(), WMSStoreInfo.class)) {
+                if (!filteredResource(wms, ws, true, WMSStoreInfo.class)) {
+                    restoreWMSStoreInfo(sourceRestoreFolder, ws, wsFolder, wms);
                 }
+            }
 
-                for (WMTSStoreInfo wmts : getCatalog().getStoresByWorkspace(ws.getName(), WMTSStoreInfo.class)) {
-                    if (!filteredResource(wmts, ws, true, WMTSStoreInfo.class)) {
-                        restoreWMTSStoreInfo(sourceRestoreFolder, ws, wsFolder, wmts);
-                    }
+            for (WMTSStoreInfo wmts : getCatalog().getStoresByWorkspace(ws.getName(), WMTSStoreInfo.class)) {
+                if (!filteredResource(wmts, ws, true, WMTSStoreInfo.class)) {
+                    restoreWMTSStoreInfo(sourceRestoreFolder, ws, wsFolder, wmts);
                 }
             }
-        }
+        });
     }
 
     @SuppressWarnings("unchecked")
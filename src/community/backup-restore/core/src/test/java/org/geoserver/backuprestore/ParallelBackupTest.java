@@ -0,0 +1,106 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.backuprestore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import org.geoserver.backuprestore.utils.BackupUtils;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.config.GeoServerDataDirectory;
+import org.geoserver.platform.resource.Files;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.platform.resource.Resources;
+import org.junit.Test;
+import org.springframework.batch.core.BatchStatus;
+
+/** Checks backups and restores processing the workspaces in parallel partitions */
+public class ParallelBackupTest extends BackupRestoreTestSupport {
+
+    @Test
+    public void testParallelBackup() throws Exception {
+        Map<String, String> params = new HashMap<>();
+        params.put(Backup.PARAM_BEST_EFFORT_MODE, "true");
+        params.put(Backup.PARAM_PARALLELISM, "4");
+
+        Resource backupFile = Files.asResource(File.createTempFile("testParallelBackup", ".zip"));
+        BackupExecutionAdapter backupExecution =
+                backupFacade.runBackupAsync(backupFile, true, null, null, null, params);
+        assertNotNull(backupExecution);
+
+        int cnt = 0;
+        while (cnt < 100 && (backupExecution.getStatus() != BatchStatus.COMPLETED || backupExecution.isRunning())) {
+            Thread.sleep(100);
+            cnt++;
+
+            if (backupExecution.getStatus() == BatchStatus.ABANDONED
+                    || backupExecution.getStatus() == BatchStatus.FAILED
+                    || backupExecution.getStatus() == BatchStatus.UNKNOWN) {
+
+                for (Throwable exception : backupExecution.getAllFailureExceptions()) {
+                    LOGGER.log(Level.INFO, "ERROR: " + exception.getLocalizedMessage(), exception);
+                }
+                break;
+            }
+        }
+        assertEquals(BatchStatus.COMPLETED, backupExecution.getStatus());
+
+        // the chunk steps report their throughput
+        assertTrue(backupExecution.getThroughput().containsKey("backupWorkspaceInfos"));
+
+        // the workspaces have been exported
+        GeoServerDataDirectory dd = backupFacade.getGeoServerDataDirectory();
+        Resource targetFolder = BackupUtils.geoServerTmpDir(dd);
+        BackupUtils.extractTo(backupFile, targetFolder);
+        assertTrue(Resources.exists(targetFolder.get("/workspaces/default.xml")));
+        for (String ws : new String[] {"cdf", "cgf", "gs", "sf"}) {
+            assertTrue(ws, Resources.exists(targetFolder.get("/workspaces/" + ws)));
+        }
+    }
+
+    @Test
+    public void testParallelRestore() throws Exception {
+        Map<String, String> params = new HashMap<>();
+        params.put(Backup.PARAM_BEST_EFFORT_MODE, "true");
+        params.put(Backup.PARAM_PARALLELISM, "4");
+
+        RestoreExecutionAdapter restoreExecution =
+                backupFacade.runRestoreAsync(file("geoserver-full-backup.zip"), null, null, null, params);
+        assertNotNull(restoreExecution);
+
+        int cnt = 0;
+        while (cnt < 100 && (restoreExecution.getStatus() != BatchStatus.COMPLETED || restoreExecution.isRunning())) {
+            Thread.sleep(100);
+            cnt++;
+
+            if (restoreExecution.getStatus() == BatchStatus.ABANDONED
+                    || restoreExecution.getStatus() == BatchStatus.FAILED
+                    || restoreExecution.getStatus() == BatchStatus.UNKNOWN) {
+
+                for (Throwable exception : restoreExecution.getAllFailureExceptions()) {
+                    LOGGER.log(Level.INFO, "ERROR: " + exception.getLocalizedMessage(), exception);
+                }
+                break;
+            }
+        }
+        assertEquals(BatchStatus.COMPLETED, restoreExecution.getStatus());
+
+        // all the workspaces have been restored, each with its own namespace and resources
+        Catalog restoreCatalog = restoreExecution.getRestoreCatalog();
+        assertNotNull(restoreCatalog);
+        for (String ws : new String[] {"cdf", "cgf", "gs", "sf"}) {
+            assertNotNull(ws, restoreCatalog.getWorkspaceByName(ws));
+            assertNotNull(ws, restoreCatalog.getNamespaceByPrefix(ws));
+        }
+        assertEquals(restoreCatalog.getWorkspaces().size(), restoreCatalog.getNamespaces().size());
+        assertFalse(restoreCatalog.getLayers().isEmpty());
+    }
+}
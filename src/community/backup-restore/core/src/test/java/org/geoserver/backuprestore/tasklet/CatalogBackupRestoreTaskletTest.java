@@ -0,0 +1,129 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.backuprestore.tasklet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.geoserver.backuprestore.Backup;
+import org.geoserver.backuprestore.BackupRestoreTestSupport;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+
+/** Checks the workspaces checkpoint and the parallel processing of {@link AbstractCatalogBackupRestoreTasklet} */
+public class CatalogBackupRestoreTaskletTest extends BackupRestoreTestSupport {
+
+    static final String CHECKPOINT = "test.workspaces.completed";
+
+    List<WorkspaceInfo> workspaces;
+
+    Set<String> names;
+
+    @Before
+    public void setupWorkspaces() {
+        workspaces = getCatalog().getWorkspaces();
+        names = workspaces.stream().map(WorkspaceInfo::getName).collect(Collectors.toSet());
+        assertTrue(workspaces.size() > 2);
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        // a previous execution completed the first two workspaces
+        StepExecution stepExecution = newStepExecution("1");
+        List<String> done = List.of(workspaces.get(0).getName(), workspaces.get(1).getName());
+        stepExecution.getExecutionContext().put(CHECKPOINT, new ArrayList<>(done));
+
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        new CatalogBackupRestoreTasklet(backupFacade)
+                .forEachWorkspace(stepExecution, workspaces, CHECKPOINT, ws -> processed.add(ws.getName()));
+
+        Set<String> expected = new HashSet<>(names);
+        expected.removeAll(done);
+        assertEquals(expected, processed);
+        assertEquals(names, getCheckpoint(stepExecution));
+    }
+
+    @Test
+    public void testStopAndRestart() throws Exception {
+        StepExecution stepExecution = newStepExecution("1");
+        CatalogBackupRestoreTasklet tasklet = new CatalogBackupRestoreTasklet(backupFacade);
+
+        // the job is stopped while processing the first workspace
+        List<String> processed = new ArrayList<>();
+        tasklet.forEachWorkspace(stepExecution, workspaces, CHECKPOINT, ws -> {
+            processed.add(ws.getName());
+            stepExecution.getJobExecution().setStatus(BatchStatus.STOPPING);
+        });
+        assertEquals(List.of(workspaces.get(0).getName()), processed);
+        assertEquals(Set.copyOf(processed), getCheckpoint(stepExecution));
+
+        // the restarted execution picks up the saved context and processes only the remaining workspaces
+        StepExecution restarted = newStepExecution("1");
+        restarted.setExecutionContext(stepExecution.getExecutionContext());
+        List<String> resumed = new ArrayList<>();
+        tasklet.forEachWorkspace(restarted, workspaces, CHECKPOINT, ws -> resumed.add(ws.getName()));
+        assertEquals(names.size() - 1, resumed.size());
+        assertFalse(resumed.contains(workspaces.get(0).getName()));
+        assertEquals(names, getCheckpoint(restarted));
+    }
+
+    @Test
+    public void testParallelFailure() throws Exception {
+        StepExecution stepExecution = newStepExecution("4");
+        CatalogBackupRestoreTasklet tasklet = new CatalogBackupRestoreTasklet(backupFacade);
+        String failing = workspaces.get(1).getName();
+
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        AbstractCatalogBackupRestoreTasklet.WorkspaceAction action = ws -> {
+            if (failing.equals(ws.getName())) throw new IllegalStateException("failed " + failing);
+            processed.add(ws.getName());
+        };
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class,
+                () -> tasklet.forEachWorkspace(stepExecution, workspaces, CHECKPOINT, action));
+        assertEquals("failed " + failing, e.getMessage());
+
+        // all the other workspaces have been completed and recorded, despite the failure
+        Set<String> expected = new HashSet<>(names);
+        expected.remove(failing);
+        assertEquals(expected, processed);
+        assertEquals(expected, getCheckpoint(stepExecution));
+
+        // restarting processes only the failed workspace
+        List<String> resumed = new ArrayList<>();
+        tasklet.forEachWorkspace(stepExecution, workspaces, CHECKPOINT, ws -> resumed.add(ws.getName()));
+        assertEquals(List.of(failing), resumed);
+        assertEquals(names, getCheckpoint(stepExecution));
+    }
+
+    private static StepExecution newStepExecution(String parallelism) {
+        JobExecution jobExecution = new JobExecution(
+                1L,
+                new JobParametersBuilder()
+                        .addString(Backup.PARAM_PARALLELISM, parallelism)
+                        .toJobParameters());
+        jobExecution.setStatus(BatchStatus.STARTED);
+        return new StepExecution("catalogBackupRestoreTasklet", jobExecution);
+    }
+
+    private static Set<String> getCheckpoint(StepExecution stepExecution) {
+        Collection<?> completed = (Collection<?>) stepExecution.getExecutionContext().get(CHECKPOINT);
+        return completed.stream().map(String::valueOf).collect(Collectors.toSet());
+    }
+}
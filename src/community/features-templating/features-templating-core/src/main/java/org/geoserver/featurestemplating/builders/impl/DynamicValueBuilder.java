@@ -115,15 +115,18 @@ protected Object evaluateXPath(TemplateBuilderContext context) {
             context = context.getParent();
             i++;
         }
-        Object result = null;
-        try {
-            Object contextObject = getContextObject(context);
-            result = xpath.evaluate(contextObject);
-            result = JSONFieldSupport.parseWhenJSON(xpath, contextObject, result);
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Unable to evaluate xpath " + xpath + ". Exception: {0}", e);
-        }
-        return result;
+        TemplateBuilderContext xpathContext = context;
+        return context.getXPathResult(xpath.getPropertyName(), namespaces, () -> {
+            Object result = null;
+            try {
+                Object contextObject = getContextObject(xpathContext);
+                result = xpath.evaluate(contextObject);
+                result = JSONFieldSupport.parseWhenJSON(xpath, contextObject, result);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Unable to evaluate xpath " + xpath + ". Exception: {0}", e);
+            }
+            return result;
+        });
     }
 
     /**
@@ -4,9 +4,16 @@
  */
 package org.geoserver.featurestemplating.builders.impl;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.xml.sax.helpers.NamespaceSupport;
+
 /**
  * The context against which evaluate during the output encoding process It holds a reference to the current Feature
- * being evaluated as well as a reference to the parent context if source evaluation happens during the encoding
+ * being evaluated as well as a reference to the parent context if source evaluation happens during the encoding. The
+ * results of the xpaths evaluated against the current object are kept, as the same xpath is usually evaluated more
+ * than once (e.g., to check if the value can be written and then to write it, or by filters and values).
  */
 public class TemplateBuilderContext {
 
@@ -16,6 +23,8 @@ public class TemplateBuilderContext {
 
     private TemplateBuilderContext parent;
 
+    private Map<XPathKey, Object> xpathResults;
+
     public TemplateBuilderContext(Object currentObj) {
         this.currentObj = currentObj;
     }
@@ -60,4 +69,26 @@ public void setParent(TemplateBuilderContext parent) {
     public String getCurrentSource() {
         return currentSource;
     }
+
+    /**
+     * Returns the result of the xpath against the current object, evaluating it only the first time
+     *
+     * @param xpath the xpath
+     * @param namespaces the namespaces used to resolve the xpath prefixes
+     * @param evaluator evaluates the xpath against the current object
+     * @return the xpath result, possibly null
+     */
+    public Object getXPathResult(String xpath, NamespaceSupport namespaces, Supplier<Object> evaluator) {
+        if (xpathResults == null) xpathResults = new HashMap<>();
+        XPathKey key = new XPathKey(xpath, namespaces);
+        Object result = xpathResults.get(key);
+        if (result == null && !xpathResults.containsKey(key)) {
+            result = evaluator.get();
+            xpathResults.put(key, result);
+        }
+        return result;
+    }
+
+    /** Identifies an xpath, namespaces are compared by identity, they are shared by all the builders of a template */
+    private record XPathKey(String xpath, NamespaceSupport namespaces) {}
 }
@@ -4,15 +4,19 @@
  */
 package org.geoserver.featurestemplating.configuration;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.emf.common.util.URI;
@@ -39,6 +43,27 @@ public class TemplateLoader extends AbstractLoader {
 
     private final LoadingCache<CacheKey, Template> templateCache;
 
+    /**
+     * The template matched by rules depending only on the requested output format, shared among requests with the same
+     * output format
+     */
+    private final Cache<RuleMatchKey, Optional<String>> ruleMatches =
+            CacheBuilder.newBuilder().maximumSize(1000).build();
+
+    /**
+     * The template matched by rules with filters, that can depend on any request property, for each running request:
+     * the same request usually looks up the template of a feature type several times (e.g., in the dispatcher callback
+     * and then in the output format). Requests are weakly referenced, and compared by identity.
+     */
+    private final Cache<Request, Map<RuleMatchKey, Optional<String>>> requestRuleMatches = CacheBuilder.newBuilder()
+            .weakKeys()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+
+    /** The feature types each template has been validated against, validation is repeated only when they change */
+    private final Cache<RootBuilder, FeatureType> validated =
+            CacheBuilder.newBuilder().weakKeys().weakValues().build();
+
     public TemplateLoader(GeoServerDataDirectory dd) {
         super(dd);
         templateCache = CacheBuilder.newBuilder()
@@ -96,18 +121,31 @@ private RootBuilder getTemplateByIdentifier(FeatureTypeInfo typeInfo, String tem
         }
 
         if (root != null) {
-            TemplateValidator validator = new TemplateValidator(typeInfo);
-            boolean isValid = validator.validateTemplate(root);
-            if (!isValid) {
-                throw new RuntimeException("Failed to validate template for feature type "
-                        + typeInfo.getName()
-                        + ". Failing attribute is "
-                        + URI.decode(validator.getFailingAttribute()));
+            FeatureType featureType = getFeatureType(typeInfo);
+            if (featureType == null || validated.getIfPresent(root) != featureType) {
+                TemplateValidator validator = new TemplateValidator(typeInfo);
+                boolean isValid = validator.validateTemplate(root);
+                if (!isValid) {
+                    throw new RuntimeException("Failed to validate template for feature type "
+                            + typeInfo.getName()
+                            + ". Failing attribute is "
+                            + URI.decode(validator.getFailingAttribute()));
+                }
+                if (featureType != null) validated.put(root, featureType);
             }
         }
         return root;
     }
 
+    private FeatureType getFeatureType(FeatureTypeInfo typeInfo) {
+        try {
+            return typeInfo.getFeatureType();
+        } catch (IOException e) {
+            // the validator will report the failure
+            return null;
+        }
+    }
+
     /**
      * Extract Namespaces from given FeatureType
      *
@@ -151,21 +189,43 @@ private String evaluatesTemplateRule(FeatureTypeInfo featureTypeInfo) {
         return evaluatesTemplateRule(featureTypeInfo, Dispatcher.REQUEST.get());
     }
 
-    // evaluates the template rule associated to the featureTypeInfo and return the TemplateInfo id.
+    // evaluates the template rule associated to the featureTypeInfo and return the TemplateInfo id. The match is
+    // cached by feature type, requested output format and rules, and also by request if the rules have filters
     private String evaluatesTemplateRule(FeatureTypeInfo featureTypeInfo, Request request) {
-        List<TemplateRule> matching = new ArrayList<>();
         TemplateRuleService ruleService = new TemplateRuleService(featureTypeInfo);
         Set<TemplateRule> rules = ruleService.getRules();
-        String result = null;
-        if (rules != null && !rules.isEmpty()) {
-            for (TemplateRule r : rules) {
-                if (r.applyRule(request)) matching.add(r);
+        if (rules == null || rules.isEmpty()) return null;
+        if (request == null || rules.stream().anyMatch(TemplateRule::isForceRule))
+            return matchTemplateRule(rules, request);
+
+        // copy the rules, the configured ones can be modified in place
+        Set<TemplateRule> copies = new HashSet<>(rules.size());
+        boolean filtered = false;
+        for (TemplateRule r : rules) {
+            copies.add(new TemplateRule(r));
+            filtered |= r.getCqlFilter() != null || r.getProfileFilter() != null;
+        }
+        RuleMatchKey key = new RuleMatchKey(featureTypeInfo.getId(), TemplateRule.getOutputFormat(request), copies);
+        try {
+            Map<RuleMatchKey, Optional<String>> matches =
+                    filtered ? requestRuleMatches.get(request, ConcurrentHashMap::new) : ruleMatches.asMap();
+            Optional<String> match = matches.get(key);
+            if (match == null) {
+                match = Optional.ofNullable(matchTemplateRule(rules, request));
+                matches.put(key, match);
             }
+            return match.orElse(null);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e);
         }
-        int size = matching.size();
-        if (size > 0) result = getHighestPriorityIdentifier(matching);
+    }
 
-        return result;
+    private String matchTemplateRule(Set<TemplateRule> rules, Request request) {
+        List<TemplateRule> matching = new ArrayList<>();
+        for (TemplateRule r : rules) {
+            if (r.applyRule(request)) matching.add(r);
+        }
+        return matching.isEmpty() ? null : getHighestPriorityIdentifier(matching);
     }
 
     private String getHighestPriorityIdentifier(List<TemplateRule> rules) {
@@ -231,9 +291,15 @@ public Template load(CacheKey key) {
         }
     }
 
+    /** Identifies the rules matching, the rules are part of the key as they can be modified at any time */
+    private record RuleMatchKey(String featureTypeId, String outputFormat, Set<TemplateRule> rules) {}
+
     /** Invalidate all the cache entries. */
     public void reset() {
         templateCache.invalidateAll();
+        ruleMatches.invalidateAll();
+        requestRuleMatches.invalidateAll();
+        validated.invalidateAll();
     }
 
     public static TemplateLoader get() {
@@ -4,16 +4,18 @@
  */
 package org.geoserver.featurestemplating.configuration;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import org.apache.commons.lang3.StringUtils;
 import org.geoserver.ows.Request;
 import org.geoserver.util.XCQL;
 import org.geotools.api.filter.Filter;
-import org.geotools.filter.text.cql2.CQLException;
 
 /**
  * A template rule associated to a FeatureTypeInfo. Its evaluation determines if a specific template should be applied
@@ -22,6 +24,10 @@
 @XmlRootElement(name = "Rule")
 public class TemplateRule implements Serializable {
 
+    /** The parsed rule filters, as rules are evaluated on every templated request */
+    private static final Cache<String, Filter> FILTERS =
+            CacheBuilder.newBuilder().maximumSize(1000).build();
+
     private String ruleId;
 
     private Integer priority;
@@ -97,9 +103,9 @@ private boolean evaluateCQLFilter(String filter, Request request) {
 
     private Filter getCQLFilter(String filter) {
         try {
-            return XCQL.toFilter(filter);
-        } catch (CQLException e) {
-            throw new RuntimeException(e);
+            return FILTERS.get(filter, () -> XCQL.toFilter(filter));
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
         }
     }
 
@@ -182,13 +188,21 @@ public TemplateInfo getTemplateInfo() {
         return ti;
     }
 
-    private String getOutputFormat(Request request) {
+    /**
+     * Returns the output format of the request, looking at the output format, f and info format parameters, and then
+     * at the accept header.
+     *
+     * @param request the request.
+     * @return the requested output format or null if not found.
+     */
+    static String getOutputFormat(Request request) {
         String outputFormat = request.getOutputFormat();
         if (outputFormat == null)
             outputFormat = request.getKvp() != null ? (String) request.getKvp().get("f") : null;
         if (outputFormat == null)
             outputFormat = request.getKvp() != null ? (String) request.getKvp().get("INFO_FORMAT") : null;
-        if (outputFormat == null) outputFormat = request.getHttpRequest().getHeader("accept");
+        if (outputFormat == null && request.getHttpRequest() != null)
+            outputFormat = request.getHttpRequest().getHeader("accept");
         return outputFormat;
     }
 
@@ -17,6 +17,8 @@
 package org.geoserver.featurestemplating.builders.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -25,6 +27,8 @@
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -128,6 +132,28 @@ public void testEncodeNullCQL() throws IOException {
         assertTrue(json.isEmpty());
     }
 
+    @Test
+    public void testXPathResultsReused() throws Exception {
+        NamespaceSupport namespaces = new NamespaceSupport();
+        DynamicValueBuilder id = new DynamicValueBuilder("key", "${id}", namespaces);
+        DynamicValueBuilder missing = new DynamicValueBuilder("key", "${missingAttribute}", namespaces);
+        TemplateBuilderContext context = new TemplateBuilderContext(roadFeatures[0]);
+        Object value = id.evaluateXPath(context);
+        assertEquals(roadFeatures[0].getAttribute("id"), value);
+        assertNull(missing.evaluateXPath(context));
+
+        // the same paths are not evaluated again, null results included
+        AtomicInteger evaluations = new AtomicInteger();
+        Supplier<Object> evaluator = () -> evaluations.incrementAndGet();
+        String idPath = id.getXpath().getPropertyName();
+        assertSame(value, context.getXPathResult(idPath, namespaces, evaluator));
+        assertNull(context.getXPathResult(missing.getXpath().getPropertyName(), namespaces, evaluator));
+        assertEquals(0, evaluations.get());
+        // but they are against a different object
+        assertEquals(1, new TemplateBuilderContext(roadFeatures[1]).getXPathResult(idPath, namespaces, evaluator));
+        assertEquals(1, evaluations.get());
+    }
+
     @Test
     public void testJSONXPathSimpleFeature() throws Exception {
         JSONObject json = encodeDynamic("${jf}", jsonFieldSimpleFeature);
@@ -0,0 +1,114 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.featurestemplating.response;
+
+import jakarta.servlet.ServletResponse;
+import java.io.File;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.config.GeoServerDataDirectory;
+import org.geoserver.data.test.MockData;
+import org.geoserver.featurestemplating.configuration.TemplateIdentifier;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Measures the throughput of WFS GetFeature requests encoded with GeoJSON and JSON-LD templates. Not a real test,
+ * integrating JMH with JUnit just provides an easy way to run the benchmark from the IDE.
+ */
+@Ignore
+public class TemplatedJSONBenchmarkTest {
+
+    static final String REQUEST = "wfs?request=GetFeature&version=2.0&TYPENAME=cite:NamedPlaces&outputFormat=";
+
+    @Test
+    public void runBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(TemplatedJSONBenchmark.class.getSimpleName() + ".*")
+                .result("./target/templated-json-benchmark-results.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static class GeoServerBenchmarkSupport extends GeoServerSystemTestSupport {
+
+        /** Copies the template from the classpath into the NamedPlaces feature type directory */
+        void setUpTemplate(String fileName, TemplateIdentifier identifier) throws Exception {
+            FeatureTypeInfo typeInfo =
+                    getCatalog().getFeatureTypeByName(MockData.CITE_PREFIX, MockData.NAMED_PLACES.getLocalPart());
+            GeoServerDataDirectory dd = getDataDirectory();
+            File file = dd.getResourceLoader()
+                    .createFile(
+                            "workspaces/cite/" + typeInfo.getStore().getName() + "/" + typeInfo.getName(),
+                            identifier.getFilename());
+            dd.getResourceLoader().copyFromClassPath(fileName, file, TemplatedJSONBenchmarkTest.class);
+            getGeoServer().reset();
+        }
+
+        @Override
+        public MockHttpServletResponse getAsServletResponse(String path) throws Exception {
+            return super.getAsServletResponse(path);
+        }
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class TemplatedJSONBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class EncodingState {
+
+            @Param({"geojson", "jsonld"})
+            String format;
+
+            String request;
+
+            GeoServerBenchmarkSupport support = new GeoServerBenchmarkSupport();
+
+            @Setup
+            public void setup() throws Exception {
+                support.doSetup();
+                if ("geojson".equals(format)) {
+                    support.setUpTemplate("NamedPlacesGeoJSON.json", TemplateIdentifier.JSON);
+                    request = REQUEST + "application/json";
+                } else {
+                    support.setUpTemplate("NamedPlaces.json", TemplateIdentifier.JSONLD);
+                    request = REQUEST + "application%2Fld%2Bjson";
+                }
+            }
+
+            @TearDown
+            public void tearDown() throws Exception {
+                GeoServerSystemTestSupport.doTearDownClass();
+            }
+        }
+
+        @Benchmark
+        public ServletResponse encode(EncodingState state) throws Exception {
+            return state.support.getAsServletResponse(state.request);
+        }
+    }
+}
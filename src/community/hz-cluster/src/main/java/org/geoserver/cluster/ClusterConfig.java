@@ -35,4 +35,17 @@ public int getSyncDelay() {
     public int getAckTimeoutMillis() {
         return Integer.parseInt(getProperty("acktimeout", "2000"));
     }
+
+    /**
+     * @return milliseconds during which the events of the event sync method are collected and coalesced before being
+     *     sent as a single batch. Defaults to 0, meaning each event is sent on its own.
+     */
+    public int getBatchWindow() {
+        return Integer.parseInt(getProperty("batch_window", "0"));
+    }
+
+    /** @return max number of events in a batch, once reached the batch is sent right away. Defaults to 1000. */
+    public int getBatchMaxSize() {
+        return Integer.parseInt(getProperty("batch_max_size", "1000"));
+    }
 }
@@ -0,0 +1,100 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.cluster;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A group of events signalled across the cluster as a single message. The events are kept serialized and compressed,
+ * as bulk changes tend to produce long runs of very similar events, and are expected to be applied in order by the
+ * receiving nodes.
+ */
+public class EventBatch extends Event {
+
+    /** serialVersionUID */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** the serialized and compressed list of events */
+    private final byte[] events;
+
+    private final int size;
+
+    private final long timestamp;
+
+    /**
+     * Creates a new batch
+     *
+     * @param events the events, in the order they should be applied
+     * @param timestamp the cluster time at which the oldest of the events was collected
+     */
+    public EventBatch(List<? extends Event> events, long timestamp) {
+        this.events = compress(new ArrayList<>(events));
+        this.size = events.size();
+        this.timestamp = timestamp;
+    }
+
+    private static byte[] compress(ArrayList<Event> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeObject(events);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode the event batch", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** The batched events, in the order they should be applied */
+    @SuppressWarnings("unchecked")
+    public List<Event> getEvents() {
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(events)))) {
+            return (List<Event>) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode the event batch", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to decode the event batch", e);
+        }
+    }
+
+    /** Number of events in the batch */
+    public int size() {
+        return size;
+    }
+
+    /** The cluster time at which the oldest event of the batch was collected */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BATCH ");
+
+        Serializable source = getSource();
+        if (source != null) {
+            sb.append('(').append(source).append(") ");
+        }
+
+        sb.append("[uuid:")
+                .append(getUUID())
+                .append(", events:")
+                .append(size)
+                .append(", bytes:")
+                .append(events.length)
+                .append("]");
+        return sb.toString();
+    }
+}
@@ -11,6 +11,7 @@
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.topic.ITopic;
 import com.hazelcast.topic.Message;
@@ -18,14 +19,22 @@
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import javax.annotation.Nullable;
+import org.geoserver.GeoServerConfigurationLock;
+import org.geoserver.GeoServerConfigurationLock.LockType;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.Info;
@@ -49,18 +58,23 @@
 import org.geoserver.cluster.ConfigChangeEvent;
 import org.geoserver.cluster.ConfigChangeEvent.Type;
 import org.geoserver.cluster.Event;
+import org.geoserver.cluster.EventBatch;
 import org.geoserver.config.ConfigurationListener;
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.LoggingInfo;
 import org.geoserver.config.ServiceInfo;
 import org.geoserver.config.SettingsInfo;
+import org.geoserver.platform.GeoServerExtensions;
 
 /**
  * Synchronizer that converts cluster events and dispatches them the GeoServer config/catalog.
  *
  * <p>This synchronizer assumes a shared data directory among nodes in the cluster.
  *
+ * <p>When a batch window is configured, the events are collected during the window, coalesced, and sent as a single
+ * {@link EventBatch}, which the receiving nodes apply under a single configuration lock.
+ *
  * @author Justin Deoliveira, OpenGeo
  */
 public class EventHzSynchronizer extends HzSynchronizer {
@@ -69,6 +83,15 @@ public class EventHzSynchronizer extends HzSynchronizer {
 
     private final AckListener ackListener;
 
+    /** Events waiting to be published in the next batch, see {@link #coalesce(Map, Event)} for the keys */
+    private final Map<Object, Event> pending = new LinkedHashMap<>();
+
+    /** Cluster time at which the oldest pending event was collected */
+    private long pendingSince;
+
+    private final ScheduledExecutorService batchExecutor = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("HzSynchronizer-Batch-%d").build());
+
     public EventHzSynchronizer(HzCluster cluster, GeoServer gs) {
         super(cluster, gs);
 
@@ -78,6 +101,87 @@ public EventHzSynchronizer(HzCluster cluster, GeoServer gs) {
 
     @Override
     protected void dispatch(Event e) {
+        int window = configWatcher != null ? configWatcher.get().getBatchWindow() : 0;
+        if (window > 0) {
+            collect(e, window);
+        } else {
+            publish(e);
+        }
+    }
+
+    /** Adds the event to the next batch, scheduling its publication if it's the first one */
+    private void collect(Event e, int window) {
+        boolean full;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                pendingSince = clusterTime();
+                batchExecutor.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+            }
+            coalesce(pending, e);
+            full = pending.size() >= configWatcher.get().getBatchMaxSize();
+        }
+        if (full) {
+            batchExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Adds the event to the pending ones. A catalog event replaces the pending event of the same type for the same
+     * object, moving to the end of the queue, as the receiving nodes read the object state from the catalog anyways.
+     * The removal of an object drops its pending modifications, and its addition too, if it did not reach the other
+     * nodes yet. Other events are always kept.
+     */
+    static void coalesce(Map<Object, Event> pending, Event e) {
+        if (e instanceof ConfigChangeEvent ce && ce.getObjectId() != null && isCatalogEvent(ce)) {
+            String id = ce.getObjectId();
+            if (ce.getChangeType() == Type.REMOVE) {
+                pending.remove(List.of(id, Type.MODIFY));
+                pending.remove(List.of(id, Type.POST_MODIFY));
+                if (pending.remove(List.of(id, Type.ADD)) != null) {
+                    // the other nodes never saw the object
+                    return;
+                }
+            }
+            List<Object> key = List.of(id, ce.getChangeType());
+            pending.remove(key);
+            pending.put(key, ce);
+        } else {
+            pending.put(e.getUUID(), e);
+        }
+    }
+
+    private static boolean isCatalogEvent(ConfigChangeEvent ce) {
+        Class<? extends Info> clazz = ce.getObjectInterface();
+        return clazz != null && CatalogInfo.class.isAssignableFrom(clazz);
+    }
+
+    /** Publishes the pending events as a single batch */
+    void flush() {
+        List<Event> events;
+        long since;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = new ArrayList<>(pending.values());
+            pending.clear();
+            since = pendingSince;
+        }
+        try {
+            publish(new EventBatch(events, since));
+        } catch (RuntimeException e) {
+            LOGGER.log(
+                    Level.WARNING,
+                    "%s - Failed to publish a batch of %d events".formatted(nodeId(), events.size()),
+                    e);
+        }
+    }
+
+    private long clusterTime() {
+        return cluster.getHz().getCluster().getClusterTime();
+    }
+
+    private void publish(Event e) {
         if (LOGGER.isLoggable(Level.FINE)) {
             LOGGER.fine("%s - Publishing event %s".formatted(nodeId(), e));
         }
@@ -158,12 +262,57 @@ private void waitForAck(Event event) {
     @Override
     protected Future<?> processEvent(Event event) {
         Preconditions.checkState(isStarted());
+        if (event instanceof EventBatch batch) {
+            processBatch(batch);
+            return null;
+        }
         if (!(event instanceof ConfigChangeEvent)) {
             return null;
         }
         try {
-            LOGGER.fine("%s - Processing event %s".formatted(nodeId(), event));
-            ConfigChangeEvent ce = (ConfigChangeEvent) event;
+            apply((ConfigChangeEvent) event);
+        } finally {
+            ack(event);
+        }
+        return null;
+    }
+
+    /**
+     * Applies all the events of the batch holding the configuration lock, so that requests see either none or all of
+     * the changes, and records the propagation lag of the batch
+     */
+    private void processBatch(EventBatch batch) {
+        LOGGER.fine("%s - Processing %s".formatted(nodeId(), batch));
+        GeoServerConfigurationLock lock = GeoServerExtensions.bean(GeoServerConfigurationLock.class);
+        if (lock != null) {
+            lock.lock(LockType.WRITE);
+        }
+        try {
+            for (Event event : batch.getEvents()) {
+                if (event instanceof ConfigChangeEvent ce) {
+                    apply(ce);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "%s - Error processing %s".formatted(nodeId(), batch), e);
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+            ack(batch);
+        }
+        incCounter(getClass(), "batches");
+
+        try {
+            cluster.getPropagationLags().put(nodeId(), clusterTime() - batch.getTimestamp());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "%s - Failed to record the propagation lag".formatted(nodeId()), e);
+        }
+    }
+
+    private void apply(ConfigChangeEvent ce) {
+        try {
+            LOGGER.fine("%s - Processing event %s".formatted(nodeId(), ce));
             Class<? extends Info> clazz = ce.getObjectInterface();
             if (CatalogInfo.class.isAssignableFrom(clazz)) {
                 processCatalogEvent(ce);
@@ -171,11 +320,8 @@ protected Future<?> processEvent(Event event) {
                 processGeoServerConfigEvent(ce);
             }
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "%s - Error processing event %s".formatted(nodeId(), event), e);
-        } finally {
-            ack(event);
+            LOGGER.log(Level.WARNING, "%s - Error processing event %s".formatted(nodeId(), ce), e);
         }
-        return null;
     }
 
     private void processCatalogEvent(final ConfigChangeEvent event) throws NoSuchMethodException, SecurityException {
@@ -23,6 +23,7 @@
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -51,6 +52,7 @@ public class HzCluster implements GeoServerPluginConfigurator, DisposableBean, I
     static final String CONFIG_DIRECTORY = "cluster";
     static final String CONFIG_FILENAME = "cluster.properties";
     static final String HAZELCAST_FILENAME = "hazelcast.xml";
+    static final String LAG_MAP = "geoserver.config.lag";
 
     HazelcastInstance hz;
     ResourceStore rl;
@@ -124,6 +126,15 @@ public int getAckTimeoutMillis() {
         return getClusterConfig().getAckTimeoutMillis();
     }
 
+    /**
+     * Get the propagation lag of configuration changes, in milliseconds, keyed by node address (ip:port). Each node
+     * records the delay between the collection of the oldest event of the last batch it received and the moment it
+     * finished applying it.
+     */
+    public Map<String, Long> getPropagationLags() {
+        return getHz().getMap(LAG_MAP);
+    }
+
     /**
      * Get the HazelcastInstance being used for clustering
      *
@@ -64,8 +64,11 @@ protected void populateItem(ListItem<Member> item) {
                 String ip = address.getAddress().getHostAddress();
                 int port = address.getPort();
                 String local = m.localMember() ? " (this)" : "";
+                // as recorded by the node itself when applying the last batch of changes it received
+                Long lag = getCluster().getPropagationLags().get("%s:%d".formatted(ip, port));
+                String sync = lag != null ? ", sync lag %d ms".formatted(lag) : "";
 
-                item.add(new Label("label", "%s:%d%s".formatted(ip, port, local)));
+                item.add(new Label("label", "%s:%d%s%s".formatted(ip, port, local, sync)));
             }
         }));
     }
@@ -83,6 +86,10 @@ protected List<Member> load() {
     }
 
     static HazelcastInstance getHazelcast() {
-        return GeoServerApplication.get().getBeanOfType(HzCluster.class).getHz();
+        return getCluster().getHz();
+    }
+
+    static HzCluster getCluster() {
+        return GeoServerApplication.get().getBeanOfType(HzCluster.class);
     }
 }
@@ -5,13 +5,19 @@
  */
 package org.geoserver.cluster.hazelcast;
 
+import static org.easymock.EasyMock.anyLong;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
 
+import com.hazelcast.map.IMap;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -33,8 +39,11 @@
 import org.geoserver.catalog.event.CatalogPostModifyEvent;
 import org.geoserver.catalog.event.CatalogRemoveEvent;
 import org.geoserver.catalog.impl.DataStoreInfoImpl;
+import org.geoserver.catalog.impl.LayerInfoImpl;
 import org.geoserver.cluster.ConfigChangeEvent;
 import org.geoserver.cluster.ConfigChangeEvent.Type;
+import org.geoserver.cluster.Event;
+import org.geoserver.cluster.EventBatch;
 import org.geoserver.config.ConfigurationListener;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.LoggingInfo;
@@ -131,6 +140,50 @@ public void testPublishAck() throws Exception {
         verify(info, wsInfo);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatch() throws Exception {
+        LayerInfo info;
+        IMap<String, Long> lags;
+        final String layerId = "Layer-TEST";
+
+        {
+            info = createMock(LayerInfo.class);
+            expect(info.getId()).andStubReturn(layerId);
+
+            expect(getCatalog().getLayer(layerId)).andReturn(info).times(2);
+            expectCatalogFire(info, layerId, Type.MODIFY);
+            expectCatalogFire(info, layerId, Type.POST_MODIFY);
+
+            // the lag is recorded under the local node address
+            lags = createMock(IMap.class);
+            expect(hz.<String, Long>getMap(HzCluster.LAG_MAP)).andStubReturn(lags);
+            expect(lags.put(eq("192.168.0.42:5000"), anyLong())).andReturn(null);
+        }
+        replay(info, lags);
+        EventBatch batch = new EventBatch(
+                List.of(
+                        new ConfigChangeEvent(layerId, null, LayerInfoImpl.class, Type.MODIFY),
+                        new ConfigChangeEvent(layerId, null, LayerInfoImpl.class, Type.POST_MODIFY)),
+                System.currentTimeMillis());
+        {
+            sync = getSynchronizer();
+            sync.initialize(configWatcher);
+
+            batch.setSource(remoteAddress);
+            Message<Event> msg = new Message<>(TOPIC_NAME, batch, 0, null);
+            for (MessageListener<Event> listener : captureTopicListener.getValues()) {
+                listener.onMessage(msg);
+            }
+        }
+        waitForSync();
+
+        // a single ack for the whole batch
+        assertAcked(batch.getUUID());
+        assertEquals(1, captureAckTopicPublish.getValues().size());
+        verify(info, lags);
+    }
+
     @Override
     protected void expectationTestDisableLayer(LayerInfo info, String layerName, String id) throws Exception {
         expect(getCatalog().getLayer(id)).andReturn(info);
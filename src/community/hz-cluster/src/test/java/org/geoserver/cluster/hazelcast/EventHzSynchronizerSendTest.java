@@ -9,18 +9,31 @@
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
+import static org.junit.Assert.assertEquals;
 
 import com.hazelcast.cluster.Member;
 import com.hazelcast.topic.Message;
 import com.hazelcast.topic.MessageListener;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import org.easymock.Capture;
 import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.impl.CatalogModifyEventImpl;
+import org.geoserver.catalog.event.impl.CatalogPostModifyEventImpl;
 import org.geoserver.catalog.event.impl.CatalogRemoveEventImpl;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
 import org.geoserver.cluster.ConfigChangeEvent;
+import org.geoserver.cluster.ConfigChangeEvent.Type;
+import org.geoserver.cluster.Event;
+import org.geoserver.cluster.EventBatch;
+import org.geoserver.config.impl.GeoServerInfoImpl;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -42,6 +55,79 @@ public boolean isStarted() {
         };
     }
 
+    @Test
+    public void testBatch() throws Exception {
+        LayerInfo info;
+        final String layerName = "testLayer";
+        final String layerId = "Layer-TEST";
+        final Capture<EventBatch> capture = Capture.newInstance();
+
+        {
+            info = createMock(LayerInfo.class);
+
+            expect(info.getName()).andStubReturn(layerName);
+            expect(info.getId()).andStubReturn(layerId);
+
+            topic.publish(capture(capture));
+            expectLastCall();
+        }
+        replay(info);
+        {
+            batchWindow = 60000;
+            EventHzSynchronizer sync = (EventHzSynchronizer) getSynchronizer();
+            sync.initialize(configWatcher);
+
+            // the same layer modified three times
+            for (int i = 0; i < 3; i++) {
+                CatalogModifyEventImpl preEvent = new CatalogModifyEventImpl();
+                preEvent.setSource(info);
+                CatalogPostModifyEventImpl postEvent = new CatalogPostModifyEventImpl();
+                postEvent.setSource(info);
+                for (CatalogListener listener : catListenerCapture.getValues()) {
+                    listener.handleModifyEvent(preEvent);
+                    listener.handlePostModifyEvent(postEvent);
+                }
+            }
+            sync.flush();
+        }
+        verify(info);
+
+        EventBatch batch = capture.getValue();
+        assertEquals(localAddress, batch.getSource());
+        assertEquals(2, batch.size());
+        List<Event> events = batch.getEvents();
+        assertEquals(Type.MODIFY, ((ConfigChangeEvent) events.get(0)).getChangeType());
+        assertEquals(Type.POST_MODIFY, ((ConfigChangeEvent) events.get(1)).getChangeType());
+        assertEquals(layerId, ((ConfigChangeEvent) events.get(1)).getObjectId());
+    }
+
+    @Test
+    public void testCoalesce() {
+        Map<Object, Event> pending = new LinkedHashMap<>();
+        ConfigChangeEvent add = new ConfigChangeEvent("ws1", "ws1", WorkspaceInfoImpl.class, Type.ADD);
+        ConfigChangeEvent modify = new ConfigChangeEvent("ws1", "ws1", WorkspaceInfoImpl.class, Type.MODIFY);
+        ConfigChangeEvent remove = new ConfigChangeEvent("ws1", "ws1", WorkspaceInfoImpl.class, Type.REMOVE);
+        ConfigChangeEvent modifyOther = new ConfigChangeEvent("ws2", "ws2", WorkspaceInfoImpl.class, Type.MODIFY);
+        ConfigChangeEvent global1 = new ConfigChangeEvent("gs", null, GeoServerInfoImpl.class, Type.MODIFY);
+        ConfigChangeEvent global2 = new ConfigChangeEvent("gs", null, GeoServerInfoImpl.class, Type.MODIFY);
+
+        EventHzSynchronizer.coalesce(pending, modify);
+        EventHzSynchronizer.coalesce(pending, modifyOther);
+        EventHzSynchronizer.coalesce(pending, global1);
+        EventHzSynchronizer.coalesce(pending, global2);
+        EventHzSynchronizer.coalesce(pending, remove);
+        // the modification is dropped, configuration events are all kept
+        assertEquals(List.of(modifyOther, global1, global2, remove), new ArrayList<>(pending.values()));
+
+        // an object added and removed before publishing is not published at all
+        pending.clear();
+        EventHzSynchronizer.coalesce(pending, add);
+        EventHzSynchronizer.coalesce(pending, modify);
+        EventHzSynchronizer.coalesce(pending, modifyOther);
+        EventHzSynchronizer.coalesce(pending, remove);
+        assertEquals(List.of(modifyOther), new ArrayList<>(pending.values()));
+    }
+
     @Ignore // Spin lock based wait makes this hard to test KS
     @Test
     public void testWaitForAck() throws Exception {
@@ -131,6 +131,7 @@ public void setUp() throws Exception {
         expect(remoteMember.localMember()).andStubReturn(false);
 
         expect(cluster.getMembers()).andStubReturn(Sets.newHashSet(localMember, remoteMember));
+        expect(cluster.getClusterTime()).andStubAnswer(System::currentTimeMillis);
 
         EasyMock.replay(cluster, localMember, remoteMember);
 
@@ -139,6 +140,8 @@ public void setUp() throws Exception {
         expect(configWatcher.get()).andStubReturn(clusterConfig);
 
         expect(clusterConfig.getSyncDelay()).andStubReturn(SYNC_DELAY);
+        expect(clusterConfig.getBatchWindow()).andStubAnswer(() -> batchWindow);
+        expect(clusterConfig.getBatchMaxSize()).andStubReturn(1000);
 
         geoServer = createMock(GeoServer.class);
 
@@ -175,6 +178,7 @@ MessageListener<Event> getListener() {
     protected ClusterConfigWatcher configWatcher;
     protected ClusterConfig clusterConfig;
     protected ScheduledExecutorService executor;
+    protected int batchWindow = 0;
 
     protected InetSocketAddress localAddress;
     protected InetSocketAddress remoteAddress;
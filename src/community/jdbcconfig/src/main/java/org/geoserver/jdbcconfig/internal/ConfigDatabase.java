@@ -16,7 +16,6 @@
 import static org.geoserver.jdbcconfig.internal.DbUtils.logStatement;
 import static org.geoserver.jdbcconfig.internal.DbUtils.params;
 
-import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
@@ -25,7 +24,6 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import java.io.IOException;
@@ -89,6 +87,7 @@
 import org.geoserver.catalog.impl.CatalogImpl;
 import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.catalog.impl.ResourceInfoImpl;
 import org.geoserver.catalog.impl.StoreInfoImpl;
 import org.geoserver.catalog.impl.StyleInfoImpl;
@@ -157,6 +156,12 @@ public class ConfigDatabase implements ApplicationContextAware {
 
     private static final int LOCK_TIMEOUT_SECONDS = 60;
 
+    /** Max number of objects loaded with a single query when resolving query results */
+    static final int LOAD_BATCH_SIZE = 100;
+
+    /** Max depth of the references followed when preloading objects (layer, resource, store, workspace) */
+    private static final int PRELOAD_DEPTH = 4;
+
     private Dialect dialect;
 
     private JDBCLoaderProperties properties;
@@ -398,17 +403,8 @@ public String mapRow(ResultSet rs, int rowNum) throws SQLException {
             }
         }
 
-        List<T> lazyTransformed = Lists.transform(ids, new Function<String, T>() {
-            @Nullable
-            @Override
-            public T apply(String id) {
-                return getById(id, of);
-            }
-        });
-
         CloseableIterator<T> result;
-        Iterator<T> iterator =
-                Iterators.filter(lazyTransformed.iterator(), com.google.common.base.Predicates.notNull());
+        Iterator<T> iterator = Iterators.filter(resolve(ids, of), com.google.common.base.Predicates.notNull());
 
         if (sqlBuilder.isFullySupported()) {
             result = new CloseableIteratorAdapter<T>(iterator);
@@ -1219,15 +1215,96 @@ public <T extends Info> List<T> getAll(final Class<T> clazz) {
             LOGGER.fine("query returned " + ids.size() + " records in " + sw);
         }
 
-        List<T> transformed = Lists.transform(ids, new Function<String, T>() {
-            @Nullable
-            @Override
-            public T apply(String input) {
-                return getById(input, clazz);
+        return ImmutableList.copyOf(Iterators.filter(resolve(ids, clazz), com.google.common.base.Predicates.notNull()));
+    }
+
+    /**
+     * Lazily resolves the given ids to objects. Catalog objects are loaded in batches, each one along with the objects
+     * it references, so that iterating over a page of results costs a few queries rather than one per object
+     */
+    private <T extends Info> Iterator<T> resolve(List<String> ids, Class<T> type) {
+        if (ids.size() < 2 || !CatalogInfo.class.isAssignableFrom(type)) {
+            return Iterators.transform(ids.iterator(), id -> getById(id, type));
+        }
+        return Iterators.concat(Iterators.transform(Iterators.partition(ids.iterator(), LOAD_BATCH_SIZE), batch -> {
+            preload(batch);
+            return Iterators.transform(batch.iterator(), id -> getById(id, type));
+        }));
+    }
+
+    /**
+     * Loads the catalog objects with the given ids, unless already cached, with a single query, then does the same
+     * with the objects they reference (e.g., layer to resource and styles, resource to store and namespace, store to
+     * workspace), putting them all in the cache.
+     *
+     * @return the number of objects loaded
+     */
+    int preload(Collection<String> ids) {
+        int loaded = 0;
+        Set<String> pending = new HashSet<>(ids);
+        for (int depth = 0; depth < PRELOAD_DEPTH && !pending.isEmpty(); depth++) {
+            // lock the ids like getById does, skipping those being written
+            List<String> locked = new ArrayList<>();
+            for (String id : pending) {
+                if (id != null && cache.getIfPresent(id) == null) {
+                    Semaphore lock = locks.computeIfAbsent(id, x -> new Semaphore(1));
+                    if (lock.tryAcquire()) {
+                        locked.add(id);
+                    }
+                }
             }
-        });
-        Iterable<T> filtered = Iterables.filter(transformed, com.google.common.base.Predicates.notNull());
-        return ImmutableList.copyOf(filtered);
+            if (locked.isEmpty()) {
+                break;
+            }
+
+            Set<String> references = new HashSet<>();
+            try {
+                for (List<String> batch : Lists.partition(locked, LOAD_BATCH_SIZE)) {
+                    for (CatalogInfo info : transactionalConfigDatabase.loadCatalogs(batch)) {
+                        if (cache.getIfPresent(info.getId()) == null) {
+                            cache.put(info.getId(), info);
+                            loaded++;
+                        }
+                        collectReferences(info, references);
+                    }
+                }
+            } finally {
+                for (String id : locked) {
+                    locks.get(id).release();
+                }
+            }
+            pending = references;
+        }
+        return loaded;
+    }
+
+    /** Collects the ids of the catalog objects referenced by the given, freshly unmarshalled, one */
+    private void collectReferences(CatalogInfo info, Set<String> references) {
+        List<Object> referenced = new ArrayList<>();
+        if (info instanceof LayerInfo layer) {
+            referenced.add(layer.getResource());
+            referenced.add(layer.getDefaultStyle());
+            referenced.addAll(layer.getStyles());
+        } else if (info instanceof LayerGroupInfo group) {
+            referenced.add(group.getWorkspace());
+            referenced.add(group.getRootLayer());
+            referenced.add(group.getRootLayerStyle());
+            referenced.addAll(group.getLayers());
+            referenced.addAll(group.getStyles());
+        } else if (info instanceof ResourceInfo resource) {
+            referenced.add(resource.getStore());
+            referenced.add(resource.getNamespace());
+        } else if (info instanceof StoreInfo store) {
+            referenced.add(store.getWorkspace());
+        } else if (info instanceof StyleInfo style) {
+            referenced.add(style.getWorkspace());
+        }
+        for (Object o : referenced) {
+            String ref = ResolvingProxy.getRef(o);
+            if (ref != null) {
+                references.add(ref);
+            }
+        }
     }
 
     private <T extends Info> List<Integer> typesParam(final Class<T> clazz) {
@@ -1312,6 +1389,18 @@ public CatalogInfo loadCatalog(String id) {
         return info;
     }
 
+    /** Loads the catalog objects with the given ids with a single query, skipping the ones not found */
+    @Transactional(
+            transactionManager = "jdbcConfigTransactionManager",
+            propagation = Propagation.REQUIRED,
+            readOnly = true)
+    public List<CatalogInfo> loadCatalogs(Collection<String> ids) {
+        String sql = "SELECT blob FROM object WHERE id IN (:ids)";
+        Map<String, ?> params = params("ids", ids);
+        logStatement(sql, params);
+        return template.query(sql, params, catalogRowMapper);
+    }
+
     private final class IdentityLoader implements Callable<String> {
 
         private final InfoIdentity identity;
@@ -75,6 +75,7 @@
 import org.geoserver.ows.util.OwsUtils;
 import org.geoserver.wms.WMSInfo;
 import org.geoserver.wms.WMSInfoImpl;
+import org.geotools.api.filter.Filter;
 import org.geotools.api.util.ProgressListener;
 import org.geotools.ows.wmts.WebMapTileServer;
 import org.geotools.ows.wmts.model.WMTSCapabilities;
@@ -344,6 +345,38 @@ public void testCacheResourceLayer() throws Exception {
         assertEquals("rs2", layer.getResource().getName());
     }
 
+    @Test
+    public void testPreloadReferences() throws Exception {
+        LayerInfo layer = addLayer();
+        database.clearCache();
+
+        // layer, resource, store, namespace and workspace loaded in one go
+        assertEquals(5, database.preload(List.of(layer.getId())));
+        assertEquals(0, database.preload(List.of(layer.getId(), "wsid")));
+
+        layer = database.getById(layer.getId(), LayerInfo.class);
+        assertEquals("ri1", layer.getResource().getName());
+        assertEquals("ws1", layer.getResource().getStore().getWorkspace().getName());
+    }
+
+    @Test
+    public void testQueryInBatches() throws Exception {
+        WorkspaceInfo ws = addWorkspace();
+        for (int i = 0; i < ConfigDatabase.LOAD_BATCH_SIZE + 10; i++) {
+            NamespaceInfoImpl ns = new NamespaceInfoImpl();
+            ns.setId("ns" + i);
+            ns.setPrefix("ns" + i);
+            database.add(ns);
+        }
+        database.clearCache();
+
+        List<NamespaceInfo> namespaces = database.queryAsList(NamespaceInfo.class, Filter.INCLUDE, null, null, null);
+        assertEquals(ConfigDatabase.LOAD_BATCH_SIZE + 10, namespaces.size());
+        // all namespaces cached, the workspace was not part of the query
+        assertEquals(0, database.preload(List.of("ns0", "ns" + ConfigDatabase.LOAD_BATCH_SIZE)));
+        assertEquals(1, database.preload(List.of(ws.getId())));
+    }
+
     @Test
     public void testCacheResourceLayerLocked() throws Exception {
         // check that saving a resource updates the layer cache
@@ -122,6 +122,11 @@ public void changed(ResourceNotification notify) {
     }
 
     public void init() {
+        dir.startChangeFeed();
+        if (dir.getConfig().isPrefetch()) {
+            // load the whole tree in one go, rather than one entry at a time
+            dir.prefetch();
+        }
         if (dir.getConfig().isImport()) {
             if (oldResourceStore != null) {
                 try {
@@ -151,6 +156,11 @@ public void init() {
         }
     }
 
+    /** Stops the change feed, if running */
+    public void dispose() {
+        dir.dispose();
+    }
+
     @Override
     public Resource get(String path) {
         List<String> pathNames = Paths.names(Paths.valid(path));
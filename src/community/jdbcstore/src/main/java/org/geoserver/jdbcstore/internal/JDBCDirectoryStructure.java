@@ -7,24 +7,35 @@
 import static org.geoserver.jdbcstore.internal.JDBCQueryHelper.*;
 
 import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.Serializable;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.sql.DataSource;
 import org.apache.commons.lang3.ArrayUtils;
 import org.geoserver.platform.resource.Paths;
 import org.geoserver.platform.resource.ResourceListener;
-import org.geoserver.platform.resource.ResourceNotification;
 import org.geoserver.platform.resource.ResourceNotificationDispatcher;
 import org.geoserver.util.CacheProvider;
 import org.geoserver.util.DefaultCacheProvider;
@@ -32,6 +43,11 @@
 /**
  * Handles database access & ORM mapping of directory structure
  *
+ * <p>The metadata of the entries is cached, and can be loaded in bulk with {@link #prefetch()}. Every write assigns the
+ * entry a new version, higher than any other in the table, so that changes made by other nodes can be detected by
+ * polling the table (see {@link #startChangeFeed()}). When the change feed is enabled directory listings and resource
+ * contents are cached as well, the latter validated against the entry version.
+ *
  * @author Kevin Smith, Boundless
  * @author Niels Charlier
  */
@@ -55,12 +71,47 @@ public class JDBCDirectoryStructure {
     protected static final Field<Boolean> DIRECTORY =
             new Field<Boolean>("directory", "content IS NULL AS directory", TYPE_BOOLEAN);
 
+    protected static final Field<Long> VERSION = new Field<Long>("version", "version", TYPE_LONG);
+
+    protected static final Field<Long> ENTRIES = new Field<Long>("entries", "COUNT(*) AS entries", TYPE_LONG);
+
+    protected static final Field<Long> MAX_VERSION =
+            new Field<Long>("max_version", "MAX(version) AS max_version", TYPE_LONG);
+
+    protected static final Field<Long> SUM_VERSION =
+            new Field<Long>("sum_version", "SUM(version) AS sum_version", TYPE_LONG);
+
+    /** Expression computing the version of an entry being written */
+    protected static final String NEXT_VERSION = "(SELECT MAX(version) + 1 FROM " + TABLE_RESOURCES + ")";
+
     private JDBCResourceStoreProperties config;
 
     private JDBCQueryHelper helper;
 
     Cache<ArrayList<String>, EntryMetaData> entryCache;
 
+    /**
+     * Strong references to the prefetched metadata, backing the entry cache that may drop entries (e.g., the default
+     * one holds weak values). Only used along with the change feed, which keeps them up to date.
+     */
+    private final Map<List<String>, EntryMetaData> prefetched = new ConcurrentHashMap<>();
+
+    /** Resource contents by oid, only used along with the change feed */
+    Cache<Integer, CachedContent> contentCache;
+
+    /** Max size of a resource content to be cached */
+    private int maxCachedContent;
+
+    /** Whether directory listings are cached, only done along with the change feed */
+    private boolean cacheListings;
+
+    /** The listeners invalidating the cached metadata, by path */
+    private final Map<List<String>, ResourceListener> watched = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService changeFeed;
+
+    private Changes lastChanges;
+
     private ResourceNotificationDispatcher resourceNotificationDispatcher;
 
     private static class EntryMetaData implements Serializable {
@@ -69,8 +120,17 @@ private static class EntryMetaData implements Serializable {
         public Integer oid;
         public Boolean dir;
         public Timestamp lastModified;
+        public Long version;
+        /** Names of the children, if directory and listings are cached */
+        public ArrayList<String> children;
     }
 
+    /** The cached content of a resource, valid as long as the entry version does not change */
+    private record CachedContent(long version, byte[] content) {}
+
+    /** Summary of the table contents, changes every time an entry is created, updated, renamed or deleted */
+    private record Changes(Long entries, Long maxVersion, Long sumVersion) {}
+
     /** Resource/Directory entry in the database. */
     public class Entry {
 
@@ -112,11 +172,22 @@ public Timestamp getLastModified() {
 
         public List<Entry> getChildren() {
             List<Entry> list = new ArrayList<Entry>();
-            Integer oid = getOid();
-            if (oid != null) {
-                for (Map<String, Object> result :
-                        helper.multiSelectQuery(TABLE_RESOURCES, new FieldSelector<Integer>(PARENT, oid), NAME)) {
-                    list.add(createEntry(path, (String) result.get(NAME.getFieldName())));
+            EntryMetaData md = getMetadata(path);
+            if (md.oid != null) {
+                ArrayList<String> names = md.children;
+                if (names == null) {
+                    names = new ArrayList<>();
+                    for (Map<String, Object> result : helper.multiSelectQuery(
+                            TABLE_RESOURCES, new FieldSelector<Integer>(PARENT, md.oid), NAME)) {
+                        names.add((String) result.get(NAME.getFieldName()));
+                    }
+                    if (cacheListings) {
+                        md.children = names;
+                        entryCache.put(path, md);
+                    }
+                }
+                for (String name : names) {
+                    list.add(createEntry(path, name));
                 }
             }
             return list;
@@ -143,8 +214,12 @@ public boolean delete() {
             md.oid = null;
             md.dir = null;
             md.lastModified = null;
+            md.version = null;
+            md.children = null;
 
             entryCache.put(path, md);
+            invalidateDescendants(path);
+            parentChanged(path);
 
             return true;
         }
@@ -195,17 +270,44 @@ public boolean renameTo(Entry dest) {
                 LOGGER.warning("Unable to perform rename operation for entry " + toString());
                 return false;
             }
+            helper.anyUpdateQuery(update(List.of(md.oid), null, null));
 
             md.oid = null;
             md.dir = null;
             md.lastModified = null;
+            md.version = null;
+            md.children = null;
 
             entryCache.put(path, md);
+            invalidateDescendants(path);
+            parentChanged(path);
+            invalidate(dest.path);
+            invalidateDescendants(dest.path);
+            parentChanged(dest.path);
 
             return true;
         }
 
         public InputStream getContent() {
+            EntryMetaData md = getMetadata(path);
+            if (contentCache != null && md.oid != null) {
+                if (md.version == null) {
+                    // written locally, reload to get the new version
+                    invalidate(path);
+                    md = getMetadata(path);
+                }
+                if (md.oid != null && md.version != null) {
+                    CachedContent cached = contentCache.getIfPresent(md.oid);
+                    if (cached != null && cached.version() == md.version) {
+                        return new ByteArrayInputStream(cached.content());
+                    }
+                    InputStream is =
+                            helper.blobQuery(TABLE_RESOURCES, new FieldSelector<Integer>(OID, md.oid), CONTENT);
+                    if (is != null) {
+                        return cacheContent(md, is);
+                    }
+                }
+            }
             InputStream is = helper.blobQuery(TABLE_RESOURCES, new PathSelector(path), CONTENT);
             if (is == null) {
                 throw new IllegalStateException("Could not find content for entry " + toString());
@@ -213,30 +315,64 @@ public InputStream getContent() {
             return is;
         }
 
+        private InputStream cacheContent(EntryMetaData md, InputStream is) {
+            try {
+                byte[] head = is.readNBytes(maxCachedContent + 1);
+                if (head.length > maxCachedContent) {
+                    // too big to be cached, stream it
+                    return new SequenceInputStream(new ByteArrayInputStream(head), is);
+                }
+                is.close();
+                contentCache.put(md.oid, new CachedContent(md.version, head));
+                return new ByteArrayInputStream(head);
+            } catch (IOException e) {
+                try {
+                    is.close();
+                } catch (IOException ce) {
+                    LOGGER.warning("Failed to close stream: " + toString());
+                }
+                throw new IllegalStateException("Could not read content for entry " + toString(), e);
+            }
+        }
+
         public void setContent(InputStream is) {
             EntryMetaData md = getMetadata(path);
-            md.lastModified = new Timestamp(System.currentTimeMillis());
-            if (helper.updateQuery(
-                            TABLE_RESOURCES,
-                            new PathSelector(path),
-                            new Assignment<InputStream>(CONTENT, is),
-                            new Assignment<Timestamp>(LAST_MODIFIED, md.lastModified))
-                    <= 0) {
+            if (md.oid == null) {
                 LOGGER.warning("Unable to write content to entry " + toString());
+                return;
             }
-            List<String> parentPath = path;
-            while (!parentPath.isEmpty()) {
-                parentPath = parentPath.subList(0, parentPath.size() - 1);
-                if (helper.updateQuery(
-                                TABLE_RESOURCES,
-                                new PathSelector(parentPath),
-                                new Assignment<Timestamp>(LAST_MODIFIED, md.lastModified))
-                        <= 0) {
-                    LOGGER.warning("Unable to update last modified for directory " + toString());
+            md.lastModified = new Timestamp(System.currentTimeMillis());
+
+            // content and last modified of the parent directories are updated in one transaction
+            List<Integer> parents = new ArrayList<>();
+            for (int i = 0; i < path.size(); i++) {
+                Integer oid = getMetadata(new ArrayList<>(path.subList(0, i))).oid;
+                if (oid != null) {
+                    parents.add(oid);
                 }
             }
+            QueryBuilder content = update(List.of(md.oid), md.lastModified, is);
+            int[] updated = parents.isEmpty()
+                    ? helper.batchUpdateQuery(content)
+                    : helper.batchUpdateQuery(content, update(parents, md.lastModified, null));
+            if (updated[0] <= 0) {
+                LOGGER.warning("Unable to write content to entry " + toString());
+            }
+            if (updated.length > 1 && updated[1] < parents.size()) {
+                LOGGER.warning("Unable to update last modified for directory " + toString());
+            }
 
+            // the new version is read back on the next content access
+            md.version = null;
             entryCache.put(path, md);
+            for (int i = 0; i < path.size(); i++) {
+                ArrayList<String> parentPath = new ArrayList<>(path.subList(0, i));
+                EntryMetaData parent = getCachedMetadata(parentPath);
+                if (parent != null) {
+                    parent.lastModified = md.lastModified;
+                    entryCache.put(parentPath, parent);
+                }
+            }
         }
 
         public boolean isPermantentlyCached() {
@@ -245,7 +381,16 @@ public boolean isPermantentlyCached() {
 
         public void createDirectory() {
             int parentOid = 0;
-            for (String name : path) {
+            for (int i = 0; i < path.size(); i++) {
+                String name = path.get(i);
+                ArrayList<String> current = new ArrayList<>(path.subList(0, i + 1));
+                EntryMetaData cached = getCachedMetadata(current);
+                if (cached != null && cached.oid != null && Boolean.TRUE.equals(cached.dir)) {
+                    // known directory, no need to check the database
+                    parentOid = cached.oid;
+                    continue;
+                }
+
                 Map<String, Object> record =
                         helper.selectQuery(TABLE_RESOURCES, new ChildSelector(parentOid, name), OID, DIRECTORY);
 
@@ -254,6 +399,9 @@ public void createDirectory() {
                             TABLE_RESOURCES,
                             new Assignment<String>(NAME, name),
                             new Assignment<Integer>(PARENT, parentOid));
+                    helper.anyUpdateQuery(update(List.of(parentOid), null, null));
+                    invalidate(current);
+                    childrenChanged(path.subList(0, i));
                 } else {
                     if (!(Boolean) record.get(DIRECTORY.getFieldName())) {
                         throw new IllegalStateException("Could not create directory at "
@@ -306,10 +454,12 @@ public boolean createResource() {
             if (md.oid == null) {
                 throw new IllegalStateException("Did not get OID for new entry " + toString());
             }
+            helper.anyUpdateQuery(update(List.of(md.oid), null, null));
 
             md.dir = false;
 
             entryCache.put(path, md);
+            parentChanged(path);
 
             return true;
         }
@@ -382,6 +532,271 @@ public JDBCDirectoryStructure(DataSource ds, JDBCResourceStoreProperties config)
                 LOGGER.log(Level.WARNING, "Unable to save ResourceStore configuration", e);
             }
         }
+        addVersionColumn();
+
+        if (config.getChangePollInterval() > 0) {
+            cacheListings = true;
+            long contentCacheSize = config.getContentCacheSize();
+            if (contentCacheSize > 0) {
+                contentCache = CacheBuilder.newBuilder()
+                        .maximumWeight(contentCacheSize)
+                        .<Integer, CachedContent>weigher((k, v) -> v.content().length)
+                        .build();
+                maxCachedContent = (int) Math.min(Integer.MAX_VALUE - 8, contentCacheSize / 10);
+            }
+        }
+    }
+
+    /** Upgrades databases initialized before the introduction of entry versions */
+    private void addVersionColumn() {
+        try {
+            helper.anyQuery(new QueryBuilder("SELECT version FROM " + TABLE_RESOURCES + " WHERE oid = 0"), VERSION);
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.INFO, "Adding version column to the Resource Store Database.");
+            helper.anyUpdateQuery(new QueryBuilder(
+                    "ALTER TABLE " + TABLE_RESOURCES + " ADD COLUMN version bigint DEFAULT 0 NOT NULL"));
+        }
+    }
+
+    /** Loads the metadata of all the entries with a single query */
+    public void prefetch() {
+        Map<ArrayList<String>, EntryMetaData> entries = loadMetadata();
+        for (Map.Entry<ArrayList<String>, EntryMetaData> e : entries.entrySet()) {
+            cache(e.getKey(), e.getValue());
+        }
+        LOGGER.log(Level.FINE, "Prefetched " + entries.size() + " Resource Store entries.");
+    }
+
+    /** Caches prefetched metadata, pinning it if the change feed keeps it up to date */
+    private void cache(ArrayList<String> path, EntryMetaData md) {
+        entryCache().put(path, md);
+        if (config.getChangePollInterval() > 0) {
+            prefetched.put(path, md);
+        }
+        watch(path);
+    }
+
+    /** Reads the metadata of all the entries, by path */
+    private Map<ArrayList<String>, EntryMetaData> loadMetadata() {
+        Field<?>[] fields = {OID, PARENT, NAME, DIRECTORY, LAST_MODIFIED, VERSION};
+        QueryBuilder query = new QueryBuilder("SELECT ");
+        for (int i = 0; i < fields.length; i++) {
+            query.append((i > 0 ? ", " : "") + fields[i].getFieldExpression());
+        }
+        query.append(" FROM " + TABLE_RESOURCES);
+
+        Map<Integer, Map<String, Object>> records = new HashMap<>();
+        Map<Integer, ArrayList<String>> children = new HashMap<>();
+        for (Map<String, Object> record : helper.anyMultiQuery(query, fields)) {
+            Integer oid = (Integer) record.get(OID.getFieldName());
+            Integer parent = (Integer) record.get(PARENT.getFieldName());
+            records.put(oid, record);
+            if (parent != null) {
+                children.computeIfAbsent(parent, k -> new ArrayList<>()).add((String) record.get(NAME.getFieldName()));
+            }
+        }
+
+        Map<Integer, ArrayList<String>> paths = new HashMap<>();
+        Map<ArrayList<String>, EntryMetaData> result = new HashMap<>();
+        for (Map.Entry<Integer, Map<String, Object>> e : records.entrySet()) {
+            ArrayList<String> path = getPath(e.getKey(), records, paths);
+            if (path != null) {
+                Map<String, Object> record = e.getValue();
+                EntryMetaData md = new EntryMetaData();
+                md.oid = e.getKey();
+                md.dir = (Boolean) record.get(DIRECTORY.getFieldName());
+                md.lastModified = (Timestamp) record.get(LAST_MODIFIED.getFieldName());
+                md.version = (Long) record.get(VERSION.getFieldName());
+                if (cacheListings && Boolean.TRUE.equals(md.dir)) {
+                    md.children = children.getOrDefault(md.oid, new ArrayList<>());
+                }
+                result.put(path, md);
+            }
+        }
+        return result;
+    }
+
+    private ArrayList<String> getPath(
+            Integer oid, Map<Integer, Map<String, Object>> records, Map<Integer, ArrayList<String>> paths) {
+        ArrayList<String> path = paths.get(oid);
+        if (path == null) {
+            Map<String, Object> record = records.get(oid);
+            if (record == null) {
+                return null;
+            }
+            Integer parent = (Integer) record.get(PARENT.getFieldName());
+            if (parent == null) {
+                path = new ArrayList<>();
+            } else {
+                ArrayList<String> parentPath = getPath(parent, records, paths);
+                if (parentPath == null) {
+                    return null;
+                }
+                path = new ArrayList<>(parentPath);
+                path.add((String) record.get(NAME.getFieldName()));
+            }
+            paths.put(oid, path);
+        }
+        return path;
+    }
+
+    /**
+     * Starts polling the database for changes made by other nodes, if a poll interval is configured, see
+     * {@link JDBCResourceStoreProperties#getChangePollInterval()}
+     */
+    public synchronized void startChangeFeed() {
+        int interval = config.getChangePollInterval();
+        if (interval > 0 && changeFeed == null) {
+            checkChanges();
+            changeFeed = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "JDBCResourceStore change feed");
+                t.setDaemon(true);
+                return t;
+            });
+            changeFeed.scheduleWithFixedDelay(
+                    () -> {
+                        try {
+                            checkChanges();
+                        } catch (RuntimeException e) {
+                            LOGGER.log(Level.WARNING, "Failed to check the Resource Store Database for changes", e);
+                        }
+                    },
+                    interval,
+                    interval,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /** Stops polling the database for changes */
+    public synchronized void dispose() {
+        if (changeFeed != null) {
+            changeFeed.shutdownNow();
+            changeFeed = null;
+        }
+    }
+
+    /**
+     * Checks the database for changes since the last check. If any is found the metadata of all entries is read again,
+     * and only the cached entries that no longer match it are invalidated, so that changes made by this node, already
+     * applied to the cache, do not cause a full reload. Cached contents are kept, as they are validated against the
+     * entry versions.
+     *
+     * @return true if changes were found
+     */
+    public boolean checkChanges() {
+        QueryBuilder query = new QueryBuilder("SELECT " + ENTRIES.getFieldExpression() + ", "
+                + MAX_VERSION.getFieldExpression() + ", " + SUM_VERSION.getFieldExpression() + " FROM "
+                + TABLE_RESOURCES);
+        Map<String, Object> record = helper.anyQuery(query, ENTRIES, MAX_VERSION, SUM_VERSION);
+        Changes changes = new Changes(
+                (Long) record.get(ENTRIES.getFieldName()),
+                (Long) record.get(MAX_VERSION.getFieldName()),
+                (Long) record.get(SUM_VERSION.getFieldName()));
+        Changes previous = lastChanges;
+        lastChanges = changes;
+        if (previous == null || previous.equals(changes)) {
+            return false;
+        }
+        LOGGER.log(Level.FINE, "Resource Store Database changed, refreshing cached entries.");
+        Map<ArrayList<String>, EntryMetaData> current = loadMetadata();
+        Set<List<String>> cached = new HashSet<>(entryCache().asMap().keySet());
+        cached.addAll(prefetched.keySet());
+        int invalidated = 0;
+        for (List<String> path : cached) {
+            EntryMetaData md = getCachedMetadata(path);
+            if (md != null && !matches(md, current.get(path))) {
+                invalidate(path);
+                invalidated++;
+            }
+        }
+        if (config.isPrefetch()) {
+            for (Map.Entry<ArrayList<String>, EntryMetaData> e : current.entrySet()) {
+                if (getCachedMetadata(e.getKey()) == null) {
+                    cache(e.getKey(), e.getValue());
+                }
+            }
+        }
+        LOGGER.log(Level.FINE, "Invalidated " + invalidated + " cached Resource Store entries.");
+        return true;
+    }
+
+    /** Checks if the cached metadata is still valid, current is null if the entry does not exist */
+    private static boolean matches(EntryMetaData md, EntryMetaData current) {
+        if (current == null) {
+            return md.oid == null;
+        }
+        return Objects.equals(md.oid, current.oid)
+                && Objects.equals(md.version, current.version)
+                && (md.children == null || new HashSet<>(md.children).equals(new HashSet<>(current.children)));
+    }
+
+    /** Builds a query assigning a new version, and optionally a last modified and content, to the given entries */
+    private QueryBuilder update(Collection<Integer> oids, Timestamp lastModified, InputStream content) {
+        QueryBuilder query = new QueryBuilder("UPDATE " + TABLE_RESOURCES + " SET ");
+        if (content != null) {
+            query.append(CONTENT.getFieldName() + " = ?, ");
+            query.addParameter(new Parameter<InputStream>(TYPE_BLOB, content));
+        }
+        if (lastModified != null) {
+            query.append(LAST_MODIFIED.getFieldName() + " = ?, ");
+            query.addParameter(new Parameter<Timestamp>(TYPE_TIMESTAMP, lastModified));
+        }
+        query.append(VERSION.getFieldName() + " = " + NEXT_VERSION + " WHERE ");
+        new OidSelector(oids).appendCondition(query);
+        return query;
+    }
+
+    private void invalidate(List<String> path) {
+        entryCache().invalidate(path);
+        prefetched.remove(path);
+        unwatch(path);
+    }
+
+    private void invalidateDescendants(List<String> path) {
+        Predicate<List<String>> descendant = p -> p.size() > path.size() && p.subList(0, path.size()).equals(path);
+        entryCache().asMap().keySet().removeIf(descendant);
+        prefetched.keySet().removeIf(descendant);
+        for (List<String> p : new ArrayList<>(watched.keySet())) {
+            if (descendant.test(p)) {
+                unwatch(p);
+            }
+        }
+    }
+
+    private EntryMetaData getCachedMetadata(List<String> path) {
+        EntryMetaData md = entryCache().getIfPresent(path);
+        return md != null ? md : prefetched.get(path);
+    }
+
+    private void parentChanged(List<String> path) {
+        if (!path.isEmpty()) {
+            childrenChanged(path.subList(0, path.size() - 1));
+        }
+    }
+
+    private void childrenChanged(List<String> path) {
+        EntryMetaData md = getCachedMetadata(path);
+        if (md != null && md.children != null) {
+            md.children = null;
+            entryCache().put(new ArrayList<>(path), md);
+        }
+    }
+
+    private void watch(ArrayList<String> path) {
+        if (resourceNotificationDispatcher != null && !watched.containsKey(path)) {
+            // the listener is removed along with the cached metadata, by the first notification at the latest
+            ResourceListener listener = notify -> invalidate(path);
+            if (watched.putIfAbsent(path, listener) == null) {
+                resourceNotificationDispatcher.addListener(mergePath(path), listener);
+            }
+        }
+    }
+
+    private void unwatch(List<String> path) {
+        ResourceListener listener = watched.remove(path);
+        if (listener != null && resourceNotificationDispatcher != null) {
+            resourceNotificationDispatcher.removeListener(mergePath(path), listener);
+        }
     }
 
     private Cache<ArrayList<String>, EntryMetaData> entryCache() {
@@ -397,22 +812,20 @@ private EntryMetaData getMetadata(ArrayList<String> path) {
             return entryCache().get(path, new Callable<EntryMetaData>() {
                 @Override
                 public EntryMetaData call() throws Exception {
-                    EntryMetaData md = new EntryMetaData();
-                    Map<String, Object> record =
-                            helper.selectQuery(TABLE_RESOURCES, new PathSelector(path), OID, DIRECTORY, LAST_MODIFIED);
+                    EntryMetaData md = prefetched.get(path);
+                    if (md != null) {
+                        return md;
+                    }
+                    md = new EntryMetaData();
+                    Map<String, Object> record = helper.selectQuery(
+                            TABLE_RESOURCES, new PathSelector(path), OID, DIRECTORY, LAST_MODIFIED, VERSION);
                     if (record != null) {
                         md.oid = (Integer) record.get(OID.getFieldName());
                         md.dir = (Boolean) record.get(DIRECTORY.getFieldName());
                         md.lastModified = (Timestamp) record.get(LAST_MODIFIED.getFieldName());
+                        md.version = (Long) record.get(VERSION.getFieldName());
                     }
-                    resourceNotificationDispatcher.addListener(mergePath(path), new ResourceListener() {
-
-                        @Override
-                        public void changed(ResourceNotification notify) {
-                            entryCache().invalidate(path);
-                            resourceNotificationDispatcher.removeListener(md.toString(), this);
-                        }
-                    });
+                    watch(path);
                     return md;
                 }
             });
@@ -505,6 +918,26 @@ public QueryBuilder appendCondition(QueryBuilder qb) {
         }
     }
 
+    private static class OidSelector implements Selector {
+        private Collection<Integer> oids;
+
+        public OidSelector(Collection<Integer> oids) {
+            this.oids = oids;
+        }
+
+        @Override
+        public QueryBuilder appendCondition(QueryBuilder qb) {
+            qb.append("oid IN (");
+            int i = 0;
+            for (Integer oid : oids) {
+                qb.append(i++ > 0 ? ", ?" : "?");
+                qb.addParameter(new Parameter<Integer>(TYPE_INT, oid));
+            }
+            qb.append(")");
+            return qb;
+        }
+    }
+
     private static class ChildSelector implements Selector {
         private String name;
 
@@ -60,6 +60,20 @@ public Integer getValue(ResultSet rs, String colName) throws SQLException {
         }
     };
 
+    public static final Type<Long> TYPE_LONG = new Type<Long>() {
+        @Override
+        public void setValue(PreparedStatement s, int index, Long value) throws SQLException {
+            s.setLong(index, value);
+        }
+
+        @Override
+        public Long getValue(ResultSet rs, String colName) throws SQLException {
+            long l = rs.getLong(colName);
+            if (rs.wasNull()) return null;
+            return l;
+        }
+    };
+
     public static final Type<Boolean> TYPE_BOOLEAN = new Type<Boolean>() {
         @Override
         public void setValue(PreparedStatement s, int index, Boolean value) throws SQLException {
@@ -432,6 +446,32 @@ public int anyUpdateQuery(QueryBuilder query) {
         }
     }
 
+    /** Runs the given update queries in a single transaction, returning the number of rows updated by each */
+    public int[] batchUpdateQuery(QueryBuilder... queries) {
+        try (Connection c = ds.getConnection()) {
+            boolean autoCommit = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try {
+                int[] result = new int[queries.length];
+                for (int i = 0; i < queries.length; i++) {
+                    LOGGER.log(Level.FINEST, queries[i].toString());
+                    try (PreparedStatement stmt = queries[i].toStatement(c)) {
+                        result[i] = stmt.executeUpdate();
+                    }
+                }
+                c.commit();
+                return result;
+            } catch (SQLException ex) {
+                c.rollback();
+                throw ex;
+            } finally {
+                c.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("BatchUpdateQuery Failed", ex);
+        }
+    }
+
     public List<Integer> anyInsertQuery(QueryBuilder query) {
         LOGGER.log(Level.FINEST, query.toString());
 
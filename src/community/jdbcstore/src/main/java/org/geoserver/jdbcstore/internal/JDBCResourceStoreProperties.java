@@ -49,4 +49,26 @@ public String[] getIgnoreDirs() {
     public String[] getCachedDirs() {
         return getProperty("cachedDirs", "").split(",");
     }
+
+    /**
+     * Whether the metadata of the whole resource tree is loaded with a single query at startup, instead of one entry
+     * at a time as resources are accessed.
+     */
+    public boolean isPrefetch() {
+        return Boolean.valueOf(getProperty("prefetch", "true"));
+    }
+
+    /**
+     * Interval in seconds between two checks of the database for changes made by other nodes, the local caches are
+     * invalidated when changes are found. Directory listings and resource contents are cached locally only if this is
+     * positive.
+     */
+    public int getChangePollInterval() {
+        return Integer.parseInt(getProperty("changePollInterval", "0"));
+    }
+
+    /** Maximum size in bytes of the local cache of resource contents, 0 disables it. */
+    public long getContentCacheSize() {
+        return Long.parseLong(getProperty("contentCacheSize", "16777216"));
+    }
 }
@@ -5,6 +5,7 @@ CREATE TABLE resources
   parent integer,
   last_modified timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   content blob,
+  version bigint DEFAULT 0 NOT NULL,
   CONSTRAINT resources_pkey PRIMARY KEY (oid),
   CONSTRAINT resources_parent_fkey FOREIGN KEY (parent)
       REFERENCES resources (oid)
@@ -5,6 +5,7 @@ CREATE TABLE resources
   parent integer,
   last_modified timestamp without time zone NOT NULL DEFAULT timezone('UTC'::text, now()),
   content bytea,
+  version bigint NOT NULL DEFAULT 0,
   CONSTRAINT resources_pkey PRIMARY KEY (oid),
   CONSTRAINT resources_parent_fkey FOREIGN KEY (parent)
       REFERENCES resources (oid)
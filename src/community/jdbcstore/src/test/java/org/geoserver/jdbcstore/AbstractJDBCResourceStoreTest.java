@@ -17,6 +17,7 @@
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -26,6 +27,7 @@
 import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import org.geoserver.catalog.impl.StyleInfoImpl;
 import org.geoserver.config.GeoServerDataDirectory;
@@ -71,12 +73,19 @@ public void cleanUp() throws Exception {
     }
 
     JDBCResourceStoreProperties getConfig(boolean enabled, boolean init) {
+        return getConfig(enabled, init, 0);
+    }
+
+    JDBCResourceStoreProperties getConfig(boolean enabled, boolean init, int changePollInterval) {
         JDBCResourceStoreProperties config = createMock(JDBCResourceStoreProperties.class);
         expect(config.isInitDb()).andStubReturn(init);
         expect(config.isEnabled()).andStubReturn(enabled);
         expect(config.isImport()).andStubReturn(init);
         expect(config.getIgnoreDirs()).andStubReturn(new String[] {"DirIgnore"});
         expect(config.getCachedDirs()).andStubReturn(new String[] {});
+        expect(config.isPrefetch()).andStubReturn(true);
+        expect(config.getChangePollInterval()).andStubReturn(changePollInterval);
+        expect(config.getContentCacheSize()).andStubReturn(1024L * 1024);
         config.setInitDb(false);
         expectLastCall();
         try {
@@ -245,6 +254,57 @@ public void testLongQuery() throws Exception {
         assertThat(r, resource());
     }
 
+    @Test
+    public void testPrefetchAndChangeFeed() throws Exception {
+        standardData();
+
+        JDBCResourceStore store = new JDBCResourceStore(support.getDataSource(), getConfig(true, false, 3600));
+        store.setLockProvider(new NullLockProvider());
+        store.init();
+        try {
+            Resource file = store.get("DirC/FileD");
+            assertThat(file, resource());
+            assertEquals(4, store.get(Paths.BASE).list().size());
+            assertArrayEquals("FileD Contents".getBytes(), read(file));
+            assertFalse(store.dir.checkChanges());
+
+            // another node adds a file and changes the contents of another
+            support.addFile("FileX", 0, "FileX Contents".getBytes());
+            try (PreparedStatement ps = support.getConnection()
+                    .prepareStatement("UPDATE resources SET content = ?, version = 100 WHERE name = 'FileD'")) {
+                ps.setBytes(1, "Changed".getBytes());
+                ps.execute();
+            }
+
+            // cached until the change is detected
+            assertEquals(4, store.get(Paths.BASE).list().size());
+            assertArrayEquals("FileD Contents".getBytes(), read(file));
+            assertTrue(store.dir.checkChanges());
+            assertEquals(5, store.get(Paths.BASE).list().size());
+            assertArrayEquals("Changed".getBytes(), read(file));
+
+            // local writes are visible right away
+            try (OutputStream out = file.out()) {
+                out.write("Local".getBytes());
+            }
+            assertArrayEquals("Local".getBytes(), read(file));
+            Resource created = store.get("DirE/FileY");
+            try (OutputStream out = created.out()) {
+                out.write("FileY Contents".getBytes());
+            }
+            assertEquals(1, store.get("DirE").list().size());
+            assertTrue(store.dir.checkChanges());
+        } finally {
+            store.dispose();
+        }
+    }
+
+    byte[] read(Resource resource) throws Exception {
+        try (InputStream in = resource.in()) {
+            return in.readAllBytes();
+        }
+    }
+
     @Test
     public void testBasicRead() throws Exception {
         standardData();
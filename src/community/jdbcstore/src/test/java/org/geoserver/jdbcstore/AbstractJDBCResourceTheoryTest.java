@@ -57,6 +57,9 @@ protected JDBCResourceStoreProperties mockConfig(boolean enabled, boolean init)
         expect(config.isEnabled()).andStubReturn(enabled);
         expect(config.isImport()).andStubReturn(init);
         expect(config.getCachedDirs()).andStubReturn(new String[] {"DirCached"});
+        expect(config.isPrefetch()).andStubReturn(true);
+        expect(config.getChangePollInterval()).andStubReturn(0);
+        expect(config.getContentCacheSize()).andStubReturn(0L);
 
         support.stubConfig(config);
 
@@ -0,0 +1,209 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.opensearch.eo;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.opensearch.eo.store.OpenSearchAccess;
+import org.geoserver.ows.LocalWorkspace;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.filter.visitor.SimplifyingFilterVisitor;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Computes the number of features matched by OpenSearch and STAC searches, following the {@link NumberMatchedStrategy}
+ * configured for the searched collections.
+ *
+ * <p>Cached counts are kept for {@code OSEO_NUMBER_MATCHED_CACHE_TTL} seconds (300 by default), and dropped as soon as
+ * the products or the collections are modified.
+ */
+public class NumberMatchedCounter implements GeoServerLifecycleHandler, OseoEventListener {
+
+    static final Logger LOGGER = Logging.getLogger(NumberMatchedCounter.class);
+
+    static final int DEFAULT_CACHE_TTL = 300;
+
+    static final int CACHE_SIZE = 1000;
+
+    private final Cache<CountKey, Integer> counts = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .expireAfterWrite(getCacheTTL(), TimeUnit.SECONDS)
+            .build();
+
+    private static int getCacheTTL() {
+        String value = GeoServerExtensions.getProperty("OSEO_NUMBER_MATCHED_CACHE_TTL");
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warning(
+                        "Invalid value for OSEO_NUMBER_MATCHED_CACHE_TTL: " + value + ", using " + DEFAULT_CACHE_TTL);
+            }
+        }
+        return DEFAULT_CACHE_TTL;
+    }
+
+    /**
+     * Returns the strategy to be used when searching the given collections. Searches targeting a single collection use
+     * its own strategy, if configured, any other search uses the service default one.
+     */
+    public static NumberMatchedStrategy getStrategy(OSEOInfo oseo, List<String> collectionIds) {
+        if (collectionIds != null && collectionIds.size() == 1) {
+            NumberMatchedStrategy strategy = oseo.getCollectionNumberMatchedStrategies().get(collectionIds.get(0));
+            if (strategy != null) {
+                return strategy;
+            }
+        }
+        return oseo.getNumberMatchedStrategy();
+    }
+
+    /**
+     * Counts the features matching the query
+     *
+     * @param source the source to be queried
+     * @param query the query, with no paging
+     * @param collectionIds the collections being searched, or null if searching all of them
+     * @param cached whether to use the count cache
+     */
+    public int count(
+            FeatureSource<FeatureType, Feature> source, Query query, List<String> collectionIds, boolean cached)
+            throws IOException {
+        if (!cached) {
+            return source.getCount(query);
+        }
+        // the workspace and security filters are added by the source itself, include what they depend on in the key
+        CountKey key = new CountKey(
+                source.getName().toString(),
+                getWorkspace(),
+                getRoles(),
+                sorted(collectionIds),
+                normalize(query.getFilter()));
+        try {
+            return counts.get(key, () -> source.getCount(query));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException exception) throw exception;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Estimates the features matching the query, given that a page of results has already been read. The estimate is
+     * exact when there is no next page, and never less than the features already known to match otherwise.
+     *
+     * @param source the source to be queried
+     * @param query the query, with no paging
+     * @param startIndex the start index of the page
+     * @param returned the features returned in the page
+     * @param nextPage whether there are more matches after the page
+     */
+    public int estimate(
+            FeatureSource<FeatureType, Feature> source, Query query, int startIndex, int returned, boolean nextPage)
+            throws IOException {
+        int known = startIndex + returned;
+        if (!nextPage) {
+            return known;
+        }
+        Query estimateQuery = new Query(query);
+        estimateQuery.getHints().put(OpenSearchAccess.ESTIMATED_COUNT, Boolean.TRUE);
+        int estimate = source.getCount(estimateQuery);
+        if (estimate < 0) {
+            estimate = source.getCount(query);
+        }
+        return Math.max(estimate, known + 1);
+    }
+
+    private static List<String> sorted(List<String> collectionIds) {
+        if (collectionIds == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(collectionIds);
+        Collections.sort(result);
+        return result;
+    }
+
+    private static String getWorkspace() {
+        WorkspaceInfo workspace = LocalWorkspace.get();
+        return workspace != null ? workspace.getName() : null;
+    }
+
+    private static List<String> getRoles() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return Collections.emptyList();
+        }
+        List<String> roles = new ArrayList<>();
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            roles.add(authority.getAuthority());
+        }
+        Collections.sort(roles);
+        return roles;
+    }
+
+    private static String normalize(Filter filter) {
+        if (filter == null) {
+            return Filter.INCLUDE.toString();
+        }
+        return String.valueOf(filter.accept(new SimplifyingFilterVisitor(), null));
+    }
+
+    /** Drops all cached counts, to be called when the products are modified */
+    public void clear() {
+        counts.invalidateAll();
+    }
+
+    @Override
+    public void dataStoreChange(OseoEvent event) {
+        String collection = event.getCollectionName();
+        if (collection == null) {
+            clear();
+        } else {
+            // counts of the collection, and of searches not restricted to specific collections
+            counts.asMap()
+                    .keySet()
+                    .removeIf(k -> k.collectionIds().isEmpty() || k.collectionIds().contains(collection));
+        }
+    }
+
+    @Override
+    public void onReset() {
+        clear();
+    }
+
+    @Override
+    public void onDispose() {
+        clear();
+    }
+
+    @Override
+    public void beforeReload() {}
+
+    @Override
+    public void onReload() {
+        clear();
+    }
+
+    /**
+     * Identifies a count by source, local workspace, user roles, searched collections and filter. The workspace and
+     * roles determine the restrictions the sources add to the filter.
+     */
+    record CountKey(String source, String workspace, List<String> roles, List<String> collectionIds, String filter) {}
+}
@@ -0,0 +1,26 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.opensearch.eo;
+
+/**
+ * How the number of matched products/collections is computed in OpenSearch and STAC responses, used for the
+ * numberMatched property, the total results and the paging links.
+ */
+public enum NumberMatchedStrategy {
+    /** Runs a count query for each search */
+    EXACT,
+    /**
+     * Runs a count query, but caches its result for the same collection and filter, until the products are modified
+     * or the cache entry expires
+     */
+    CACHED,
+    /**
+     * Uses the database planner statistics to estimate the count, falling back on the exact count when no estimate is
+     * available. The next page presence is checked by fetching one extra item.
+     */
+    ESTIMATED,
+    /** Skips the count, the next page presence is checked by fetching one extra item */
+    SKIP
+}
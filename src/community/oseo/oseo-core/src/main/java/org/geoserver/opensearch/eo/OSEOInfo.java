@@ -5,6 +5,7 @@
 package org.geoserver.opensearch.eo;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.geoserver.config.ServiceInfo;
 import org.geoserver.opensearch.eo.security.EOCollectionAccessLimitInfo;
@@ -75,6 +76,21 @@ public interface OSEOInfo extends ServiceInfo {
     /** Set to true if this feature type info is overriding the default counting of numberMatched. */
     void setSkipNumberMatched(boolean skipNumberMatched);
 
+    /**
+     * Returns the default strategy used to compute numberMatched. If not explicitly set, it's {@link
+     * NumberMatchedStrategy#SKIP} or {@link NumberMatchedStrategy#EXACT} depending on {@link #isSkipNumberMatched()}
+     */
+    NumberMatchedStrategy getNumberMatchedStrategy();
+
+    /** Sets the default strategy used to compute numberMatched, or null to follow {@link #isSkipNumberMatched()} */
+    void setNumberMatchedStrategy(NumberMatchedStrategy numberMatchedStrategy);
+
+    /**
+     * Returns the strategies used to compute numberMatched for specific collections, by collection identifier (as a
+     * live, editable map). Used for searches targeting a single collection.
+     */
+    Map<String, NumberMatchedStrategy> getCollectionNumberMatchedStrategies();
+
     /** Returns the list of collection access limits (as a live, editable collection) */
     List<EOCollectionAccessLimitInfo> getCollectionLimits();
 
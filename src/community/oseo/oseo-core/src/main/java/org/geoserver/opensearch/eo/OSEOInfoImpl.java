@@ -6,7 +6,9 @@
 
 import java.io.Serial;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.geoserver.config.impl.ServiceInfoImpl;
 import org.geoserver.config.util.patch.PatchProperty;
 import org.geoserver.opensearch.eo.security.EOCollectionAccessLimitInfo;
@@ -36,6 +38,10 @@ public class OSEOInfoImpl extends ServiceInfoImpl implements OSEOInfo {
 
     boolean skipNumberMatched = false;
 
+    NumberMatchedStrategy numberMatchedStrategy;
+
+    Map<String, NumberMatchedStrategy> collectionNumberMatchedStrategies = new HashMap<>();
+
     List<EOCollectionAccessLimitInfo> collectionLimits = new ArrayList<>();
     List<EOProductAccessLimitInfo> productLimits = new ArrayList<>();
 
@@ -127,6 +133,29 @@ public void setSkipNumberMatched(boolean skipNumberMatched) {
         this.skipNumberMatched = skipNumberMatched;
     }
 
+    @Override
+    public NumberMatchedStrategy getNumberMatchedStrategy() {
+        if (numberMatchedStrategy != null) {
+            return numberMatchedStrategy;
+        }
+        return skipNumberMatched ? NumberMatchedStrategy.SKIP : NumberMatchedStrategy.EXACT;
+    }
+
+    @Override
+    public void setNumberMatchedStrategy(NumberMatchedStrategy numberMatchedStrategy) {
+        this.numberMatchedStrategy = numberMatchedStrategy;
+    }
+
+    @Override
+    public Map<String, NumberMatchedStrategy> getCollectionNumberMatchedStrategies() {
+        return collectionNumberMatchedStrategies;
+    }
+
+    public void setCollectionNumberMatchedStrategies(
+            Map<String, NumberMatchedStrategy> collectionNumberMatchedStrategies) {
+        this.collectionNumberMatchedStrategies = collectionNumberMatchedStrategies;
+    }
+
     @Override
     public List<EOCollectionAccessLimitInfo> getCollectionLimits() {
         return collectionLimits;
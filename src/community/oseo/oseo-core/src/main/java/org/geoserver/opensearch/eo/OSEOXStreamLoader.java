@@ -6,6 +6,7 @@
 
 import com.thoughtworks.xstream.XStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import org.geoserver.catalog.Keyword;
 import org.geoserver.catalog.KeywordInfo;
@@ -65,6 +66,8 @@ public static void initXStreamPersister(XStreamPersister xp) {
         xs.alias("productClass", ProductClass.class, ProductClass.class);
         xs.alias("eoCollectionLimit", EOCollectionAccessLimitInfo.class, EOCollectionAccessLimitInfoImpl.class);
         xs.alias("eoProductLimit", EOProductAccessLimitInfo.class, EOProductAccessLimitInfoImpl.class);
+        xs.alias("numberMatchedStrategy", NumberMatchedStrategy.class);
+        xs.allowTypes(new Class[] {NumberMatchedStrategy.class});
         xs.allowTypeHierarchy(ProductClass.class);
         xs.allowTypeHierarchy(EOAccessLimitInfo.class);
     }
@@ -91,6 +94,9 @@ protected OSEOInfo initialize(OSEOInfo service) {
         if (service.getProductLimits() == null) {
             ((OSEOInfoImpl) service).setProductLimits(new ArrayList<>());
         }
+        if (service.getCollectionNumberMatchedStrategies() == null) {
+            ((OSEOInfoImpl) service).setCollectionNumberMatchedStrategies(new HashMap<>());
+        }
 
         return service;
     }
@@ -391,6 +391,10 @@ public Set<Key> getSupportedHints() {
     @Override
     public int getCount(Query query) throws IOException {
         final Query mappedQuery = mapToSimpleCollectionQuery(query, false);
+        Object estimated = query.getHints().get(OpenSearchAccess.ESTIMATED_COUNT);
+        if (estimated != null) {
+            mappedQuery.getHints().put(OpenSearchAccess.ESTIMATED_COUNT, estimated);
+        }
         return getDelegateSource().getCount(mappedQuery);
     }
 
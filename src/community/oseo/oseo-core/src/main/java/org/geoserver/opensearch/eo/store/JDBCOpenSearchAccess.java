@@ -15,6 +15,7 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -29,6 +30,8 @@
 import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang.WordUtils;
@@ -66,6 +69,8 @@
 import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.jdbc.FilterToSQL;
+import org.geotools.data.jdbc.FilterToSQLException;
 import org.geotools.data.postgis.PostGISDialect;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.store.ContentFeatureCollection;
@@ -129,6 +134,9 @@ public class JDBCOpenSearchAccess implements org.geoserver.opensearch.eo.store.O
      */
     static final String SYNTHETIC = "synthetic";
 
+    /** Extracts the estimated rows from the top node of a PostgreSQL query plan */
+    static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
     Repository repository;
 
     Name delegateStoreName;
@@ -1063,6 +1071,50 @@ public SimpleFeatureSource getCollectionGranulesSource(String typeName) throws I
         return fs;
     }
 
+    /**
+     * Estimates how many rows of the given table match the filter out of the PostgreSQL planner statistics, without
+     * running an actual count. Returns -1 if no estimate is available, e.g., the store is not a PostGIS one, or the
+     * filter cannot be fully encoded in SQL.
+     */
+    int estimateCount(String typeName, Filter filter) throws IOException {
+        JDBCDataStore delegate = getRawDelegateStore();
+        SQLDialect dialect = delegate.getSQLDialect();
+        if (!(dialect instanceof PostGISDialect)) {
+            return -1;
+        }
+        String tableName = Arrays.stream(delegate.getTypeNames())
+                .filter(name -> name.equalsIgnoreCase(typeName))
+                .findFirst()
+                .orElse(null);
+        if (tableName == null) {
+            return -1;
+        }
+        FilterToSQL encoder = delegate.createFilterToSQL(delegate.getSchema(tableName));
+        if (filter != null && !encoder.getCapabilities().fullySupports(filter)) {
+            return -1;
+        }
+        StringBuffer sql = new StringBuffer("EXPLAIN SELECT 1 FROM ");
+        encodeTableName(dialect, delegate.getDatabaseSchema(), tableName, sql);
+        try {
+            if (filter != null && !Filter.INCLUDE.equals(filter)) {
+                sql.append(" ").append(encoder.encodeToString(filter));
+            }
+            try (Connection cx = delegate.getConnection(Transaction.AUTO_COMMIT);
+                    Statement st = cx.createStatement();
+                    ResultSet rs = st.executeQuery(sql.toString())) {
+                if (rs.next()) {
+                    Matcher matcher = PLAN_ROWS.matcher(rs.getString(1));
+                    if (matcher.find()) {
+                        return (int) Math.min(Integer.MAX_VALUE, Long.parseLong(matcher.group(1)));
+                    }
+                }
+            }
+        } catch (FilterToSQLException | SQLException e) {
+            LOGGER.log(Level.FINE, "Could not estimate the rows of " + typeName + " matching " + filter, e);
+        }
+        return -1;
+    }
+
     private void encodeTableName(SQLDialect dialect, String databaseSchema, String tableName, StringBuffer sql) {
         if (databaseSchema != null) {
             dialect.encodeSchemaName(databaseSchema, sql);
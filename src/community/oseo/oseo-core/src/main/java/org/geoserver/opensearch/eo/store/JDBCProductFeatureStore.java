@@ -16,7 +16,9 @@
 import java.util.stream.Collectors;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.featurestemplating.builders.JSONFieldSupport;
+import org.geoserver.opensearch.eo.NumberMatchedCounter;
 import org.geoserver.ows.LocalWorkspace;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geotools.api.data.Join;
 import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureSource;
@@ -78,6 +80,12 @@ public SimpleFeatureSource getDelegateSource() throws IOException {
         return new WorkspaceFeatureSource(delegate, workspaceInfo, openSearchAccess);
     }
 
+    @Override
+    protected void featuresModified() {
+        // cached product counts are stale now
+        GeoServerExtensions.extensions(NumberMatchedCounter.class).forEach(NumberMatchedCounter::clear);
+    }
+
     @Override
     protected String getLinkTable() {
         return "product_ogclink";
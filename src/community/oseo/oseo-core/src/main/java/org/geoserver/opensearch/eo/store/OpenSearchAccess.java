@@ -14,6 +14,7 @@
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.feature.type.Name;
 import org.geotools.feature.NameImpl;
+import org.geotools.util.factory.Hints;
 
 /**
  * Provides access to OpenSearch for EO collections and products as an extension of {@link DataAccess} with well known
@@ -78,6 +79,12 @@ public interface OpenSearchAccess extends DataAccess<FeatureType, Feature> {
     /** The collection layer description, picked from the GeoServer configuration */
     public static final String LAYER_DESCRIPTION = "description";
 
+    /**
+     * Query hint asking {@link FeatureSource#getCount(org.geotools.api.data.Query)} for a quick estimate of the
+     * matched features, based on the database statistics. Sources that cannot estimate will return -1.
+     */
+    public static final Hints.Key ESTIMATED_COUNT = new Hints.Key(Boolean.class);
+
     /**
      * Just like in WCS 2.0, setting up a separator that's unlikely to be found in the wild, since there is no option
      * that's absolutely unique
@@ -56,6 +56,9 @@ public ReferencedEnvelope getBounds(Query query) throws IOException {
     @Override
     public int getCount(Query query) throws IOException {
         query = appendWorkspaceToQuery(query);
+        if (Boolean.TRUE.equals(query.getHints().get(OpenSearchAccess.ESTIMATED_COUNT))) {
+            return openSearchAccess.estimateCount(delegate.getSchema().getTypeName(), query.getFilter());
+        }
         return delegate.getCount(query);
     }
 
@@ -19,6 +19,7 @@
 import org.geoserver.config.GeoServer;
 import org.geoserver.opensearch.eo.response.TemplatesProcessor;
 import org.geoserver.opensearch.eo.store.OpenSearchAccess;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.OWS20Exception;
 import org.geoserver.platform.OWS20Exception.OWSExceptionCode;
 import org.geotools.api.data.FeatureSource;
@@ -220,31 +221,40 @@ public SearchResults search(SearchRequest request) throws IOException {
         }
 
         // count
+        List<String> collectionIds = parentId == null ? null : List.of(parentId);
+        NumberMatchedStrategy strategy = NumberMatchedCounter.getStrategy(getService(), collectionIds);
+        NumberMatchedCounter counter = GeoServerExtensions.bean(NumberMatchedCounter.class);
         Integer totalResults = null;
         boolean nextPage;
         FeatureCollection<FeatureType, Feature> features;
-        if (getService().isSkipNumberMatched()) {
+        if (strategy == NumberMatchedStrategy.SKIP || strategy == NumberMatchedStrategy.ESTIMATED) {
+            int returned;
             if (resultsQuery.getMaxFeatures() == Query.DEFAULT_MAX) {
                 features = featureSource.getFeatures(resultsQuery);
+                returned = strategy == NumberMatchedStrategy.ESTIMATED ? features.size() : 0;
                 nextPage = false;
             } else {
                 // get the items, plus one to check for next page
                 Query nextQuery = new Query(resultsQuery);
                 nextQuery.setMaxFeatures(resultsQuery.getMaxFeatures() + 1);
                 features = featureSource.getFeatures(nextQuery);
-                int returned = features.size();
+                returned = features.size();
                 if (returned > resultsQuery.getMaxFeatures()) {
                     nextPage = true;
                     features = new MaxFeaturesFeatureCollection<>(features, resultsQuery.getMaxFeatures());
+                    returned = resultsQuery.getMaxFeatures();
                 } else {
                     nextPage = false;
                 }
             }
+            if (strategy == NumberMatchedStrategy.ESTIMATED) {
+                int startIndex = Optional.ofNullable(resultsQuery.getStartIndex()).orElse(0);
+                Query countQuery = getCountQuery(resultsQuery);
+                totalResults = counter.estimate(featureSource, countQuery, startIndex, returned, nextPage);
+            }
         } else {
-            Query countQuery = new Query(resultsQuery);
-            countQuery.setMaxFeatures(Query.DEFAULT_MAX);
-            countQuery.setStartIndex(null);
-            totalResults = featureSource.getCount(countQuery);
+            boolean cached = strategy == NumberMatchedStrategy.CACHED;
+            totalResults = counter.count(featureSource, getCountQuery(resultsQuery), collectionIds, cached);
             nextPage = totalResults
                     > (Optional.ofNullable(resultsQuery.getStartIndex()).orElse(0) + resultsQuery.getMaxFeatures());
 
@@ -262,6 +272,13 @@ public SearchResults search(SearchRequest request) throws IOException {
         return results;
     }
 
+    private Query getCountQuery(Query resultsQuery) {
+        Query countQuery = new Query(resultsQuery);
+        countQuery.setMaxFeatures(Query.DEFAULT_MAX);
+        countQuery.setStartIndex(null);
+        return countQuery;
+    }
+
     /**
      * Adds an "enabled" = "true" filter to the
      *
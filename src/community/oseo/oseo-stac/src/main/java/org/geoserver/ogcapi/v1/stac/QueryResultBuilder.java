@@ -19,6 +19,7 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.geoserver.config.GeoServer;
@@ -26,6 +27,8 @@
 import org.geoserver.featurestemplating.builders.visitors.PropertySelectionVisitor;
 import org.geoserver.ogcapi.APIBBoxParser;
 import org.geoserver.ogcapi.APIFilterParser;
+import org.geoserver.opensearch.eo.NumberMatchedCounter;
+import org.geoserver.opensearch.eo.NumberMatchedStrategy;
 import org.geoserver.opensearch.eo.OSEOInfo;
 import org.geoserver.opensearch.eo.OpenSearchAccessProvider;
 import org.geoserver.opensearch.eo.store.OpenSearchAccess;
@@ -85,6 +88,8 @@ class QueryResultBuilder {
 
     private GeoServer geoServer;
 
+    private NumberMatchedCounter counter;
+
     private static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
 
     static final String DEF_TEMPLATE = "DEFAULT";
@@ -100,6 +105,7 @@ class QueryResultBuilder {
         this.filterParser = filterParser;
         this.sampleFeatures = sampleFeatures;
         this.geoServer = GeoServerExtensions.bean(GeoServer.class);
+        this.counter = GeoServerExtensions.bean(NumberMatchedCounter.class);
         this.collectionsCache = collectionsCache;
     }
 
@@ -377,12 +383,12 @@ OSEOInfo getService() {
 
     private QueryResult queryItems(FeatureSource<FeatureType, Feature> source, Query q) throws IOException {
         // the counts if necessary
-        OSEOInfo oseo = getService();
+        NumberMatchedStrategy strategy = NumberMatchedCounter.getStrategy(getService(), collectionIds);
         BigInteger matched = null;
         boolean nextPage;
         FeatureCollection<FeatureType, Feature> items;
         int returned;
-        if (oseo.isSkipNumberMatched()) {
+        if (strategy == NumberMatchedStrategy.SKIP || strategy == NumberMatchedStrategy.ESTIMATED) {
             if (q.getMaxFeatures() == Query.DEFAULT_MAX) {
                 items = source.getFeatures(q);
                 returned = items.size();
@@ -401,12 +407,14 @@ private QueryResult queryItems(FeatureSource<FeatureType, Feature> source, Query
                     nextPage = false;
                 }
             }
+            if (strategy == NumberMatchedStrategy.ESTIMATED) {
+                int startIndex = Optional.ofNullable(q.getStartIndex()).orElse(0);
+                int estimate = counter.estimate(source, getMatchedQuery(q), startIndex, returned, nextPage);
+                matched = BigInteger.valueOf(estimate);
+            }
         } else {
-            Query matchedQuery = new Query(q);
-            matchedQuery.setMaxFeatures(-1);
-            matchedQuery.setStartIndex(0);
-            matchedQuery.setSortBy(SortBy.UNSORTED); // no need to sort for counting
-            matched = BigInteger.valueOf(source.getCount(matchedQuery));
+            boolean cached = strategy == NumberMatchedStrategy.CACHED;
+            matched = BigInteger.valueOf(counter.count(source, getMatchedQuery(q), collectionIds, cached));
 
             items = source.getFeatures(q);
             returned = items.size();
@@ -416,6 +424,14 @@ private QueryResult queryItems(FeatureSource<FeatureType, Feature> source, Query
         return new QueryResult(q, items, matched, returned, nextPage);
     }
 
+    private Query getMatchedQuery(Query q) {
+        Query matchedQuery = new Query(q);
+        matchedQuery.setMaxFeatures(-1);
+        matchedQuery.setStartIndex(0);
+        matchedQuery.setSortBy(SortBy.UNSORTED); // no need to sort for counting
+        return matchedQuery;
+    }
+
     private Filter buildTimeFilter(String time) throws ParseException, IOException {
         Collection times = timeParser.parse(time);
         if (times.isEmpty() || times.size() > 1) {
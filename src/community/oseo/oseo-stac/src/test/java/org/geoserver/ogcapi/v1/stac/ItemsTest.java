@@ -29,6 +29,7 @@
 import org.geoserver.config.GeoServer;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.ogcapi.OGCAPIMediaTypes;
+import org.geoserver.opensearch.eo.NumberMatchedStrategy;
 import org.geoserver.opensearch.eo.OSEOInfo;
 import org.geoserver.opensearch.eo.security.EOCollectionAccessLimitInfo;
 import org.geoserver.opensearch.eo.security.EOCollectionAccessLimitInfoImpl;
@@ -67,6 +68,42 @@ public void testSentinelItemsJSONSkipMatched() throws Exception {
         checkSentinelItemsJSON(json, null /* numberMatched not present */);
     }
 
+    @Test
+    public void testSentinelItemsJSONCachedMatched() throws Exception {
+        setNumberMatchedStrategy("SENTINEL2", NumberMatchedStrategy.CACHED);
+
+        // second request hits the cache
+        checkSentinelItemsJSON(getAsJSONPath("ogc/stac/v1/collections/SENTINEL2/items?limit=50", 200), 19);
+        checkSentinelItemsJSON(getAsJSONPath("ogc/stac/v1/collections/SENTINEL2/items?limit=50", 200), 19);
+    }
+
+    @Test
+    public void testSentinelItemsJSONEstimatedMatched() throws Exception {
+        setNumberMatchedStrategy("SENTINEL2", NumberMatchedStrategy.ESTIMATED);
+
+        // all matches fit in the page, the count is known without estimating
+        DocumentContext json = getAsJSONPath("ogc/stac/v1/collections/SENTINEL2/items?limit=50", 200);
+        checkSentinelItemsJSON(json, 19);
+    }
+
+    @Test
+    public void testSentinelItemsJSONOtherCollectionStrategy() throws Exception {
+        setNumberMatchedStrategy("LANDSAT8", NumberMatchedStrategy.SKIP);
+
+        DocumentContext json = getAsJSONPath("ogc/stac/v1/collections/SENTINEL2/items?limit=50", 200);
+        checkSentinelItemsJSON(json, 19);
+    }
+
+    @Test
+    public void testPagingLinksFirstPageEstimatedMatched() throws Exception {
+        setNumberMatchedStrategy("SENTINEL2", NumberMatchedStrategy.ESTIMATED);
+        testPagingLinksFirstPage();
+
+        // more than a page, but not necessarily exact
+        DocumentContext json = getAsJSONPath("ogc/stac/v1/collections/SENTINEL2/items?limit=5", 200);
+        assertThat(json.read("numberMatched", Integer.class), greaterThan(5));
+    }
+
     private void checkSentinelItemsJSON(DocumentContext json, Integer expectedNumberMatched) {
         // global properties
         assertEquals("FeatureCollection", json.read("type"));
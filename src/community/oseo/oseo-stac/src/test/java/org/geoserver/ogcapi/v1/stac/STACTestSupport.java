@@ -22,6 +22,7 @@
 import org.geoserver.config.GeoServerDataDirectory;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.ogcapi.OGCApiTestSupport;
+import org.geoserver.opensearch.eo.NumberMatchedStrategy;
 import org.geoserver.opensearch.eo.OSEOInfo;
 import org.geoserver.opensearch.eo.OpenSearchAccessProvider;
 import org.geoserver.opensearch.eo.store.JDBCOpenSearchAccessTest;
@@ -105,6 +106,8 @@ public void clearConfiguration() throws Exception {
         OSEOInfo service = gs.getService(OSEOInfo.class);
         service.getGlobalQueryables().clear();
         service.setSkipNumberMatched(false);
+        service.setNumberMatchedStrategy(null);
+        service.getCollectionNumberMatchedStrategies().clear();
         gs.save(service);
     }
 
@@ -116,6 +119,14 @@ protected void enableSkipNumberMatched() {
         gs.save(service);
     }
 
+    /** Sets up the service to compute number matched with the given strategy, for a single collection */
+    protected void setNumberMatchedStrategy(String collectionId, NumberMatchedStrategy strategy) {
+        GeoServer gs = getGeoServer();
+        OSEOInfo service = gs.getService(OSEOInfo.class);
+        service.getCollectionNumberMatchedStrategies().put(collectionId, strategy);
+        gs.save(service);
+    }
+
     /**
      * Returns the {@link OpenSearchAccess} backing the OpenSearch/STAC services
      *
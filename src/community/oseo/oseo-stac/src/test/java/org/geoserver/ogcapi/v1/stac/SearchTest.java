@@ -26,6 +26,7 @@
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.ogcapi.OGCAPIMediaTypes;
+import org.geoserver.opensearch.eo.NumberMatchedStrategy;
 import org.geoserver.opensearch.eo.OSEOInfo;
 import org.geoserver.opensearch.eo.security.EOCollectionAccessLimitInfo;
 import org.geoserver.opensearch.eo.security.EOCollectionAccessLimitInfoImpl;
@@ -989,6 +990,52 @@ public void testCollectionSecurity() throws Exception {
         assertJsonListSizeGreater(jsAdmin, "features[?(@.collection == 'SAS1')]", 0);
     }
 
+    @Test
+    public void testEstimatedNumberMatchedPost() throws Exception {
+        GeoServer gs = getGeoServer();
+        OSEOInfo service = gs.getService(OSEOInfo.class);
+        service.setNumberMatchedStrategy(NumberMatchedStrategy.ESTIMATED);
+        gs.save(service);
+
+        // no startIndex in the request
+        String request =
+                """
+                {
+                  "collections": [
+                    "SENTINEL2"
+                  ],
+                  "limit": 5
+                }""";
+        DocumentContext doc = postAsJSONPath("ogc/stac/v1/search", request, 200);
+        assertEquals(Integer.valueOf(5), doc.read("numberReturned"));
+        assertThat(doc.read("numberMatched", Integer.class), Matchers.greaterThan(5));
+    }
+
+    @Test
+    public void testCachedNumberMatchedSecurity() throws Exception {
+        GeoServer gs = getGeoServer();
+        OSEOInfo service = gs.getService(OSEOInfo.class);
+        service.setNumberMatchedStrategy(NumberMatchedStrategy.CACHED);
+        service.getCollectionLimits()
+                .add(new EOCollectionAccessLimitInfoImpl("license = 'proprietary'", List.of(ROLE_PROPRIETARY)));
+        gs.save(service);
+
+        try {
+            // the admin count is cached first, it must not be returned to users that cannot see landsat8
+            String path = "ogc/stac/v1/search?collections=SENTINEL2,LANDSAT8&limit=1";
+            login("admin", "geoserver", "ROLE_ADMINISTRATOR");
+            int adminMatched = getAsJSONPath(path, 200).read("numberMatched", Integer.class);
+            logout();
+            int anonymousMatched = getAsJSONPath(path, 200).read("numberMatched", Integer.class);
+            assertEquals(19, anonymousMatched);
+            assertThat(adminMatched, Matchers.greaterThan(anonymousMatched));
+        } finally {
+            service = gs.getService(OSEOInfo.class);
+            service.getCollectionLimits().clear();
+            gs.save(service);
+        }
+    }
+
     protected void assertJsonListSizeGreater(DocumentContext json, String jsonPath, int minimumSize) {
         List<?> list = json.read(jsonPath, List.class);
         assertThat(list.size(), Matchers.greaterThan(minimumSize));
@@ -14,6 +14,7 @@
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.api.feature.Feature;
@@ -51,6 +52,8 @@ public class ComplexToSimpleFeatureCollection implements SimpleFeatureCollection
 
     private final SimpleFeatureType featureType;
 
+    private final int prefetchSize;
+
     /**
      * Constructor.
      *
@@ -61,10 +64,27 @@ public ComplexToSimpleFeatureCollection(
             Map<String, String> rulesMap,
             FeatureCollection<FeatureType, Feature> featureCollection,
             NamespaceSupport namespaceSupport) {
+        this(rulesMap, featureCollection, namespaceSupport, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rulesMap the complex to simple features transformation rules map
+     * @param featureCollection the source complex features collection
+     * @param prefetchSize the number of complex features read ahead in each page while the previous ones are being
+     *     encoded, or zero to read them only as they are requested
+     */
+    public ComplexToSimpleFeatureCollection(
+            Map<String, String> rulesMap,
+            FeatureCollection<FeatureType, Feature> featureCollection,
+            NamespaceSupport namespaceSupport,
+            int prefetchSize) {
         this.rulesMap = new HashMap<>(requireNonNull(rulesMap));
         this.delegate = requireNonNull(featureCollection);
         this.namespaceSupport = requireNonNull(namespaceSupport);
         this.featureType = requireNonNull(buildConvertedType());
+        this.prefetchSize = prefetchSize;
         LOGGER.fine(() -> "Converted feature type: " + featureType);
     }
 
@@ -81,6 +101,10 @@ public SimpleFeatureType getSchema() {
 
     @Override
     public SimpleFeatureIterator features() {
+        if (prefetchSize > 0) {
+            return new PrefetchingFeatureIterator.Simple(
+                    delegate.features(), new ComplexToSimpleConverter(), prefetchSize);
+        }
         return new ComplexToSimpleFeatureIterator(delegate.features());
     }
 
@@ -154,6 +178,8 @@ class ComplexToSimpleFeatureIterator implements SimpleFeatureIterator {
 
         private FeatureIterator<Feature> delegate;
 
+        private final ComplexToSimpleConverter converter = new ComplexToSimpleConverter();
+
         public ComplexToSimpleFeatureIterator(FeatureIterator<Feature> delegate) {
             this.delegate = delegate;
         }
@@ -165,23 +191,34 @@ public boolean hasNext() {
 
         @Override
         public SimpleFeature next() throws NoSuchElementException {
-            SimpleFeature simpleFeature = convert(delegate.next());
-            LOGGER.log(Level.FINE, "Converted simple feature: {0}", simpleFeature);
-            return simpleFeature;
+            return converter.apply(delegate.next());
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
         }
+    }
+
+    /**
+     * Transforms the original complex features into simple features, using the convention and rules. The rule
+     * expressions are parsed once, each converter is meant to be used by a single thread.
+     */
+    class ComplexToSimpleConverter implements Function<Feature, SimpleFeature> {
+
+        private final Map<String, AttributeExpressionImpl> expressions = new HashMap<>();
 
-        /**
-         * Transform the original complex feature into a simple feature, using the convention and rules. Returns the
-         * resulting simple feature.
-         */
-        private SimpleFeature convert(Feature feature) {
+        @Override
+        public SimpleFeature apply(Feature feature) {
             SimpleFeatureBuilder builder = new SimpleFeatureBuilder(featureType);
             for (PropertyDescriptor descriptor : featureType.getDescriptors()) {
                 Name name = descriptor.getName();
                 Object attributeValue = getComplexAttributeValue(name, feature);
                 builder.set(name, attributeValue);
             }
-            return builder.buildFeature(feature.getIdentifier().getID());
+            SimpleFeature simpleFeature = builder.buildFeature(feature.getIdentifier().getID());
+            LOGGER.log(Level.FINE, "Converted simple feature: {0}", simpleFeature);
+            return simpleFeature;
         }
 
         /** Returns the attribute value from the original complex feature based on its simple name. */
@@ -190,7 +227,8 @@ private Object getComplexAttributeValue(Name name, Feature feature) {
             String attrPath = rulesMap.get(simpleName);
             // if it's a rule based attribute, use the expression
             if (attrPath != null) {
-                AttributeExpressionImpl expression = new AttributeExpressionImpl(attrPath, namespaceSupport);
+                AttributeExpressionImpl expression = expressions.computeIfAbsent(
+                        attrPath, p -> new AttributeExpressionImpl(p, namespaceSupport));
                 return expression.evaluate(feature);
             }
             // not rule based, look up simple feature based on simple name
@@ -203,10 +241,5 @@ private Object getComplexAttributeValue(Name name, Feature feature) {
             // no value found for this attribute, return null
             return null;
         }
-
-        @Override
-        public void close() {
-            delegate.close();
-        }
     }
 }
@@ -5,8 +5,11 @@
 package org.geoserver.complex;
 
 import java.util.List;
+import java.util.logging.Logger;
 import javax.xml.namespace.QName;
 import org.geoserver.ows.Request;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.util.logging.Logging;
 
 /** Common constants and functions for complex to simple features conversion. */
 class ComplexToSimpleOutputCommons {
@@ -16,6 +19,13 @@ class ComplexToSimpleOutputCommons {
 
     public static final String RULES_METADATAMAP_KEY = "ComplexToSimpleRules";
 
+    /** Property setting the number of complex features read ahead of the encoding in each page, zero disables it */
+    static final String PREFETCH_SIZE_KEY = "COMPLEX_TO_SIMPLE_PREFETCH_SIZE";
+
+    static final int DEFAULT_PREFETCH_SIZE = 100;
+
+    private static final Logger LOGGER = Logging.getLogger(ComplexToSimpleOutputCommons.class);
+
     /** Returns the request layer name from the OWS request data. */
     public static QName getLayerName(Request request) {
         Object typeNameObject = request.getKvp().get(TYPENAME);
@@ -25,4 +35,18 @@ public static QName getLayerName(Request request) {
         QName qName = layerNamesList.get(0).get(0);
         return qName;
     }
+
+    /** Returns the number of complex features read ahead of the encoding in each page, zero if disabled */
+    static int getPrefetchSize() {
+        String value = GeoServerExtensions.getProperty(PREFETCH_SIZE_KEY);
+        if (value != null) {
+            try {
+                return Math.max(0, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warning(
+                        "Invalid value for " + PREFETCH_SIZE_KEY + ": " + value + ", using " + DEFAULT_PREFETCH_SIZE);
+            }
+        }
+        return DEFAULT_PREFETCH_SIZE;
+    }
 }
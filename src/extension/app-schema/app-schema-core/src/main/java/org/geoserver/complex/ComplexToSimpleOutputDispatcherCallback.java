@@ -4,6 +4,7 @@
  */
 package org.geoserver.complex;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -13,6 +14,7 @@
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.config.GeoServer;
+import org.geoserver.data.TypeInfoCollectionWrapper;
 import org.geoserver.ows.AbstractDispatcherCallback;
 import org.geoserver.ows.Request;
 import org.geoserver.platform.GeoServerExtensions;
@@ -32,7 +34,8 @@
 
 /**
  * GeoServer dispatcher callback implementation for complex to simple features transformation. Will work only on simple
- * features output marked formats.
+ * features output marked formats. The complex features encoded as they are, e.g. in GML, are instead wrapped so that
+ * they are read ahead of the encoding, see {@link PrefetchingFeatureCollection}.
  */
 @Service
 public class ComplexToSimpleOutputDispatcherCallback extends AbstractDispatcherCallback {
@@ -55,10 +58,11 @@ public ComplexToSimpleOutputDispatcherCallback(@Qualifier("geoServer") GeoServer
     public Object operationExecuted(Request request, Operation operation, Object result) {
         try {
             logRequest(request, operation, result);
-            if (request == null
-                    || result == null
-                    || !isSupported(request, result, operation)
-                    || !isConvertActivated(request)) return null;
+            if (request == null || result == null) return null;
+            if (!isSupported(request, result, operation) || !isConvertActivated(request)) {
+                prefetchComplexFeatures(request, result);
+                return null;
+            }
             LOGGER.log(Level.FINE, () -> "Support found for request: " + request);
             Catalog catalog = geoServer.getCatalog();
 
@@ -71,6 +75,28 @@ public Object operationExecuted(Request request, Operation operation, Object res
         return null;
     }
 
+    /** Makes the complex feature collections encoded as they are read their features ahead of the encoding */
+    private void prefetchComplexFeatures(Request request, Object result) {
+        if (!WFS.equalsIgnoreCase(request.getService())
+                || !GET_FEATURE.equalsIgnoreCase(request.getRequest())
+                || !(result instanceof FeatureCollectionResponse)) return;
+        int prefetchSize = ComplexToSimpleOutputCommons.getPrefetchSize();
+        FeatureCollectionResponse fcResponse = (FeatureCollectionResponse) result;
+        List<FeatureCollection> featureCollectionList = fcResponse.getFeature();
+        if (prefetchSize <= 0 || featureCollectionList == null) return;
+        List<FeatureCollection> prefetching = new ArrayList<>(featureCollectionList.size());
+        for (FeatureCollection<?, ?> featureCollection : featureCollectionList) {
+            // GetFeature wraps the complex collections to expose their layer, keep it available
+            if (featureCollection instanceof TypeInfoCollectionWrapper.Complex<?, ?> complex
+                    && !(featureCollection instanceof PrefetchingFeatureCollection)) {
+                prefetching.add(new PrefetchingFeatureCollection<>(complex, prefetchSize));
+            } else {
+                prefetching.add(featureCollection);
+            }
+        }
+        fcResponse.setFeatures(prefetching);
+    }
+
     private void logRequest(Request request, Operation operation, Object result) {
         LOGGER.log(
                 Level.FINE,
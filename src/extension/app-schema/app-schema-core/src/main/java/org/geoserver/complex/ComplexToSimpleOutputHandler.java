@@ -52,7 +52,10 @@ public Object execute() {
         // get the feature collection
         @SuppressWarnings("unchecked")
         ComplexToSimpleFeatureCollection collection = new ComplexToSimpleFeatureCollection(
-                rulesMap, result.getFeature().get(0), buildNamespaceSupport(catalog));
+                rulesMap,
+                result.getFeature().get(0),
+                buildNamespaceSupport(catalog),
+                ComplexToSimpleOutputCommons.getPrefetchSize());
         // return the correct type based on the input collection response type
         if (result instanceof FeatureCollectionResponse.WFS20) {
             return new ComplexToSimpleFeatureCollectionResponse20(result, collection);
@@ -0,0 +1,39 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.complex;
+
+import org.geoserver.data.TypeInfoCollectionWrapper;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.feature.FeatureIterator;
+
+/**
+ * Complex feature collection reading its features ahead of the encoding, see {@link PrefetchingFeatureIterator}. Used
+ * for the output formats encoding the complex features as they are, like GML, it keeps the layer information of the
+ * wrapped collection available to them.
+ */
+class PrefetchingFeatureCollection<T extends FeatureType, F extends Feature>
+        extends TypeInfoCollectionWrapper.Complex<T, F> {
+
+    private final int prefetchSize;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate the source complex features collection
+     * @param prefetchSize the number of complex features read ahead in each page while the previous ones are being
+     *     encoded
+     */
+    PrefetchingFeatureCollection(TypeInfoCollectionWrapper.Complex<T, F> delegate, int prefetchSize) {
+        super(delegate, delegate.getFeatureTypeInfo());
+        this.prefetchSize = prefetchSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // the features are returned as read from the delegate
+    public FeatureIterator<F> features() {
+        return new PrefetchingFeatureIterator<>(delegate.features(), f -> (F) f, prefetchSize);
+    }
+}
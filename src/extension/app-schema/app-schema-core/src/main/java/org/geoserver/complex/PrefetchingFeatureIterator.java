@@ -0,0 +1,263 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.complex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.Request;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Reads the complex features in pages, optionally converting them, on a background thread, while the previous pages
+ * are being encoded. Reading a complex feature also fetches its chained features, so for deep mappings most of the time
+ * is spent waiting for the nested queries: this way that time overlaps with the output encoding instead of adding to
+ * it.
+ *
+ * <p>At most two pages are kept in memory besides the one being encoded. The background thread runs with the same
+ * authentication and request as the calling one, and is the only one accessing the source iterator, closing it when
+ * done.
+ *
+ * <p>The background threads are bounded, when all of them are busy the features are read on demand by the calling
+ * thread instead. A background thread also gives up if its pages are not consumed for {@link #abandonTimeout}
+ * milliseconds, in case the iterator is abandoned without being closed.
+ */
+class PrefetchingFeatureIterator<F extends Feature> implements FeatureIterator<F> {
+
+    static final Logger LOGGER = Logging.getLogger(PrefetchingFeatureIterator.class);
+
+    /** Number of pages read ahead of the one being encoded */
+    static final int PAGES_AHEAD = 2;
+
+    /** Max number of background threads, shared by all requests */
+    static final int MAX_THREADS = Runtime.getRuntime().availableProcessors() * 2;
+
+    static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    static final ThreadPoolExecutor EXECUTOR =
+            new ThreadPoolExecutor(0, MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                Thread t = new Thread(r, "Complex features prefetch #" + THREAD_COUNT.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    /** Time, in milliseconds, after which a page that cannot be queued makes the background thread give up */
+    static long abandonTimeout = TimeUnit.MINUTES.toMillis(5);
+
+    /** Marks the end of the features, compared by identity */
+    private static final List<Feature> END = new ArrayList<>();
+
+    private final BlockingQueue<List<? extends Feature>> pages = new ArrayBlockingQueue<>(PAGES_AHEAD);
+
+    /** The background reader, or null if the features are read on demand */
+    private final Future<?> producer;
+
+    private final FeatureIterator<? extends Feature> delegate;
+
+    private final Function<Feature, F> converter;
+
+    private volatile boolean closed;
+
+    /** Set by the background thread when its pages are not consumed in time */
+    private volatile boolean abandoned;
+
+    private volatile Throwable failure;
+
+    private Iterator<F> page = Collections.emptyIterator();
+
+    private boolean finished;
+
+    private int pageCount;
+
+    private long waitTime;
+
+    /**
+     * Starts reading the features
+     *
+     * @param delegate the complex features iterator, will be closed by this iterator
+     * @param converter converts each complex feature into the returned one
+     * @param pageSize the number of features in each page
+     */
+    PrefetchingFeatureIterator(
+            FeatureIterator<? extends Feature> delegate, Function<Feature, F> converter, int pageSize) {
+        Request request = Dispatcher.REQUEST.get();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        this.delegate = delegate;
+        this.converter = converter;
+        Future<?> producer;
+        try {
+            producer = EXECUTOR.submit(() -> {
+                Dispatcher.REQUEST.set(request);
+                RequestContextHolder.setRequestAttributes(attributes);
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                try {
+                    fetch(delegate, converter, pageSize);
+                } finally {
+                    Dispatcher.REQUEST.remove();
+                    RequestContextHolder.resetRequestAttributes();
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("All complex features prefetch threads are busy, reading the features on demand");
+            producer = null;
+        }
+        this.producer = producer;
+    }
+
+    private void fetch(FeatureIterator<? extends Feature> delegate, Function<Feature, F> converter, int pageSize) {
+        try {
+            while (!closed && delegate.hasNext()) {
+                List<F> features = new ArrayList<>(pageSize);
+                while (!closed && features.size() < pageSize && delegate.hasNext()) {
+                    features.add(converter.apply(delegate.next()));
+                }
+                if (!put(features)) {
+                    break;
+                }
+            }
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            try {
+                delegate.close();
+            } finally {
+                put(END);
+            }
+        }
+    }
+
+    /**
+     * Queues the page, waiting for room unless the iterator gets closed or abandoned in the meantime
+     *
+     * @return true if the page has been queued
+     */
+    private boolean put(List<? extends Feature> features) {
+        long deadline = System.currentTimeMillis() + abandonTimeout;
+        try {
+            while (!closed && !abandoned) {
+                if (pages.offer(features, 100, TimeUnit.MILLISECONDS)) return true;
+                if (System.currentTimeMillis() > deadline) {
+                    LOGGER.warning("Complex features not consumed for "
+                            + abandonTimeout
+                            + " ms, assuming the iterator has been abandoned and stopping the prefetch");
+                    if (failure == null) {
+                        failure = new IllegalStateException("Complex features prefetch abandoned");
+                    }
+                    abandoned = true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) return false;
+        if (producer == null) return delegate.hasNext();
+        while (!page.hasNext()) {
+            if (finished) return false;
+            List<? extends Feature> next = take();
+            if (next == END) {
+                finished = true;
+                if (failure instanceof RuntimeException exception) throw exception;
+                if (failure instanceof Error error) throw error;
+                if (failure != null) throw new RuntimeException(failure);
+            } else {
+                @SuppressWarnings("unchecked") // only the pages built by fetch, besides END, are queued
+                Iterator<F> features = (Iterator<F>) next.iterator();
+                page = features;
+                pageCount++;
+            }
+        }
+        return true;
+    }
+
+    private List<? extends Feature> take() {
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                List<? extends Feature> next = pages.poll(100, TimeUnit.MILLISECONDS);
+                if (next != null) return next;
+                // the background thread may have given up without queueing the end marker
+                if (producer.isDone()) {
+                    next = pages.poll();
+                    return next != null ? next : END;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for complex features", e);
+        } finally {
+            waitTime += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public F next() throws NoSuchElementException {
+        if (!hasNext()) throw new NoSuchElementException();
+        return producer == null ? converter.apply(delegate.next()) : page.next();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (producer == null) {
+            delegate.close();
+            return;
+        }
+        pages.clear();
+        // wait for the source iterator to be closed, the current feature is completed first
+        try {
+            producer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Failed to read the complex features", e.getCause());
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Encoded "
+                    + pageCount
+                    + " pages of complex features, waited "
+                    + TimeUnit.NANOSECONDS.toMillis(waitTime)
+                    + " ms for them to be read");
+        }
+    }
+
+    /** Prefetching iterator returning simple features, as required by the simple feature collections */
+    static class Simple extends PrefetchingFeatureIterator<SimpleFeature> implements SimpleFeatureIterator {
+
+        Simple(FeatureIterator<Feature> delegate, Function<Feature, SimpleFeature> converter, int pageSize) {
+            super(delegate, converter, pageSize);
+        }
+    }
+}
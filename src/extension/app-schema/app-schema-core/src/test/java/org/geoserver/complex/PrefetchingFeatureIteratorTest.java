@@ -0,0 +1,149 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.complex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingFeatureIteratorTest {
+
+    private List<SimpleFeature> features;
+
+    @Before
+    public void setupFeatures() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("test", "name:String");
+        features = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {"f" + i}, "test." + i));
+        }
+    }
+
+    @Test
+    public void testFeaturesInOrder() {
+        ListIterator source = new ListIterator(features);
+        List<SimpleFeature> read = new ArrayList<>();
+        try (PrefetchingFeatureIterator<SimpleFeature> it =
+                new PrefetchingFeatureIterator<>(source, f -> (SimpleFeature) f, 10)) {
+            while (it.hasNext()) {
+                read.add(it.next());
+            }
+            assertThrows(NoSuchElementException.class, it::next);
+        }
+        assertEquals(features, read);
+        assertTrue(source.closed);
+    }
+
+    @Test
+    public void testCloseBeforeEnd() {
+        ListIterator source = new ListIterator(features);
+        try (PrefetchingFeatureIterator<SimpleFeature> it =
+                new PrefetchingFeatureIterator<>(source, f -> (SimpleFeature) f, 2)) {
+            assertTrue(it.hasNext());
+            assertEquals(features.get(0), it.next());
+        }
+        // the source is closed before returning, without being read to the end
+        assertTrue(source.closed);
+        assertTrue(source.read < features.size());
+    }
+
+    @Test
+    public void testFailure() {
+        ListIterator source = new ListIterator(features);
+        Function<Feature, SimpleFeature> converter = f -> {
+            if (f == features.get(15)) throw new IllegalStateException("conversion failed");
+            return (SimpleFeature) f;
+        };
+        try (PrefetchingFeatureIterator<SimpleFeature> it = new PrefetchingFeatureIterator<>(source, converter, 10)) {
+            // the pages read before the failure are returned
+            for (int i = 0; i < 10; i++) {
+                assertTrue(it.hasNext());
+                it.next();
+            }
+            IllegalStateException e = assertThrows(IllegalStateException.class, it::hasNext);
+            assertEquals("conversion failed", e.getMessage());
+            assertFalse(it.hasNext());
+        }
+        assertTrue(source.closed);
+    }
+
+    @Test
+    public void testHasNextAfterClose() {
+        ListIterator source = new ListIterator(features);
+        PrefetchingFeatureIterator<SimpleFeature> it =
+                new PrefetchingFeatureIterator<>(source, f -> (SimpleFeature) f, 2);
+        assertTrue(it.hasNext());
+        it.close();
+        // does not wait for pages that will never come
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    public void testAbandoned() throws Exception {
+        long timeout = PrefetchingFeatureIterator.abandonTimeout;
+        PrefetchingFeatureIterator.abandonTimeout = 200;
+        ListIterator source = new ListIterator(features);
+        try (PrefetchingFeatureIterator<SimpleFeature> it =
+                new PrefetchingFeatureIterator<>(source, f -> (SimpleFeature) f, 2)) {
+            // nothing is consumed, the background thread gives up once the queue is full and closes the source
+            for (int i = 0; i < 100 && !source.closed; i++) {
+                Thread.sleep(50);
+            }
+            assertTrue(source.closed);
+            // the queued pages are still returned, then the failure is reported
+            for (int i = 0; i < 2 * PrefetchingFeatureIterator.PAGES_AHEAD; i++) {
+                assertEquals(features.get(i), it.next());
+            }
+            assertThrows(IllegalStateException.class, it::hasNext);
+        } finally {
+            PrefetchingFeatureIterator.abandonTimeout = timeout;
+        }
+    }
+
+    /** Iterator over a list of features, tracking how far it has been read and whether it has been closed */
+    static class ListIterator implements FeatureIterator<Feature> {
+
+        final List<? extends Feature> features;
+
+        volatile int read;
+
+        volatile boolean closed;
+
+        ListIterator(List<? extends Feature> features) {
+            this.features = features;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return read < features.size();
+        }
+
+        @Override
+        public Feature next() throws NoSuchElementException {
+            if (!hasNext()) throw new NoSuchElementException();
+            return features.get(read++);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kordamp.json.JSONObject;
+import org.w3c.dom.Document;
+
+/**
+ * Checks the complex features read ahead of the encoding, with chained features, are encoded the same way as the ones
+ * read on demand.
+ */
+public class ComplexFeaturesPrefetchTest extends AbstractAppSchemaTestSupport {
+
+    static final String PREFETCH_SIZE_KEY = "COMPLEX_TO_SIMPLE_PREFETCH_SIZE";
+
+    static final String MAPPED_FEATURES = "wfs?request=GetFeature&version=1.1.0&typename=gsml:MappedFeature";
+
+    @Override
+    protected FeatureChainingMockData createTestData() {
+        return new FeatureChainingMockData();
+    }
+
+    @After
+    public void clearPrefetchSize() {
+        System.clearProperty(PREFETCH_SIZE_KEY);
+    }
+
+    @Test
+    public void testGML() {
+        System.setProperty(PREFETCH_SIZE_KEY, "0");
+        Document onDemand = getAsDOM(MAPPED_FEATURES);
+        // one feature per page, the encoding goes through several of them
+        System.setProperty(PREFETCH_SIZE_KEY, "1");
+        Document prefetched = getAsDOM(MAPPED_FEATURES);
+        assertTrue(isPrefetching());
+
+        assertXpathCount(4, "//gsml:MappedFeature", prefetched);
+        assertEquals(toComparableString(onDemand), toComparableString(prefetched));
+    }
+
+    @Test
+    public void testGeoJSON() throws Exception {
+        String request = MAPPED_FEATURES + "&outputFormat=application/json";
+        System.setProperty(PREFETCH_SIZE_KEY, "0");
+        JSONObject onDemand = (JSONObject) getAsJSON(request);
+        System.setProperty(PREFETCH_SIZE_KEY, "1");
+        JSONObject prefetched = (JSONObject) getAsJSON(request);
+        assertTrue(isPrefetching());
+
+        assertEquals(4, prefetched.getJSONArray("features").size());
+        // the timestamp attribute cannot be the same, remove it
+        onDemand.remove("timeStamp");
+        prefetched.remove("timeStamp");
+        assertEquals(onDemand, prefetched);
+    }
+
+    /** The prefetch threads are kept around for a while after reading the features */
+    private boolean isPrefetching() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> t.getName().startsWith("Complex features prefetch"));
+    }
+
+    private String toComparableString(Document document) {
+        // the timestamp attribute cannot be the same, remove it
+        document.getDocumentElement().removeAttribute("timeStamp");
+        return prettyString(document);
+    }
+}
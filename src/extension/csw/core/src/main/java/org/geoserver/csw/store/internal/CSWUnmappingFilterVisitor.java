@@ -49,16 +49,37 @@ public CSWUnmappingFilterVisitor(CatalogStoreMapping mapping, RecordDescriptor r
         this.rd = rd;
     }
 
+    /** Returns true if the property is the full text search one, {@code AnyText} */
+    public boolean isAnyText(PropertyName expression) {
+        return isAnyText(steps(expression));
+    }
+
+    /** Returns true if the property is the one holding the record bounding box */
+    public boolean isBoundingBox(PropertyName expression) {
+        return isBoundingBox(steps(expression));
+    }
+
+    private XPathUtil.StepList steps(PropertyName expression) {
+        return XPathUtil.steps(rd.getFeatureDescriptor(), expression.getPropertyName(), rd.getNamespaceSupport());
+    }
+
+    private boolean isAnyText(XPathUtil.StepList steps) {
+        return steps.size() == 1 && steps.get(0).getName().getLocalPart().equalsIgnoreCase("AnyText");
+    }
+
+    private boolean isBoundingBox(XPathUtil.StepList steps) {
+        return PropertyPath.fromXPath(steps).toDothPath().equalsIgnoreCase(rd.getBoundingBoxPropertyName());
+    }
+
     @Override
     public Object visit(PropertyName expression, Object extraData) {
 
-        XPathUtil.StepList steps =
-                XPathUtil.steps(rd.getFeatureDescriptor(), expression.getPropertyName(), rd.getNamespaceSupport());
+        XPathUtil.StepList steps = steps(expression);
         if (steps.containsPredicate()) { // predicate not supported by unmapped filter
             needsPostFilter = true;
         }
 
-        if (steps.size() == 1 && steps.get(0).getName().getLocalPart().equalsIgnoreCase("AnyText")) {
+        if (isAnyText(steps)) {
 
             Expression result = ff.literal(" ");
 
@@ -74,12 +95,12 @@ public Object visit(PropertyName expression, Object extraData) {
             return result;
         }
 
-        PropertyPath path = PropertyPath.fromXPath(steps);
-
-        if (path.toDothPath().equalsIgnoreCase(rd.getBoundingBoxPropertyName())) {
+        if (isBoundingBox(steps)) {
             return ff.property("boundingBox");
         }
 
+        PropertyPath path = PropertyPath.fromXPath(steps);
+
         Collection<CatalogStoreMappingElement> elements = mapping.elements(path);
         if (elements.isEmpty()) {
             // try with pattern without indexes
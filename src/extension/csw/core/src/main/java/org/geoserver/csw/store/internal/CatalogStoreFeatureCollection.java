@@ -55,6 +55,7 @@ public Object visit(PropertyName expression, Object extraData) {
     protected CatalogStoreMapping mapping;
     protected RecordDescriptor rd;
     protected Map<String, String> interpolationProperties = new HashMap<>();
+    protected CatalogStoreIndex.Candidates candidates;
 
     /**
      * Create new CatalogStoreFeatureCollection
@@ -66,6 +67,7 @@ public Object visit(PropertyName expression, Object extraData) {
      * @param catalog The GeoServer Catalog
      * @param mapping The Mapping
      * @param rd Record Descriptor
+     * @param candidates The objects selected by the index, or null if the index cannot help answering the query
      */
     public CatalogStoreFeatureCollection(
             int offset,
@@ -75,7 +77,8 @@ public CatalogStoreFeatureCollection(
             Catalog catalog,
             CatalogStoreMapping mapping,
             RecordDescriptor rd,
-            Map<String, String> interpolationProperties) {
+            Map<String, String> interpolationProperties,
+            CatalogStoreIndex.Candidates candidates) {
         super(rd.getFeatureType());
         this.offset = offset;
         this.count = count;
@@ -85,12 +88,13 @@ public CatalogStoreFeatureCollection(
         this.sortOrder = sortOrder;
         this.interpolationProperties = interpolationProperties;
         this.rd = rd;
+        this.candidates = candidates;
     }
 
     @Override
     protected Iterator<Feature> openIterator() {
         return new CatalogStoreFeatureIterator(
-                offset, count, sortOrder, catalogFilter(), catalog, mapping, rd, interpolationProperties);
+                offset, count, sortOrder, catalogFilter(), catalog, mapping, rd, interpolationProperties, candidates);
     }
 
     @Override
@@ -127,6 +131,11 @@ private Filter catalogFilter() {
         List<Filter> filtersG = new ArrayList<>();
         filtersG.add(Predicates.isInstanceOf(LayerGroupInfo.class));
         filtersG.addAll(((And) filter).getChildren());
+        // evaluate the full filter only on the candidates picked by the index
+        if (candidates != null) {
+            filtersL.add(1, candidates.toFilter());
+            filtersG.add(1, candidates.toFilter());
+        }
         // build filter compatible with both layer groups and layers
         return Predicates.or(Predicates.and(filtersL), Predicates.and(filtersG));
     }
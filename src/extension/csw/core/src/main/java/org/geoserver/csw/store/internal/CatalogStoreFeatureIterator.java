@@ -7,6 +7,7 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -28,6 +29,7 @@
 import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.util.CloseableIterator;
 import org.geoserver.config.GeoServer;
 import org.geoserver.csw.CSWInfo;
 import org.geoserver.csw.DirectDownloadSettings;
@@ -78,14 +80,28 @@ public CatalogStoreFeatureIterator(
             Catalog catalog,
             CatalogStoreMapping mapping,
             RecordDescriptor outputRecordDescriptor,
-            Map<String, String> interpolationProperties) {
+            Map<String, String> interpolationProperties,
+            CatalogStoreIndex.Candidates candidates) {
         this.interpolationProperties = interpolationProperties;
         this.sortOrder = sortOrder;
         this.filter = filter;
         catalogFacade = catalog.getFacade();
         this.mapping = mapping;
 
-        it = catalogFacade.list(PublishedInfo.class, filter, offset, count, sortOrder);
+        if (candidates != null && (sortOrder == null || sortOrder.length == 0)) {
+            // few enough matches to rank them by relevance in memory
+            List<PublishedInfo> matches = new ArrayList<>();
+            try (CloseableIterator<PublishedInfo> all = catalogFacade.list(PublishedInfo.class, filter, null, null)) {
+                all.forEachRemaining(matches::add);
+            }
+            matches.sort(Comparator.comparingDouble((PublishedInfo p) -> candidates.getScore(p.getId()))
+                    .reversed());
+            int from = Math.min(Math.max(0, offset), matches.size());
+            int to = (int) Math.min((long) from + count, matches.size());
+            it = matches.subList(from, to).iterator();
+        } else {
+            it = catalogFacade.list(PublishedInfo.class, filter, offset, count, sortOrder);
+        }
 
         nextInternal();
 
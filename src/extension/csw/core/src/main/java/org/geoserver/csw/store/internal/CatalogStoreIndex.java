@@ -0,0 +1,344 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.csw.store.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geoserver.csw.store.internal.CatalogStoreMapping.CatalogStoreMappingElement;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.util.logging.Logging;
+
+/**
+ * In memory index of the published catalog contents as seen through a {@link CatalogStoreMapping}, used to narrow down
+ * the catalog objects to be evaluated by {@code GetRecords} when the query contains full text searches ({@code AnyText
+ * like ...}).
+ *
+ * <p>For each mapping the index keeps an inverted index of the words found in the mapped contents, the same text
+ * {@code AnyText} is matched against. The index only selects candidates: the full query is still evaluated on them, so
+ * the results are the same as with a full scan. The candidates are also scored, so that queries without an explicit
+ * sort can return the most relevant records first.
+ *
+ * <p>Each mapping index is built on first use, and then kept up to date by listening to catalog events: changes to
+ * layers, layer groups and resources update their entries, any other change (e.g., a store or workspace being renamed)
+ * drops the indexes, which are then rebuilt on the next query.
+ *
+ * <p>The index can be disabled setting the {@code CSW_CATALOG_INDEX} variable to false.
+ */
+class CatalogStoreIndex implements CatalogListener {
+
+    static final Logger LOGGER = Logging.getLogger(CatalogStoreIndex.class);
+
+    /** Max number of candidates passed to the catalog, past that the index does not help and the query runs as is */
+    static final int MAX_CANDIDATES = 1000;
+
+    static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static boolean enabled =
+            !"false".equalsIgnoreCase(GeoServerExtensions.getProperty("CSW_CATALOG_INDEX"));
+
+    final Catalog catalog;
+
+    /** The indexes of the mappings, weak so that mappings replaced by a configuration reload are dropped */
+    final Cache<CatalogStoreMapping, MappingIndex> indexes =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    CatalogStoreIndex(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Selects the catalog objects that can match the given filter, using the full text searches found at its top level
+     *
+     * @param mapping the mapping used to unmap the filter
+     * @param filter the filter, before being unmapped
+     * @param unmapper the visitor that will unmap the filter
+     * @return the candidates, or null if the index cannot narrow down the objects to be evaluated
+     */
+    Candidates select(CatalogStoreMapping mapping, Filter filter, CSWUnmappingFilterVisitor unmapper) {
+        if (!enabled || filter == null) {
+            return null;
+        }
+        List<Filter> conditions = filter instanceof And and ? and.getChildren() : List.of(filter);
+        List<List<String>> searches = new ArrayList<>();
+        for (Filter condition : conditions) {
+            if (condition instanceof PropertyIsLike like
+                    && like.getExpression() instanceof PropertyName name
+                    && unmapper.isAnyText(name)) {
+                List<String> fragments = fragments(like);
+                if (!fragments.isEmpty()) {
+                    searches.add(fragments);
+                }
+            }
+        }
+        if (searches.isEmpty()) {
+            return null;
+        }
+
+        MappingIndex index = getIndex(mapping);
+        synchronized (index) {
+            Set<String> ids = null;
+            Map<String, Double> scores = new HashMap<>();
+            for (List<String> fragments : searches) {
+                ids = retain(ids, index.search(fragments, scores));
+            }
+            if (ids.size() > MAX_CANDIDATES) {
+                return null;
+            }
+            scores.keySet().retainAll(ids);
+            return new Candidates(ids, scores);
+        }
+    }
+
+    private static Set<String> retain(Set<String> ids, Set<String> matches) {
+        if (ids == null) {
+            return matches;
+        }
+        ids.retainAll(matches);
+        return ids;
+    }
+
+    /**
+     * Splits the like pattern in the word fragments that must be found in the text, any of them can be a partial word
+     */
+    static List<String> fragments(PropertyIsLike like) {
+        String pattern = like.getLiteral();
+        if (pattern == null) {
+            return List.of();
+        }
+        for (String special : new String[] {like.getWildCard(), like.getSingleChar(), like.getEscape()}) {
+            if (special != null && !special.isEmpty()) {
+                pattern = pattern.replace(special, " ");
+            }
+        }
+        return tokenize(pattern);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private MappingIndex getIndex(CatalogStoreMapping mapping) {
+        MappingIndex index = indexes.getIfPresent(mapping);
+        if (index == null) {
+            synchronized (indexes) {
+                index = indexes.getIfPresent(mapping);
+                if (index == null) {
+                    // register before building, so that the events fired in the meantime are not lost: they
+                    // update the index once the build is done, as both lock on it
+                    index = new MappingIndex(mapping);
+                    synchronized (index) {
+                        indexes.put(mapping, index);
+                        try {
+                            index.build();
+                        } catch (RuntimeException e) {
+                            indexes.invalidate(mapping);
+                            throw e;
+                        }
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /** Updates the entries of the given object in all indexes, or drops them if the object is null */
+    private void update(String id, PublishedInfo published) {
+        for (MappingIndex index : indexes.asMap().values()) {
+            synchronized (index) {
+                index.remove(id);
+                if (published != null) {
+                    index.add(id, published);
+                }
+            }
+        }
+    }
+
+    private void changed(CatalogInfo info, boolean removed) {
+        if (indexes.size() == 0) {
+            return;
+        }
+        if (info instanceof LayerInfo || info instanceof LayerGroupInfo) {
+            update(info.getId(), removed ? null : (PublishedInfo) info);
+        } else if (info instanceof ResourceInfo resource) {
+            // the records of layers are built out of their resources
+            for (LayerInfo layer : catalog.getLayers(resource)) {
+                update(layer.getId(), removed ? null : layer);
+            }
+        } else {
+            // mappings can reference any related object (e.g., store or workspace names) rebuild from scratch
+            indexes.invalidateAll();
+        }
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) {
+        changed(event.getSource(), false);
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) {
+        changed(event.getSource(), true);
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) {
+        // wait for the post modify event, when the changes are visible
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+        changed(event.getSource(), false);
+    }
+
+    @Override
+    public void reloaded() {
+        indexes.invalidateAll();
+    }
+
+    /**
+     * The catalog objects selected by the index, layers and layer groups ids, along with the relevance of each of them
+     * for the full text searches
+     */
+    record Candidates(Set<String> ids, Map<String, Double> scores) {
+
+        /** The filter selecting the candidates */
+        Filter toFilter() {
+            return ids.isEmpty() ? Filter.EXCLUDE : Predicates.in("id", new ArrayList<>(ids));
+        }
+
+        double getScore(String id) {
+            return scores.getOrDefault(id, 0d);
+        }
+    }
+
+    /** Inverted index of the catalog contents as seen through one mapping */
+    class MappingIndex {
+
+        final CatalogStoreMapping mapping;
+
+        /** For each word, the ids of the objects containing it, and how many times */
+        final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+        /** The words contained in each object, to remove them on update */
+        final Map<String, Set<String>> words = new HashMap<>();
+
+        MappingIndex(CatalogStoreMapping mapping) {
+            this.mapping = mapping;
+        }
+
+        void build() {
+            try (CloseableIterator<PublishedInfo> it =
+                    catalog.getFacade().list(PublishedInfo.class, Filter.INCLUDE, null, null)) {
+                while (it.hasNext()) {
+                    PublishedInfo published = it.next();
+                    add(published.getId(), published);
+                }
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Indexed " + words.size() + " catalog records, " + postings.size() + " words");
+            }
+        }
+
+        void add(String id, PublishedInfo published) {
+            // the same objects the mapping is evaluated against
+            CatalogInfo info = published instanceof LayerInfo layer ? layer.getResource() : published;
+            if (info == null) {
+                return;
+            }
+            Map<String, Integer> counts = new HashMap<>();
+            for (CatalogStoreMappingElement element : mapping.elements()) {
+                String text;
+                try {
+                    text = element.getContent().evaluate(info, String.class);
+                } catch (RuntimeException e) {
+                    text = null;
+                }
+                if (text != null) {
+                    for (String token : tokenize(text)) {
+                        counts.merge(token, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+            }
+            words.put(id, counts.keySet());
+        }
+
+        void remove(String id) {
+            Set<String> tokens = words.remove(id);
+            if (tokens != null) {
+                for (String token : tokens) {
+                    Map<String, Integer> ids = postings.get(token);
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the objects containing all the fragments, each one as part of a word, adding to the scores the tf-idf
+         * of the matching words
+         */
+        Set<String> search(List<String> fragments, Map<String, Double> scores) {
+            Set<String> result = null;
+            int total = Math.max(1, words.size());
+            for (String fragment : fragments) {
+                Set<String> matches = new HashSet<>();
+                for (Map.Entry<String, Map<String, Integer>> entry : postings.entrySet()) {
+                    if (entry.getKey().contains(fragment)) {
+                        Map<String, Integer> ids = entry.getValue();
+                        double idf = Math.log(1 + (double) total / ids.size());
+                        for (Map.Entry<String, Integer> posting : ids.entrySet()) {
+                            matches.add(posting.getKey());
+                            scores.merge(posting.getKey(), posting.getValue() * idf, Double::sum);
+                        }
+                    }
+                }
+                result = retain(result, matches);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result == null ? Collections.emptySet() : result;
+        }
+    }
+}
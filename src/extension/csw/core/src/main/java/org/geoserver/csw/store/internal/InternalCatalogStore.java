@@ -64,6 +64,8 @@ public class InternalCatalogStore extends AbstractCatalogStore implements Applic
 
     protected MultiValuedMap<String, PropertyFileWatcher> watchers = new ArrayListValuedHashMap<>();
 
+    CatalogStoreIndex index;
+
     public InternalCatalogStore(GeoServer geoServer) {
         this.geoServer = geoServer;
     }
@@ -156,8 +158,9 @@ public FeatureCollection<FeatureType, Feature> getRecordsInternal(
         for (CatalogStoreMapping mapping : mappings) {
 
             CSWUnmappingFilterVisitor unmapper = new CSWUnmappingFilterVisitor(mapping, rd);
-            Query unmapped =
-                    unmap(prepareQuery(query, rd, rd.getQueryablesMapping(mapping.getMappingName())), unmapper);
+            Query prepared = prepareQuery(query, rd, rd.getQueryablesMapping(mapping.getMappingName()));
+            CatalogStoreIndex.Candidates candidates = index.select(mapping, prepared.getFilter(), unmapper);
+            Query unmapped = unmap(prepared, unmapper);
 
             for (CatalogStoreMapping outputMapping : outputMappings) {
                 // we only output mappings with the same name, to avoid duplication of the results
@@ -177,7 +180,8 @@ public FeatureCollection<FeatureType, Feature> getRecordsInternal(
                             geoServer.getCatalog(),
                             outputMapping,
                             rdOutput,
-                            interpolationProperties);
+                            interpolationProperties,
+                            candidates);
 
                     if (unmapper.needsPostFilter()) {
                         collection = new FilteringFeatureCollection<>(collection, query.getFilter());
@@ -218,6 +222,9 @@ public void setApplicationContext(ApplicationContext appContext) throws BeansExc
                 appContext.getBeansOfType(RecordDescriptor.class).values()) {
             support(rd);
         }
+        // index the catalog for full text searches
+        index = new CatalogStoreIndex(geoServer.getCatalog());
+        geoServer.getCatalog().addListener(index);
         // load mappings
         GeoServerResourceLoader loader = geoServer.getCatalog().getResourceLoader();
         Resource dir = loader.get("csw");
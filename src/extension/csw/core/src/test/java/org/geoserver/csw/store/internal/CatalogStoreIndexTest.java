@@ -0,0 +1,81 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.csw.store.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.csw.records.CSWRecordDescriptor;
+import org.geoserver.data.test.MockData;
+import org.geotools.api.filter.Filter;
+import org.geotools.filter.text.ecql.ECQL;
+import org.junit.Test;
+
+public class CatalogStoreIndexTest extends CSWInternalTestSupport {
+
+    CatalogStoreIndex.Candidates select(String cql) throws Exception {
+        InternalCatalogStore store = applicationContext.getBean(InternalCatalogStore.class);
+        CatalogStoreMapping mapping = store.getMappings("Record").get(0);
+        Filter filter = ECQL.toFilter(cql);
+        return store.index.select(
+                mapping, filter, new CSWUnmappingFilterVisitor(mapping, CSWRecordDescriptor.getInstance()));
+    }
+
+    String id(String layerName) {
+        return getCatalog().getLayerByName(layerName).getId();
+    }
+
+    @Test
+    public void testFullTextSearch() throws Exception {
+        CatalogStoreIndex.Candidates candidates = select("AnyText like '%about B%'");
+        Set<String> ids = candidates.ids();
+        assertTrue(ids.contains(id(getLayerId(MockData.BASIC_POLYGONS))));
+        assertTrue(ids.contains(id(getLayerId(MockData.BRIDGES))));
+        assertTrue(ids.contains(id(getLayerId(MockData.BUILDINGS))));
+        assertTrue(candidates.getScore(id(getLayerId(MockData.BRIDGES))) > 0);
+
+        // fragments are matched against parts of words too
+        ids = select("AnyText like '%about Bu%'").ids();
+        assertTrue(ids.contains(id(getLayerId(MockData.BUILDINGS))));
+        assertFalse(ids.contains(id(getLayerId(MockData.LAKES))));
+    }
+
+    @Test
+    public void testNoFullTextSearch() throws Exception {
+        assertNull(select("Title = 'Bridges'"));
+        assertNull(select("AnyText like '%'"));
+    }
+
+    @Test
+    public void testCombinedSearches() throws Exception {
+        CatalogStoreIndex.Candidates candidates = select("AnyText like '%about%' and AnyText like '%Bridges%'");
+        assertTrue(candidates.ids().contains(id(getLayerId(MockData.BRIDGES))));
+        assertFalse(candidates.ids().contains(id(getLayerId(MockData.BUILDINGS))));
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        Catalog catalog = getCatalog();
+        assertEquals(Filter.EXCLUDE, select("AnyText like '%foobarbaz%'").toFilter());
+
+        FeatureTypeInfo ft = catalog.getFeatureTypeByName(getLayerId(MockData.LAKES));
+        String oldAbstract = ft.getAbstract();
+        ft.setAbstract("A description containing foobarbaz");
+        catalog.save(ft);
+        try {
+            assertEquals(Set.of(id(getLayerId(MockData.LAKES))), select("AnyText like '%foobarbaz%'").ids());
+        } finally {
+            ft = catalog.getFeatureTypeByName(getLayerId(MockData.LAKES));
+            ft.setAbstract(oldAbstract);
+            catalog.save(ft);
+        }
+        assertTrue(select("AnyText like '%foobarbaz%'").ids().isEmpty());
+    }
+}
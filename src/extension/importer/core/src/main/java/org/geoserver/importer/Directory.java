@@ -14,12 +14,15 @@
 import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.ZipOutputStream;
@@ -49,6 +52,9 @@ public class Directory extends FileData {
 
     String name;
 
+    /** number of threads looking up the format of the files while preparing, not persisted */
+    transient int scanThreads;
+
     public Directory(File file) {
         this(file, true);
     }
@@ -121,6 +127,11 @@ public void setName(String name) {
         this.name = name;
     }
 
+    /** Sets the number of threads looking up the format of the files in {@link #prepare(ProgressMonitor)} */
+    public void setScanThreads(int scanThreads) {
+        this.scanThreads = scanThreads;
+    }
+
     @Override
     public String getName() {
         return this.name != null ? this.name : file.getName();
@@ -154,6 +165,7 @@ public void prepare(ProgressMonitor m) throws IOException {
             // scan all the files looking for spatial ones
             File[] files = dir.listFiles();
             if (files != null) {
+                Map<File, SpatialFile> spatialFiles = scan(files, m);
                 for (File f : files) {
                     if (f.isHidden()) {
                         all.remove(f);
@@ -170,6 +182,7 @@ public void prepare(ProgressMonitor m) throws IOException {
                         // are all hidden files anyway
                         if (!"__MACOSX".equals(f.getName())) {
                             Directory d = new Directory(f);
+                            d.setScanThreads(scanThreads);
                             d.prepare(m);
 
                             this.files.add(d);
@@ -178,21 +191,10 @@ public void prepare(ProgressMonitor m) throws IOException {
                         continue;
                     }
 
-                    // special case for .aux files, they are metadata but get picked up as readable
-                    // by the erdas imagine reader...just ignore them for now
-                    if ("aux".equalsIgnoreCase(FilenameUtils.getExtension(f.getName()))) {
-                        continue;
-                    }
-
                     // determine if this is a spatial format or not
-                    DataFormat format = DataFormat.lookup(f);
-
-                    if (format != null) {
-                        SpatialFile sf = newSpatialFile(f, format);
-
-                        // gather up the related files
-                        sf.prepare(m);
+                    SpatialFile sf = spatialFiles.get(f);
 
+                    if (sf != null) {
                         this.files.add(sf);
 
                         all.removeAll(sf.allFiles());
@@ -238,6 +240,43 @@ public void prepare(ProgressMonitor m) throws IOException {
         //        }
     }
 
+    /**
+     * Looks up the format of the regular files, in parallel if so configured, and returns the spatial ones, along with
+     * their related files
+     */
+    private Map<File, SpatialFile> scan(File[] files, ProgressMonitor m) throws IOException {
+        List<File> candidates = new ArrayList<>();
+        List<Callable<SpatialFile>> lookups = new ArrayList<>();
+        for (File f : files) {
+            // special case for .aux files, they are metadata but get picked up as readable
+            // by the erdas imagine reader...just ignore them for now
+            if (f.isHidden() || f.isDirectory() || "aux".equalsIgnoreCase(FilenameUtils.getExtension(f.getName()))) {
+                continue;
+            }
+            candidates.add(f);
+            lookups.add(() -> {
+                DataFormat format = DataFormat.lookup(f);
+                if (format == null) {
+                    return null;
+                }
+                SpatialFile sf = newSpatialFile(f, format);
+
+                // gather up the related files
+                sf.prepare(m);
+                return sf;
+            });
+        }
+
+        List<SpatialFile> results = ImportTaskPool.invokeAll(scanThreads, "Importer scan " + file.getName(), lookups);
+        Map<File, SpatialFile> spatialFiles = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (results.get(i) != null) {
+                spatialFiles.put(candidates.get(i), results.get(i));
+            }
+        }
+        return spatialFiles;
+    }
+
     /**
      * Creates a new spatial file.
      *
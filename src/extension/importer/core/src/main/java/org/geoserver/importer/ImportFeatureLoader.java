@@ -0,0 +1,297 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.importer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.importer.job.ProgressMonitor;
+import org.geoserver.importer.transform.VectorTransformChain;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Loads the features of a {@link FeatureReader} into a target store, as a staged pipeline working on batches of
+ * features:
+ *
+ * <ul>
+ *   <li>the features are read on the calling thread
+ *   <li>each batch is converted and transformed by a pool of worker threads, each one using its own copy of the
+ *       transform chain
+ *   <li>the transformed batches are written on the calling thread, in the same order they have been read
+ * </ul>
+ *
+ * When the target is a new JDBC table, the transaction is committed every {@link ImporterInfo#getCommitInterval()}
+ * features, as the table is dropped anyway if the load fails.
+ */
+class ImportFeatureLoader {
+
+    static final Logger LOGGER = Logging.getLogger(ImportFeatureLoader.class);
+
+    /** Stores whose batch insert size has been raised, along with their original size and the loads using them */
+    static final Map<JDBCDataStore, int[]> BATCH_INSERTS = new IdentityHashMap<>();
+
+    final ImportTask task;
+
+    final DataStore dataStore;
+
+    final String typeName;
+
+    final Transaction transaction;
+
+    final FeatureDataConverter converter;
+
+    final VectorTransformChain tx;
+
+    final int batchSize;
+
+    final int threads;
+
+    final int commitInterval;
+
+    int processed;
+
+    int skipped;
+
+    /**
+     * Builds a new loader
+     *
+     * @param task the task being executed
+     * @param dataStore the target store
+     * @param typeName the target feature type
+     * @param transaction the load transaction
+     * @param converter the converter from source to target features
+     * @param tx the transform chain, already applied to the feature type
+     * @param configuration the importer configuration
+     * @param created whether the target feature type has been created by the import
+     */
+    ImportFeatureLoader(
+            ImportTask task,
+            DataStore dataStore,
+            String typeName,
+            Transaction transaction,
+            FeatureDataConverter converter,
+            VectorTransformChain tx,
+            ImporterInfo configuration,
+            boolean created) {
+        this.task = task;
+        this.dataStore = dataStore;
+        this.typeName = typeName;
+        this.transaction = transaction;
+        this.converter = converter;
+        this.tx = tx;
+        this.batchSize = Math.max(1, configuration.getBatchSize());
+        this.threads = Math.max(1, configuration.getTransformThreads());
+        this.commitInterval = created && dataStore instanceof JDBCDataStore ? configuration.getCommitInterval() : 0;
+    }
+
+    /** Number of features read so far */
+    int getProcessed() {
+        return processed;
+    }
+
+    /** Number of features skipped by the transforms */
+    int getSkipped() {
+        return skipped;
+    }
+
+    /** Loads all the features of the reader, or stops at the first batch after the task has been canceled */
+    void load(FeatureReader<SimpleFeatureType, SimpleFeature> reader) throws Exception {
+        ProgressMonitor monitor = task.progress();
+        List<VectorTransformChain> chains = copyChains();
+        ExecutorService executor = chains != null ? newExecutor() : null;
+        ThreadLocal<VectorTransformChain> workerChains = new ThreadLocal<>();
+        AtomicInteger nextChain = new AtomicInteger();
+        Deque<Future<Batch>> pending = new ArrayDeque<>();
+        FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                dataStore.getFeatureWriterAppend(typeName, transaction);
+        try {
+            SimpleFeatureType targetType = writer.getFeatureType();
+            int uncommitted = 0;
+            while (!monitor.isCanceled() && reader.hasNext()) {
+                List<SimpleFeature> features = read(reader);
+                Batch batch;
+                if (chains == null) {
+                    batch = transform(features, targetType, tx);
+                } else {
+                    pending.add(executor.submit(() -> {
+                        VectorTransformChain chain = workerChains.get();
+                        if (chain == null) {
+                            chain = chains.get(nextChain.getAndIncrement());
+                            workerChains.set(chain);
+                        }
+                        return transform(features, targetType, chain);
+                    }));
+                    // keep the workers busy while the oldest batch is written
+                    if (pending.size() <= threads) {
+                        continue;
+                    }
+                    batch = get(pending.poll());
+                }
+                uncommitted += write(writer, batch);
+                if (commitInterval > 0 && uncommitted >= commitInterval) {
+                    writer = commit(writer);
+                    uncommitted = 0;
+                }
+            }
+            while (!monitor.isCanceled() && !pending.isEmpty()) {
+                write(writer, get(pending.poll()));
+            }
+        } finally {
+            writer.close();
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /** Returns one copy of the transform chain per worker, or null if features should be transformed sequentially */
+    private List<VectorTransformChain> copyChains() {
+        if (threads <= 1) {
+            return null;
+        }
+        try {
+            List<VectorTransformChain> chains = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                chains.add(tx.copy());
+            }
+            return chains;
+        } catch (RuntimeException e) {
+            LOGGER.log(
+                    Level.WARNING, "Could not copy the transform chain, features will be transformed sequentially", e);
+            return null;
+        }
+    }
+
+    private ExecutorService newExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "Importer transform " + task + " #" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private List<SimpleFeature> read(FeatureReader<SimpleFeatureType, SimpleFeature> reader) throws IOException {
+        List<SimpleFeature> features = new ArrayList<>(batchSize);
+        while (features.size() < batchSize && reader.hasNext()) {
+            features.add(reader.next());
+        }
+        return features;
+    }
+
+    private Batch transform(List<SimpleFeature> features, SimpleFeatureType targetType, VectorTransformChain chain)
+            throws Exception {
+        List<SimpleFeature> transformed = new ArrayList<>(features.size());
+        for (SimpleFeature feature : features) {
+            SimpleFeature next =
+                    SimpleFeatureBuilder.build(targetType, new Object[targetType.getAttributeCount()], null);
+
+            // (JD) TODO: some formats will rearrange the geometry type (like shapefile) which makes the geometry the
+            // first attribute regardless, so blindly copying over attributes won't work unless the source type also
+            // has the geometry as the first attribute in the schema
+            converter.convert(feature, next);
+
+            // @hack #45678 - mask empty geometry or postgis will complain
+            Geometry geom = (Geometry) next.getDefaultGeometry();
+            if (geom != null && geom.isEmpty()) {
+                next.setDefaultGeometry(null);
+            }
+
+            // apply the feature transform, a null result means the feature should be skipped
+            if (chain.inline(task, dataStore, feature, next) != null) {
+                transformed.add(next);
+            }
+        }
+        return new Batch(features.size(), transformed);
+    }
+
+    private Batch get(Future<Batch> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception exception) throw exception;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private int write(FeatureWriter<SimpleFeatureType, SimpleFeature> writer, Batch batch) throws IOException {
+        for (SimpleFeature feature : batch.features()) {
+            SimpleFeature next = writer.next();
+            next.setAttributes(feature.getAttributes());
+            next.getUserData().putAll(feature.getUserData());
+            writer.write();
+        }
+        processed += batch.read();
+        skipped += batch.read() - batch.features().size();
+        task.setNumberProcessed(processed);
+        return batch.features().size();
+    }
+
+    private FeatureWriter<SimpleFeatureType, SimpleFeature> commit(
+            FeatureWriter<SimpleFeatureType, SimpleFeature> writer) throws IOException {
+        // close the writer first, to flush the pending inserts
+        writer.close();
+        transaction.commit();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Committed " + processed + " features into '" + typeName + "'");
+        }
+        return dataStore.getFeatureWriterAppend(typeName, transaction);
+    }
+
+    /**
+     * Raises the batch insert size of JDBC stores to the importer batch size, for the duration of a load, so that the
+     * features are inserted using JDBC batches. Must be paired with a call to {@link #endBatchInserts(DataStore)}.
+     */
+    static void beginBatchInserts(DataStore dataStore, int batchSize) {
+        if (dataStore instanceof JDBCDataStore jdbc) {
+            synchronized (BATCH_INSERTS) {
+                int[] state = BATCH_INSERTS.get(jdbc);
+                if (state != null) {
+                    state[1]++;
+                } else if (jdbc.getBatchInsertSize() < batchSize) {
+                    BATCH_INSERTS.put(jdbc, new int[] {jdbc.getBatchInsertSize(), 1});
+                    jdbc.setBatchInsertSize(batchSize);
+                }
+            }
+        }
+    }
+
+    /** Restores the batch insert size of JDBC stores once the last load using them is completed */
+    static void endBatchInserts(DataStore dataStore) {
+        if (dataStore instanceof JDBCDataStore jdbc) {
+            synchronized (BATCH_INSERTS) {
+                int[] state = BATCH_INSERTS.get(jdbc);
+                if (state != null && --state[1] == 0) {
+                    BATCH_INSERTS.remove(jdbc);
+                    jdbc.setBatchInsertSize(state[0]);
+                }
+            }
+        }
+    }
+
+    /** A batch of transformed features */
+    record Batch(int read, List<SimpleFeature> features) {}
+}
@@ -0,0 +1,103 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.importer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs the independent steps of an import (e.g., scanning files, creating or running tasks) on a bounded pool of
+ * threads, returning the results in the same order as the steps. The worker threads run with the same authentication
+ * and request attributes as the calling one, as the steps can access a secured catalog.
+ */
+class ImportTaskPool {
+
+    private ImportTaskPool() {}
+
+    /**
+     * Runs the jobs, sequentially if threads is less than two, and returns their results in order. All the jobs are
+     * run even if some fail, the first failure in order is then rethrown.
+     *
+     * @param threads the maximum number of jobs running in parallel
+     * @param name the name of the pool threads
+     * @param jobs the jobs to be run
+     */
+    static <T> List<T> invokeAll(int threads, String name, List<Callable<T>> jobs) throws IOException {
+        List<T> results = new ArrayList<>(jobs.size());
+        if (threads < 2 || jobs.size() < 2) {
+            for (Callable<T> job : jobs) {
+                results.add(call(job));
+            }
+            return results;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        List<Callable<T>> copying = new ArrayList<>(jobs.size());
+        for (Callable<T> job : jobs) {
+            copying.add(() -> {
+                RequestContextHolder.setRequestAttributes(attributes);
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                try {
+                    return job.call();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, jobs.size()), r -> {
+            Thread t = new Thread(r, name + " #" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (Future<T> future : executor.invokeAll(copying)) {
+                results.add(get(future));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T call(Callable<T> job) throws IOException {
+        try {
+            return job.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static <T> T get(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException exception) throw exception;
+            if (cause instanceof RuntimeException exception) throw exception;
+            if (cause instanceof Error error) throw error;
+            throw new IOException(cause);
+        }
+    }
+}
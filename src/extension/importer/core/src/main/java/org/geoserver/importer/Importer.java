@@ -24,8 +24,10 @@
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.io.FileUtils;
@@ -78,7 +80,6 @@
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.FeatureStore;
-import org.geotools.api.data.FeatureWriter;
 import org.geotools.api.data.FileGroupProvider;
 import org.geotools.api.data.FileServiceInfo;
 import org.geotools.api.data.ServiceInfo;
@@ -97,6 +98,7 @@
 import org.geotools.coverage.grid.io.StructuredGridCoverage2DReader;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.DefaultTransaction;
+import org.geotools.data.DelegateFeatureReader;
 import org.geotools.data.directory.DirectoryDataStore;
 import org.geotools.data.shapefile.ShapefileDataStore;
 import org.geotools.feature.FeatureCollection;
@@ -107,7 +109,6 @@
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.referencing.CRS;
 import org.geotools.util.logging.Logging;
-import org.locationtech.jts.geom.Geometry;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
@@ -151,6 +152,9 @@ public class Importer implements DisposableBean, ApplicationListener {
 
     ConcurrentHashMap<Long, ImportTask> currentlyProcessing = new ConcurrentHashMap<>();
 
+    /** Serializes catalog registration and schema creation, when the tasks of a context run in parallel */
+    final ReentrantLock registrationLock = new ReentrantLock();
+
     ImporterInfo configuration;
 
     public Importer(Catalog catalog, ImporterInfoDAO dao) {
@@ -515,6 +519,9 @@ List<ImportTask> addTasks(ImportContext context, ImportData data, boolean prepDa
         LOGGER.log(Level.FINE, "Adding tasks for context {0} using data {1}", new Object[] {context.getId(), data});
 
         if (prepData) {
+            if (data instanceof Directory directory) {
+                directory.setScanThreads(configuration.getTaskThreads());
+            }
             data.prepare(context.progress());
         }
 
@@ -554,7 +561,8 @@ List<ImportTask> initForMosaic(ImportContext context, Mosaic mosaic) throws IOEx
     }
 
     List<ImportTask> initForDirectory(ImportContext context, Directory data) throws IOException {
-        List<ImportTask> tasks = new ArrayList<>();
+        // the tasks of each file or group of files are listed in parallel, and then added in order
+        List<Callable<List<ImportTask>>> listings = new ArrayList<>();
 
         // flatten out the directory into itself and all sub directories and process in order
         for (Directory dir : data.flatten()) {
@@ -591,9 +599,10 @@ List<ImportTask> initForDirectory(ImportContext context, Directory data) throws
                         if (files.size() == 1) {
                             // use the file directly
                             // createTasks(files.get(0), format, context, null));
-                            tasks.addAll(createTasks(files.get(0), format, context));
+                            listings.add(() -> listTasks(files.get(0), format, context, true));
                         } else {
-                            tasks.addAll(createTasks(dir.filter(files), format, context));
+                            Directory filtered = dir.filter(files);
+                            listings.add(() -> listTasks(filtered, format, context, true));
                             // tasks.addAll(createTasks(dir.filter(files), format, context, null));
                         }
 
@@ -605,17 +614,25 @@ List<ImportTask> initForDirectory(ImportContext context, Directory data) throws
                 for (List<FileData> files : map.values()) {
                     for (FileData file : files) {
                         // tasks.add(createTask(file, context, null));
-                        tasks.addAll(createTasks(file, file.getFormat(), context, skipNoFormat));
+                        listings.add(() -> listTasks(file, file.getFormat(), context, skipNoFormat));
                     }
                 }
 
             } else {
                 for (FileData file : dir.getFiles()) {
-                    tasks.addAll(createTasks(file, file.getFormat(), context, skipNoFormat));
+                    listings.add(() -> listTasks(file, file.getFormat(), context, skipNoFormat));
                 }
             }
         }
 
+        List<ImportTask> tasks = new ArrayList<>();
+        String name = "Importer context " + context.getId() + " init";
+        for (List<ImportTask> listed : ImportTaskPool.invokeAll(configuration.getTaskThreads(), name, listings)) {
+            for (ImportTask t : listed) {
+                context.addTask(t);
+            }
+            tasks.addAll(listed);
+        }
         return tasks;
     }
 
@@ -642,6 +659,16 @@ List<ImportTask> createTasks(ImportData data, DataFormat format, ImportContext c
 
     List<ImportTask> createTasks(ImportData data, DataFormat format, ImportContext context, boolean skipNoFormat)
             throws IOException {
+        List<ImportTask> tasks = listTasks(data, format, context, skipNoFormat);
+        for (ImportTask t : tasks) {
+            context.addTask(t);
+        }
+        return tasks;
+    }
+
+    /** Lists the tasks for the given data, without adding them to the context */
+    List<ImportTask> listTasks(ImportData data, DataFormat format, ImportContext context, boolean skipNoFormat)
+            throws IOException {
 
         LOGGER.log(Level.FINE, "Creating tasks for context {0}, based on data {1}, using format {2}", new Object[] {
             context.getId(), data, format
@@ -696,7 +723,6 @@ && isMultiCoverageInput(format, data)) {
             task.setState(State.READY);
             task.setError(null);
             task.setTransform(new RasterTransformChain());
-            context.addTask(task);
             LOGGER.log(Level.FINE, "Import task created {0}", task);
             return Arrays.asList(task);
         }
@@ -741,9 +767,6 @@ && isMultiCoverageInput(format, data)) {
             tasks.add(t);
         }
 
-        for (ImportTask t : tasks) {
-            context.addTask(t);
-        }
         return tasks;
     }
 
@@ -817,6 +840,8 @@ boolean prep(ImportTask task) {
         // style
         // assign a default style to the layer if not already done
         if (l.getDefaultStyle() == null) {
+            // style names and files must be unique, generate them one task at a time
+            registrationLock.lock();
             try {
                 StyleInfo style = null;
 
@@ -856,6 +881,8 @@ boolean prep(ImportTask task) {
                 task.setError(e);
                 task.setState(ImportTask.State.ERROR);
                 return false;
+            } finally {
+                registrationLock.unlock();
             }
         }
 
@@ -954,6 +981,8 @@ protected void runInternal(ImportContext context, ImportFilter filter, ProgressM
 
         LOGGER.log(Level.FINE, "Running import {0}", context.getId());
 
+        // each task fails on its own, without stopping the others
+        List<Callable<Void>> runs = new ArrayList<>();
         for (ImportTask task : context.getTasks()) {
             if (!filter.include(task)) {
                 LOGGER.log(Level.FINE, "Filtering out task {0}", task);
@@ -964,11 +993,15 @@ protected void runInternal(ImportContext context, ImportFilter filter, ProgressM
                 continue;
             }
 
-            if (context.progress().isCanceled()) {
-                break;
-            }
-            run(task);
+            runs.add(() -> {
+                if (!context.progress().isCanceled()) {
+                    run(task);
+                }
+                return null;
+            });
         }
+        String name = "Importer context " + context.getId() + " run";
+        ImportTaskPool.invokeAll(configuration.getTaskThreads(), name, runs);
 
         LOGGER.log(Level.FINE, "All tasks run for {0}", context);
         context.updated();
@@ -999,7 +1032,9 @@ void run(ImportTask task) throws IOException {
         }
         LOGGER.log(Level.FINE, "Running task {0}", task);
         task.setState(ImportTask.State.RUNNING);
-        contextStore.save(task.getContext());
+        synchronized (task.getContext()) {
+            contextStore.save(task.getContext());
+        }
 
         try {
             if (task.isDirect()) {
@@ -1114,28 +1149,11 @@ void doDirectImport(ImportTask task) throws IOException {
         // TODO: this needs to be transactional in case of errors along the way
 
         // add the store, may have been added in a previous iteration of this task
-        if (task.getStore().getId() == null) {
-            StoreInfo store = task.getStore();
-
-            // ensure a unique name
-            store.setName(findUniqueStoreName(task.getStore()));
-
-            // ensure a namespace connection parameter set matching workspace/namespace
-            if (!store.getConnectionParameters().containsKey("namespace")) {
-                WorkspaceInfo ws = task.getContext().getTargetWorkspace();
-                if (ws == null && task.getContext().getTargetStore() != null) {
-                    ws = task.getContext().getTargetStore().getWorkspace();
-                }
-                if (ws != null) {
-                    NamespaceInfo ns = catalog.getNamespaceByPrefix(ws.getName());
-                    if (ns != null) {
-                        store.getConnectionParameters().put("namespace", ns.getURI());
-                    }
-                }
-            }
-            LOGGER.log(
-                    Level.FINE, "Creating target store {0} for task {1}", new Object[] {task.getStore(), task.getId()});
-            catalog.add(task.getStore());
+        registrationLock.lock();
+        try {
+            addStore(task);
+        } finally {
+            registrationLock.unlock();
         }
 
         task.setState(ImportTask.State.RUNNING);
@@ -1148,7 +1166,12 @@ void doDirectImport(ImportTask task) throws IOException {
             return;
         }
 
-        addToCatalog(task);
+        registrationLock.lock();
+        try {
+            addToCatalog(task);
+        } finally {
+            registrationLock.unlock();
+        }
 
         if (task.getLayer().getResource() instanceof FeatureTypeInfo) {
             FeatureTypeInfo featureType = (FeatureTypeInfo) task.getLayer().getResource();
@@ -1167,6 +1190,33 @@ void doDirectImport(ImportTask task) throws IOException {
         task.setState(ImportTask.State.COMPLETE);
     }
 
+    /** Adds the store of a direct import, unless it has already been added */
+    private void addStore(ImportTask task) {
+        if (task.getStore().getId() == null) {
+            StoreInfo store = task.getStore();
+
+            // ensure a unique name
+            store.setName(findUniqueStoreName(task.getStore()));
+
+            // ensure a namespace connection parameter set matching workspace/namespace
+            if (!store.getConnectionParameters().containsKey("namespace")) {
+                WorkspaceInfo ws = task.getContext().getTargetWorkspace();
+                if (ws == null && task.getContext().getTargetStore() != null) {
+                    ws = task.getContext().getTargetStore().getWorkspace();
+                }
+                if (ws != null) {
+                    NamespaceInfo ns = catalog.getNamespaceByPrefix(ws.getName());
+                    if (ns != null) {
+                        store.getConnectionParameters().put("namespace", ns.getURI());
+                    }
+                }
+            }
+            LOGGER.log(
+                    Level.FINE, "Creating target store {0} for task {1}", new Object[] {task.getStore(), task.getId()});
+            catalog.add(task.getStore());
+        }
+    }
+
     /*
      * an import that involves reading from the store and writing into a specified target store
      */
@@ -1201,20 +1251,7 @@ void doIndirectImport(ImportTask task) throws IOException {
                 featureType.getAttributes().clear();
 
                 if (!canceled) {
-                    // check if resource is already present
-                    FeatureTypeInfo resource =
-                            getCatalog().getResourceByName(featureType.getQualifiedName(), FeatureTypeInfo.class);
-
-                    if (resource == null
-                            && (task.getUpdateMode() == UpdateMode.CREATE
-                                    || task.getUpdateMode() == UpdateMode.REPLACE)) {
-                        // Create if needed (for create or replace mode)
-                        // Replace mode can be used to update table contents in place
-                        // and publish the results as a new layer
-                        addToCatalog(task);
-                        resource =
-                                getCatalog().getResourceByName(featureType.getQualifiedName(), FeatureTypeInfo.class);
-                    }
+                    FeatureTypeInfo resource = publish(task, featureType);
 
                     if (resource != null) {
                         calculateBounds(resource);
@@ -1236,7 +1273,13 @@ void doIndirectImport(ImportTask task) throws IOException {
                         "Indirect raster import can only work against " + " CoverageStores, this one is not: " + store);
             }
 
-            loadIntoCoverageStore(task, (CoverageStoreInfo) store, (GridFormat) format, (RasterTransformChain) tx);
+            // harvesting updates both the store and the catalog, one task at a time
+            registrationLock.lock();
+            try {
+                loadIntoCoverageStore(task, (CoverageStoreInfo) store, (GridFormat) format, (RasterTransformChain) tx);
+            } finally {
+                registrationLock.unlock();
+            }
         }
 
         if (!canceled && !doPostTransform(task, task.getData(), tx)) {
@@ -1246,6 +1289,28 @@ void doIndirectImport(ImportTask task) throws IOException {
         task.setState(canceled ? ImportTask.State.CANCELED : ImportTask.State.COMPLETE);
     }
 
+    /** Publishes the imported feature type, if not already present in the catalog, and returns it */
+    private FeatureTypeInfo publish(ImportTask task, FeatureTypeInfo featureType) throws IOException {
+        registrationLock.lock();
+        try {
+            // check if resource is already present
+            FeatureTypeInfo resource =
+                    getCatalog().getResourceByName(featureType.getQualifiedName(), FeatureTypeInfo.class);
+
+            if (resource == null
+                    && (task.getUpdateMode() == UpdateMode.CREATE || task.getUpdateMode() == UpdateMode.REPLACE)) {
+                // Create if needed (for create or replace mode)
+                // Replace mode can be used to update table contents in place
+                // and publish the results as a new layer
+                addToCatalog(task);
+                resource = getCatalog().getResourceByName(featureType.getQualifiedName(), FeatureTypeInfo.class);
+            }
+            return resource;
+        } finally {
+            registrationLock.unlock();
+        }
+    }
+
     /**
      * (Re)calculates the bounds for a FeatureTypeInfo. Bounds will be calculated if:
      * <li>The native bounds of the resource are null or empty
@@ -1391,15 +1456,96 @@ void loadIntoDataStore(ImportTask task, DataStoreInfo store, VectorFormat format
             // conversion may adjust feature type name and attribute names and data types
             // to match the abilities of the data store format being used
             featureType = featureDataConverter.convertType(featureType, format, data, task);
-            UpdateMode updateMode = task.getUpdateMode();
 
+            // unique native names are looked up and reserved by creating the schema, one task at a time
+            TargetSchema schema = createTargetSchema(task, store, dataStore, featureType, transaction, tx);
+            featureType = schema.featureType();
             // created native type name in target datastore, will be dropped if import fails
+            String createdNativeTypeName = schema.createdNativeTypeName();
+
+            // Move features, using batch inserts if the target supports them
+            ImportFeatureLoader.beginBatchInserts(dataStore, configuration.getBatchSize());
+            try {
+                if (format instanceof DataStoreFormat storeFormat) {
+                    error = copyFromFeatureSource(
+                            data,
+                            task,
+                            storeFormat,
+                            dataStore,
+                            transaction,
+                            createdNativeTypeName,
+                            featureType.getTypeName(),
+                            featureDataConverter,
+                            tx);
+                } else {
+                    reader = format.read(data, task);
+                    error = copyFromFeatureReader(
+                            reader,
+                            task,
+                            format,
+                            dataStore,
+                            transaction,
+                            createdNativeTypeName,
+                            featureType.getTypeName(),
+                            featureDataConverter,
+                            tx);
+                }
+            } finally {
+                ImportFeatureLoader.endBatchInserts(dataStore);
+            }
+
+        } finally {
+            try {
+                if (reader != null) {
+                    format.dispose(reader, task);
+                    // @hack catch _all_ Exceptions here - occassionally closing a shapefile
+                    // seems to result in an IllegalArgumentException related to not
+                    // holding the lock...
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error closing reader", e);
+            }
+
+            transaction.commit();
+
+            // try to cleanup, but if an error occurs here and one hasn't already been set, set the
+            // error
+            try {
+                transaction.close();
+            } catch (Exception e) {
+                if (error != null) {
+                    error = e;
+                }
+                LOGGER.log(Level.WARNING, "Error closing transaction", e);
+            }
+        }
+        // finally, throw any error
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Creates the target schema, if needed, and returns it along with the name of the created type, if any. Tasks run
+     * in parallel may look for unique names in the same store, so they are looked up and reserved one task at a time.
+     */
+    private TargetSchema createTargetSchema(
+            ImportTask task,
+            DataStoreInfo store,
+            DataStore dataStore,
+            SimpleFeatureType featureType,
+            Transaction transaction,
+            VectorTransformChain tx)
+            throws Exception {
+        registrationLock.lock();
+        try {
+            UpdateMode updateMode = task.getUpdateMode();
             String createdNativeTypeName = null;
 
             if (updateMode == UpdateMode.CREATE) {
                 // find a unique native name in the target store (to avoid replacing existing
                 // content)
-                nativeName = findUniqueNativeFeatureTypeName(featureType, store);
+                String nativeName = findUniqueNativeFeatureTypeName(featureType, store);
 
                 if (!nativeName.equals(featureType.getName().getLocalPart())) {
                     // update the layer name to be unique within target workspace
@@ -1492,63 +1638,15 @@ void loadIntoDataStore(ImportTask task, DataStoreInfo store, VectorFormat format
                 }
             }
 
-            // Move features
-            if (format instanceof DataStoreFormat storeFormat) {
-                error = copyFromFeatureSource(
-                        data,
-                        task,
-                        storeFormat,
-                        dataStore,
-                        transaction,
-                        createdNativeTypeName,
-                        featureType.getTypeName(),
-                        featureDataConverter,
-                        tx);
-            } else {
-                reader = format.read(data, task);
-                error = copyFromFeatureReader(
-                        reader,
-                        task,
-                        format,
-                        dataStore,
-                        transaction,
-                        createdNativeTypeName,
-                        featureType.getTypeName(),
-                        featureDataConverter,
-                        tx);
-            }
-
+            return new TargetSchema(featureType, createdNativeTypeName);
         } finally {
-            try {
-                if (reader != null) {
-                    format.dispose(reader, task);
-                    // @hack catch _all_ Exceptions here - occassionally closing a shapefile
-                    // seems to result in an IllegalArgumentException related to not
-                    // holding the lock...
-                }
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error closing reader", e);
-            }
-
-            transaction.commit();
-
-            // try to cleanup, but if an error occurs here and one hasn't already been set, set the
-            // error
-            try {
-                transaction.close();
-            } catch (Exception e) {
-                if (error != null) {
-                    error = e;
-                }
-                LOGGER.log(Level.WARNING, "Error closing transaction", e);
-            }
-        }
-        // finally, throw any error
-        if (error != null) {
-            throw error;
+            registrationLock.unlock();
         }
     }
 
+    /** The schema the features are imported into, and its name if it was created by the import */
+    private record TargetSchema(SimpleFeatureType featureType, String createdNativeTypeName) {}
+
     /**
      * This is a quick way to double check if the two schemas have the same typeName, and and attribute names /
      * bindings.
@@ -1722,7 +1820,8 @@ private LayerInfo checkResourceExists(
     }
 
     /**
-     * Copy content from import data, used to feature source.
+     * Copy content from import data, used to feature source. The features are loaded by a {@link ImportFeatureLoader},
+     * like in {@link #copyFromFeatureReader}.
      *
      * @param data Import data used to obtain feature source
      * @param task
@@ -1755,13 +1854,23 @@ private Throwable copyFromFeatureSource(
             LOGGER.fine("beginning import - high level api");
 
             FeatureSource fs = format.getFeatureSource(data, task);
+            FeatureCollection fc = fs.getFeatures();
 
-            FeatureStore featureStore = (FeatureStore) dataStoreDestination.getFeatureSource(nativeFeatureTypeName);
-            featureStore.setTransaction(transaction);
-
-            FeatureCollection fc = new ImportTransformFeatureCollection<>(
-                    fs.getFeatures(), featureDataConverter, featureStore.getSchema(), tx, task, dataStoreDestination);
-            featureStore.addFeatures(fc);
+            ImportFeatureLoader loader = new ImportFeatureLoader(
+                    task,
+                    dataStoreDestination,
+                    nativeFeatureTypeName,
+                    transaction,
+                    featureDataConverter,
+                    tx,
+                    configuration,
+                    createdFeatureTypeName != null);
+            try (FeatureReader reader = new DelegateFeatureReader(fc.getSchema(), fc.features())) {
+                loader.load(reader);
+            }
+            if (loader.getSkipped() > 0) {
+                task.addMessage(Level.WARNING, loader.getSkipped() + " features were skipped.");
+            }
 
         } catch (Throwable e) {
             error = e;
@@ -1813,7 +1922,8 @@ private Throwable copyFromFeatureSource(
 
     /**
      * Copy content from single use FeatureReader, used to obtain content from csv and geojsoon files where no general
-     * purpose datastore is available.
+     * purpose datastore is available. The features are loaded in batches by a {@link ImportFeatureLoader}, transforming
+     * them in parallel as configured in {@link ImporterInfo#getTransformThreads()}.
      *
      * @param reader
      * @param task
@@ -1826,6 +1936,7 @@ private Throwable copyFromFeatureSource(
      * @param tx
      * @return {@code null} if successful, or error condition throwable
      */
+    @SuppressWarnings("unchecked") // vague about feature types
     Throwable copyFromFeatureReader(
             FeatureReader reader,
             ImportTask task,
@@ -1841,9 +1952,6 @@ Throwable copyFromFeatureReader(
         Throwable error = null;
         ProgressMonitor monitor = task.progress();
 
-        // @todo need better way to communicate to client
-        int skipped = 0;
-        int cnt = 0;
         // metrics
         long startTime = System.currentTimeMillis();
 
@@ -1860,41 +1968,19 @@ Throwable copyFromFeatureReader(
         }
 
         if (error == null) {
-            try (FeatureWriter writer =
-                    dataStoreDestination.getFeatureWriterAppend(nativeFeatureTypeName, transaction)) {
-
-                while (reader.hasNext()) {
-                    if (monitor.isCanceled()) {
-                        break;
-                    }
-                    SimpleFeature feature = (SimpleFeature) reader.next();
-                    SimpleFeature next = (SimpleFeature) writer.next();
-
-                    // (JD) TODO: some formats will rearrange the geometry type (like shapefile)
-                    // which
-                    // makes the geometry the first attribute regardless, so blindly copying over
-                    // attributes won't work unless the source type also has the geometry as the
-                    // first attribute in the schema
-                    featureDataConverter.convert(feature, next);
-
-                    // @hack #45678 - mask empty geometry or postgis will complain
-                    Geometry geom = (Geometry) next.getDefaultGeometry();
-                    if (geom != null && geom.isEmpty()) {
-                        next.setDefaultGeometry(null);
-                    }
-
-                    // apply the feature transform
-                    next = tx.inline(task, dataStoreDestination, feature, next);
-
-                    if (next == null) {
-                        skipped++;
-                    } else {
-                        writer.write();
-                    }
-                    task.setNumberProcessed(++cnt);
-                }
-                if (skipped > 0) {
-                    task.addMessage(Level.WARNING, skipped + " features were skipped.");
+            ImportFeatureLoader loader = new ImportFeatureLoader(
+                    task,
+                    dataStoreDestination,
+                    nativeFeatureTypeName,
+                    transaction,
+                    featureDataConverter,
+                    tx,
+                    configuration,
+                    createdFeatureTypeName != null);
+            try {
+                loader.load(reader);
+                if (loader.getSkipped() > 0) {
+                    task.addMessage(Level.WARNING, loader.getSkipped() + " features were skipped.");
                 }
                 LOGGER.info("Load from reader in to target took " + (System.currentTimeMillis() - startTime));
             } catch (Throwable e) {
@@ -36,4 +36,42 @@ public interface ImporterInfo extends Serializable {
 
     /** @see #getContextExpiration() */
     void setContextExpiration(double contextExpiration);
+
+    /**
+     * Number of features read, transformed and written as a single batch when loading vector data into a store.
+     * Defaults to 1000.
+     */
+    int getBatchSize();
+
+    /** @see #getBatchSize() */
+    void setBatchSize(int batchSize);
+
+    /**
+     * Number of threads transforming the features of a single import task, while reading and writing happen on the
+     * task own thread. Set to one to transform features sequentially. Defaults to the number of available processors.
+     */
+    int getTransformThreads();
+
+    /** @see #getTransformThreads() */
+    void setTransformThreads(int transformThreads);
+
+    /**
+     * Number of features after which the load transaction is committed, when importing into a new database table.
+     * Tables are dropped anyway if the import fails, so intermediate commits just avoid long running transactions. Set
+     * to zero, or to a negative number, to commit only at the end. Defaults to 100000.
+     */
+    int getCommitInterval();
+
+    /** @see #getCommitInterval() */
+    void setCommitInterval(int commitInterval);
+
+    /**
+     * Number of tasks of a single import context that are prepared and run in parallel, including the scan of the
+     * imported directories. Catalog registration and schema creation are performed one task at a time anyway. Set to
+     * one to process tasks sequentially, in order. Defaults to 1.
+     */
+    int getTaskThreads();
+
+    /** @see #getTaskThreads() */
+    void setTaskThreads(int taskThreads);
 }
@@ -32,6 +32,14 @@ public class ImporterInfoDAO {
 
     public static final String CONTEXT_EXPIRATION_KEY = "importer.contextExpiration";
 
+    public static final String BATCH_SIZE_KEY = "importer.batchSize";
+
+    public static final String TRANSFORM_THREADS_KEY = "importer.transformThreads";
+
+    public static final String COMMIT_INTERVAL_KEY = "importer.commitInterval";
+
+    public static final String TASK_THREADS_KEY = "importer.taskThreads";
+
     /**
      * Reads the importer configuration from the specified resource, or returns a default
      *
@@ -57,6 +65,10 @@ public void read(Resource resource, ImporterInfo info) throws IOException {
         info.setMaxAsynchronousImports(getConfig(props, MAX_ASYNCH_KEY, Integer.class, () -> processors));
         info.setMaxSynchronousImports(getConfig(props, MAX_SYNCH_KEY, Integer.class, () -> processors));
         info.setContextExpiration(getConfig(props, CONTEXT_EXPIRATION_KEY, Double.class, () -> 1440d));
+        info.setBatchSize(getConfig(props, BATCH_SIZE_KEY, Integer.class, () -> 1000));
+        info.setTransformThreads(getConfig(props, TRANSFORM_THREADS_KEY, Integer.class, () -> processors));
+        info.setCommitInterval(getConfig(props, COMMIT_INTERVAL_KEY, Integer.class, () -> 100000));
+        info.setTaskThreads(getConfig(props, TASK_THREADS_KEY, Integer.class, () -> 1));
     }
 
     private <T> T getConfig(Properties props, String name, Class<T> clazz, Supplier<T> defaultValueSupplier) {
@@ -98,6 +110,10 @@ void write(ImporterInfo configuration, Resource resource) throws IOException {
         props.setProperty(MAX_SYNCH_KEY, String.valueOf(configuration.getMaxSynchronousImports()));
         props.setProperty(MAX_ASYNCH_KEY, String.valueOf(configuration.getMaxAsynchronousImports()));
         props.setProperty(CONTEXT_EXPIRATION_KEY, String.valueOf(configuration.getContextExpiration()));
+        props.setProperty(BATCH_SIZE_KEY, String.valueOf(configuration.getBatchSize()));
+        props.setProperty(TRANSFORM_THREADS_KEY, String.valueOf(configuration.getTransformThreads()));
+        props.setProperty(COMMIT_INTERVAL_KEY, String.valueOf(configuration.getCommitInterval()));
+        props.setProperty(TASK_THREADS_KEY, String.valueOf(configuration.getTaskThreads()));
         try (OutputStream os = resource.out()) {
             props.store(os, null);
         }
@@ -13,6 +13,10 @@ public class ImporterInfoImpl implements ImporterInfo {
     int maxSynchronousImports;
     int maxAsynchronousImports;
     double contextExpiration = 1440;
+    int batchSize = 1000;
+    int transformThreads = Runtime.getRuntime().availableProcessors();
+    int commitInterval = 100000;
+    int taskThreads = 1;
 
     public ImporterInfoImpl() {}
 
@@ -21,6 +25,10 @@ public ImporterInfoImpl(ImporterInfo configuration) {
         this.maxSynchronousImports = configuration.getMaxSynchronousImports();
         this.maxAsynchronousImports = configuration.getMaxAsynchronousImports();
         this.contextExpiration = configuration.getContextExpiration();
+        this.batchSize = configuration.getBatchSize();
+        this.transformThreads = configuration.getTransformThreads();
+        this.commitInterval = configuration.getCommitInterval();
+        this.taskThreads = configuration.getTaskThreads();
     }
 
     @Override
@@ -63,6 +71,46 @@ public void setContextExpiration(double contextExpiration) {
         this.contextExpiration = contextExpiration;
     }
 
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int getTransformThreads() {
+        return transformThreads;
+    }
+
+    @Override
+    public void setTransformThreads(int transformThreads) {
+        this.transformThreads = transformThreads;
+    }
+
+    @Override
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    @Override
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    @Override
+    public int getTaskThreads() {
+        return taskThreads;
+    }
+
+    @Override
+    public void setTaskThreads(int taskThreads) {
+        this.taskThreads = taskThreads;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -71,11 +119,23 @@ public boolean equals(Object o) {
         return maxSynchronousImports == that.maxSynchronousImports
                 && maxAsynchronousImports == that.maxAsynchronousImports
                 && contextExpiration == that.contextExpiration
+                && batchSize == that.batchSize
+                && transformThreads == that.transformThreads
+                && commitInterval == that.commitInterval
+                && taskThreads == that.taskThreads
                 && Objects.equals(uploadRoot, that.uploadRoot);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(uploadRoot, maxSynchronousImports, maxAsynchronousImports, contextExpiration);
+        return Objects.hash(
+                uploadRoot,
+                maxSynchronousImports,
+                maxAsynchronousImports,
+                contextExpiration,
+                batchSize,
+                transformThreads,
+                commitInterval,
+                taskThreads);
     }
 }
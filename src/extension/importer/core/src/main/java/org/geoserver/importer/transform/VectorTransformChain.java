@@ -8,6 +8,7 @@
 import java.io.Serial;
 import java.util.List;
 import java.util.logging.Logger;
+import org.apache.commons.lang3.SerializationUtils;
 import org.geoserver.importer.ImportTask;
 import org.geotools.api.data.DataStore;
 import org.geotools.api.feature.simple.SimpleFeature;
@@ -64,4 +65,17 @@ public SimpleFeature inline(ImportTask task, DataStore dataStore, SimpleFeature
 
         return feature;
     }
+
+    /**
+     * Returns an independent copy of this chain, with its inline transforms initialized, allowing features to be
+     * transformed in parallel by different threads. The feature type transforms are not re-applied, the copy is meant
+     * to be used after {@link #inline(ImportTask, DataStore, SimpleFeatureType)} has been called on this chain.
+     */
+    public VectorTransformChain copy() {
+        VectorTransformChain copy = SerializationUtils.clone(this);
+        for (InlineVectorTransform tx : filter(copy.transforms, InlineVectorTransform.class)) {
+            tx.init();
+        }
+        return copy;
+    }
 }
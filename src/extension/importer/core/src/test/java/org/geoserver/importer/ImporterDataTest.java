@@ -28,6 +28,7 @@
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -494,6 +495,47 @@ public void testImportIntoDatabase() throws Exception {
         runChecks("bugsites");
     }
 
+    @Test
+    public void testImportIntoDatabaseParallel() throws Exception {
+        Catalog cat = getCatalog();
+        DataStoreInfo ds = creatGeopkgDataStore(cat.getDefaultWorkspace().getName(), "parallel");
+
+        // two files with the same name, competing for the same table and layer names
+        File dir = tmpDir();
+        for (String child : new String[] {"a", "b", "c"}) {
+            assertTrue(new File(dir, child).mkdir());
+        }
+        unpack("shape/archsites_epsg_prj.zip", new File(dir, "a"));
+        unpack("shape/archsites_epsg_prj.zip", new File(dir, "b"));
+        unpack("shape/bugsites_esri_prj.tar.gz", new File(dir, "c"));
+
+        ImporterInfo original = importer.getConfiguration();
+        ImporterInfo config = importer.getConfiguration();
+        config.setTaskThreads(3);
+        importer.setConfiguration(config);
+        try {
+            ImportContext context = importer.createContext(new Directory(dir), ds);
+            assertEquals(3, context.getTasks().size());
+            for (ImportTask task : context.getTasks()) {
+                assertEquals(ImportTask.State.READY, task.getState());
+            }
+
+            importer.run(context);
+
+            Set<String> names = new HashSet<>();
+            for (ImportTask task : context.getTasks()) {
+                assertEquals(ImportTask.State.COMPLETE, task.getState());
+                String name = task.getLayer().getResource().getName();
+                assertNotNull(cat.getFeatureTypeByDataStore(ds, name));
+                names.add(name);
+                runChecks(name);
+            }
+            assertEquals(3, names.size());
+        } finally {
+            importer.setConfiguration(original);
+        }
+    }
+
     @Test
     public void testImportIntoDatabaseWithEncoding() throws Exception {
         Catalog cat = getCatalog();
@@ -1093,6 +1135,42 @@ public void testImportKMLIndirect() throws Exception {
         assertEquals("Unexpected feature count", 20, featureSource.getCount(Query.ALL));
     }
 
+    @Test
+    public void testImportKMLBatchesParallel() throws Exception {
+        List<Object> expected = importKMLNames("kmlsequential");
+
+        ImporterInfo original = importer.getConfiguration();
+        ImporterInfo config = importer.getConfiguration();
+        config.setBatchSize(3);
+        config.setTransformThreads(4);
+        config.setCommitInterval(5);
+        importer.setConfiguration(config);
+        try {
+            // same features, in the same order
+            assertEquals(expected, importKMLNames("kmlparallel"));
+        } finally {
+            importer.setConfiguration(original);
+        }
+    }
+
+    private List<Object> importKMLNames(String storeName) throws Exception {
+        File dir = unpack("kml/sample.zip");
+        DataStoreInfo store = creatGeopkgDataStore(getCatalog().getDefaultWorkspace().getName(), storeName);
+        ImportContext context = importer.createContext(new SpatialFile(new File(dir, "sample.kml")), store);
+        ImportTask task = context.getTasks().get(0);
+        task.addTransform(new DescriptionLimitingTransform());
+        importer.run(context);
+        assertNull(task.getError());
+        assertEquals(20, task.getNumberProcessed());
+
+        FeatureTypeInfo fti = (FeatureTypeInfo) task.getLayer().getResource();
+        SimpleFeatureSource fs = (SimpleFeatureSource) fti.getFeatureSource(null, null);
+        List<Object> names = new ArrayList<>();
+        fs.getFeatures().accepts(f -> names.add(((SimpleFeature) f).getAttribute("name")), null);
+        assertEquals(20, names.size());
+        return names;
+    }
+
     @Test
     public void testImportDirectoryWithRasterIndirect() throws Exception {
 
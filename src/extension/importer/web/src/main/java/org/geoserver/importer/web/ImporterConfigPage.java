@@ -56,6 +56,26 @@ protected IModel<String> getFileModel(IModel<String> paramValue) {
         maxAsync.add(threadValidator);
         form.add(maxAsync);
 
+        TextField<Integer> taskThreads =
+                new TextField<>("taskThreads", new PropertyModel<>(model, "taskThreads"), Integer.class);
+        taskThreads.add(threadValidator);
+        form.add(taskThreads);
+
+        RangeValidator<Integer> sizeValidator = new RangeValidator<>(1, Integer.MAX_VALUE);
+        TextField<Integer> batchSize =
+                new TextField<>("batchSize", new PropertyModel<>(model, "batchSize"), Integer.class);
+        batchSize.add(sizeValidator);
+        form.add(batchSize);
+
+        TextField<Integer> transformThreads =
+                new TextField<>("transformThreads", new PropertyModel<>(model, "transformThreads"), Integer.class);
+        transformThreads.add(threadValidator);
+        form.add(transformThreads);
+
+        TextField<Integer> commitInterval =
+                new TextField<>("commitInterval", new PropertyModel<>(model, "commitInterval"), Integer.class);
+        form.add(commitInterval);
+
         TextField<Double> expiration =
                 new TextField<>("expiration", new PropertyModel<>(model, "contextExpiration"), Double.class);
         form.add(expiration);
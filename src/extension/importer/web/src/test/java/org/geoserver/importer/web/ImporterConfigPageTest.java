@@ -33,6 +33,10 @@ public void testLoadAndSave() throws IOException {
         config.setMaxSynchronousImports(4);
         config.setMaxAsynchronousImports(2);
         config.setContextExpiration(300);
+        config.setBatchSize(500);
+        config.setTransformThreads(3);
+        config.setCommitInterval(10000);
+        config.setTaskThreads(2);
         importer.setConfiguration(config);
 
         // make sure it's populated correctly
@@ -42,6 +46,10 @@ public void testLoadAndSave() throws IOException {
         tester.assertModelValue("form:maxSync", 4);
         tester.assertModelValue("form:maxAsync", 2);
         tester.assertModelValue("form:expiration", 300d);
+        tester.assertModelValue("form:batchSize", 500);
+        tester.assertModelValue("form:transformThreads", 3);
+        tester.assertModelValue("form:commitInterval", 10000);
+        tester.assertModelValue("form:taskThreads", 2);
 
         // change and save
         FormTester form = tester.newFormTester("form");
@@ -50,6 +58,10 @@ public void testLoadAndSave() throws IOException {
         form.setValue("maxSync", "2");
         form.setValue("maxAsync", "1");
         form.setValue("expiration", "1");
+        form.setValue("batchSize", "100");
+        form.setValue("transformThreads", "2");
+        form.setValue("commitInterval", "0");
+        form.setValue("taskThreads", "3");
         form.submit("submit");
 
         ImporterInfo newConfiguration = importer.getConfiguration();
@@ -57,6 +69,10 @@ public void testLoadAndSave() throws IOException {
         assertEquals(2, newConfiguration.getMaxSynchronousImports());
         assertEquals(1, newConfiguration.getMaxAsynchronousImports());
         assertEquals(1, newConfiguration.getContextExpiration(), 0d);
+        assertEquals(100, newConfiguration.getBatchSize());
+        assertEquals(2, newConfiguration.getTransformThreads());
+        assertEquals(0, newConfiguration.getCommitInterval());
+        assertEquals(3, newConfiguration.getTaskThreads());
     }
 
     @Test
@@ -6,7 +6,6 @@
 package org.geoserver.kml;
 
 import de.micromata.opengis.kml.v_2_2_0.Kml;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
@@ -14,12 +13,11 @@
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
-import javax.imageio.ImageIO;
 import org.geoserver.platform.Operation;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wms.WMS;
 import org.geoserver.wms.WMSMapContent;
-import org.geoserver.wms.icons.IconRenderer;
+import org.geoserver.wms.icons.IconCache;
 import org.geoserver.wms.map.AbstractMapResponse;
 import org.geoserver.wms.map.PNGMapResponse;
 import org.geoserver.wms.map.RenderedImageMap;
@@ -123,10 +121,10 @@ private void encodeAsKmz(Kml kml, KmlEncodingContext context, Operation operatio
             for (Map.Entry<String, Style> namedStyle : embeddedIcons.entrySet()) {
                 final String name = namedStyle.getKey();
                 final Style style = namedStyle.getValue();
-                BufferedImage icon = IconRenderer.renderIcon(style);
+                byte[] icon = IconCache.getIcon(style).png();
                 entry = new ZipEntry("icons/" + name + ".png");
                 zip.putNextEntry(entry);
-                ImageIO.write(icon, "PNG", zip);
+                zip.write(icon);
             }
             zip.closeEntry();
         }
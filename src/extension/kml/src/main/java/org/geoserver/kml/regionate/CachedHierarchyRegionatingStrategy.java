@@ -5,7 +5,10 @@
  */
 package org.geoserver.kml.regionate;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
@@ -32,6 +35,7 @@
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.feature.type.PropertyDescriptor;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.identity.FeatureId;
@@ -57,7 +61,9 @@
  * <ul>
  *   <li>tiling based on the TMS tiling recommendation
  *   <li>caching the assignment of a feature in a specific tile in an HSQL database stored in the data directory
- *   <li>
+ *   <li>keeping the most recently used tile assignments in memory, so that repeated requests do not need to hit the
+ *       HSQL database
+ * </ul>
  *
  * @author Andrea Aime - OpenGeo
  * @author David Winslow - OpenGeo
@@ -70,6 +76,15 @@ public abstract class CachedHierarchyRegionatingStrategy implements RegionatingS
 
     static final Set<String> NO_FIDS = Collections.emptySet();
 
+    /** Max number of feature ids kept in the in memory tile cache, shared among all layers */
+    static final long MAX_CACHED_FIDS = 1000000;
+
+    /** The in memory cache of tile contents, in front of the HSQL databases */
+    static final Cache<TileKey, Set<String>> TILE_CACHE = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_FIDS)
+            .<TileKey, Set<String>>weigher((k, v) -> v.size() + 1)
+            .build();
+
     /**
      * This structure is used to make sure that multiple threads end up using the same table name object, so that we can
      * use it as a synchonization token
@@ -187,29 +202,84 @@ public void clearCache(FeatureTypeInfo cfg) {
     }
 
     public static void clearAllHsqlDatabases(File dbDir) {
+        // include the databases still being created, whose tiles might be in the cache already
+        Set<String> dbNames = new HashSet<>(getHsqlDatabaseNames(dbDir));
+        TILE_CACHE.asMap().keySet().forEach(k -> dbNames.add(k.database()));
+        for (String dbName : dbNames) {
+            clearHsqlDatabase(dbDir, dbName);
+        }
+    }
+
+    /**
+     * Clears all the databases built for the given layer, regardless of the strategy and regionating attribute used to
+     * build them
+     */
+    public static void clearLayerHsqlDatabases(File dbDir, FeatureTypeInfo cfg) {
+        Set<String> layerDbNames = getLayerDatabaseNames(cfg);
+        for (String dbName : getHsqlDatabaseNames(dbDir)) {
+            if (layerDbNames.contains(dbName)) {
+                clearHsqlDatabase(dbDir, dbName);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the databases that can be built for the given layer, the one named after the layer, and the
+     * ones named after the layer and a sorting attribute. Names are matched exactly, as other layers names can share
+     * the same prefix.
+     */
+    private static Set<String> getLayerDatabaseNames(FeatureTypeInfo cfg) {
+        String layerDbName = cfg.getNamespace().getPrefix() + "_" + cfg.getName();
+        Set<String> names = new HashSet<>();
+        names.add(layerDbName);
+        try {
+            for (PropertyDescriptor descriptor : cfg.getFeatureType().getDescriptors()) {
+                names.add(layerDbName + "_" + descriptor.getName().getLocalPart());
+            }
+        } catch (IOException e) {
+            LOGGER.log(
+                    Level.WARNING,
+                    "Could not list the attributes of " + cfg.prefixedName() + ", only clearing its default database",
+                    e);
+        }
+        return names;
+    }
+
+    private static List<String> getHsqlDatabaseNames(File dbDir) {
         // find all the databases in the given directory
-        List<String> allDbNames = Stream.of(dbDir.listFiles())
+        File[] files = dbDir.listFiles();
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        return Stream.of(files)
                 .filter(file -> !file.isDirectory())
                 .map(File::getName)
                 .filter(fileName -> fileName.matches("^hsqlcache_.*\\.script$"))
                 .map(fileName -> fileName.substring(10, fileName.length() - 7)) // take db name in the middle
                 .collect(Collectors.toList());
-        for (String dbName : allDbNames) {
-            clearHsqlDatabase(dbDir, dbName);
-        }
     }
 
     public static void clearHsqlDatabase(File dbDir, String dbName) {
-        // shutdown the database
-        try (Connection conn = getHsqlConnection(dbDir.getPath(), dbName)) {
-            conn.createStatement().execute("SHUTDOWN");
-        } catch (SQLException e) {
-            LOGGER.severe("Couldn't clear HSQL regionation database: " + dbName + " exception: " + e);
+        // same lock used while reading the database, a read in progress cannot put stale tiles back in the cache
+        synchronized (getSynchToken(dbName)) {
+            TILE_CACHE.asMap().keySet().removeIf(k -> k.database().equals(dbName));
+            // shutdown the database
+            try (Connection conn = getHsqlConnection(dbDir.getPath(), dbName)) {
+                conn.createStatement().execute("SHUTDOWN");
+            } catch (SQLException e) {
+                LOGGER.severe("Couldn't clear HSQL regionation database: " + dbName + " exception: " + e);
+            }
+            // manually delete database files
+            Stream.of(dbDir.listFiles())
+                    .filter(file -> file.getName().startsWith("hsqlcache_" + dbName + "."))
+                    .forEach(file -> file.delete());
         }
-        // manually delete database files
-        Stream.of(dbDir.listFiles())
-                .filter(file -> file.getName().startsWith("hsqlcache_" + dbName))
-                .forEach(file -> file.delete());
+    }
+
+    /** Returns the canonical instance of the database name, used to synchronize the accesses to the database */
+    private static String getSynchToken(String dbName) {
+        canonicalizer.add(dbName);
+        return canonicalizer.get(dbName);
     }
 
     /**
@@ -227,10 +297,15 @@ private boolean envelopeMatch(ReferencedEnvelope tileEnvelope, ReferencedEnvelop
 
     /** Open/creates the db and then reads/computes the tile features */
     private Set<String> getFeaturesForTile(String dataDir, Tile tile) throws Exception {
+        // no need to open a connection if the tile has been read recently
+        TileKey key = new TileKey(tableName, tile.x, tile.y, tile.z);
+        Set<String> cached = TILE_CACHE.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
 
         // build the synchonization token
-        canonicalizer.add(tableName);
-        tableName = canonicalizer.get(tableName);
+        tableName = getSynchToken(tableName);
         String synchToken = tableName; // tableName is updatable
 
         // make sure no two thread in parallel can build the same db
@@ -248,7 +323,9 @@ private Set<String> getFeaturesForTile(String dataDir, Tile tile) throws Excepti
                                 + "z INT, " //
                                 + "fid varchar (64))");
                 st.execute("CREATE INDEX IF NOT EXISTS IDX_TILECACHE ON TILECACHE(x, y, z)");
-                return readFeaturesForTile(tile, conn);
+                Set<String> fids = Collections.unmodifiableSet(readFeaturesForTile(tile, conn));
+                TILE_CACHE.put(key, fids);
+                return fids;
             }
         }
     }
@@ -472,6 +549,9 @@ protected String getDatabaseName(FeatureTypeInfo cfg) throws Exception {
         return cfg.getNamespace().getPrefix() + "_" + cfg.getName();
     }
 
+    /** Key of the in memory tile cache */
+    record TileKey(String database, long x, long y, long z) {}
+
     /**
      * A regionating tile identified by its coordinates
      *
@@ -15,6 +15,7 @@
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.logging.Level;
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.config.GeoServer;
 import org.geoserver.platform.ServiceException;
@@ -44,6 +45,9 @@
 
 public class ExternalSortRegionatingStrategy extends CachedHierarchyRegionatingStrategy {
 
+    /** Number of index rows inserted and committed in a single batch */
+    static final int BATCH_SIZE = 10000;
+
     /** The feature type for the features that we'll return back from the index */
     static final SimpleFeatureType IDX_FEATURE_TYPE;
 
@@ -158,24 +162,49 @@ protected String getHSQLDataType(AttributeDescriptor ad) {
         }
     }
 
+    /**
+     * Builds the index into a temporary table, renamed to FEATUREIDX only once complete: the existence of FEATUREIDX is
+     * what marks the index as built, a partial one left behind by a failed or interrupted build would be reused by all
+     * the following requests, missing features
+     */
     void buildIndex(Connection conn) throws Exception {
+        try {
+            buildTemporaryIndex(conn);
+            try (Statement st = conn.createStatement()) {
+                st.execute("ALTER TABLE FEATUREIDX_TMP RENAME TO FEATUREIDX");
+            }
+        } catch (Exception e) {
+            dropTemporaryIndex(conn);
+            throw e;
+        }
+    }
+
+    private void dropTemporaryIndex(Connection conn) {
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE FEATUREIDX_TMP IF EXISTS");
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to drop the partially built regionating index", e);
+        }
+    }
+
+    private void buildTemporaryIndex(Connection conn) throws Exception {
+        // leftover of a build interrupted by a shutdown
+        dropTemporaryIndex(conn);
         try (Statement st = conn.createStatement()) {
             st.execute(
-                    "CREATE CACHED TABLE FEATUREIDX(" //
+                    "CREATE CACHED TABLE FEATUREIDX_TMP(" //
                             + "X DOUBLE, " //
                             + "Y DOUBLE, " //
                             + "FID VARCHAR(64), " //
                             + "ORDER_FIELD "
                             + hsqlType
                             + ")");
-            st.execute("CREATE INDEX FEATUREIDX_COORDS ON FEATUREIDX(X, Y)");
-            st.execute("CREATE INDEX FEATUREIDX_ORDER_FIELD ON FEATUREIDX(ORDER_FIELD)");
         }
 
         // prepare this statement so that the sql parser has to deal
         // with it just once
         try (PreparedStatement ps =
-                conn.prepareStatement("INSERT INTO " + "FEATUREIDX(X, Y, FID, ORDER_FIELD) VALUES (?, ?, ?, ?)")) {
+                conn.prepareStatement("INSERT INTO " + "FEATUREIDX_TMP(X, Y, FID, ORDER_FIELD) VALUES (?, ?, ?, ?)")) {
 
             // build an optimized query, loading only the necessary attributes
             GeometryDescriptor geom = fs.getSchema().getGeometryDescriptor();
@@ -194,11 +223,11 @@ void buildIndex(Connection conn) throws Exception {
             if (!CRS.equalsIgnoreMetadata(nativeCrs, Tile.WGS84))
                 tx = CRS.findMathTransform(nativeCrs, Tile.WGS84, true);
 
-            // read all the features and fill the index table
-            // make it so the insertion is a single big transaction, should
-            // be faster,
-            // provided it does not kill HSQL...
+            // read all the features and fill the index table in batches,
+            // committing every once in a while, a single big transaction
+            // imposes a big overhead on the db
             conn.setAutoCommit(false);
+            int batched = 0;
             try (FeatureIterator fi = fs.getFeatures(q).features()) {
                 while (fi.hasNext()) {
                     // grab the centroid and transform it in 4326 if necessary
@@ -225,17 +254,25 @@ void buildIndex(Connection conn) throws Exception {
                     ps.setDouble(2, coords[1]);
                     ps.setString(3, f.getID());
                     ps.setObject(4, getSortAttributeValue(f));
-                    ps.execute();
+                    ps.addBatch();
+                    if (++batched % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                        conn.commit();
+                    }
                 }
             }
-            // todo: commit every 1000 features or so. No transaction is
-            // slower, but too big transaction imposes a big overhead on the db
+            ps.executeBatch();
             conn.commit();
-
-            // hum, shall we kick HSQL so that it updates the statistics?
         } finally {
             conn.setAutoCommit(true);
         }
+
+        // build the indexes once all the data is loaded, it's faster than
+        // updating them on each insert
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE INDEX FEATUREIDX_COORDS ON FEATUREIDX_TMP(X, Y)");
+            st.execute("CREATE INDEX FEATUREIDX_ORDER_FIELD ON FEATUREIDX_TMP(ORDER_FIELD)");
+        }
     }
 
     /** Returns the value that will be inserted into the HSQL index as the sorting field */
@@ -0,0 +1,105 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.kml.regionate;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.event.AbstractCatalogListener;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.platform.resource.Resource;
+import org.geoserver.wfs.TransactionCallback;
+import org.geoserver.wfs.TransactionEvent;
+import org.geoserver.wfs.WFSException;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Drops the regionating caches of a layer when its data is modified by a WFS transaction, or its configuration is
+ * modified or removed, as otherwise the cached feature to tile assignments would go stale.
+ */
+public class RegionatingCacheCleaner extends AbstractCatalogListener implements TransactionCallback {
+
+    static final Logger LOGGER = Logging.getLogger(RegionatingCacheCleaner.class);
+
+    static final String MODIFIED_TYPES = "KML_REGIONATING_MODIFIED_TYPES";
+
+    Catalog catalog;
+
+    public RegionatingCacheCleaner(Catalog catalog) {
+        this.catalog = catalog;
+        catalog.addListener(this);
+    }
+
+    @Override
+    public TransactionRequest beforeTransaction(TransactionRequest request) throws WFSException {
+        return request;
+    }
+
+    @Override
+    public void beforeCommit(TransactionRequest request) throws WFSException {
+        // nothing to do
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        if (event.getLayerName() != null && event.getRequest() != null) {
+            getModifiedTypes(TransactionRequest.adapt(event.getRequest())).add(event.getLayerName());
+        }
+    }
+
+    @Override
+    public void afterTransaction(TransactionRequest request, TransactionResponse result, boolean committed) {
+        if (!committed) {
+            return;
+        }
+        for (QName name : getModifiedTypes(request)) {
+            FeatureTypeInfo info = catalog.getFeatureTypeByName(name.getNamespaceURI(), name.getLocalPart());
+            if (info != null) {
+                clear(info);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<QName> getModifiedTypes(TransactionRequest request) {
+        Map<Object, Object> properties = request.getExtendedProperties();
+        return (Set<QName>) properties.computeIfAbsent(MODIFIED_TYPES, k -> new HashSet<QName>());
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
+        if (event.getSource() instanceof FeatureTypeInfo info) {
+            clear(info);
+        }
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
+        if (event.getSource() instanceof FeatureTypeInfo info) {
+            clear(info);
+        }
+    }
+
+    /** Clears the regionating databases of the given layer, along with the in memory cache of their tiles */
+    public void clear(FeatureTypeInfo info) {
+        try {
+            Resource geosearch = catalog.getResourceLoader().get("geosearch");
+            if (geosearch.getType() == Resource.Type.DIRECTORY) {
+                CachedHierarchyRegionatingStrategy.clearLayerHsqlDatabases(geosearch.dir(), info);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failed to clear the regionating cache for " + info.prefixedName(), e);
+        }
+    }
+}
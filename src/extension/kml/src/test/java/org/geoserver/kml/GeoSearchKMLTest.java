@@ -8,6 +8,7 @@
 import static org.custommonkey.xmlunit.XMLAssert.assertXpathEvaluatesTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
@@ -90,6 +91,41 @@ public void testDataRegionator() throws Exception {
         assertEquals(1, westCount);
     }
 
+    /** Test that modifying a layer drops its regionating cache */
+    @Test
+    public void testCacheClearedOnModify() throws Exception {
+        final String path = "wms?request=getmap&service=wms&version=1.1.1"
+                + "&format="
+                + KMLMapOutputFormat.MIME_TYPE
+                + "&layers="
+                + MockData.DIVIDED_ROUTES.getPrefix()
+                + ":"
+                + MockData.DIVIDED_ROUTES.getLocalPart()
+                + "&styles="
+                + MockData.DIVIDED_ROUTES.getLocalPart()
+                + "&height=1024&width=1024&srs=EPSG:4326&bbox=-180,-90,0,90"
+                + "&format_options=regionateBy:external-sorting;regionateAttr:NUM_LANES";
+        Document document = getAsDOM(path);
+        assertEquals(1, document.getElementsByTagName("Placemark").getLength());
+
+        File dir = getDataDirectory().findOrCreateDir("geosearch");
+        String prefix =
+                "hsqlcache_" + MockData.DIVIDED_ROUTES.getPrefix() + "_" + MockData.DIVIDED_ROUTES.getLocalPart();
+        assertTrue(dir.list((d, name) -> name.startsWith(prefix + "_NUM_LANES.")).length > 0);
+        // a database of another layer, whose name starts with the same prefix
+        File other = new File(dir, prefix + "_archive.script");
+        assertTrue(other.createNewFile());
+
+        FeatureTypeInfo fti = getFeatureTypeInfo(MockData.DIVIDED_ROUTES);
+        getCatalog().save(fti);
+        assertEquals(1, dir.list((d, name) -> name.startsWith(prefix)).length);
+        assertTrue(other.delete());
+
+        // and it can be rebuilt
+        document = getAsDOM(path);
+        assertEquals(1, document.getElementsByTagName("Placemark").getLength());
+    }
+
     /** Test that requests regionated by geometry actually return stuff. */
     @Test
     public void testGeometryRegionator() throws Exception {
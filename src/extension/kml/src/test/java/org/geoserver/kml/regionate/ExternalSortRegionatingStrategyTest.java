@@ -0,0 +1,78 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.kml.regionate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.io.WKTReader;
+
+public class ExternalSortRegionatingStrategyTest {
+
+    Connection conn;
+
+    ExternalSortRegionatingStrategy strategy;
+
+    @Before
+    public void setup() throws Exception {
+        conn = DriverManager.getConnection("jdbc:hsqldb:mem:externalSortTest", "sa", "");
+
+        SimpleFeatureType type = DataUtilities.createType("test", "geom:Point:srid=4326,name:String");
+        WKTReader reader = new WKTReader();
+        ListFeatureCollection features = new ListFeatureCollection(type);
+        features.add(SimpleFeatureBuilder.build(type, new Object[] {reader.read("POINT(1 1)"), "1"}, "test.1"));
+        features.add(SimpleFeatureBuilder.build(type, new Object[] {reader.read("POINT(2 2)"), "two"}, "test.2"));
+
+        strategy = new ExternalSortRegionatingStrategy(null);
+        strategy.fs = DataUtilities.source(features);
+        strategy.attribute = "name";
+    }
+
+    @After
+    public void shutdown() throws Exception {
+        try (Statement st = conn.createStatement()) {
+            st.execute("SHUTDOWN");
+        }
+        conn.close();
+    }
+
+    @Test
+    public void testFailedBuildLeavesNoIndex() throws Exception {
+        // the second value cannot be converted, making the build fail half way
+        strategy.hsqlType = "INT";
+        assertThrows(SQLException.class, () -> strategy.buildIndex(conn));
+        assertFalse(tableExists("FEATUREIDX"));
+        assertFalse(tableExists("FEATUREIDX_TMP"));
+
+        // the next build starts from scratch
+        strategy.hsqlType = "VARCHAR(255)";
+        strategy.buildIndex(conn);
+        assertFalse(tableExists("FEATUREIDX_TMP"));
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM FEATUREIDX")) {
+            rs.next();
+            assertEquals(2, rs.getInt(1));
+        }
+    }
+
+    private boolean tableExists(String name) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(null, null, name, null)) {
+            return rs.next();
+        }
+    }
+}
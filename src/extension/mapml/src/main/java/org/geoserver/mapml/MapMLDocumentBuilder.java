@@ -1453,7 +1453,7 @@ private void prepareFeatureExtent(FeatureTypeInfo typeInfo, MapMLLayerMetadata l
             options = initOptions(layerMetadata, metadataMap, dimension);
             if (options.isAvailable()) {
                 DimensionInfo info = options.getInfo();
-                final TreeSet<Object> values = wms.getDimensionValues(typeInfo, info);
+                final TreeSet<Object> values = wms.getDimensionValues(typeInfo, dimension, info);
                 final Optional<Class<?>> dataTypeOpt = getDataType(values);
                 if (dataTypeOpt.isPresent()) {
                     final Class<?> type = dataTypeOpt.get();
@@ -5,20 +5,29 @@
 package org.geoserver.mapml;
 
 import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.util.function.Consumer;
 import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import org.geoserver.mapml.xml.HeadContent;
+import org.geoserver.mapml.xml.MapMLElement;
 import org.geoserver.mapml.xml.Mapml;
 import org.geoserver.platform.ServiceException;
 
 /** Encodes a MapML object onto an output stream */
 public class MapMLEncoder {
+    static final String XHTML_NS = "http://www.w3.org/1999/xhtml";
+    static final QName HEAD = new QName(XHTML_NS, "map-head");
+
     private final JAXBContext context;
 
     /**
@@ -73,6 +82,56 @@ public void encode(Mapml mapml, OutputStream output, boolean prettyPrint) {
         }
     }
 
+    /**
+     * Encodes a MapML document whose body is generated while writing, encoding each feature or tile as soon as it is
+     * produced, so that the full body never needs to be held in memory. The body of the provided MapML object, if any,
+     * is ignored.
+     *
+     * @param mapml MapML object providing the head
+     * @param bodyWriter writes the body elements to the provided consumer
+     * @param output OutputStream
+     * @param prettyPrint true to enable pretty-printing with 2-space indents, false for dense markup
+     */
+    public void encode(Mapml mapml, BodyWriter bodyWriter, OutputStream output, boolean prettyPrint)
+            throws IOException {
+        try {
+            XMLOutputFactory factory = XMLOutputFactory.newInstance();
+            Wrapper wrapper = new Wrapper(factory.createXMLStreamWriter(output));
+            wrapper.setIndenting(prettyPrint);
+            Marshaller marshaller = createMarshaller();
+            wrapper.writeStartElement("", "mapml-", XHTML_NS);
+            wrapper.writeNamespace("", XHTML_NS);
+            if (mapml.getHead() != null) {
+                marshaller.marshal(new JAXBElement<>(HEAD, HeadContent.class, mapml.getHead()), wrapper);
+            }
+            wrapper.writeStartElement("", "map-body", XHTML_NS);
+            bodyWriter.write(element -> {
+                try {
+                    marshaller.marshal(element, wrapper);
+                } catch (JAXBException e) {
+                    throw new ServiceException(e);
+                }
+            });
+            wrapper.writeEndElement();
+            wrapper.writeEndElement();
+            wrapper.flush();
+        } catch (JAXBException | XMLStreamException e) {
+            throw new ServiceException(e);
+        }
+    }
+
+    /** Generates the body of a MapML document, one element at a time */
+    @FunctionalInterface
+    public interface BodyWriter {
+
+        /**
+         * Writes the body elements
+         *
+         * @param elements the consumer the body elements should be passed to, in document order
+         */
+        void write(Consumer<MapMLElement> elements) throws IOException;
+    }
+
     /**
      * Use Unmarshaller to decode MapML object from a Reader
      *
@@ -17,6 +17,7 @@
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -29,6 +30,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geoserver.catalog.CoverageInfo;
@@ -124,9 +126,65 @@ public static Mapml layerContextsToMapMLDocument(
             HttpServletRequest request,
             GetMapRequest getMapRequest)
             throws IOException {
+        Mapml mapml = buildHead(layerSimplfierContexts, requestCRS, alternateProjections, skipHeadStyles);
+        BodyContent body = new BodyContent();
+        mapml.setBody(body);
+        List<MapMLElement> featuresOrTiles = body.getTilesOrFeatures();
+        buildBody(
+                layerSimplfierContexts,
+                clipBounds,
+                requestCRS,
+                skipAttributes,
+                request,
+                getMapRequest,
+                featuresOrTiles::add);
+        return mapml;
+    }
 
-        // Check if tiles were requested
+    /**
+     * Convert a list of layers to a MapML document, and writes it out to the given output stream. Unlike
+     * {@link #layerContextsToMapMLDocument}, features are encoded as they are read, without building the full document
+     * in memory first.
+     *
+     * @param layerSimplfierContexts the layers to convert
+     * @param clipBounds the bounds to clip the features to (or null if not clipping is desired)
+     * @param requestCRS the CRS requested by the client
+     * @param alternateProjections alternate projections for the feature collection
+     * @param skipAttributes whether to skip attributes HTML representation in the output
+     * @param encoder the encoder used to write the document
+     * @param output the stream the document is written to
+     * @param prettyPrint true to enable pretty-printing
+     * @throws IOException if an error occurs while producing the MapML document
+     */
+    public static void writeMapMLDocument(
+            List<LayerSimplfierContext> layerSimplfierContexts,
+            Envelope clipBounds,
+            CoordinateReferenceSystem requestCRS,
+            List<Link> alternateProjections,
+            boolean skipHeadStyles,
+            boolean skipAttributes,
+            HttpServletRequest request,
+            GetMapRequest getMapRequest,
+            MapMLEncoder encoder,
+            OutputStream output,
+            boolean prettyPrint)
+            throws IOException {
+        Mapml mapml = buildHead(layerSimplfierContexts, requestCRS, alternateProjections, skipHeadStyles);
+        encoder.encode(
+                mapml,
+                sink -> buildBody(
+                        layerSimplfierContexts, clipBounds, requestCRS, skipAttributes, request, getMapRequest, sink),
+                output,
+                prettyPrint);
+    }
 
+    /** Builds a MapML document with the head only */
+    private static Mapml buildHead(
+            List<LayerSimplfierContext> layerSimplfierContexts,
+            CoordinateReferenceSystem requestCRS,
+            List<Link> alternateProjections,
+            boolean skipHeadStyles)
+            throws IOException {
         // Some stuff we are getting from the first layer
         ResourceInfo resourceInfo = layerSimplfierContexts.get(0).getResourceInfo();
         MetadataMap layerMeta = resourceInfo.getMetadata();
@@ -193,14 +251,22 @@ public static Mapml layerContextsToMapMLDocument(
             }
         }
 
-        String fCaptionTemplate = layerMeta.get("mapml.featureCaption", String.class);
         mapml.setHead(head);
+        return mapml;
+    }
 
-        // build the body
-        BodyContent body = new BodyContent();
-        mapml.setBody(body);
-        List<MapMLElement> featuresOrTiles = body.getTilesOrFeatures();
-
+    /** Builds the features or tiles of the body, passing them to the provided consumer as they are built */
+    private static void buildBody(
+            List<LayerSimplfierContext> layerSimplfierContexts,
+            Envelope clipBounds,
+            CoordinateReferenceSystem requestCRS,
+            boolean skipAttributes,
+            HttpServletRequest request,
+            GetMapRequest getMapRequest,
+            Consumer<MapMLElement> featuresOrTiles)
+            throws IOException {
+        MetadataMap layerMeta = layerSimplfierContexts.get(0).getResourceInfo().getMetadata();
+        String fCaptionTemplate = layerMeta.get("mapml.featureCaption", String.class);
         for (LayerSimplfierContext layerSimplfierContext : layerSimplfierContexts) {
             Map<String, MapMLStyle> styles = layerSimplfierContext.getStyles();
             FeatureCollection featureCollection = layerSimplfierContext.getFeatureCollection();
@@ -241,12 +307,12 @@ public static Mapml layerContextsToMapMLDocument(
                             Optional<Feature> f = featureBuilder.buildFeature(
                                     feature, fCaptionTemplate, applicableStyles, interpolatedOptional);
                             // feature will be skipped if geometry incompatible with style symbolizer
-                            f.ifPresent(featuresOrTiles::add);
+                            f.ifPresent(featuresOrTiles);
                         } else {
                             // WFS GETFEATURE request with no styles
                             Optional<Feature> f =
                                     featureBuilder.buildFeature(feature, fCaptionTemplate, null, interpolatedOptional);
-                            f.ifPresent(featuresOrTiles::add);
+                            f.ifPresent(featuresOrTiles);
                         }
                     }
                 }
@@ -324,9 +390,9 @@ public static Mapml layerContextsToMapMLDocument(
                         boolean isTile = (getMapRequest.getWidth() == getMapRequest.getHeight()
                                 && tiles.get(0).getDistance() < IS_TILE_TOL);
                         if (isTile) {
-                            featuresOrTiles.add(tiles.get(0));
+                            featuresOrTiles.accept(tiles.get(0));
                         } else {
-                            featuresOrTiles.addAll(tiles);
+                            tiles.forEach(featuresOrTiles);
                         }
                     }
                 } catch (FactoryException | GeoWebCacheException | TransformException e) {
@@ -334,7 +400,6 @@ public static Mapml layerContextsToMapMLDocument(
                 }
             }
         }
-        return mapml;
     }
 
     private static BoundingBox boundsFromIndex(long[] tileIndex, GridSubset gridSubset) {
@@ -802,7 +867,8 @@ public static boolean isSkipHeadStyles(Request request) {
         return isGWCTiledRequest(request);
     }
 
-    private static boolean isGWCTiledRequest(Request request) {
+    /** Checks if the request is a GWC tile seeding one */
+    public static boolean isGWCTiledRequest(Request request) {
         return "true".equals(request.getRawKvp().get(GeoServerTileLayer.GWC_SEED_INTERCEPT_TOKEN));
     }
 
@@ -7,6 +7,7 @@
 import jakarta.servlet.http.HttpServletRequest;
 import java.awt.RenderingHints;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -110,6 +111,60 @@ public void setSkipHeadStyles(boolean skipHeadStyles) {
      */
     public Mapml getMapMLDocument() throws IOException {
         List<MapMLFeatureUtil.LayerSimplfierContext> layerSimplfierContexts = new ArrayList<>();
+        Mapml empty = buildLayerContexts(layerSimplfierContexts);
+        if (empty != null) {
+            return empty;
+        }
+        CoordinateReferenceSystem crs = mapContent.getRequest().getCrs();
+        return MapMLFeatureUtil.layerContextsToMapMLDocument(
+                layerSimplfierContexts,
+                getMapRequest.getBbox(), // clip on bound
+                crs,
+                null, // for WMS GetMap we don't include alternate projections
+                skipHeadStyles,
+                skipAttributes,
+                request,
+                getMapRequest);
+    }
+
+    /**
+     * Writes the MapML document to the given output stream, encoding features as they are read, without building the
+     * full document in memory
+     *
+     * @param encoder the MapML encoder
+     * @param output the output stream
+     * @param prettyPrint true to enable pretty-printing
+     * @throws IOException If an error occurs while producing the map
+     */
+    public void writeMapMLDocument(MapMLEncoder encoder, OutputStream output, boolean prettyPrint)
+            throws IOException {
+        List<MapMLFeatureUtil.LayerSimplfierContext> layerSimplfierContexts = new ArrayList<>();
+        Mapml empty = buildLayerContexts(layerSimplfierContexts);
+        if (empty != null) {
+            encoder.encode(empty, output, prettyPrint);
+            return;
+        }
+        CoordinateReferenceSystem crs = mapContent.getRequest().getCrs();
+        MapMLFeatureUtil.writeMapMLDocument(
+                layerSimplfierContexts,
+                getMapRequest.getBbox(), // clip on bound
+                crs,
+                null, // for WMS GetMap we don't include alternate projections
+                skipHeadStyles,
+                skipAttributes,
+                request,
+                getMapRequest,
+                encoder,
+                output,
+                prettyPrint);
+    }
+
+    /**
+     * Fills the list with the contexts of the layers to be encoded. Returns an empty MapML document with header
+     * metadata, if a layer filter excludes all features, or null otherwise.
+     */
+    private Mapml buildLayerContexts(List<MapMLFeatureUtil.LayerSimplfierContext> layerSimplfierContexts)
+            throws IOException {
         int i = 0;
         for (Layer layer : mapContent.layers()) {
             SimpleFeatureCollection fc = null;
@@ -194,16 +249,7 @@ public Mapml getMapMLDocument() throws IOException {
             layerSimplfierContexts.add(layerSimplfierContext);
             i++;
         }
-        CoordinateReferenceSystem crs = mapContent.getRequest().getCrs();
-        return MapMLFeatureUtil.layerContextsToMapMLDocument(
-                layerSimplfierContexts,
-                getMapRequest.getBbox(), // clip on bound
-                crs,
-                null, // for WMS GetMap we don't include alternate projections
-                skipHeadStyles,
-                skipAttributes,
-                request,
-                getMapRequest);
+        return null;
     }
 
     private Map<String, MapMLStyle> getMapMLStyleMap(Style style, LayerInfo layerInfo) throws IOException {
@@ -0,0 +1,42 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.mapml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.WebMap;
+
+/** A WebMap whose MapML features are read and encoded only when written to the output */
+public class MapMLFeaturesMap extends WebMap {
+    private final MapMLFeaturesBuilder builder;
+    private final MapMLEncoder encoder;
+    private final boolean verbose;
+
+    /**
+     * @param context the map context
+     * @param builder the builder reading the features
+     * @param encoder the encoder writing the document
+     * @param verbose whether the output should be pretty printed
+     */
+    public MapMLFeaturesMap(
+            WMSMapContent context, MapMLFeaturesBuilder builder, MapMLEncoder encoder, boolean verbose) {
+        super(context);
+        this.builder = builder;
+        this.encoder = encoder;
+        this.verbose = verbose;
+        super.setMimeType(MapMLConstants.MAPML_MIME_TYPE);
+    }
+
+    /**
+     * Writes the MapML document, streaming the features as they are read
+     *
+     * @param output the output stream
+     * @throws IOException If an error occurs while reading or encoding the features
+     */
+    public void encode(OutputStream output) throws IOException {
+        builder.writeMapMLDocument(encoder, output, verbose);
+    }
+}
@@ -0,0 +1,30 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.mapml;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.map.AbstractMapResponse;
+
+/** A Response streaming the features of a MapML WMS features request */
+public class MapMLFeaturesResponse extends AbstractMapResponse {
+    /** Registers with the parent class the type of object that will be written to the output stream */
+    public MapMLFeaturesResponse() {
+        super(MapMLFeaturesMap.class, (Set<String>) null);
+    }
+
+    @Override
+    public void write(Object value, OutputStream output, Operation operation) throws IOException, ServiceException {
+        MapMLFeaturesMap map = (MapMLFeaturesMap) value;
+        try {
+            map.encode(output);
+        } finally {
+            map.dispose();
+        }
+    }
+}
@@ -17,7 +17,6 @@
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.config.GeoServer;
-import org.geoserver.mapml.xml.Mapml;
 import org.geoserver.platform.Operation;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wfs.WFSGetFeatureOutputFormat;
@@ -83,7 +82,9 @@ protected void write(FeatureCollectionResponse featureCollectionResponse, Output
         MapMLFeatureUtil.LayerSimplfierContext layerSimplfierContext = new MapMLFeatureUtil.LayerSimplfierContext(
                 featureCollection, resourceInfo, null, numDecimals, forcedDecimal, padWithZeros, null);
         layerSimplfierContexts.add(layerSimplfierContext);
-        Mapml mapml = MapMLFeatureUtil.layerContextsToMapMLDocument(
+        // write to output based on global verbose setting, streaming the features
+        boolean verbose = gs.getGlobal().getSettings().isVerbose();
+        MapMLFeatureUtil.writeMapMLDocument(
                 layerSimplfierContexts,
                 null,
                 requestCRS,
@@ -91,11 +92,10 @@ protected void write(FeatureCollectionResponse featureCollectionResponse, Output
                 false,
                 false,
                 null,
-                null);
-
-        // write to output based on global verbose setting
-        boolean verbose = gs.getGlobal().getSettings().isVerbose();
-        mapMLEncoder.encode(mapml, out, verbose);
+                null,
+                mapMLEncoder,
+                out,
+                verbose);
     }
 
     /**
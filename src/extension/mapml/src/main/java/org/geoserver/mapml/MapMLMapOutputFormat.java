@@ -5,6 +5,7 @@
 package org.geoserver.mapml;
 
 import static org.geoserver.mapml.MapMLFeatureUtil.isFeaturesRequest;
+import static org.geoserver.mapml.MapMLFeatureUtil.isGWCTiledRequest;
 import static org.geoserver.mapml.MapMLFeatureUtil.isSkipAttributes;
 import static org.geoserver.mapml.MapMLFeatureUtil.isSkipHeadStyles;
 
@@ -59,22 +60,26 @@ public MapMLMapOutputFormat(WMS wms, GeoServer geoServer, MapMLEncoder encoder)
     @Override
     public WebMap produceMap(WMSMapContent mapContent) throws ServiceException, IOException {
         Request request = Dispatcher.REQUEST.get();
-        Mapml mapMLDocument;
+        // write to output based on global verbose setting
+        boolean verbose = geoServer.getGlobal().getSettings().isVerbose();
         if (isFeaturesRequest(request)) {
             List<Query> queries = StyleQueryUtil.getStyleQuery(mapContent.layers(), mapContent);
             MapMLFeaturesBuilder builder =
                     new MapMLFeaturesBuilder(mapContent, geoServer, queries, request.getHttpRequest());
             builder.setSkipAttributes(isSkipAttributes(request));
             builder.setSkipHeadStyles(isSkipHeadStyles(request));
-            mapMLDocument = builder.getMapMLDocument();
-        } else {
-            MapMLDocumentBuilder mapMLDocumentBuilder =
-                    new MapMLDocumentBuilder(mapContent, wms, request.getHttpRequest());
-            mapMLDocument = mapMLDocumentBuilder.getMapMLDocument();
+            if (isGWCTiledRequest(request)) {
+                // GWC needs the encoded tile to cache it, features are still encoded as they are read
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                builder.writeMapMLDocument(encoder, bos, verbose);
+                return new RawMap(mapContent, bos, MapMLConstants.MAPML_MIME_TYPE);
+            }
+            // features are encoded straight to the response as they are read
+            return new MapMLFeaturesMap(mapContent, builder, encoder, verbose);
         }
+        MapMLDocumentBuilder mapMLDocumentBuilder = new MapMLDocumentBuilder(mapContent, wms, request.getHttpRequest());
+        Mapml mapMLDocument = mapMLDocumentBuilder.getMapMLDocument();
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        // write to output based on global verbose setting
-        boolean verbose = geoServer.getGlobal().getSettings().isVerbose();
         encoder.encode(mapMLDocument, bos, verbose);
         return new RawMap(mapContent, bos, MapMLConstants.MAPML_MIME_TYPE);
     }
@@ -6,9 +6,18 @@
 package org.geoserver.mapml;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.geoserver.mapml.xml.Feature;
 import org.geoserver.mapml.xml.GeometryContent;
+import org.geoserver.mapml.xml.HeadContent;
+import org.geoserver.mapml.xml.Mapml;
 import org.geoserver.mapml.xml.ObjectFactory;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -48,4 +57,36 @@ public void testMixedContent() throws Exception {
                 Matchers.containsString(
                         "<map-coordinates><map-span class=\"bbox\">5 5 10 5</map-span> 10 5 10 10 5 10 <map-span class=\"bbox\">5 10 5 5</map-span></map-coordinates>"));
     }
+
+    @Test
+    public void testStreamingEncoding() throws Exception {
+        MapMLGenerator generator = new MapMLGenerator();
+        Mapml mapml = new Mapml();
+        HeadContent head = new HeadContent();
+        head.setTitle("streaming");
+        mapml.setHead(head);
+        List<Feature> features = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Feature feature = new Feature();
+            feature.setId("f." + i);
+            feature.setGeometry(generator.buildGeometry(new WKTReader().read("POINT(" + i + " " + i + ")")));
+            features.add(feature);
+        }
+
+        MapMLEncoder encoder = new MapMLEncoder();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        encoder.encode(mapml, sink -> features.forEach(sink), output, true);
+        String result = output.toString(StandardCharsets.UTF_8);
+        assertThat(result, Matchers.startsWith("<mapml- xmlns=\"http://www.w3.org/1999/xhtml\">"));
+
+        // the streamed document is equivalent to the one built in memory
+        Mapml decoded = encoder.decode(new StringReader(result));
+        assertEquals("streaming", decoded.getHead().getTitle());
+        List<Feature> decodedFeatures = decoded.getBody().getFeatures();
+        assertEquals(3, decodedFeatures.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("f." + i, decodedFeatures.get(i).getId());
+            assertNotNull(decodedFeatures.get(i).getGeometry());
+        }
+    }
 }
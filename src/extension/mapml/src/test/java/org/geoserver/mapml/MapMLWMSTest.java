@@ -40,6 +40,7 @@
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
@@ -1166,6 +1167,47 @@ public void testGWCCaching() throws Exception {
         assertEquals("RoadSegments-r2-s1", f2.getStyle());
     }
 
+    @Test
+    public void testGWCCachingStreamedFeatures() throws Exception {
+        String layerId = getLayerId(MockData.STREAMS);
+        Catalog catalog = getCatalog();
+        ResourceInfo layerMeta = catalog.getLayerByName(layerId).getResource();
+        layerMeta.getMetadata().put(MAPML_USE_TILES, true);
+        layerMeta.getMetadata().put(MAPML_USE_FEATURES, true);
+        catalog.save(layerMeta);
+        enableTileCaching(MockData.STREAMS, catalog);
+
+        // plain WMS features request, streamed to the response
+        MockHttpServletResponse response = getAsServletResponse("wms?service=WMS&version=1.1.1&request=GetMap"
+                + "&srs=EPSG:4326&bbox=0,-90,180,90&width=256&height=256&styles="
+                + "&format=text/mapml&format_options=mapmlfeatures:true&layers="
+                + layerId);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("text/mapml", response.getContentType());
+        Set<String> streamed = mapml(response).getBody().getFeatures().stream()
+                .map(Feature::getId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("Streams.1107532066140", "Streams.1107532066141"), streamed);
+
+        // the same area as a GWC tile, the tile is encoded in memory to be cached
+        String tileRequest = "gwc/service/wmts?service=WMTS&version=1.0&request=GetTile"
+                + "&tilematrixset=WGS84&tileMatrix=0&tileRow=0&tileCol=1"
+                + "&format=text/mapml&layer="
+                + layerId;
+        response = getAsServletResponse(tileRequest);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("text/mapml", response.getContentType());
+        assertEquals("MISS", response.getHeader("geowebcache-cache-result"));
+
+        response = getAsServletResponse(tileRequest);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("HIT", response.getHeader("geowebcache-cache-result"));
+        Set<String> cached = mapml(response).getBody().getFeatures().stream()
+                .map(Feature::getId)
+                .collect(Collectors.toSet());
+        assertEquals(streamed, cached);
+    }
+
     @Test
     public void testGetFeatureInfoMapML() throws Exception {
 
@@ -322,6 +322,21 @@ public int remove(Filter filter) {
         return ret;
     }
 
+    @Override
+    public int count(Filter filter) {
+        try {
+            SimpleFeatureStore source = getStatusFeatureStore();
+            // let the database count, falling back on the collection if that is not possible
+            int count = source.getCount(new Query(STATUS, filter));
+            if (count < 0) {
+                count = source.getFeatures(filter).size();
+            }
+            return count;
+        } catch (IOException e) {
+            throw new WPSException("Failed to count statuses matching " + filter, e);
+        }
+    }
+
     @Override
     public List<ExecutionStatus> list(Query query) {
         LOGGER.fine("listing statuses matching " + query);
@@ -104,7 +104,7 @@ else if (request.owner != null
         }
 
         Query queryFilter = new Query("GetExecutions", builder.getFilter());
-        int total = statusTracker.getStore().list(queryFilter).size();
+        int total = statusTracker.getStore().count(queryFilter.getFilter());
 
         // Now let's check the ordering and act accordingly
         if (request.orderBy != null && !request.orderBy.isEmpty()) {
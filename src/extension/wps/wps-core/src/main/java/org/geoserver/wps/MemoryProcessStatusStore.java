@@ -7,9 +7,11 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.beanutils.BeanComparator;
@@ -22,7 +24,11 @@
 import org.geotools.util.logging.Logging;
 
 /**
- * In memory implementation of the {@link ProcessStatusStore} interface
+ * In memory implementation of the {@link ProcessStatusStore} interface.
+ *
+ * <p>The store is bounded: once more than {@link #getMaxStatuses()} statuses are held, the ones that completed first
+ * are evicted, using an index sorted on completion time. Running executions are never evicted. The default bound can
+ * be set with the {@link #MAX_STATUSES_KEY} system variable.
  *
  * @author Andrea Aime - GeoSolutions
  */
@@ -30,8 +36,27 @@ public class MemoryProcessStatusStore implements ProcessStatusStore {
 
     static final Logger LOGGER = Logging.getLogger(MemoryProcessStatusStore.class);
 
+    /** System variable used to configure the maximum number of statuses kept in memory */
+    public static final String MAX_STATUSES_KEY = "wps.memoryStatusStore.maxStatuses";
+
+    /** Default maximum number of statuses kept in memory */
+    public static final int DEFAULT_MAX_STATUSES = 10000;
+
     ConcurrentMap<String, ExecutionStatus> statuses = new ConcurrentHashMap<>();
 
+    /** Completed executions, sorted by completion time, used to quickly locate the eviction candidates */
+    ConcurrentSkipListSet<CompletionKey> completions = new ConcurrentSkipListSet<>();
+
+    int maxStatuses;
+
+    public MemoryProcessStatusStore() {
+        this(Integer.getInteger(MAX_STATUSES_KEY, DEFAULT_MAX_STATUSES));
+    }
+
+    public MemoryProcessStatusStore(int maxStatuses) {
+        this.maxStatuses = maxStatuses;
+    }
+
     @Override
     public void save(ExecutionStatus status) {
         boolean succeded = false;
@@ -57,6 +82,42 @@ public void save(ExecutionStatus status) {
                 ExecutionStatus previous = statuses.put(status.getExecutionId(), newStatus);
                 succeded = previous == null;
             }
+            if (succeded) {
+                updateCompletionIndex(oldStatus, newStatus);
+            }
+        }
+
+        evictCompleted();
+    }
+
+    private void updateCompletionIndex(ExecutionStatus oldStatus, ExecutionStatus newStatus) {
+        CompletionKey oldKey = CompletionKey.of(oldStatus);
+        CompletionKey newKey = CompletionKey.of(newStatus);
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            completions.remove(oldKey);
+        }
+        if (newKey != null) {
+            completions.add(newKey);
+        }
+    }
+
+    /** Removes the statuses that completed first, until the store is back within its size limit */
+    private void evictCompleted() {
+        if (maxStatuses <= 0) {
+            return;
+        }
+        while (statuses.size() > maxStatuses) {
+            CompletionKey oldest = completions.pollFirst();
+            if (oldest == null) {
+                // only running executions left, those cannot be evicted
+                return;
+            }
+            ExecutionStatus status = statuses.get(oldest.executionId());
+            if (status != null && oldest.equals(CompletionKey.of(status))) {
+                if (statuses.remove(oldest.executionId(), status) && LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Evicted status " + status + " to keep the store within size limits");
+                }
+            }
         }
     }
 
@@ -66,11 +127,30 @@ public int remove(Filter filter) {
             LOGGER.log(Level.FINE, "Removing statuses matching " + filter);
         }
 
+        int count = 0;
+        for (ExecutionStatus status : statuses.values()) {
+            if (filter.evaluate(status) && statuses.remove(status.getExecutionId(), status)) {
+                count++;
+                removeFromCompletionIndex(status);
+            }
+        }
+
+        return count;
+    }
+
+    private void removeFromCompletionIndex(ExecutionStatus status) {
+        CompletionKey key = CompletionKey.of(status);
+        if (key != null) {
+            completions.remove(key);
+        }
+    }
+
+    @Override
+    public int count(Filter filter) {
         int count = 0;
         for (ExecutionStatus status : statuses.values()) {
             if (filter.evaluate(status)) {
                 count++;
-                statuses.remove(status.getExecutionId());
             }
         }
 
@@ -81,17 +161,29 @@ public int remove(Filter filter) {
     public List<ExecutionStatus> list(Query query) {
         List<ExecutionStatus> result = new ArrayList<>();
 
+        // without sorting the first matches are as good as any other, no need to collect them all
+        SortBy[] sorts = query.getSortBy();
+        boolean sorting = sorts != null && sorts.length > 0;
+        int limit = Integer.MAX_VALUE;
+        if (!sorting) {
+            Integer startIndex = query.getStartIndex();
+            long last = (long) query.getMaxFeatures() + (startIndex != null && startIndex > 0 ? startIndex : 0);
+            limit = (int) Math.min(last, Integer.MAX_VALUE);
+        }
+
         // extract and filter
         Filter filter = query.getFilter();
         for (ExecutionStatus status : statuses.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
             if (filter.evaluate(status)) {
                 result.add(status);
             }
         }
 
         // sort
-        SortBy[] sorts = query.getSortBy();
-        if (sorts != null) {
+        if (sorting) {
             List<Comparator<ExecutionStatus>> comparators = new ArrayList<>();
             for (SortBy sort : sorts) {
                 if (sort == SortBy.NATURAL_ORDER) {
@@ -151,7 +243,22 @@ public ExecutionStatus remove(String executionId) {
             LOGGER.log(Level.FINE, "Removing status for execution id: " + executionId);
         }
 
-        return statuses.remove(executionId);
+        ExecutionStatus removed = statuses.remove(executionId);
+        if (removed != null) {
+            removeFromCompletionIndex(removed);
+        }
+        return removed;
+    }
+
+    /** Returns the maximum number of statuses kept in memory, a zero or negative value means no limit */
+    public int getMaxStatuses() {
+        return maxStatuses;
+    }
+
+    /** Sets the maximum number of statuses kept in memory, a zero or negative value means no limit */
+    public void setMaxStatuses(int maxStatuses) {
+        this.maxStatuses = maxStatuses;
+        evictCompleted();
     }
 
     @Override
@@ -164,4 +271,28 @@ public boolean supportsPredicate() {
     public boolean supportsPaging() {
         return false;
     }
+
+    /** Key in the completion index, sorts on completion time first, and execution id next */
+    record CompletionKey(long completionTime, String executionId) implements Comparable<CompletionKey> {
+
+        static CompletionKey of(ExecutionStatus status) {
+            if (status == null) {
+                return null;
+            }
+            Date completion = status.getCompletionTime();
+            if (completion == null || !status.getPhase().isExecutionCompleted()) {
+                return null;
+            }
+            return new CompletionKey(completion.getTime(), status.getExecutionId());
+        }
+
+        @Override
+        public int compareTo(CompletionKey o) {
+            int result = Long.compare(completionTime, o.completionTime);
+            if (result == 0) {
+                result = executionId.compareTo(o.executionId);
+            }
+            return result;
+        }
+    }
 }
@@ -10,7 +10,6 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -27,7 +26,14 @@
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+/**
+ * Runs processes in two thread pools, one for synchronous and one for asynchronous executions. Queued executions are
+ * not run in FIFO order, but shared fairly among the users that submitted them, taking into account the expected cost
+ * of each process, see {@link FairShareThreadPoolExecutor}
+ */
 public class DefaultProcessManager implements ProcessManager, ExtensionPriority, ApplicationListener<ApplicationEvent> {
 
     ConcurrentHashMap<String, Future<Map<String, Object>>> executions = new ConcurrentHashMap<>();
@@ -44,15 +50,10 @@ public DefaultProcessManager(WPSResourceManager resourceManager) {
 
     public void setMaxAsynchronousProcesses(int maxAsynchronousProcesses) {
         if (asynchService == null) {
-            // create a fixed size pool. If we allow a delta between core and max
-            // the pool will create new threads only if the queue is full, but the linked queue
-            // never is
-            asynchService = new ThreadPoolExecutor(
-                    maxAsynchronousProcesses,
-                    maxAsynchronousProcesses,
-                    0L,
-                    TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>());
+            // create a fixed size pool sharing threads fairly among users. If we allow a delta
+            // between core and max the pool will create new threads only if the queue is full,
+            // but the priority queue never is
+            asynchService = new FairShareThreadPoolExecutor(maxAsynchronousProcesses);
         } else {
             // JDK 11 checks the relation between core and max pool size on each set,
             // need to lower core pool size before changing max
@@ -64,15 +65,10 @@ public void setMaxAsynchronousProcesses(int maxAsynchronousProcesses) {
 
     public void setMaxSynchronousProcesses(int maxSynchronousProcesses) {
         if (synchService == null) {
-            // create a fixed size pool. If we allow a delta between core and max
-            // the pool will create new threads only if the queue is full, but the linked queue
-            // never is
-            synchService = new ThreadPoolExecutor(
-                    maxSynchronousProcesses,
-                    maxSynchronousProcesses,
-                    0L,
-                    TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>());
+            // create a fixed size pool sharing threads fairly among users. If we allow a delta
+            // between core and max the pool will create new threads only if the queue is full,
+            // but the priority queue never is
+            synchService = new FairShareThreadPoolExecutor(maxSynchronousProcesses);
         } else {
             // JDK 11 checks the relation between core and max pool size on each set,
             // need to lower core pool size before changing max
@@ -190,11 +186,19 @@ static class ProcessCallable implements Callable<Map<String, Object>> {
 
         ProgressListener listener;
 
+        String userName;
+
         public ProcessCallable(Name processName, Map<String, Object> inputs, ProgressListener listener) {
             this.processName = processName;
             this.inputs = inputs;
             this.listener = listener;
             this.threadLocalTransfer = new ThreadLocalsTransfer();
+
+            // grab the user name that made the request, used to share the pool fairly
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null) {
+                this.userName = authentication.getName();
+            }
         }
 
         @Override
@@ -0,0 +1,140 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wps.executor;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.geoserver.wps.executor.DefaultProcessManager.ProcessCallable;
+import org.geotools.api.feature.type.Name;
+
+/**
+ * A fixed size thread pool that, instead of running queued executions in FIFO order, shares the available threads
+ * fairly among users. Each queued execution is assigned a cost, based on the average duration of past executions of the
+ * same process, and a virtual finish time computed from the cost and the backlog of the user that submitted it. Queued
+ * executions are then run in order of virtual finish time (weighted fair queueing), so that a user submitting many
+ * expensive executions cannot starve the cheap ones submitted by other users. Executions submitted by the same user are
+ * still run in submission order.
+ */
+class FairShareThreadPoolExecutor extends ThreadPoolExecutor {
+
+    /** Weight given to the last observed duration when updating the per process average */
+    static final double HISTORY_WEIGHT = 0.2;
+
+    /** Cost assigned to processes that have never been run */
+    static final double DEFAULT_COST = 1000;
+
+    /** The average execution time of each process, in milliseconds */
+    final Map<Name, Double> processCosts = new ConcurrentHashMap<>();
+
+    /** The virtual finish time of the last execution queued by each user */
+    final Map<String, Double> userFinishTimes = new ConcurrentHashMap<>();
+
+    final AtomicLong sequence = new AtomicLong();
+
+    /** The virtual finish time of the last execution that started running */
+    double virtualTime;
+
+    public FairShareThreadPoolExecutor(int poolSize) {
+        super(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(11, new TaskComparator()));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        if (callable instanceof ProcessCallable processCallable) {
+            double cost = getCost(processCallable.processName);
+            double finish = schedule(processCallable.userName, cost);
+            return new FairShareTask<>(callable, processCallable.processName, finish, sequence.getAndIncrement());
+        }
+        return super.newTaskFor(callable);
+    }
+
+    /** Computes the virtual finish time of a new execution, and updates the user backlog accordingly */
+    synchronized double schedule(String userName, double cost) {
+        String key = userName == null ? "" : userName;
+        double start = Math.max(virtualTime, userFinishTimes.getOrDefault(key, 0d));
+        double finish = start + cost;
+        userFinishTimes.put(key, finish);
+        return finish;
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        if (r instanceof FairShareTask<?> task) {
+            synchronized (this) {
+                virtualTime = Math.max(virtualTime, task.virtualFinish);
+                // users whose backlog has been fully served do not need to be tracked anymore
+                userFinishTimes.values().removeIf(finish -> finish <= virtualTime);
+            }
+            task.started = System.currentTimeMillis();
+        }
+        super.beforeExecute(t, r);
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        if (r instanceof FairShareTask<?> task && task.started > 0) {
+            double duration = System.currentTimeMillis() - task.started;
+            processCosts.merge(
+                    task.processName,
+                    duration,
+                    (average, last) -> average * (1 - HISTORY_WEIGHT) + last * HISTORY_WEIGHT);
+        }
+    }
+
+    /** Returns the expected cost of running the specified process, based on past executions */
+    double getCost(Name processName) {
+        // never use a zero cost, or the user backlog would not grow
+        return Math.max(1, processCosts.getOrDefault(processName, DEFAULT_COST));
+    }
+
+    /** Returns the number of executions waiting for a thread to become available */
+    public int getQueuedCount() {
+        return getQueue().size();
+    }
+
+    static class FairShareTask<T> extends FutureTask<T> {
+
+        final Name processName;
+
+        final double virtualFinish;
+
+        final long sequence;
+
+        volatile long started;
+
+        FairShareTask(Callable<T> callable, Name processName, double virtualFinish, long sequence) {
+            super(callable);
+            this.processName = processName;
+            this.virtualFinish = virtualFinish;
+            this.sequence = sequence;
+        }
+    }
+
+    /** Sorts tasks by virtual finish time, and then by submission order */
+    static class TaskComparator implements Comparator<Runnable> {
+
+        @Override
+        public int compare(Runnable r1, Runnable r2) {
+            double f1 = r1 instanceof FairShareTask<?> t1 ? t1.virtualFinish : 0;
+            double f2 = r2 instanceof FairShareTask<?> t2 ? t2.virtualFinish : 0;
+            int result = Double.compare(f1, f2);
+            if (result == 0) {
+                long s1 = r1 instanceof FairShareTask<?> t1 ? t1.sequence : 0;
+                long s2 = r2 instanceof FairShareTask<?> t2 ? t2.sequence : 0;
+                result = Long.compare(s1, s2);
+            }
+            return result;
+        }
+    }
+}
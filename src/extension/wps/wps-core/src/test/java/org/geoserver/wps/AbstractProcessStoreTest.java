@@ -147,6 +147,14 @@ private void checkContains(List<ExecutionStatus> filtered, ExecutionStatus... st
         }
     }
 
+    @Test
+    public void testCount() throws CQLException {
+        assertEquals(4, store.count(Filter.INCLUDE));
+        assertEquals(1, store.count(CQL.toFilter("processName = 'test1'")));
+        assertEquals(2, store.count(CQL.toFilter("phase = 'RUNNING'")));
+        assertEquals(0, store.count(CQL.toFilter("phase = 'SUCCEEDED'")));
+    }
+
     @Test
     public void testDelete() throws CQLException {
         assertEquals(1, store.remove(CQL.toFilter("processName = 'test1'")));
@@ -4,6 +4,17 @@
  */
 package org.geoserver.wps;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+import org.geoserver.wps.executor.ExecutionStatus;
+import org.geoserver.wps.executor.ProcessState;
+import org.geotools.api.filter.Filter;
+import org.geotools.feature.NameImpl;
+import org.junit.Test;
+
 /**
  * Tests the memory based implementation of {@link ProcessStatusStore}
  *
@@ -15,4 +26,38 @@ public class MemoryProcessStoreTest extends AbstractProcessStoreTest {
     protected ProcessStatusStore buildStore() {
         return new MemoryProcessStatusStore();
     }
+
+    @Test
+    public void testEvictCompleted() {
+        MemoryProcessStatusStore memoryStore = new MemoryProcessStatusStore(3);
+        ExecutionStatus running = new ExecutionStatus(new NameImpl("test"), "running", true);
+        running.setPhase(ProcessState.RUNNING);
+        memoryStore.save(running);
+        ExecutionStatus first = completed("first", 1000);
+        memoryStore.save(first);
+        ExecutionStatus second = completed("second", 2000);
+        memoryStore.save(second);
+        assertEquals(3, memoryStore.count(Filter.INCLUDE));
+
+        // going over the limit evicts the status that completed first
+        ExecutionStatus third = completed("third", 3000);
+        memoryStore.save(third);
+        assertEquals(3, memoryStore.count(Filter.INCLUDE));
+        assertNull(memoryStore.get("first"));
+        assertNotNull(memoryStore.get("second"));
+        assertNotNull(memoryStore.get("third"));
+        assertNotNull(memoryStore.get("running"));
+
+        // running executions are never evicted
+        memoryStore.setMaxStatuses(1);
+        assertEquals(1, memoryStore.count(Filter.INCLUDE));
+        assertNotNull(memoryStore.get("running"));
+    }
+
+    private ExecutionStatus completed(String executionId, long completionTime) {
+        ExecutionStatus status = new ExecutionStatus(new NameImpl("test"), executionId, true);
+        status.setPhase(ProcessState.SUCCEEDED);
+        status.setCompletionTime(new Date(completionTime));
+        return status;
+    }
 }
@@ -0,0 +1,122 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wps.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.geotools.api.feature.type.Name;
+import org.geotools.feature.NameImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FairShareThreadPoolExecutorTest {
+
+    static final Name CHEAP = new NameImpl("gs", "Cheap");
+
+    static final Name EXPENSIVE = new NameImpl("gs", "Expensive");
+
+    FairShareThreadPoolExecutor executor;
+
+    List<String> executed = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setup() {
+        executor = new FairShareThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFairShareAmongUsers() throws Exception {
+        CountDownLatch latch = blockPool();
+
+        // one user floods the queue, another one comes after
+        executor.submit(new TestCallable(CHEAP, "alice", "a1"));
+        executor.submit(new TestCallable(CHEAP, "alice", "a2"));
+        executor.submit(new TestCallable(CHEAP, "alice", "a3"));
+        Future<?> last = executor.submit(new TestCallable(CHEAP, "bob", "b1"));
+        assertEquals(4, executor.getQueuedCount());
+
+        latch.countDown();
+        last.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // bob does not have to wait for all of alice executions
+        assertEquals(List.of("a1", "b1", "a2", "a3"), executed);
+    }
+
+    @Test
+    public void testCostAware() throws Exception {
+        // make the expensive process cost a lot more than the cheap one
+        executor.processCosts.put(EXPENSIVE, 10000d);
+        executor.processCosts.put(CHEAP, 10d);
+        CountDownLatch latch = blockPool();
+
+        executor.submit(new TestCallable(EXPENSIVE, "alice", "a1"));
+        executor.submit(new TestCallable(EXPENSIVE, "alice", "a2"));
+        executor.submit(new TestCallable(CHEAP, "bob", "b1"));
+        executor.submit(new TestCallable(CHEAP, "bob", "b2"));
+
+        latch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(List.of("b1", "b2", "a1", "a2"), executed);
+    }
+
+    @Test
+    public void testHistory() throws Exception {
+        assertEquals(FairShareThreadPoolExecutor.DEFAULT_COST, executor.getCost(CHEAP), 0d);
+        executor.submit(new TestCallable(CHEAP, "alice", "a1")).get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // the cost is now based on the actual execution time, which is way shorter than the default
+        assertTrue(executor.getCost(CHEAP) < FairShareThreadPoolExecutor.DEFAULT_COST);
+    }
+
+    /** Occupies the only thread in the pool until the returned latch is released */
+    private CountDownLatch blockPool() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            latch.await();
+            return null;
+        });
+        started.await(10, TimeUnit.SECONDS);
+        return latch;
+    }
+
+    class TestCallable extends DefaultProcessManager.ProcessCallable {
+
+        String id;
+
+        public TestCallable(Name processName, String userName, String id) {
+            super(processName, Collections.emptyMap(), null);
+            this.userName = userName;
+            this.id = id;
+        }
+
+        @Override
+        public Map<String, Object> call() throws Exception {
+            executed.add(id);
+            return Collections.emptyMap();
+        }
+    }
+}
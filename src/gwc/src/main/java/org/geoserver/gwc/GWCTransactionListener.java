@@ -8,10 +8,15 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.namespace.QName;
@@ -20,21 +25,27 @@
 import net.opengis.wfs.TransactionType;
 import net.opengis.wfs.UpdateElementType;
 import org.eclipse.emf.ecore.EObject;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.wfs.TransactionCallback;
 import org.geoserver.wfs.TransactionEvent;
 import org.geoserver.wfs.TransactionEventType;
 import org.geoserver.wfs.WFSException;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.ReferencedEnvelope3D;
 import org.geotools.referencing.CRS;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheException;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Listens to transactions (so far only issued by WFS) and truncates the cache for the affected area of the layers
@@ -43,12 +54,19 @@
  * <p>A Spring bean singleton of this class needs to be declared in order for GeoServer transactions to pick it up
  * automatically and forward transaction events to it.
  *
+ * <p>When a transaction affects a small number of features, the dirty region is tracked feature by feature, so that
+ * edits far apart do not truncate all the tiles in between. Overlapping regions are then merged, and so are nearby ones
+ * if there are too many, before truncating. Truncation
+ * happens right after the transaction commits, unless the {@code GWC_TRUNCATE_COALESCE_DELAY} system, environment or
+ * servlet context variable is set to a positive number of milliseconds: in that case the dirty regions are queued, and
+ * the edits arriving within the delay are coalesced and truncated in a background thread.
+ *
  * <p>TODO: upon deletion, only truncate if feature count > 0
  *
  * @author Arne Kepp
  * @author Gabriel Roldan
  */
-public class GWCTransactionListener implements TransactionCallback {
+public class GWCTransactionListener implements TransactionCallback, DisposableBean {
 
     private static Logger log = Logging.getLogger(GWCTransactionListener.class);
 
@@ -56,9 +74,55 @@ public class GWCTransactionListener implements TransactionCallback {
 
     static final String GWC_TRANSACTION_INFO_PLACEHOLDER = "GWC_TRANSACTION_INFO_PLACEHOLDER";
 
+    static final String COALESCE_DELAY_KEY = "GWC_TRUNCATE_COALESCE_DELAY";
+
+    /** Above this number of affected geometries, the bounds of the whole collection are used as the dirty region */
+    static final int MAX_FEATURES = 100;
+
+    /** Max number of regions truncated for a layer, past it the regions close to each other are merged */
+    static final int MAX_REGIONS = 8;
+
+    private long coalesceDelay;
+
+    private final Map<String, List<ReferencedEnvelope>> pendingRegions = new HashMap<>();
+
+    private ScheduledExecutorService truncateExecutor;
+
+    private final AtomicLong dirtyRegionCount = new AtomicLong();
+
+    private final AtomicLong truncateCount = new AtomicLong();
+
     /** @param gwc */
     public GWCTransactionListener(final GWC gwc) {
         this.gwc = gwc;
+        String delay = GeoServerExtensions.getProperty(COALESCE_DELAY_KEY);
+        if (delay != null) {
+            try {
+                this.coalesceDelay = Long.parseLong(delay.trim());
+            } catch (NumberFormatException e) {
+                log.warning("Invalid value for " + COALESCE_DELAY_KEY + ": " + delay + ", truncating synchronously");
+            }
+        }
+    }
+
+    /** Returns the time, in milliseconds, edits are queued and coalesced before truncating. Zero means no queueing */
+    public long getCoalesceDelay() {
+        return coalesceDelay;
+    }
+
+    /** Sets the time, in milliseconds, edits are queued and coalesced before truncating. Zero means no queueing */
+    public void setCoalesceDelay(long coalesceDelay) {
+        this.coalesceDelay = coalesceDelay;
+    }
+
+    /** Returns the number of dirty regions collected from transactions so far */
+    public long getDirtyRegionCount() {
+        return dirtyRegionCount.get();
+    }
+
+    /** Returns the number of truncate requests issued so far, after coalescing the dirty regions */
+    public long getTruncateCount() {
+        return truncateCount.get();
     }
 
     /** Not used, we're interested in the {@link #dataStoreChange} and {@link #afterTransaction} hooks */
@@ -104,16 +168,28 @@ private void afterTransactionInternal(final TransactionRequest transaction, bool
         }
         for (String tileLayerName : byLayerDirtyRegions.keySet()) {
             List<ReferencedEnvelope> dirtyList = byLayerDirtyRegions.get(tileLayerName);
-            ReferencedEnvelope dirtyRegion;
+            List<ReferencedEnvelope> dirtyRegions;
             try {
-                dirtyRegion = merge(tileLayerName, dirtyList);
+                dirtyRegions = merge(tileLayerName, dirtyList);
             } catch (Exception e) {
                 log.log(Level.WARNING, e.getMessage(), e);
                 continue;
             }
-            if (dirtyRegion == null) {
+            if (dirtyRegions.isEmpty()) {
                 continue;
             }
+            dirtyRegionCount.addAndGet(dirtyRegions.size());
+            if (coalesceDelay > 0) {
+                enqueue(tileLayerName, dirtyRegions);
+            } else {
+                truncate(tileLayerName, dirtyRegions);
+            }
+        }
+    }
+
+    private void truncate(String tileLayerName, List<ReferencedEnvelope> dirtyRegions) {
+        for (ReferencedEnvelope dirtyRegion : dirtyRegions) {
+            truncateCount.incrementAndGet();
             try {
                 gwc.truncate(tileLayerName, dirtyRegion);
             } catch (GeoWebCacheException e) {
@@ -125,22 +201,117 @@ private void afterTransactionInternal(final TransactionRequest transaction, bool
         }
     }
 
-    private ReferencedEnvelope merge(final String tileLayerName, final List<ReferencedEnvelope> dirtyList)
+    /** Queues the dirty regions, scheduling a flush if the queue was empty */
+    private synchronized void enqueue(String tileLayerName, List<ReferencedEnvelope> dirtyRegions) {
+        boolean schedule = pendingRegions.isEmpty();
+        pendingRegions.computeIfAbsent(tileLayerName, k -> new ArrayList<>()).addAll(dirtyRegions);
+        if (schedule) {
+            if (truncateExecutor == null) {
+                truncateExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "GWC transaction truncate");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            truncateExecutor.schedule(this::flush, coalesceDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Truncates the queued dirty regions, merging the overlapping ones */
+    void flush() {
+        Map<String, List<ReferencedEnvelope>> regions;
+        synchronized (this) {
+            regions = new HashMap<>(pendingRegions);
+            pendingRegions.clear();
+        }
+        regions.forEach((tileLayerName, dirtyList) -> {
+            List<ReferencedEnvelope> merged = coalesce(dirtyList);
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("Truncating %d regions out of %d queued for %s"
+                        .formatted(merged.size(), dirtyList.size(), tileLayerName));
+            }
+            try {
+                truncate(tileLayerName, merged);
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Error trying to truncate the transaction affected area", e);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = truncateExecutor;
+            truncateExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private List<ReferencedEnvelope> merge(final String tileLayerName, final List<ReferencedEnvelope> dirtyList)
             throws TransformException, FactoryException {
         if (dirtyList.isEmpty()) {
-            return null;
+            return List.of();
         }
 
         final CoordinateReferenceSystem declaredCrs = CRS.getHorizontalCRS(gwc.getDeclaredCrs(tileLayerName));
-        ReferencedEnvelope merged = new ReferencedEnvelope(declaredCrs);
+        List<ReferencedEnvelope> transformed = new ArrayList<>(dirtyList.size());
         for (ReferencedEnvelope env : dirtyList) {
             if (env instanceof ReferencedEnvelope3D) {
                 env = new ReferencedEnvelope(env, CRS.getHorizontalCRS(env.getCoordinateReferenceSystem()));
             }
-            ReferencedEnvelope transformedDirtyRegion = env.transform(declaredCrs, true, 1000);
-            merged.expandToInclude(transformedDirtyRegion);
+            if (env.isEmpty()) {
+                continue;
+            }
+            transformed.add(env.transform(declaredCrs, true, 1000));
         }
-        return merged;
+        return coalesce(transformed);
+    }
+
+    /**
+     * Merges the overlapping envelopes, returning a list of disjoint ones. If there are more than {@link #MAX_REGIONS},
+     * the ones close to each other are merged too, as issuing many small truncate requests would be more expensive
+     * than truncating a few extra tiles.
+     */
+    static List<ReferencedEnvelope> coalesce(List<ReferencedEnvelope> envelopes) {
+        List<ReferencedEnvelope> result = mergeOverlapping(envelopes);
+        if (result.size() > MAX_REGIONS) {
+            // group the regions in strips along the x axis, so that each group covers a compact area
+            result.sort(Comparator.comparingDouble(ReferencedEnvelope::getMinX));
+            int groupSize = (int) Math.ceil(result.size() / (double) MAX_REGIONS);
+            List<ReferencedEnvelope> groups = new ArrayList<>();
+            for (int i = 0; i < result.size(); i += groupSize) {
+                ReferencedEnvelope group = new ReferencedEnvelope(result.get(i));
+                for (int j = i + 1; j < i + groupSize && j < result.size(); j++) {
+                    group.expandToInclude(result.get(j));
+                }
+                groups.add(group);
+            }
+            result = mergeOverlapping(groups);
+        }
+        return result;
+    }
+
+    private static List<ReferencedEnvelope> mergeOverlapping(List<ReferencedEnvelope> envelopes) {
+        List<ReferencedEnvelope> result = new ArrayList<>();
+        for (ReferencedEnvelope envelope : envelopes) {
+            ReferencedEnvelope merged = new ReferencedEnvelope(envelope);
+            boolean intersected;
+            do {
+                intersected = false;
+                for (int i = 0; i < result.size(); i++) {
+                    if (result.get(i).intersects((Envelope) merged)) {
+                        merged.expandToInclude(result.remove(i));
+                        intersected = true;
+                        break;
+                    }
+                }
+            } while (intersected);
+            result.add(merged);
+        }
+        return result;
     }
 
     /**
@@ -159,7 +330,7 @@ public int getPriority() {
      */
     @Override
     public void dataStoreChange(final TransactionEvent event) throws WFSException {
-        log.info("DataStoreChange: " + event.getLayerName() + " " + event.getType());
+        log.fine("DataStoreChange: " + event.getLayerName() + " " + event.getType());
         try {
             dataStoreChangeInternal(event);
         } catch (RuntimeException e) {
@@ -192,14 +363,46 @@ private void dataStoreChangeInternal(final TransactionEvent event) {
         }
 
         final SimpleFeatureCollection affectedFeatures = event.getAffectedFeatures();
-        final ReferencedEnvelope affectedBounds = affectedFeatures.getBounds();
+        final List<ReferencedEnvelope> affectedBounds = getAffectedBounds(affectedFeatures);
 
         final TransactionType transaction = event.getRequest();
         TransactionRequest request = TransactionRequest.adapt(transaction);
 
         for (String tileLayerName : affectedTileLayers) {
-            addLayerDirtyRegion(request, tileLayerName, affectedBounds);
+            for (ReferencedEnvelope bounds : affectedBounds) {
+                addLayerDirtyRegion(request, tileLayerName, bounds);
+            }
+        }
+    }
+
+    /**
+     * Returns the regions touched by the affected features, considering all their geometry attributes. For small
+     * collections, the envelopes of the single geometries are returned, otherwise the bounds of the whole collection.
+     * The features are read only once, computing both.
+     */
+    private List<ReferencedEnvelope> getAffectedBounds(SimpleFeatureCollection affectedFeatures) {
+        CoordinateReferenceSystem crs = affectedFeatures.getSchema().getCoordinateReferenceSystem();
+        List<ReferencedEnvelope> result = new ArrayList<>();
+        Envelope bounds = new Envelope();
+        int count = 0;
+        try (SimpleFeatureIterator it = affectedFeatures.features()) {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                for (Object value : feature.getAttributes()) {
+                    if (value instanceof Geometry geometry && !geometry.isEmpty()) {
+                        Envelope envelope = geometry.getEnvelopeInternal();
+                        bounds.expandToInclude(envelope);
+                        if (++count <= MAX_FEATURES) {
+                            result.add(ReferencedEnvelope.create(envelope, crs));
+                        }
+                    }
+                }
+            }
+        }
+        if (count > MAX_FEATURES) {
+            return List.of(ReferencedEnvelope.create(bounds, crs));
         }
+        return result;
     }
 
     @SuppressWarnings("unchecked")
@@ -6,6 +6,8 @@
 package org.geoserver.gwc;
 
 import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -13,12 +15,14 @@
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -30,13 +34,24 @@
 import org.geoserver.wfs.TransactionEventType;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.ReferencedEnvelope3D;
 import org.geotools.referencing.CRS;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKTReader;
 
 public class GWCTransactionListenerTest {
 
@@ -50,6 +65,11 @@ public void setUp() throws Exception {
         listener = new GWCTransactionListener(mediator);
     }
 
+    @After
+    public void tearDown() throws Exception {
+        listener.destroy();
+    }
+
     @Test
     public void testNoInteractionsInUnusedMethods() {
 
@@ -154,8 +174,8 @@ public void testDataStoreChangeInsert() {
 
         assertNotNull(placeHolder.get("theLayer"));
 
-        assertSame(affectedBounds, placeHolder.get("theLayer").get(0));
-        assertSame(affectedBounds, placeHolder.get("theGroup").get(0));
+        assertEquals(affectedBounds, placeHolder.get("theLayer").get(0));
+        assertEquals(affectedBounds, placeHolder.get("theGroup").get(0));
     }
 
     @Test
@@ -205,8 +225,136 @@ public void testAfterTransaction() throws Exception {
         verify(mediator, times(1)).truncate(eq("theGroup"), eq(expectedEnv));
     }
 
+    @Test
+    public void testAfterTransactionDisjointRegions() throws Exception {
+        Map<Object, Object> extendedProperties = new HashMap<>();
+        ReferencedEnvelope affectedBounds1 = new ReferencedEnvelope(-180, -170, 0, 10, WGS84);
+        ReferencedEnvelope affectedBounds2 = new ReferencedEnvelope(170, 180, 0, 10, WGS84);
+        ReferencedEnvelope affectedBounds3 = new ReferencedEnvelope(165, 175, 5, 15, WGS84);
+
+        issueInsert(extendedProperties, affectedBounds1);
+        issueInsert(extendedProperties, affectedBounds2);
+        issueInsert(extendedProperties, affectedBounds3);
+
+        TransactionRequest request = mock(TransactionRequest.class);
+        TransactionResponse result = mock(TransactionResponse.class);
+        when(request.getExtendedProperties()).thenReturn(extendedProperties);
+
+        when(mediator.getDeclaredCrs(anyString())).thenReturn(WGS84);
+        listener.afterTransaction(request, result, true);
+
+        // far away regions are truncated separately, overlapping ones are merged
+        ReferencedEnvelope merged = new ReferencedEnvelope(affectedBounds2);
+        merged.expandToInclude(affectedBounds3);
+        verify(mediator, times(1)).truncate(eq("theLayer"), eq(affectedBounds1));
+        verify(mediator, times(1)).truncate(eq("theLayer"), eq(merged));
+        verify(mediator, times(1)).truncate(eq("theGroup"), eq(affectedBounds1));
+        verify(mediator, times(1)).truncate(eq("theGroup"), eq(merged));
+        assertEquals(4, listener.getTruncateCount());
+    }
+
+    @Test
+    public void testDataStoreChangeAllGeometries() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("lines", "geom:LineString:srid=4326,label:Point:srid=4326");
+        SimpleFeatureCollection features = new ListFeatureCollection(
+                type,
+                SimpleFeatureBuilder.build(
+                        type,
+                        new Object[] {
+                            new WKTReader().read("LINESTRING(0 0, 40 40)"), new WKTReader().read("POINT(50 60)")
+                        },
+                        "lines.1"));
+        Map<Object, Object> extendedProperties = new HashMap<>();
+        issueInsert(extendedProperties, features);
+
+        @SuppressWarnings("unchecked")
+        Map<String, List<ReferencedEnvelope>> placeHolder = (Map<String, List<ReferencedEnvelope>>)
+                extendedProperties.get(GWCTransactionListener.GWC_TRANSACTION_INFO_PLACEHOLDER);
+
+        // both geometries are considered, not only the default one
+        CoordinateReferenceSystem crs = type.getCoordinateReferenceSystem();
+        assertEquals(
+                List.of(new ReferencedEnvelope(0, 40, 0, 40, crs), new ReferencedEnvelope(50, 50, 60, 60, crs)),
+                placeHolder.get("theLayer"));
+    }
+
+    @Test
+    public void testDataStoreChangeManyFeatures() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("points", "geom:Point:srid=4326");
+        List<SimpleFeature> points = new ArrayList<>();
+        for (int i = 0; i <= GWCTransactionListener.MAX_FEATURES; i++) {
+            points.add(SimpleFeatureBuilder.build(
+                    type, new Object[] {new WKTReader().read("POINT(" + i + " " + i + ")")}, "points." + i));
+        }
+        Map<Object, Object> extendedProperties = new HashMap<>();
+        issueInsert(extendedProperties, new ListFeatureCollection(type, points));
+
+        @SuppressWarnings("unchecked")
+        Map<String, List<ReferencedEnvelope>> placeHolder = (Map<String, List<ReferencedEnvelope>>)
+                extendedProperties.get(GWCTransactionListener.GWC_TRANSACTION_INFO_PLACEHOLDER);
+
+        // too many features, the bounds of the whole collection are used
+        int max = GWCTransactionListener.MAX_FEATURES;
+        assertEquals(
+                List.of(new ReferencedEnvelope(0, max, 0, max, type.getCoordinateReferenceSystem())),
+                placeHolder.get("theLayer"));
+    }
+
+    @Test
+    public void testCoalesceDelay() throws Exception {
+        listener.setCoalesceDelay(100);
+        when(mediator.getDeclaredCrs(anyString())).thenReturn(WGS84);
+        ReferencedEnvelope affectedBounds1 = new ReferencedEnvelope(0, 10, 0, 10, WGS84);
+        ReferencedEnvelope affectedBounds2 = new ReferencedEnvelope(5, 15, 5, 15, WGS84);
+
+        // two separate transactions touching the same area
+        for (ReferencedEnvelope bounds : List.of(affectedBounds1, affectedBounds2)) {
+            Map<Object, Object> extendedProperties = new HashMap<>();
+            issueInsert(extendedProperties, bounds);
+            TransactionRequest request = mock(TransactionRequest.class);
+            when(request.getExtendedProperties()).thenReturn(extendedProperties);
+            listener.afterTransaction(request, mock(TransactionResponse.class), true);
+        }
+
+        ReferencedEnvelope expected = new ReferencedEnvelope(affectedBounds1);
+        expected.expandToInclude(affectedBounds2);
+        verify(mediator, timeout(5000).times(1)).truncate(eq("theLayer"), eq(expected));
+        verify(mediator, timeout(5000).times(1)).truncate(eq("theGroup"), eq(expected));
+        assertEquals(4, listener.getDirtyRegionCount());
+        assertEquals(2, listener.getTruncateCount());
+    }
+
+    @Test
+    public void testCoalesceTooManyRegions() {
+        List<ReferencedEnvelope> envelopes = new ArrayList<>();
+        for (int i = 0; i < GWCTransactionListener.MAX_REGIONS * 4; i++) {
+            envelopes.add(new ReferencedEnvelope(i * 2, i * 2 + 1, 0, 1, WGS84));
+        }
+        // the neighbouring regions are merged, still covering all of them
+        List<ReferencedEnvelope> coalesced = GWCTransactionListener.coalesce(envelopes);
+        assertEquals(GWCTransactionListener.MAX_REGIONS, coalesced.size());
+        for (ReferencedEnvelope envelope : envelopes) {
+            assertTrue(coalesced.stream().anyMatch(c -> c.contains((Envelope) envelope)));
+        }
+        assertEquals(new ReferencedEnvelope(0, 7, 0, 1, WGS84), coalesced.get(0));
+
+        coalesced = GWCTransactionListener.coalesce(envelopes.subList(0, 2));
+        assertEquals(2, coalesced.size());
+        assertFalse(coalesced.get(0).intersects((Envelope) coalesced.get(1)));
+    }
+
     /** Issues a fake dataStoreChange insert event that affects two tile layers: "theLayer" and "theGroup" */
     private void issueInsert(Map<Object, Object> extendedProperties, ReferencedEnvelope affectedBounds) {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("affected");
+        tb.add("geom", Polygon.class, affectedBounds.getCoordinateReferenceSystem());
+        SimpleFeatureType type = tb.buildFeatureType();
+        SimpleFeature feature = SimpleFeatureBuilder.build(type, new Object[] {JTS.toGeometry(affectedBounds)}, null);
+        issueInsert(extendedProperties, new ListFeatureCollection(type, feature));
+    }
+
+    /** Issues a fake dataStoreChange insert event that affects two tile layers: "theLayer" and "theGroup" */
+    private void issueInsert(Map<Object, Object> extendedProperties, SimpleFeatureCollection affectedFeatures) {
 
         TransactionType transaction = mock(TransactionType.class);
         when(transaction.getExtendedProperties()).thenReturn(extendedProperties);
@@ -226,8 +374,6 @@ private void issueInsert(Map<Object, Object> extendedProperties, ReferencedEnvel
         when(mediator.getTileLayersByFeatureType(eq(layerName.getNamespaceURI()), eq(layerName.getLocalPart())))
                 .thenReturn(ImmutableSet.of("theLayer", "theGroup"));
 
-        SimpleFeatureCollection affectedFeatures = mock(SimpleFeatureCollection.class);
-        when(affectedFeatures.getBounds()).thenReturn(affectedBounds);
         when(event.getAffectedFeatures()).thenReturn(affectedFeatures);
 
         listener.dataStoreChange(event);
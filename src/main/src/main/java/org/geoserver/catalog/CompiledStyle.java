@@ -0,0 +1,156 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+
+/**
+ * A parsed {@link Style} along with the information needed to use it repeatedly without re-analyzing it: the rules
+ * active at each scale band, and the signature of the style source it was parsed from.
+ *
+ * <p>The scale denominators of the rules split the scale axis in bands, inside each band the set of active rules does
+ * not change. The active rules are computed lazily, the first time a band is hit, and then reused by all the requests
+ * falling in the same band.
+ *
+ * <p>The compiled styles of catalog styles are managed by {@link ResourcePool#getCompiledStyle(StyleInfo)}, those of
+ * any other style (e.g., coming from a SLD request parameter or preprocessed for a specific request) can be obtained
+ * via {@link #of(Style)}, which keeps them around only as long as the style object itself.
+ *
+ * <p>The style is assumed not to be modified after compilation, as it's the case for styles shared in the
+ * {@link ResourcePool}.
+ */
+public class CompiledStyle {
+
+    /** Tolerance used to compare scale denominators, same as the renderer */
+    static final double TOLERANCE = 1e-6;
+
+    /** Compiled styles by style identity, weak on both sides so that they are dropped along with the style */
+    static final Cache<Style, CompiledStyle> COMPILED =
+            CacheBuilder.newBuilder().weakKeys().weakValues().build();
+
+    final Style style;
+
+    final String signature;
+
+    final List<FeatureTypeStyle> featureTypeStyles;
+
+    final Map<FeatureTypeStyle, Integer> featureTypeStyleIndexes = new IdentityHashMap<>();
+
+    /** The scale denominators where the set of active rules changes, sorted */
+    final double[] bounds;
+
+    final AtomicReferenceArray<ScaleBand> bands;
+
+    CompiledStyle(Style style, String signature) {
+        this.style = style;
+        this.signature = signature;
+        this.featureTypeStyles = List.copyOf(style.featureTypeStyles());
+        TreeSet<Double> bounds = new TreeSet<>();
+        for (int i = 0; i < featureTypeStyles.size(); i++) {
+            FeatureTypeStyle fts = featureTypeStyles.get(i);
+            featureTypeStyleIndexes.put(fts, i);
+            for (Rule rule : fts.rules()) {
+                bounds.add(rule.getMinScaleDenominator() - TOLERANCE);
+                bounds.add(rule.getMaxScaleDenominator() + TOLERANCE);
+            }
+        }
+        this.bounds = bounds.stream().mapToDouble(Double::doubleValue).toArray();
+        this.bands = new AtomicReferenceArray<>(this.bounds.length + 1);
+        COMPILED.put(style, this);
+    }
+
+    /** Returns the compiled version of the given style, compiling it if necessary */
+    public static CompiledStyle of(Style style) {
+        CompiledStyle compiled = COMPILED.getIfPresent(style);
+        if (compiled == null) {
+            // concurrent compilations of the same style are harmless, the last one wins
+            compiled = new CompiledStyle(style, null);
+        }
+        return compiled;
+    }
+
+    /** The compiled style */
+    public Style getStyle() {
+        return style;
+    }
+
+    /**
+     * The signature of the style source, a checksum of the style contents and of the configuration affecting its
+     * parsing, or null if the style did not come from the catalog
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * Returns the rules active at the given scale denominator, for all the feature type styles, in the order they are
+     * found in the style
+     */
+    public List<Rule> getActiveRules(double scaleDenominator) {
+        return getBand(scaleDenominator).rules();
+    }
+
+    /** Returns the rules of the given feature type style active at the given scale denominator */
+    public List<Rule> getActiveRules(FeatureTypeStyle fts, double scaleDenominator) {
+        Integer index = featureTypeStyleIndexes.get(fts);
+        if (index == null) {
+            // not part of this style
+            return getActiveRules(List.of(fts), scaleDenominator).get(0);
+        }
+        return getBand(scaleDenominator).rulesByFeatureTypeStyle().get(index);
+    }
+
+    private ScaleBand getBand(double scaleDenominator) {
+        if (Double.isNaN(scaleDenominator)) {
+            return buildBand(scaleDenominator);
+        }
+        int idx = Arrays.binarySearch(bounds, scaleDenominator);
+        // a band starts at its lower bound (included) and ends at the next one (excluded)
+        int band = idx >= 0 ? idx + 1 : -idx - 1;
+        ScaleBand result = bands.get(band);
+        if (result == null) {
+            result = buildBand(scaleDenominator);
+            bands.set(band, result);
+        }
+        return result;
+    }
+
+    private ScaleBand buildBand(double scaleDenominator) {
+        List<List<Rule>> byFts = getActiveRules(featureTypeStyles, scaleDenominator);
+        List<Rule> all = new ArrayList<>();
+        byFts.forEach(all::addAll);
+        return new ScaleBand(Collections.unmodifiableList(all), byFts);
+    }
+
+    private static List<List<Rule>> getActiveRules(List<FeatureTypeStyle> styles, double scaleDenominator) {
+        List<List<Rule>> result = new ArrayList<>();
+        for (FeatureTypeStyle fts : styles) {
+            List<Rule> rules = new ArrayList<>();
+            for (Rule r : fts.rules()) {
+                if (((r.getMinScaleDenominator() - TOLERANCE) <= scaleDenominator)
+                        && ((r.getMaxScaleDenominator() + TOLERANCE) > scaleDenominator)) {
+                    rules.add(r);
+                }
+            }
+            result.add(Collections.unmodifiableList(rules));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /** The rules active in a scale band, overall and split by feature type style */
+    record ScaleBand(List<Rule> rules, List<List<Rule>> rulesByFeatureTypeStyle) {}
+}
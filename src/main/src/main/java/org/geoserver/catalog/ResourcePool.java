@@ -22,11 +22,15 @@
 import java.io.Serializable;
 import java.lang.reflect.Proxy;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -169,6 +173,7 @@
  *   <li>{@link #hintCoverageReaderCache}
  *   <li>{@link #sldCache}
  *   <li>{@link #styleCache}
+ *   <li>{@link #compiledStyleCache}
  *
  * @author Justin Deoliveira, Boundless
  */
@@ -209,6 +214,7 @@ public class ResourcePool {
     Map<CoverageHintReaderKey, GridCoverageReader> hintCoverageReaderCache;
     Map<String, StyledLayerDescriptor> sldCache;
     Map<String, Style> styleCache;
+    Map<String, CompiledStyle> compiledStyleCache;
 
     List<Listener> listeners;
     ThreadPoolExecutor coverageExecutor;
@@ -252,6 +258,7 @@ protected ResourcePool() {
         wmtsCache = createWmtsCache();
         sldCache = createSldCache();
         styleCache = createStyleCache();
+        compiledStyleCache = createCompiledStyleCache();
 
         cacheKeys = CanonicalSet.newInstance(String.class);
         coverageCacheKeys = CanonicalSet.newInstance(CoverageHintReaderKey.class);
@@ -389,6 +396,21 @@ protected Map<String, Style> createStyleCache() {
         return new ConcurrentHashMap<>();
     }
 
+    /**
+     * Returns the cache for {@link CompiledStyle} objects for a particular style. Unlike the {@link #getStyleCache()
+     * style cache}, entries are not dropped when the style file changes on disk, but revalidated against the style
+     * signature the next time the style is requested.
+     *
+     * <p>The concrete Map implementation is determined by {@link #createCompiledStyleCache()}
+     */
+    public Map<String, CompiledStyle> getCompiledStyleCache() {
+        return compiledStyleCache;
+    }
+
+    protected Map<String, CompiledStyle> createCompiledStyleCache() {
+        return new ConcurrentHashMap<>();
+    }
+
     /**
      * Returns the cache for {@link WebMapServer} objects for a particular {@link WMSStoreInfo}.
      *
@@ -2112,12 +2134,41 @@ public Style getStyle(final StyleInfo info) throws IOException {
         String key = cacheKeys.unique(styleId);
         Style style = styleCache.get(key);
         if (style == null) {
-            synchronized (key) {
-                style = styleCache.get(key);
-                if (style == null) {
-                    style = createStyle(info);
-                    styleCache.put(key, style);
+            style = getCompiledStyle(info).getStyle();
+        }
+
+        return style;
+    }
 
+    /**
+     * Returns the {@link CompiledStyle} for a style resource, caching the result. The compiled style is dropped by
+     * {@link #clear(StyleInfo)}, that is, when the style is modified or removed in the catalog. When the style file
+     * changes on disk the compiled style is checked against the style signature instead, and parsed again only if
+     * the signature does not match anymore.
+     *
+     * @param info The style metadata.
+     * @throws IOException Any parsing errors.
+     */
+    public CompiledStyle getCompiledStyle(final StyleInfo info) throws IOException {
+        String styleId = info.getId();
+        if (styleId == null) return new CompiledStyle(createStyle(info), null);
+        String key = cacheKeys.unique(styleId);
+        CompiledStyle compiled = compiledStyleCache.get(key);
+        // the compiled style is valid as long as its style has not been evicted from the style cache
+        if (compiled != null && styleCache.get(key) == compiled.getStyle()) {
+            return compiled;
+        }
+        synchronized (key) {
+            compiled = compiledStyleCache.get(key);
+            Style style = styleCache.get(key);
+            if (compiled == null || style != compiled.getStyle()) {
+                String signature = getStyleSignature(info);
+                if (compiled == null || !signature.equals(compiled.getSignature())) {
+                    compiled = new CompiledStyle(createStyle(info), signature);
+                    compiledStyleCache.put(key, compiled);
+                }
+                styleCache.put(key, compiled.getStyle());
+                if (style == null) {
                     final Resource styleResource = dataDir().style(info);
                     styleResource.addListener(new ResourceListener() {
                         @Override
@@ -2130,7 +2181,27 @@ public void changed(ResourceNotification notify) {
             }
         }
 
-        return style;
+        return compiled;
+    }
+
+    /**
+     * Computes a checksum of the style file contents, and of the configuration used to parse it, that is, the style
+     * name, format and format version
+     */
+    private String getStyleSignature(StyleInfo info) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(String.valueOf(info.prefixedName()).getBytes(StandardCharsets.UTF_8));
+            digest.update(String.valueOf(info.getFormat()).getBytes(StandardCharsets.UTF_8));
+            digest.update(String.valueOf(info.getFormatVersion()).getBytes(StandardCharsets.UTF_8));
+            Resource styleResource = dataDir().style(info);
+            if (styleResource.getType() == Resource.Type.RESOURCE) {
+                digest.update(styleResource.getContents());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
     }
 
     private Style createStyle(StyleInfo info) throws IOException {
@@ -2144,7 +2215,7 @@ private Style createStyle(StyleInfo info) throws IOException {
     }
 
     /**
-     * Clears a style resource from the cache.
+     * Clears a style resource from the cache, including its compiled version.
      *
      * @param info The style metadata.
      */
@@ -2153,6 +2224,7 @@ public void clear(StyleInfo info) {
         if (id != null) {
             styleCache.remove(id);
             sldCache.remove(id);
+            compiledStyleCache.remove(id);
         }
     }
 
@@ -2294,6 +2366,7 @@ public void dispose() {
         wmtsCache.clear();
         sldCache.clear();
         styleCache.clear();
+        compiledStyleCache.clear();
         listeners.clear();
 
         cacheKeys.clear();
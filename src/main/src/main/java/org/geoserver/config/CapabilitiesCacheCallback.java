@@ -0,0 +1,318 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geotools.util.logging.Logging;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the encoded GetCapabilities documents, so that repeated requests do not have to walk the catalog and encode
+ * the full document again. Documents are keyed by request parameters, the headers influencing the generated URLs, the
+ * user and its roles (the security view), and the global update sequence, which is incremented on every catalog and
+ * configuration change, making entries built against an older configuration unreachable. The cache also sets an
+ * {@code ETag} header on the response, and answers with a 304 when the client already has the current document.
+ *
+ * <p>Some contents of the capabilities documents, such as dimension domains or access rules, can change without the
+ * update sequence being incremented, for this reason the cache is disabled by default and entries expire after a
+ * configurable time. The behavior is controlled by the following system, environment or servlet context variables:
+ *
+ * <ul>
+ *   <li>{@code CAPABILITIES_CACHE_ENABLED}: enables the cache, defaults to false
+ *   <li>{@code CAPABILITIES_CACHE_MAX_SIZE}: maximum size of the cache, in bytes, defaults to 64MB
+ *   <li>{@code CAPABILITIES_CACHE_TTL}: time to live of entries, in seconds, defaults to 300
+ * </ul>
+ */
+public class CapabilitiesCacheCallback extends AbstractDispatcherCallback {
+
+    static final Logger LOGGER = Logging.getLogger(CapabilitiesCacheCallback.class);
+
+    static final String ENABLED_KEY = "CAPABILITIES_CACHE_ENABLED";
+
+    static final String MAX_SIZE_KEY = "CAPABILITIES_CACHE_MAX_SIZE";
+
+    static final String TTL_KEY = "CAPABILITIES_CACHE_TTL";
+
+    static final long DEFAULT_MAX_SIZE = 64 * 1024 * 1024;
+
+    static final long DEFAULT_TTL = 300;
+
+    /** Headers that can alter the contents of the capabilities document (e.g., the proxy base URL) */
+    static final List<String> KEY_HEADERS = List.of(
+            HttpHeaders.HOST,
+            HttpHeaders.ACCEPT_LANGUAGE,
+            HttpHeaders.FORWARDED,
+            "X-Forwarded-Host",
+            "X-Forwarded-Proto",
+            "X-Forwarded-Path",
+            "X-Forwarded-Port");
+
+    GeoServer gs;
+
+    boolean enabled;
+
+    Cache<String, CachedCapabilities> cache;
+
+    volatile long lastUpdateSequence = -1;
+
+    public CapabilitiesCacheCallback(GeoServer gs) {
+        this.gs = gs;
+        this.enabled = Boolean.parseBoolean(GeoServerExtensions.getProperty(ENABLED_KEY));
+        long maxSize = getLongProperty(MAX_SIZE_KEY, DEFAULT_MAX_SIZE);
+        long ttl = getLongProperty(TTL_KEY, DEFAULT_TTL);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize)
+                .<String, CachedCapabilities>weigher((k, v) -> k.length() + v.contents.length)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .build();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Capabilities cache enabled: " + enabled + ", max size " + maxSize + ", time to live " + ttl);
+        }
+    }
+
+    private static long getLongProperty(String key, long defaultValue) {
+        String value = GeoServerExtensions.getProperty(key);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public Response responseDispatched(Request request, Operation operation, Object result, Response response) {
+        if (isCacheable(request)) {
+            return new CachingResponse(response, request, buildKey(request));
+        }
+
+        return response;
+    }
+
+    /** Only GET capabilities requests can be cached, as the key is built out of the KVP parameters */
+    private boolean isCacheable(Request request) {
+        return enabled
+                && "GetCapabilities".equalsIgnoreCase(request.getRequest())
+                && request.isGet()
+                && !request.isSOAP()
+                && request.getHttpRequest() != null;
+    }
+
+    String buildKey(Request request) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(gs.getGlobal().getUpdateSequence()).append('\n');
+        HttpServletRequest http = request.getHttpRequest();
+        sb.append(http.getRequestURL()).append('\n');
+
+        // parameters, in a predictable order
+        Map<String, Object> rawKvp = request.getRawKvp();
+        if (rawKvp != null) {
+            Map<String, Object> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            sorted.putAll(rawKvp);
+            // repeated parameters with distinct values are kept as arrays
+            sorted.forEach((k, v) -> sb.append(k.toUpperCase())
+                    .append('=')
+                    .append(v instanceof Object[] values ? Arrays.toString(values) : v)
+                    .append('&'));
+        }
+        sb.append('\n');
+        for (String header : KEY_HEADERS) {
+            String value = http.getHeader(header);
+            if (value != null) {
+                sb.append(header).append(':').append(value).append('\n');
+            }
+        }
+
+        // the security view
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null) {
+            sb.append(auth.getName());
+            TreeSet<String> roles = new TreeSet<>();
+            for (GrantedAuthority authority : auth.getAuthorities()) {
+                roles.add(authority.getAuthority());
+            }
+            sb.append(roles);
+        }
+
+        return sb.toString();
+    }
+
+    /** Returns the cached capabilities for the given key, if any, built against the current configuration */
+    CachedCapabilities getCached(String key) {
+        long updateSequence = gs.getGlobal().getUpdateSequence();
+        if (updateSequence != lastUpdateSequence) {
+            // configuration changed, all entries are stale
+            cache.invalidateAll();
+            lastUpdateSequence = updateSequence;
+            return null;
+        }
+
+        return cache.getIfPresent(key);
+    }
+
+    /** Returns true if the cache is enabled */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Enables/disables the cache */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            cache.invalidateAll();
+        }
+    }
+
+    /** Empties the cache */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /** Returns the number of cached documents */
+    public long size() {
+        return cache.size();
+    }
+
+    /** A cached capabilities document, along with its ETag */
+    static class CachedCapabilities {
+
+        final byte[] contents;
+
+        final String etag;
+
+        CachedCapabilities(byte[] contents) {
+            this.contents = contents;
+            this.etag = buildETag(contents);
+        }
+
+        private static String buildETag(byte[] contents) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-1");
+                return "\"" + HexFormat.of().formatHex(digest.digest(contents)) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                return "\"" + Integer.toHexString(Arrays.hashCode(contents)) + "-" + contents.length + "\"";
+            }
+        }
+    }
+
+    /**
+     * A Response wrapper serving the capabilities from the cache. On a miss the document is encoded as the headers are
+     * requested, since the ETag is needed before the body is written out.
+     */
+    private class CachingResponse extends Response {
+
+        Response delegate;
+
+        Request request;
+
+        String key;
+
+        CachedCapabilities cached;
+
+        public CachingResponse(Response delegate, Request request, String key) {
+            super(delegate.getBinding());
+            this.delegate = delegate;
+            this.request = request;
+            this.key = key;
+        }
+
+        @Override
+        public boolean canHandle(Operation operation) {
+            return delegate.canHandle(operation);
+        }
+
+        @Override
+        public String getMimeType(Object value, Operation operation) throws ServiceException {
+            return delegate.getMimeType(value, operation);
+        }
+
+        @Override
+        public String[][] getHeaders(Object value, Operation operation) throws ServiceException {
+            String[][] headers = delegate.getHeaders(value, operation);
+            CachedCapabilities capabilities = getCapabilities(value, operation);
+            List<String[]> result = new ArrayList<>();
+            if (headers != null) {
+                result.addAll(Arrays.asList(headers));
+            }
+            result.add(new String[] {HttpHeaders.ETAG, capabilities.etag});
+            return result.toArray(new String[result.size()][]);
+        }
+
+        private CachedCapabilities getCapabilities(Object value, Operation operation) throws ServiceException {
+            if (cached == null) {
+                cached = getCached(key);
+                if (cached == null) {
+                    try {
+                        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                        delegate.write(value, bos, operation);
+                        cached = new CachedCapabilities(bos.toByteArray());
+                        cache.put(key, cached);
+                    } catch (IOException e) {
+                        throw new ServiceException("Failed to encode the capabilities document", e);
+                    }
+                } else if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("Serving capabilities from cache for " + key);
+                }
+            }
+            return cached;
+        }
+
+        @Override
+        public void write(Object value, OutputStream output, Operation operation) throws IOException, ServiceException {
+            CachedCapabilities capabilities = getCapabilities(value, operation);
+            String ifNoneMatch = request.getHttpRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+            HttpServletResponse httpResponse = request.getHttpResponse();
+            if (ifNoneMatch != null && httpResponse != null && ifNoneMatch.contains(capabilities.etag)) {
+                httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            output.write(capabilities.contents);
+        }
+
+        @Override
+        public String getPreferredDisposition(Object value, Operation operation) {
+            return delegate.getPreferredDisposition(value, operation);
+        }
+
+        @Override
+        public String getAttachmentFileName(Object value, Operation operation) {
+            return delegate.getAttachmentFileName(value, operation);
+        }
+
+        @Override
+        public String getCharset(Operation operation) {
+            return delegate.getCharset(operation);
+        }
+    }
+}
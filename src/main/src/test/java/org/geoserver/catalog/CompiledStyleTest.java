@@ -0,0 +1,49 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.util.List;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+
+public class CompiledStyleTest {
+
+    @Test
+    public void testActiveRules() {
+        StyleBuilder sb = new StyleBuilder();
+        Rule small = sb.createRule(sb.createPolygonSymbolizer(Color.RED));
+        small.setMaxScaleDenominator(1000);
+        Rule large = sb.createRule(sb.createPolygonSymbolizer(Color.BLUE));
+        large.setMinScaleDenominator(1000);
+        Rule all = sb.createRule(sb.createLineSymbolizer(Color.BLACK));
+        FeatureTypeStyle areas = sb.createFeatureTypeStyle("Feature", new Rule[] {small, large});
+        FeatureTypeStyle lines = sb.createFeatureTypeStyle("Feature", all);
+        Style style = sb.createStyle();
+        style.featureTypeStyles().add(areas);
+        style.featureTypeStyles().add(lines);
+
+        CompiledStyle compiled = CompiledStyle.of(style);
+        assertSame(compiled, CompiledStyle.of(style));
+        assertNull(compiled.getSignature());
+
+        assertEquals(List.of(small, all), compiled.getActiveRules(500));
+        assertEquals(List.of(large, all), compiled.getActiveRules(1000));
+        assertEquals(List.of(small), compiled.getActiveRules(areas, 999));
+        assertEquals(List.of(all), compiled.getActiveRules(lines, 999));
+
+        // same scale band, same rules
+        List<Rule> rules = compiled.getActiveRules(2000);
+        assertEquals(List.of(large, all), rules);
+        assertSame(rules, compiled.getActiveRules(1e9));
+    }
+}
@@ -41,6 +41,7 @@
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +73,7 @@
 import org.geoserver.data.test.TestData;
 import org.geoserver.platform.GeoServerEnvironment;
 import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.resource.Resource;
 import org.geoserver.test.GeoServerSystemTestSupport;
 import org.geoserver.test.PostGISTestResource;
 import org.geoserver.test.RunTestSetup;
@@ -1206,6 +1208,54 @@ public void testConcurrencyOnStyleCache() throws Exception {
         }
     }
 
+    @Test
+    public void testCompiledStyleRevalidation() throws Exception {
+        ResourcePool pool = ResourcePool.create(getCatalog());
+        StyleInfo info = getCatalog().getStyleByName(HUMANS);
+        Resource styleResource = pool.dataDir().style(info);
+        byte[] contents = styleResource.getContents();
+        try {
+            CompiledStyle compiled = pool.getCompiledStyle(info);
+            assertSame(compiled.getStyle(), pool.getStyle(info));
+            assertSame(compiled, pool.getCompiledStyle(info));
+
+            // dropped from the style cache by a style file notification, but the contents did not change
+            pool.getStyleCache().remove(info.getId());
+            assertSame(compiled, pool.getCompiledStyle(info));
+            assertSame(compiled.getStyle(), pool.getStyle(info));
+
+            // contents changed, needs to be parsed again
+            byte[] modifiedContents = Arrays.copyOf(contents, contents.length + 1);
+            modifiedContents[contents.length] = '\n';
+            styleResource.setContents(modifiedContents);
+            pool.getStyleCache().remove(info.getId());
+            CompiledStyle modified = pool.getCompiledStyle(info);
+            assertNotSame(compiled, modified);
+            assertNotEquals(compiled.getSignature(), modified.getSignature());
+
+            // an explicit clear drops the compiled style regardless of the signature
+            pool.clear(info);
+            assertNull(pool.getCompiledStyleCache().get(info.getId()));
+            assertNotSame(modified, pool.getCompiledStyle(info));
+        } finally {
+            styleResource.setContents(contents);
+            pool.dispose();
+        }
+    }
+
+    @Test
+    public void testCompiledStyleClearedOnModify() throws Exception {
+        Catalog catalog = getCatalog();
+        ResourcePool pool = catalog.getResourcePool();
+        StyleInfo info = catalog.getStyleByName(HUMANS);
+        pool.getCompiledStyle(info);
+        assertNotNull(pool.getCompiledStyleCache().get(info.getId()));
+
+        // saving the style drops the compiled one, even if the signature did not change
+        catalog.save(catalog.getStyle(info.getId()));
+        assertNull(pool.getCompiledStyleCache().get(info.getId()));
+    }
+
     @Test
     public void testConcurrencyOnSLDCache() throws Exception {
         ResourcePool pool = null;
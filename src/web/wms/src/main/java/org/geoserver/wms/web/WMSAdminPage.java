@@ -541,6 +541,9 @@ public void onClick(AjaxRequestTarget target) {
             TextField<Integer> pngCompressionField = new TextField<>("png.compression", pngCompression, Integer.class);
             pngCompressionField.add(new RangeValidator<>(0, 100));
             add(pngCompressionField);
+            add(new CheckBox(
+                    "png.parallelEncoding",
+                    defaultedModel(metadataModel, WMS.PNG_PARALLEL_ENCODING, WMS.PNG_PARALLEL_ENCODING_DEFAULT)));
             // jpeg compression levels
             MapModel<Integer> jpegCompression =
                     defaultedModel(metadataModel, WMS.JPEG_COMPRESSION, WMS.JPEG_COMPRESSION_DEFAULT);
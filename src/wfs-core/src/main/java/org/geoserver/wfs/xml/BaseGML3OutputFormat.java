@@ -74,6 +74,9 @@ public abstract class BaseGML3OutputFormat extends WFSGetFeatureOutputFormat imp
     Catalog catalog;
     protected static DOMSource xslt;
 
+    /** Whether simple features are encoded with the streaming encoder delegates, or with the generic XSD encoder */
+    boolean optimizedEncoding = OPTIMIZED_ENCODING;
+
     static {
         DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
         docFactory.setNamespaceAware(true);
@@ -106,6 +109,19 @@ public String getCapabilitiesElementName() {
         return "GML3";
     }
 
+    /**
+     * Returns true if simple features are encoded with the optimized streaming encoder, false if the generic XSD
+     * encoder is used instead. Defaults to the value of the {@code GML_OPTIMIZED_ENCODING} system property.
+     */
+    public boolean isOptimizedEncoding() {
+        return optimizedEncoding;
+    }
+
+    /** Enables/disables the optimized streaming encoder for simple features */
+    public void setOptimizedEncoding(boolean optimizedEncoding) {
+        this.optimizedEncoding = optimizedEncoding;
+    }
+
     @Override
     protected void write(FeatureCollectionResponse results, OutputStream output, Operation getFeature)
             throws ServiceException, IOException, UnsupportedEncodingException {
@@ -190,7 +206,7 @@ protected void write(FeatureCollectionResponse results, OutputStream output, Ope
             config.getProperties().remove(GMLConfiguration.NO_SRS_DIMENSION);
         }
 
-        if (OPTIMIZED_ENCODING) {
+        if (optimizedEncoding) {
             config.getProperties().add(GMLConfiguration.OPTIMIZED_ENCODING);
         } else {
             config.getProperties().remove(GMLConfiguration.OPTIMIZED_ENCODING);
@@ -9,6 +9,8 @@
 import static org.custommonkey.xmlunit.XMLAssert.assertXpathExists;
 import static org.custommonkey.xmlunit.XMLAssert.assertXpathNotExists;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -24,6 +26,7 @@
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.config.CapabilitiesCacheCallback;
 import org.geoserver.config.CapabilitiesCacheHeadersCallback;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.ResourceErrorHandling;
@@ -388,6 +391,74 @@ public void testCachingHeadersDisabled() throws Exception {
         }
     }
 
+    @Test
+    public void testCapabilitiesCache() throws Exception {
+        CapabilitiesCacheCallback callback = GeoServerExtensions.bean(CapabilitiesCacheCallback.class);
+        FeatureTypeInfo ft = getCatalog().getFeatureTypeByName(getLayerId(CiteTestData.PRIMITIVEGEOFEATURE));
+        String title = ft.getTitle();
+        try {
+            callback.setEnabled(true);
+            String path = "wfs?service=WFS&version=1.0.0&request=getCapabilities";
+
+            // first request, get the etag
+            MockHttpServletResponse response = dispatch(createGetRequestWithHeaders(path));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            assertNotNull(etag);
+            String contents = response.getContentAsString();
+
+            // second request, served from the cache, same contents
+            response = dispatch(createGetRequestWithHeaders(path));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+            assertEquals(contents, response.getContentAsString());
+
+            // conditional request, not modified
+            response = dispatch(createGetRequestWithHeaders(path, HttpHeaders.IF_NONE_MATCH, etag));
+            assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+            assertEquals("", response.getContentAsString());
+
+            // a catalog change makes the cached document stale
+            ft.setTitle("Cached capabilities test");
+            getCatalog().save(ft);
+            response = dispatch(createGetRequestWithHeaders(path, HttpHeaders.IF_NONE_MATCH, etag));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+            assertTrue(response.getContentAsString().contains("Cached capabilities test"));
+        } finally {
+            callback.setEnabled(false);
+            ft.setTitle(title);
+            getCatalog().save(ft);
+        }
+    }
+
+    @Test
+    public void testCapabilitiesCacheRepeatedParameters() throws Exception {
+        CapabilitiesCacheCallback callback = GeoServerExtensions.bean(CapabilitiesCacheCallback.class);
+        try {
+            callback.setEnabled(true);
+            callback.clear();
+            // the repeated parameter is kept as an array, make sure it's part of the key by value
+            String path = "wfs?service=WFS&version=1.0.0&request=getCapabilities&test=a&test=b";
+            MockHttpServletResponse response = dispatch(createGetRequestWithHeaders(path));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            assertEquals(1, callback.size());
+
+            // served from the cache, no new entry
+            response = dispatch(createGetRequestWithHeaders(path));
+            assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+            assertEquals(1, callback.size());
+
+            // different values, different entry
+            response = dispatch(createGetRequestWithHeaders(path.replace("test=b", "test=c")));
+            assertEquals(HttpStatus.OK.value(), response.getStatus());
+            assertEquals(2, callback.size());
+        } finally {
+            callback.setEnabled(false);
+        }
+    }
+
     MockHttpServletRequest createGetRequestWithHeaders(String path, String... headers) {
         MockHttpServletRequest request = createRequest(path);
         request.setMethod("GET");
@@ -0,0 +1,91 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.v2_0;
+
+import jakarta.servlet.ServletResponse;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.geoserver.wfs.xml.GML32OutputFormat;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Compares the throughput of the optimized, streaming GML 3.2 encoder for simple features, with the generic XSD
+ * encoder. Not a real test, integrating JMH with JUnit just provides an easy way to run the benchmark from the IDE.
+ */
+@Ignore
+public class GML32EncodingBenchmarkTest {
+
+    static final String REQUEST =
+            "wfs?request=GetFeature&typenames=cite:Lakes,cite:Streams,sf:PrimitiveGeoFeature&version=2.0.0&service=wfs";
+
+    @Test
+    public void runBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(GML32EncodingBenchmark.class.getSimpleName() + ".*")
+                .result("./target/gml32-benchmark-results.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static class GeoServerBenchmarkSupport extends GeoServerSystemTestSupport {
+
+        @Override
+        public MockHttpServletResponse getAsServletResponse(String path) throws Exception {
+            return super.getAsServletResponse(path);
+        }
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Threads(4)
+    @Warmup(iterations = 2, time = 1)
+    @Measurement(time = 1)
+    public static class GML32EncodingBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class EncodingState {
+
+            @Param({"true", "false"})
+            boolean optimized;
+
+            GeoServerBenchmarkSupport support = new GeoServerBenchmarkSupport();
+
+            @Setup
+            public void setup() throws Exception {
+                support.doSetup();
+                GeoServerExtensions.bean(GML32OutputFormat.class).setOptimizedEncoding(optimized);
+            }
+
+            @TearDown
+            public void tearDown() throws Exception {
+                GeoServerSystemTestSupport.doTearDownClass();
+            }
+        }
+
+        @Benchmark
+        public ServletResponse encode(EncodingState state) throws Exception {
+            return state.support.getAsServletResponse(REQUEST);
+        }
+    }
+}
@@ -46,6 +46,7 @@
 import org.geoserver.wfs.StoredQuery;
 import org.geoserver.wfs.WFSException;
 import org.geoserver.wfs.WFSInfo;
+import org.geoserver.wfs.xml.GML32OutputFormat;
 import org.geotools.filter.v2_0.FES;
 import org.geotools.gml3.v3_2.GML;
 import org.geotools.wfs.v2_0.WFS;
@@ -88,6 +89,37 @@ public void testGML32OutputFormatWithV200() throws Exception {
         testGetFifteenAll("wfs?request=getfeature&typename=cdf:Fifteen&version=2.0.0&service=wfs&outputFormat=gml32");
     }
 
+    @Test
+    public void testOptimizedAndGenericEncoding() throws Exception {
+        GML32OutputFormat format = applicationContext.getBean(GML32OutputFormat.class);
+        String path = "wfs?request=GetFeature&typenames=sf:PrimitiveGeoFeature&version=2.0.0&service=wfs";
+        assertTrue(format.isOptimizedEncoding());
+        Document optimized = getAsDOM(path);
+        try {
+            format.setOptimizedEncoding(false);
+            Document generic = getAsDOM(path);
+
+            // same features, same identifiers, same geometries
+            XpathEngine xpath = XMLUnit.newXpathEngine();
+            String count = xpath.evaluate("count(//sf:PrimitiveGeoFeature)", optimized);
+            assertEquals("5", count);
+            assertEquals(count, xpath.evaluate("count(//sf:PrimitiveGeoFeature)", generic));
+            for (int i = 1; i <= 5; i++) {
+                String feature = "(//sf:PrimitiveGeoFeature)[" + i + "]";
+                assertXpathExists(feature, optimized);
+                assertXpathExists(feature, generic);
+                assertEquals(
+                        xpath.evaluate(feature + "/@gml:id", optimized),
+                        xpath.evaluate(feature + "/@gml:id", generic));
+                assertEquals(
+                        xpath.evaluate("normalize-space(" + feature + "//gml:pos)", optimized),
+                        xpath.evaluate("normalize-space(" + feature + "//gml:pos)", generic));
+            }
+        } finally {
+            format.setOptimizedEncoding(true);
+        }
+    }
+
     @Test
     public void testSkipNumberMatched() throws Exception {
         FeatureTypeInfo fti = this.getCatalog().getFeatureTypeByName("Fifteen");
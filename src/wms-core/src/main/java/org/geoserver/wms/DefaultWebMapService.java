@@ -319,9 +319,12 @@ public static void autoSetBoundsAndSize(GetMapRequest getMap) {
         new GetMapDefaults().autoSetBoundsAndSize(getMap);
     }
 
-    /** Returns a app wide cached rendering pool that can be used for parallelized rendering */
+    /**
+     * Returns a app wide cached rendering pool that can be used for parallelized rendering, or null if the pool is
+     * disabled (or the service has not been initialized yet)
+     */
     public static ExecutorService getRenderingPool() {
-        if (USE_GLOBAL_RENDERING_POOL && RENDERING_POOL == null) {
+        if (Boolean.TRUE.equals(USE_GLOBAL_RENDERING_POOL) && RENDERING_POOL == null) {
             synchronized (DefaultWebMapService.class) {
                 if (RENDERING_POOL == null) {
                     RENDERING_POOL = new ThreadLocalTransferExecutor();
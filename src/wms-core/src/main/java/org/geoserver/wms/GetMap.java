@@ -17,6 +17,7 @@
 import java.util.TimeZone;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.geoserver.catalog.CompiledStyle;
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.WMSLayerInfo;
@@ -38,7 +39,6 @@
 import org.geotools.api.parameter.GeneralParameterValue;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.api.style.FeatureTypeConstraint;
-import org.geotools.api.style.FeatureTypeStyle;
 import org.geotools.api.style.Rule;
 import org.geotools.api.style.Style;
 import org.geotools.coverage.grid.io.GridCoverage2DReader;
@@ -645,15 +645,9 @@ public static void setupRenderingBuffer(WMSMapContent map, List<MapLayerInfo> la
 
     /** Computes the rendering buffer for this layer */
     static int computeLayerBuffer(Style style, double scaleDenominator) {
-        final double TOLERANCE = 1e-6;
         MetaBufferEstimator estimator = new MetaBufferEstimator();
-        for (FeatureTypeStyle fts : style.featureTypeStyles()) {
-            for (Rule rule : fts.rules()) {
-                if (((rule.getMinScaleDenominator() - TOLERANCE) <= scaleDenominator)
-                        && ((rule.getMaxScaleDenominator() + TOLERANCE) > scaleDenominator)) {
-                    estimator.visit(rule);
-                }
-            }
+        for (Rule rule : CompiledStyle.of(style).getActiveRules(scaleDenominator)) {
+            estimator.visit(rule);
         }
 
         // we get any estimate, it's better than nothing...
@@ -26,6 +26,7 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -63,9 +64,11 @@
 import org.geoserver.wms.capabilities.DimensionHelper;
 import org.geoserver.wms.dimension.DimensionDefaultValueSelectionStrategy;
 import org.geoserver.wms.dimension.DimensionDefaultValueSelectionStrategyFactory;
+import org.geoserver.wms.dimension.DimensionDomainCache;
 import org.geoserver.wms.featureinfo.GetFeatureInfoOutputFormat;
 import org.geoserver.wms.map.RenderedImageMapOutputFormat;
 import org.geoserver.wms.map.RenderedImageMapResponse;
+import org.geoserver.wms.map.png.ParallelPNGWriter;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
 import org.geotools.api.feature.Feature;
@@ -136,6 +139,11 @@ public class WMS implements ApplicationContextAware {
 
     public static final int PNG_COMPRESSION_DEFAULT = 25;
 
+    /** Enables the parallel encoding of large PNG maps, see {@link ParallelPNGWriter} */
+    public static final String PNG_PARALLEL_ENCODING = "pngParallelEncoding";
+
+    public static final Boolean PNG_PARALLEL_ENCODING_DEFAULT = Boolean.FALSE;
+
     public static final String SCALEHINT_MAPUNITS_PIXEL = "scalehintMapunitsPixel";
 
     public static final Boolean SCALEHINT_MAPUNITS_PIXEL_DEFAULT = Boolean.FALSE;
@@ -251,6 +259,8 @@ public class WMS implements ApplicationContextAware {
 
     private DimensionDefaultValueSelectionStrategyFactory defaultDimensionValueFactory;
 
+    private DimensionDomainCache dimensionDomainCache;
+
     public WMS(GeoServer geoserver) {
         this.geoserver = geoserver;
     }
@@ -614,6 +624,11 @@ public int getPngCompression() {
         return getMetadataPercentage(serviceInfo.getMetadata(), PNG_COMPRESSION, PNG_COMPRESSION_DEFAULT);
     }
 
+    /** Returns true if large PNG maps should be filtered and compressed in parallel */
+    public boolean isPNGParallelEncodingEnabled() {
+        return getMetadataValue(PNG_PARALLEL_ENCODING, PNG_PARALLEL_ENCODING_DEFAULT, Boolean.class);
+    }
+
     public int getJpegCompression() {
         WMSInfo serviceInfo = getServiceInfo();
         return getMetadataPercentage(serviceInfo.getMetadata(), JPEG_COMPRESSION, JPEG_COMPRESSION_DEFAULT);
@@ -842,6 +857,9 @@ public void setApplicationContext(final ApplicationContext applicationContext) t
                         DimensionDefaultValueSelectionStrategyFactory.class)
                 .get(0);
 
+        // the dimension domain cache, if available
+        dimensionDomainCache = GeoServerExtensions.bean(DimensionDomainCache.class, applicationContext);
+
         // enable/disable map wrapping
         if (ENABLE_MAP_WRAPPING == null) {
             String wrapping = GeoServerExtensions.getProperty("ENABLE_MAP_WRAPPING", applicationContext);
@@ -1301,6 +1319,10 @@ public TreeSet<Date> getFeatureTypeTimes(FeatureTypeInfo typeInfo) throws IOExce
             throw new ServiceException("Layer " + typeInfo.prefixedName() + " does not have time support enabled");
         }
 
+        return getCachedDomain(typeInfo, ResourceInfo.TIME, time, () -> computeFeatureTypeTimes(typeInfo, time));
+    }
+
+    private TreeSet<Date> computeFeatureTypeTimes(FeatureTypeInfo typeInfo, DimensionInfo time) throws IOException {
         FeatureCollection collection = getDimensionCollection(typeInfo, time);
 
         TreeSet<Date> result = new TreeSet<>();
@@ -1379,6 +1401,12 @@ public TreeSet<Double> getFeatureTypeElevations(FeatureTypeInfo typeInfo) throws
             throw new ServiceException("Layer " + typeInfo.prefixedName() + " does not have elevation support enabled");
         }
 
+        return getCachedDomain(
+                typeInfo, ResourceInfo.ELEVATION, elevation, () -> computeFeatureTypeElevations(typeInfo, elevation));
+    }
+
+    private TreeSet<Double> computeFeatureTypeElevations(FeatureTypeInfo typeInfo, DimensionInfo elevation)
+            throws IOException {
         FeatureCollection collection = getDimensionCollection(typeInfo, elevation);
 
         TreeSet<Double> result = new TreeSet<>();
@@ -1544,6 +1572,22 @@ FeatureCollection getDimensionCollection(FeatureTypeInfo typeInfo, DimensionInfo
         return source.getFeatures(dimQuery);
     }
 
+    /** Returns the dimension domain from the {@link DimensionDomainCache}, if available, or computes it otherwise */
+    private <T> TreeSet<T> getCachedDomain(
+            FeatureTypeInfo typeInfo, String dimensionName, DimensionInfo dimension, Callable<TreeSet<T>> loader)
+            throws IOException {
+        if (dimensionDomainCache != null) {
+            return dimensionDomainCache.getDomain(typeInfo, dimensionName, dimension, loader);
+        }
+        try {
+            return loader.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServiceException(e);
+        }
+    }
+
     /** Returns the feature source for the given feature type */
     FeatureSource getFeatureSource(FeatureTypeInfo typeInfo) {
         // grab the feature source
@@ -1946,7 +1990,8 @@ public static boolean isWmsExposable(LayerInfo lyr) {
     }
 
     /**
-     * Returns available values for a custom dimension.
+     * Returns available values for a custom dimension. The values are not cached, see
+     * {@link #getDimensionValues(FeatureTypeInfo, String, DimensionInfo)}.
      *
      * @param typeInfo feature type info that holds the custom dimension.
      * @param dimensionInfo Custom dimension name.
@@ -1954,6 +1999,25 @@ public static boolean isWmsExposable(LayerInfo lyr) {
      */
     public TreeSet<Object> getDimensionValues(FeatureTypeInfo typeInfo, DimensionInfo dimensionInfo)
             throws IOException {
+        return computeDimensionValues(typeInfo, dimensionInfo);
+    }
+
+    /**
+     * Returns available values for a custom dimension, from the {@link DimensionDomainCache} if available.
+     *
+     * @param typeInfo feature type info that holds the custom dimension.
+     * @param dimensionName the custom dimension metadata key, including the {@link #DIM_} prefix.
+     * @param dimensionInfo the custom dimension.
+     * @return values list.
+     */
+    public TreeSet<Object> getDimensionValues(
+            FeatureTypeInfo typeInfo, String dimensionName, DimensionInfo dimensionInfo) throws IOException {
+        return getCachedDomain(
+                typeInfo, dimensionName, dimensionInfo, () -> computeDimensionValues(typeInfo, dimensionInfo));
+    }
+
+    private TreeSet<Object> computeDimensionValues(FeatureTypeInfo typeInfo, DimensionInfo dimensionInfo)
+            throws IOException {
         final FeatureCollection fcollection = getDimensionCollection(typeInfo, dimensionInfo);
 
         final TreeSet<Object> result = new TreeSet<>();
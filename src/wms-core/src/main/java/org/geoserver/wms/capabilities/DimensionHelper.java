@@ -235,7 +235,8 @@ void handleCustomDimensionsVector(FeatureTypeInfo featureTypeInfo, Map<String, D
 
     void handleCustomDimensionVector(FeatureTypeInfo featureTypeInfo, Entry<String, DimensionInfo> customDim) {
         try {
-            final TreeSet<Object> values = wms.getDimensionValues(featureTypeInfo, customDim.getValue());
+            final TreeSet<Object> values =
+                    wms.getDimensionValues(featureTypeInfo, DIM_ + customDim.getKey(), customDim.getValue());
             String metadata;
             String units = customDim.getValue().getUnits();
             String unitSymbol = customDim.getValue().getUnitSymbol();
@@ -0,0 +1,194 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.dimension;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.DimensionInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.event.AbstractCatalogListener;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.ServiceException;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the dimension domains of vector layers, which are otherwise computed with one or more aggregate queries each
+ * time a capabilities document, or a multidimensional domain description, is built. Domains are keyed by feature type,
+ * dimension configuration and user roles (data security can restrict the features visible to each user), and are
+ * dropped when the feature type or its store are modified or removed.
+ *
+ * <p>Since changes in the data do not generate catalog events, cached domains expire after a configurable time,
+ * controlled by the {@code WMS_DIMENSION_DOMAIN_CACHE_TTL} system, environment or servlet context variable, in
+ * seconds. The cache is disabled by default (time to live set to zero).
+ */
+public class DimensionDomainCache extends AbstractCatalogListener {
+
+    static final Logger LOGGER = Logging.getLogger(DimensionDomainCache.class);
+
+    public static final String TTL_KEY = "WMS_DIMENSION_DOMAIN_CACHE_TTL";
+
+    static final long MAX_ENTRIES = 10000;
+
+    Cache<DomainKey, Optional<TreeSet<?>>> cache;
+
+    long timeToLive;
+
+    public DimensionDomainCache(Catalog catalog) {
+        this(getTimeToLive());
+        catalog.addListener(this);
+    }
+
+    DimensionDomainCache(long timeToLive) {
+        setTimeToLive(timeToLive);
+    }
+
+    private static long getTimeToLive() {
+        String value = GeoServerExtensions.getProperty(TTL_KEY);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Invalid value for " + TTL_KEY + ": " + value + ", disabling the cache");
+            }
+        }
+        return 0;
+    }
+
+    /** Returns the time to live of cached domains, in seconds. Zero or negative means the cache is disabled */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /** Sets the time to live of cached domains, in seconds, and empties the cache */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+        if (timeToLive > 0) {
+            this.cache = CacheBuilder.newBuilder()
+                    .maximumSize(MAX_ENTRIES)
+                    .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                    .build();
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the domain of the given dimension, loading it with the provided callable if not cached already. The
+     * returned set is a copy that can be freely modified by the caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> TreeSet<T> getDomain(
+            FeatureTypeInfo typeInfo, String dimensionName, DimensionInfo dimension, Callable<TreeSet<T>> loader)
+            throws IOException {
+        Cache<DomainKey, Optional<TreeSet<?>>> cache = this.cache;
+        if (cache == null || typeInfo.getId() == null) {
+            return call(loader);
+        }
+
+        DomainKey key = new DomainKey(
+                typeInfo.getId(), getStoreId(typeInfo), dimensionName, dimension, getSecurityView());
+        try {
+            Optional<TreeSet<?>> domain = cache.get(key, () -> Optional.ofNullable(call(loader)));
+            return domain.map(d -> new TreeSet<>((TreeSet<T>) d)).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException exception) {
+                throw exception;
+            } else if (cause instanceof RuntimeException exception) {
+                throw exception;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static <T> TreeSet<T> call(Callable<TreeSet<T>> loader) throws IOException {
+        try {
+            return loader.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServiceException(e);
+        }
+    }
+
+    private static String getStoreId(FeatureTypeInfo typeInfo) {
+        DataStoreInfo store = typeInfo.getStore();
+        return store != null ? store.getId() : null;
+    }
+
+    private static String getSecurityView() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return null;
+        }
+        TreeSet<String> roles = new TreeSet<>();
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            roles.add(authority.getAuthority());
+        }
+        return auth.getName() + roles;
+    }
+
+    /** Drops all cached domains */
+    public void clear() {
+        Cache<DomainKey, Optional<TreeSet<?>>> cache = this.cache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /** Drops the cached domains of the given feature type or store */
+    public void invalidate(CatalogInfo info) {
+        Cache<DomainKey, Optional<TreeSet<?>>> cache = this.cache;
+        if (cache == null || info == null || info.getId() == null) {
+            return;
+        }
+        String id = info.getId();
+        cache.asMap().keySet().removeIf(k -> id.equals(k.resourceId()) || id.equals(k.storeId()));
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
+        invalidate(event);
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
+        invalidate(event);
+    }
+
+    private void invalidate(CatalogEvent event) {
+        if (event.getSource() instanceof FeatureTypeInfo || event.getSource() instanceof DataStoreInfo) {
+            invalidate(event.getSource());
+        }
+    }
+
+    @Override
+    public void reloaded() {
+        clear();
+    }
+
+    /** Key of a cached domain */
+    record DomainKey(
+            String resourceId, String storeId, String dimensionName, DimensionInfo dimension, String securityView) {}
+}
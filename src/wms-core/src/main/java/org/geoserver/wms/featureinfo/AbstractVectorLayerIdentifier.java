@@ -7,13 +7,13 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import org.geoserver.catalog.CompiledStyle;
 import org.geoserver.wms.FeatureInfoRequestParameters;
 import org.geoserver.wms.MapLayerInfo;
 import org.geoserver.wms.clip.ClippedFeatureSource;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.feature.Feature;
 import org.geotools.api.feature.type.FeatureType;
-import org.geotools.api.style.FeatureTypeStyle;
 import org.geotools.api.style.Rule;
 import org.geotools.api.style.Style;
 import org.locationtech.jts.geom.Geometry;
@@ -21,8 +21,6 @@
 abstract class AbstractVectorLayerIdentifier
         implements LayerIdentifier<FeatureSource<? extends FeatureType, ? extends Feature>> {
 
-    private static final double TOLERANCE = 1e-6;
-
     @Override
     public boolean canHandle(MapLayerInfo layer) {
         int type = layer.getType();
@@ -33,14 +31,9 @@ public boolean canHandle(MapLayerInfo layer) {
     protected List<Rule> getActiveRules(Style style, double scaleDenominator) {
         List<Rule> result = new ArrayList<>();
 
-        for (FeatureTypeStyle fts : style.featureTypeStyles()) {
-            for (Rule r : fts.rules()) {
-                if ((r.getMinScaleDenominator() - TOLERANCE <= scaleDenominator)
-                        && (r.getMaxScaleDenominator() + TOLERANCE > scaleDenominator)
-                        && r.symbolizers() != null
-                        && !r.symbolizers().isEmpty()) {
-                    result.add(r);
-                }
+        for (Rule r : CompiledStyle.of(style).getActiveRules(scaleDenominator)) {
+            if (r.symbolizers() != null && !r.symbolizers().isEmpty()) {
+                result.add(r);
             }
         }
         return result;
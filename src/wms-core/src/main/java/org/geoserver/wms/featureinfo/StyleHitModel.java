@@ -0,0 +1,292 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.featureinfo;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.style.AnchorPoint;
+import org.geotools.api.style.Displacement;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Graphic;
+import org.geotools.api.style.GraphicalSymbol;
+import org.geotools.api.style.LineSymbolizer;
+import org.geotools.api.style.Mark;
+import org.geotools.api.style.PointSymbolizer;
+import org.geotools.api.style.PolygonSymbolizer;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Stroke;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.Symbolizer;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.renderer.style.StyleAttributeExtractor;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.Puntal;
+
+/**
+ * A geometric model of the areas painted by a style, used to identify the features hit by a GetFeatureInfo request
+ * without rendering them. Each symbolizer is turned into a footprint around the screen space geometry: half the stroke
+ * width for lines and polygon outlines, the interior for polygon fills, the graphic extent for points. Text
+ * symbolizers are ignored, labels are not considered part of the feature footprint (same as the rendering based
+ * identification, see {@link FeatureInfoStylePreprocessor}).
+ *
+ * <p>Sizes, widths, anchors and displacements are evaluated against each feature, so dynamic styles are supported.
+ * Styles that cannot be modeled (rendering transformations, geometry transformations, line offsets, else rules,
+ * raster symbolizers, external graphics without an explicit size) are reported by {@link #build(Style, List)}
+ * returning null, and should be identified by rendering them instead.
+ */
+class StyleHitModel {
+
+    /** Default size of marks, when the graphic size is not specified */
+    static final double DEFAULT_MARK_SIZE = 16;
+
+    static final GeometryFactory GF = new GeometryFactory();
+
+    List<Rule> rules;
+
+    private StyleHitModel(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Builds the hit model for the given style and its active rules (already rescaled to pixels), or returns null if
+     * the style cannot be modeled
+     */
+    static StyleHitModel build(Style style, List<Rule> rules) {
+        for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+            if (fts.getTransformation() != null) {
+                return null;
+            }
+        }
+        for (Rule rule : rules) {
+            if (rule.isElseFilter()) {
+                return null;
+            }
+            for (Symbolizer symbolizer : rule.symbolizers()) {
+                if (!isModelable(symbolizer)) {
+                    return null;
+                }
+            }
+        }
+        return new StyleHitModel(rules);
+    }
+
+    private static boolean isModelable(Symbolizer symbolizer) {
+        if (symbolizer instanceof TextSymbolizer) {
+            return true;
+        }
+        Expression geometry = symbolizer.getGeometry();
+        if (geometry != null && !(geometry instanceof PropertyName)) {
+            return false;
+        }
+        if (symbolizer instanceof PointSymbolizer ps) {
+            return isModelable(ps.getGraphic());
+        } else if (symbolizer instanceof LineSymbolizer ls) {
+            return isZero(ls.getPerpendicularOffset()) && isModelable(ls.getStroke());
+        } else if (symbolizer instanceof PolygonSymbolizer ps) {
+            return ps.getDisplacement() == null
+                    && isZero(ps.getPerpendicularOffset())
+                    && isModelable(ps.getStroke());
+        }
+        // raster symbolizers and unknown extensions
+        return false;
+    }
+
+    private static boolean isModelable(Stroke stroke) {
+        return stroke == null || stroke.getGraphicStroke() == null || isModelable(stroke.getGraphicStroke());
+    }
+
+    private static boolean isModelable(Graphic graphic) {
+        if (graphic == null) {
+            return false;
+        }
+        if (!isNil(graphic.getSize())) {
+            return true;
+        }
+        // without an explicit size, only marks have a known extent
+        for (GraphicalSymbol symbol : graphic.graphicalSymbols()) {
+            if (!(symbol instanceof Mark)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNil(Expression expression) {
+        return expression == null || expression == Expression.NIL;
+    }
+
+    private static boolean isZero(Expression expression) {
+        if (isNil(expression)) {
+            return true;
+        }
+        if (!(expression instanceof Literal)) {
+            return false;
+        }
+        Double value = expression.evaluate(null, Double.class);
+        return value == null || value == 0;
+    }
+
+    /**
+     * Returns the names of the attributes needed to evaluate the model, including the geometries. The default geometry
+     * is included as the empty string
+     */
+    Set<String> getAttributeNames() {
+        StyleAttributeExtractor extractor = new StyleAttributeExtractor();
+        for (Rule rule : rules) {
+            rule.accept(extractor);
+        }
+        Set<String> result = new LinkedHashSet<>(extractor.getAttributeNameSet());
+        result.add("");
+        return result;
+    }
+
+    /**
+     * Checks if the feature is hit by the given screen space area
+     *
+     * @param feature The feature to check
+     * @param toScreen Transforms the feature geometries in screen space
+     * @param hitArea The area to check, in screen space
+     */
+    boolean hits(SimpleFeature feature, GeometryTransformer toScreen, Envelope hitArea) throws Exception {
+        Geometry hitGeometry = GF.toGeometry(hitArea);
+        for (Rule rule : rules) {
+            Filter filter = rule.getFilter();
+            if (filter != null && !filter.evaluate(feature)) {
+                continue;
+            }
+            for (Symbolizer symbolizer : rule.symbolizers()) {
+                if (symbolizer instanceof TextSymbolizer) {
+                    continue;
+                }
+                Geometry geometry = getGeometry(feature, symbolizer.getGeometry());
+                if (geometry == null || geometry.isEmpty()) {
+                    continue;
+                }
+                Geometry screen = toScreen.transform(geometry);
+                if (hits(feature, symbolizer, screen, hitGeometry, hitArea)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hits(
+            SimpleFeature feature, Symbolizer symbolizer, Geometry screen, Geometry hitGeometry, Envelope hitArea) {
+        if (symbolizer instanceof PointSymbolizer ps) {
+            return hitsGraphic(feature, ps.getGraphic(), screen, hitArea);
+        } else if (symbolizer instanceof LineSymbolizer ls) {
+            // lines do not paint points, and only paint the outline of polygons
+            if (screen instanceof Puntal) {
+                return false;
+            }
+            Geometry line = screen instanceof Polygonal ? screen.getBoundary() : screen;
+            return hitsStroke(feature, ls.getStroke(), line, hitGeometry);
+        } else if (symbolizer instanceof PolygonSymbolizer ps) {
+            if (screen instanceof Puntal) {
+                return false;
+            }
+            if (ps.getFill() != null && screen instanceof Polygonal && screen.intersects(hitGeometry)) {
+                return true;
+            }
+            Geometry outline = screen instanceof Polygonal ? screen.getBoundary() : screen;
+            return hitsStroke(feature, ps.getStroke(), outline, hitGeometry);
+        }
+        return false;
+    }
+
+    private boolean hitsStroke(SimpleFeature feature, Stroke stroke, Geometry line, Geometry hitGeometry) {
+        if (stroke == null || isTransparent(feature, stroke.getOpacity())) {
+            return false;
+        }
+        double width = evaluate(feature, stroke.getWidth(), 1);
+        if (stroke.getGraphicStroke() != null) {
+            width = Math.max(width, getGraphicSize(feature, stroke.getGraphicStroke()));
+        }
+        // even a hairline paints at least one pixel
+        return line.distance(hitGeometry) <= Math.max(width / 2, 0.5);
+    }
+
+    private boolean hitsGraphic(SimpleFeature feature, Graphic graphic, Geometry screen, Envelope hitArea) {
+        double size = getGraphicSize(feature, graphic);
+        double rotation = evaluate(feature, graphic.getRotation(), 0);
+        // a rotated graphic can reach as far as its diagonal
+        double extent = rotation % 90 == 0 ? size : size * Math.sqrt(2);
+
+        // offset of the graphic center from the point, in screen space (y axis pointing down)
+        double dx = 0;
+        double dy = 0;
+        AnchorPoint anchor = graphic.getAnchorPoint();
+        if (anchor != null) {
+            dx += (0.5 - evaluate(feature, anchor.getAnchorPointX(), 0.5)) * size;
+            dy += (evaluate(feature, anchor.getAnchorPointY(), 0.5) - 0.5) * size;
+        }
+        Displacement displacement = graphic.getDisplacement();
+        if (displacement != null) {
+            dx += evaluate(feature, displacement.getDisplacementX(), 0);
+            dy -= evaluate(feature, displacement.getDisplacementY(), 0);
+        }
+
+        // points are painted at each location, lines and polygons at their centroid
+        Geometry locations = screen instanceof Puntal ? screen : screen.getCentroid();
+        for (int i = 0; i < locations.getNumGeometries(); i++) {
+            Point p = (Point) locations.getGeometryN(i);
+            if (p.isEmpty()) {
+                continue;
+            }
+            double cx = p.getX() + dx;
+            double cy = p.getY() + dy;
+            Envelope footprint = new Envelope(cx - extent / 2, cx + extent / 2, cy - extent / 2, cy + extent / 2);
+            if (footprint.intersects(hitArea)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double getGraphicSize(SimpleFeature feature, Graphic graphic) {
+        return evaluate(feature, graphic.getSize(), DEFAULT_MARK_SIZE);
+    }
+
+    private boolean isTransparent(SimpleFeature feature, Expression opacity) {
+        return !isNil(opacity) && evaluate(feature, opacity, 1) <= 0;
+    }
+
+    private static double evaluate(SimpleFeature feature, Expression expression, double defaultValue) {
+        if (isNil(expression)) {
+            return defaultValue;
+        }
+        Double value = expression.evaluate(feature, Double.class);
+        return value != null ? value : defaultValue;
+    }
+
+    private static Geometry getGeometry(SimpleFeature feature, Expression geometry) {
+        if (geometry == null) {
+            return (Geometry) feature.getDefaultGeometry();
+        }
+        String name = ((PropertyName) geometry).getPropertyName();
+        if (name == null || name.isEmpty()) {
+            return (Geometry) feature.getDefaultGeometry();
+        }
+        Object value = feature.getAttribute(name);
+        return value instanceof Geometry g ? g : null;
+    }
+
+    /** Transforms a geometry into screen space */
+    @FunctionalInterface
+    interface GeometryTransformer {
+        Geometry transform(Geometry geometry) throws Exception;
+    }
+}
@@ -54,21 +54,26 @@
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.spatial.BBOX;
+import org.geotools.api.geometry.Bounds;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.MathTransform;
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.api.style.Rule;
 import org.geotools.api.style.Style;
 import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.filter.Filters;
 import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.map.FeatureLayer;
+import org.geotools.referencing.CRS;
 import org.geotools.referencing.operation.transform.AffineTransform2D;
+import org.geotools.referencing.operation.transform.ConcatenatedTransform;
 import org.geotools.renderer.RenderListener;
 import org.geotools.renderer.lite.GraphicsAwareDpiRescaleStyleVisitor;
 import org.geotools.renderer.lite.MetaBufferEstimator;
@@ -91,12 +96,19 @@ public class VectorRenderingLayerIdentifier extends AbstractVectorLayerIdentifie
 
     static final Logger LOGGER = Logging.getLogger(VectorRenderingLayerIdentifier.class);
     private static final String FEATURE_INFO_RENDERING_ENABLED_KEY = "org.geoserver.wms.featureinfo.render.enabled";
+    private static final String FEATURE_INFO_ANALYTIC_ENABLED_KEY = "org.geoserver.wms.featureinfo.analytic.enabled";
     // smaller by default than VectorBasicLayerIdentifier because this mode accounts for symbol
     // sizes,
     // not just for info point to geometry distance
     protected static final int MIN_BUFFER_SIZE =
             Integer.getInteger(VectorBasicLayerIdentifier.FEATUREINFO_DEFAULT_BUFFER, 3);
     public static boolean RENDERING_FEATUREINFO_ENABLED;
+    /**
+     * When enabled, styles that can be modeled geometrically are identified by checking the symbolizer footprints
+     * against the hit area, rather than rendering them (see {@link StyleHitModel})
+     */
+    public static boolean ANALYTIC_FEATUREINFO_ENABLED =
+            Boolean.parseBoolean(System.getProperty(FEATURE_INFO_ANALYTIC_ENABLED_KEY, "false"));
 
     private WMS wms;
     private VectorBasicLayerIdentifier fallback;
@@ -183,6 +195,22 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, fin
                     params.getX() - radius, params.getX() + radius, params.getY() - radius, params.getY() + radius);
             Envelope targetModelSpace = JTS.transform(targetRasterSpace, new AffineTransform2D(screenToWorld));
 
+            // no need to paint if the style footprint can be computed
+            if (ANALYTIC_FEATUREINFO_ENABLED) {
+                StyleHitModel model = StyleHitModel.build(style, rules);
+                if (model != null && !isWrapping(params.getRequestedBounds())) {
+                    Envelope hitArea = new Envelope(
+                            params.getX() - buffer,
+                            params.getX() + buffer + 1,
+                            params.getY() - buffer,
+                            params.getY() + buffer + 1);
+                    List<SimpleFeature> features = identifyAnalytically(
+                            params, model, layer, worldToScreen, targetModelSpace, hitArea, maxFeatures);
+                    return aggregateByFeatureType(features, params.getRequestedCRS());
+                }
+                LOGGER.log(Level.FINER, "Style cannot be modeled geometrically, falling back on rendering");
+            }
+
             // prepare the image we are going to check rendering against
             int paintAreaSize = radius * 2;
             final BufferedImage image = ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_ARGB)
@@ -216,6 +244,84 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, fin
         }
     }
 
+    /**
+     * Identifies the features by running a spatial query around the hit area, and then checking the symbolizer
+     * footprints against the hit area, in screen space
+     */
+    private List<SimpleFeature> identifyAnalytically(
+            FeatureInfoRequestParameters params,
+            StyleHitModel model,
+            FeatureLayer layer,
+            AffineTransform worldToScreen,
+            Envelope targetModelSpace,
+            Envelope hitArea,
+            int maxFeatures)
+            throws Exception {
+        @SuppressWarnings("unchecked")
+        FeatureSource<SimpleFeatureType, SimpleFeature> fs =
+                (FeatureSource<SimpleFeatureType, SimpleFeature>) layer.getFeatureSource();
+        SimpleFeatureType schema = fs.getSchema();
+        CoordinateReferenceSystem mapCRS = params.getRequestedCRS();
+        CoordinateReferenceSystem nativeCRS = schema.getCoordinateReferenceSystem();
+
+        // query only the features around the hit area, the store spatial index will do the rest
+        ReferencedEnvelope queryBBOX = new ReferencedEnvelope(targetModelSpace, mapCRS);
+        if (nativeCRS != null && mapCRS != null) {
+            queryBBOX = queryBBOX.transform(nativeCRS, true);
+        }
+        Query query = new Query(layer.getQuery());
+        query.setFilter(Filters.and(FF, query.getFilter(), FF.bbox(FF.property(""), queryBBOX)));
+        Set<String> attributes = new LinkedHashSet<>();
+        for (String name : model.getAttributeNames()) {
+            if (!name.isEmpty()) {
+                attributes.add(name);
+            } else if (schema.getGeometryDescriptor() != null) {
+                attributes.add(schema.getGeometryDescriptor().getLocalName());
+            }
+        }
+        query.setPropertyNames(new ArrayList<>(attributes));
+
+        // from native to screen space
+        MathTransform toMap = nativeCRS != null && mapCRS != null
+                ? CRS.findMathTransform(nativeCRS, mapCRS, true)
+                : new AffineTransform2D(new AffineTransform());
+        MathTransform toScreen = ConcatenatedTransform.create(toMap, new AffineTransform2D(worldToScreen));
+
+        String[] propertyNames = params.getPropertyNames();
+        SimpleFeatureBuilder retypeBuilder = null;
+        List<SimpleFeature> result = new ArrayList<>();
+        try (FeatureIterator<SimpleFeature> it = fs.getFeatures(query).features()) {
+            while (it.hasNext() && result.size() < maxFeatures) {
+                SimpleFeature feature = it.next();
+                if (model.hits(feature, g -> JTS.transform(g, toScreen), hitArea)) {
+                    if (propertyNames != null) {
+                        if (retypeBuilder == null) {
+                            retypeBuilder = new SimpleFeatureBuilder(
+                                    SimpleFeatureTypeBuilder.retype(feature.getFeatureType(), propertyNames));
+                        }
+                        feature = SimpleFeatureBuilder.retype(feature, retypeBuilder);
+                    }
+                    result.add(feature);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns true if the map extent goes past the CRS domain of validity, the renderer is going to wrap the features
+     * around the dateline in that case, which is not modeled
+     */
+    private boolean isWrapping(ReferencedEnvelope mapExtent) {
+        if (mapExtent.getCoordinateReferenceSystem() == null) {
+            return false;
+        }
+        Bounds validity = CRS.getEnvelope(mapExtent.getCoordinateReferenceSystem());
+        return validity != null
+                && (mapExtent.getMinX() < validity.getMinimum(0) || mapExtent.getMaxX() > validity.getMaximum(0));
+    }
+
     protected int getBuffer(final int userBuffer) {
         if (wms.getMaxBuffer() <= 0) {
             return userBuffer;
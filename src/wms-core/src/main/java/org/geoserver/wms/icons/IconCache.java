@@ -0,0 +1,98 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.icons;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geotools.api.style.Style;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Cache of rendered icons, shared by the {@link IconService} and the KMZ output, holding the icons already encoded as
+ * PNG. Icons are keyed by the style obtained injecting the {@link IconProperties} in the original style (see
+ * {@link IconPropertyInjector}): all the dynamic properties are resolved to literals there, so two features with the
+ * same properties and scale share the same icon.
+ *
+ * <p>The cache is bounded by the size of the encoded icons, configurable in bytes with the {@code ICON_CACHE_MAX_SIZE}
+ * variable (4MB by default). Hit and miss counts are available via {@link #getStats()}.
+ */
+public final class IconCache {
+
+    static final Logger LOGGER = Logging.getLogger(IconCache.class);
+
+    static final long DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+    static final Cache<Style, CachedIcon> ICONS = CacheBuilder.newBuilder()
+            .maximumWeight(getMaxSize())
+            .<Style, CachedIcon>weigher((k, v) -> v.png().length)
+            .recordStats()
+            .build();
+
+    private IconCache() {}
+
+    private static long getMaxSize() {
+        String value = GeoServerExtensions.getProperty("ICON_CACHE_MAX_SIZE");
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid value for ICON_CACHE_MAX_SIZE: " + value + ", using " + DEFAULT_MAX_SIZE);
+            }
+        }
+        return DEFAULT_MAX_SIZE;
+    }
+
+    /**
+     * Returns the PNG encoded icon for the given style, rendering it if not found in the cache. The style must have
+     * been preprocessed by the {@link IconPropertyInjector}, see {@link IconRenderer#renderIcon(Style)}
+     */
+    public static CachedIcon getIcon(Style style) throws IOException {
+        CachedIcon icon = ICONS.getIfPresent(style);
+        if (icon == null) {
+            // concurrent misses may render the same icon twice, harmless, and cheaper than locking
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ImageIO.write(IconRenderer.renderIcon(style), "PNG", bos);
+            byte[] png = bos.toByteArray();
+            icon = new CachedIcon(png, etag(png));
+            ICONS.put(style, icon);
+        }
+        return icon;
+    }
+
+    private static String etag(byte[] png) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(png));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Returns the cache hit and miss statistics */
+    public static CacheStats getStats() {
+        return ICONS.stats();
+    }
+
+    /** Drops all the cached icons */
+    public static void clear() {
+        ICONS.invalidateAll();
+    }
+
+    /**
+     * A PNG encoded icon
+     *
+     * @param png The PNG bytes
+     * @param etag A digest of the PNG bytes, suitable for use as HTTP entity tag
+     */
+    public record CachedIcon(byte[] png, String etag) {}
+}
@@ -7,7 +7,6 @@
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
@@ -16,12 +15,13 @@
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import javax.imageio.ImageIO;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.ows.util.KvpUtils;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geotools.api.style.Style;
 import org.geotools.util.logging.Logging;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.AbstractController;
 
@@ -32,12 +32,30 @@ public class IconService extends AbstractController {
 
     static Pattern URI = Pattern.compile("/icon/(?:([^/]+)/)?([^/]+)/?");
 
+    /**
+     * Max age of the icons in client caches, in seconds, configurable with the {@code ICON_CACHE_MAX_AGE} variable,
+     * defaults to one day
+     */
+    static final long MAX_AGE = getMaxAge();
+
     private final Catalog catalog;
 
     public IconService(Catalog catalog) {
         this.catalog = catalog;
     }
 
+    private static long getMaxAge() {
+        String value = GeoServerExtensions.getProperty("ICON_CACHE_MAX_AGE");
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOG.warning("Invalid value for ICON_CACHE_MAX_AGE: " + value + ", using one day");
+            }
+        }
+        return 24 * 60 * 60;
+    }
+
     @Override
     public ModelAndView handleRequestInternal(HttpServletRequest request, HttpServletResponse response)
             throws Exception {
@@ -84,10 +102,22 @@ public ModelAndView handleRequestInternal(HttpServletRequest request, HttpServle
             }
 
             Style adjustedStyle = IconPropertyInjector.injectProperties(style, kvp);
-            BufferedImage image = IconRenderer.renderIcon(adjustedStyle);
+            IconCache.CachedIcon icon = IconCache.getIcon(adjustedStyle);
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("Icon cache stats: " + IconCache.getStats());
+            }
+
+            // icons only change along with their style, let clients keep them around
+            String etag = "\"" + icon.etag() + "\"";
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + MAX_AGE);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return null;
+            }
 
             response.setContentType("image/png");
-            ImageIO.write(image, "PNG", response.getOutputStream());
+            response.getOutputStream().write(icon.png());
             response.getOutputStream().flush();
         } catch (IOException e) {
             String prefix = "Failed to load style: " + workspace + " " + styleName + "\n";
@@ -5,25 +5,34 @@
  */
 package org.geoserver.wms.legendgraphic;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
 import org.geoserver.catalog.LegendInfo;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wms.CascadedLegendRequest;
+import org.geoserver.wms.DefaultWebMapService;
 import org.geoserver.wms.GetLegendGraphicRequest;
 import org.geoserver.wms.GetLegendGraphicRequest.LegendRequest;
 import org.geoserver.wms.map.ImageUtils;
@@ -45,6 +54,7 @@
 import org.geotools.renderer.lite.StyledShapePainter;
 import org.geotools.renderer.style.SLDStyleFactory;
 import org.geotools.renderer.style.Style2D;
+import org.geotools.renderer.style.StyleAttributeExtractor;
 import org.geotools.styling.visitor.RescaleStyleVisitor;
 import org.geotools.util.NumberRange;
 import org.locationtech.jts.geom.Coordinate;
@@ -86,12 +96,26 @@ public class BufferedImageLegendGraphicBuilder extends LegendGraphicBuilder {
     /** used to create sample point shapes with LiteShape (not lines nor polygons) */
     private static final GeometryFactory geomFac = new GeometryFactory();
 
-    /** Just a holder to avoid creating many point shapes from inside <code>getSampleShape()</code> */
-    private LiteShape2 samplePoint;
-
     /** Default minimum size for symbols rendering. Can be overridden using LEGEND_OPTIONS (minSymbolSize). */
     private final double MINIMUM_SYMBOL_SIZE = 3.0;
 
+    /**
+     * Maximum number of threads painting the rule samples of a single legend, configurable with the
+     * {@code LEGEND_RENDERING_THREADS} variable, defaults to the number of available processors
+     */
+    static final int RULE_RENDERING_PARALLELISM = getIntProperty(
+            "LEGEND_RENDERING_THREADS", Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Rule samples shared among requests, bounded by memory usage, configurable in bytes with the
+     * {@code LEGEND_ICON_CACHE_SIZE} variable, defaults to 16MB
+     */
+    static final Cache<RuleIconKey, BufferedImage> RULE_ICONS = CacheBuilder.newBuilder()
+            .maximumWeight(getIntProperty("LEGEND_ICON_CACHE_SIZE", 16 * 1024 * 1024))
+            .<RuleIconKey, BufferedImage>weigher(
+                    (k, v) -> (int) Math.min(Tally.computeImageSize(v), Integer.MAX_VALUE))
+            .build();
+
     /**
      * Default constructor. Subclasses may provide its own with a String parameter to establish its desired output
      * format, if they support more than one (e.g. a ImageN based one)
@@ -100,6 +124,19 @@ public BufferedImageLegendGraphicBuilder() {
         super();
     }
 
+    private static int getIntProperty(String key, int defaultValue) {
+        String value = GeoServerExtensions.getProperty(key);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                Logger.getLogger("org.geoserver.wms.legendgraphic")
+                        .warning("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     /**
      * Takes a GetLegendGraphicRequest and produces a BufferedImage that then can be used by a subclass to encode it to
      * the appropriate output format.
@@ -194,7 +231,7 @@ public BufferedImage buildLegendGraphic(GetLegendGraphicRequest request) throws
                     }
                     applicableRules = new Rule[] {rule};
                 } else {
-                    applicableRules = LegendUtils.getApplicableRules(ftStyles, scaleDenominator);
+                    applicableRules = LegendUtils.getApplicableRules(gt2Style, scaleDenominator);
                 }
 
                 // do we have to alter the style to do context sensitive feature counts?
@@ -252,7 +289,8 @@ public BufferedImage buildLegendGraphic(GetLegendGraphicRequest request) throws
                         styleFactory,
                         minimumSymbolSize,
                         rescalingRequired,
-                        rescaler);
+                        rescaler,
+                        List.of(actualMin, actualMax, (double) defaultSize));
             }
         }
         // all legend graphics are merged if we have a layer group
@@ -287,41 +325,167 @@ private void renderRules(
             final SLDStyleFactory styleFactory,
             double minimumSymbolSize,
             boolean rescalingRequired,
-            java.util.function.Function<Double, Double> rescaler) {
-        MetaBufferEstimator estimator = new MetaBufferEstimator(sampleFeature);
+            java.util.function.Function<Double, Double> rescaler,
+            List<Double> sizeRange) {
+        // the rule samples are independent, paint them in parallel, and merge them once all are ready
+        BufferedImage[] images = new BufferedImage[ruleCount];
+        ExecutorService pool = DefaultWebMapService.getRenderingPool();
+        int tasks = Math.min(ruleCount, RULE_RENDERING_PARALLELISM);
+        if (pool == null || tasks <= 1) {
+            renderRules(
+                    request,
+                    layer,
+                    transparent,
+                    sampleFeature,
+                    scaleDenominator,
+                    applicableRules,
+                    scaleRange,
+                    styleFactory,
+                    minimumSymbolSize,
+                    rescalingRequired,
+                    rescaler,
+                    sizeRange,
+                    images,
+                    0,
+                    ruleCount);
+        } else {
+            // split the rules in contiguous slices, one per task, to bound the concurrency of each request
+            List<Future<?>> futures = new ArrayList<>();
+            int sliceSize = (int) Math.ceil(ruleCount / (double) tasks);
+            for (int start = 0; start < ruleCount; start += sliceSize) {
+                int from = start;
+                int to = Math.min(ruleCount, start + sliceSize);
+                futures.add(pool.submit(() -> renderRules(
+                        request,
+                        layer,
+                        transparent,
+                        sampleFeature,
+                        scaleDenominator,
+                        applicableRules,
+                        scaleRange,
+                        new SLDStyleFactory(),
+                        minimumSymbolSize,
+                        rescalingRequired,
+                        rescaler,
+                        sizeRange,
+                        images,
+                        from,
+                        to)));
+            }
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceException("Interrupted while rendering the legend rules", e);
+            } catch (ExecutionException e) {
+                futures.forEach(f -> f.cancel(true));
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new ServiceException("Failed to render the legend rules", e.getCause());
+            }
+        }
+
         ImageList legendsStack = new ImageList(layersImages.getTally().getRemaining());
-        for (int i = 0; i < ruleCount; i++) {
+        for (BufferedImage image : images) {
+            if (image != null && titleImage != null) {
+                layersImages.add(titleImage);
+                titleImage = null;
+            }
+            legendsStack.add(image);
+        }
+        int labelMargin = 3;
+        if (request.getLegendOptions().get("labelMargin") != null
+                && StringUtils.hasText(
+                        request.getLegendOptions().get("labelMargin").toString())) {
+            labelMargin = Integer.parseInt(
+                    request.getLegendOptions().get("labelMargin").toString());
+        }
+        LegendMerger.MergeOptions options = LegendMerger.MergeOptions.createFromRequest(
+                legendsStack, 0, 0, 0, labelMargin, request, forceLabelsOn, forceLabelsOff, forceTitlesOff);
+        if (ruleCount > 0) {
+            BufferedImage image = LegendMerger.mergeLegends(applicableRules, request, options);
+
+            if (image != null) {
+                layersImages.add(image);
+            }
+        }
+    }
+
+    /** Paints the samples of the rules between {@code from} (inclusive) and {@code to} (exclusive) */
+    private void renderRules(
+            GetLegendGraphicRequest request,
+            FeatureType layer,
+            boolean transparent,
+            Feature sampleFeature,
+            double scaleDenominator,
+            Rule[] applicableRules,
+            NumberRange<Double> scaleRange,
+            SLDStyleFactory styleFactory,
+            double minimumSymbolSize,
+            boolean rescalingRequired,
+            java.util.function.Function<Double, Double> rescaler,
+            List<Double> sizeRange,
+            BufferedImage[] images,
+            int from,
+            int to) {
+        MetaBufferEstimator estimator = new MetaBufferEstimator(sampleFeature);
+        // shapes are painted by a single slice, LiteShape2 is not thread safe
+        LiteShape2 samplePoint = null;
+        Color background = LegendUtils.getBackgroundColor(request);
+        for (int i = from; i < to; i++) {
+            Rule rule = applicableRules[i];
+            RuleIconKey key = null;
+            if (isCacheable(rule)) {
+                key = new RuleIconKey(
+                        List.copyOf(rule.symbolizers()),
+                        rule.getLegend(),
+                        w,
+                        h,
+                        transparent,
+                        background,
+                        scaleDenominator,
+                        minimumSymbolSize,
+                        rescalingRequired ? sizeRange : null,
+                        request.getEnv());
+                BufferedImage cached = RULE_ICONS.getIfPresent(key);
+                if (cached != null) {
+                    images[i] = copy(cached);
+                    continue;
+                }
+            }
 
             final BufferedImage image = ImageUtils.createImage(w, h, null, transparent);
             final Map<RenderingHints.Key, Object> hintsMap = new HashMap<>();
-            final Graphics2D graphics = ImageUtils.prepareTransparency(
-                    transparent, LegendUtils.getBackgroundColor(request), image, hintsMap);
+            final Graphics2D graphics = ImageUtils.prepareTransparency(transparent, background, image, hintsMap);
             graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            Feature sample = getSampleFeatureForRule(layer, sampleFeature, applicableRules[i]);
+            Feature sample = getSampleFeatureForRule(layer, sampleFeature, rule);
 
-            final List<Symbolizer> symbolizers = applicableRules[i].symbolizers();
-            final GraphicLegend graphic = applicableRules[i].getLegend();
+            final List<Symbolizer> symbolizers = rule.symbolizers();
+            final GraphicLegend graphic = rule.getLegend();
 
             // If this rule has a legend graphic defined in the SLD, use it
             if (graphic != null) {
-                if (this.samplePoint == null) {
+                if (samplePoint == null) {
                     Coordinate coord = new Coordinate(w / 2, h / 2);
 
                     try {
-                        this.samplePoint = new LiteShape2(geomFac.createPoint(coord), null, null, false);
+                        samplePoint = new LiteShape2(geomFac.createPoint(coord), null, null, false);
                     } catch (Exception e) {
-                        this.samplePoint = null;
+                        samplePoint = null;
                     }
                 }
-                shapePainter.paint(graphics, this.samplePoint, graphic, scaleDenominator, false);
+                shapePainter.paint(graphics, samplePoint, graphic, scaleDenominator, false);
 
             } else {
                 for (Symbolizer symbolizer : symbolizers) {
                     // skip raster symbolizers
                     if (!(symbolizer instanceof RasterSymbolizer)) {
                         // rescale symbols if needed
-                        LiteShape2 shape = getSampleShape(symbolizer, w, h, w, h);
+                        LiteShape2 shape = createSampleShape(symbolizer, w, h, w, h);
                         if (rescalingRequired
                                 && (symbolizer instanceof PointSymbolizer || symbolizer instanceof LineSymbolizer)) {
                             double size = getSymbolizerSize(estimator, symbolizer, Math.min(w, h) - 4);
@@ -333,7 +497,7 @@ private void renderRules(
                             double symbolizerSize = getSymbolizerSize(estimator, symbolizer, 0);
                             int rescaledWidth = integerSize(minimumSymbolSize, w - symbolizerSize);
                             int rescaledHeight = integerSize(minimumSymbolSize, h - symbolizerSize);
-                            shape = getSampleShape(symbolizer, rescaledWidth, rescaledHeight, w, h);
+                            shape = createSampleShape(symbolizer, rescaledWidth, rescaledHeight, w, h);
 
                             symbolizer = rescaleSymbolizer(symbolizer, w, rescaledWidth);
                         }
@@ -345,31 +509,52 @@ private void renderRules(
                     }
                 }
             }
-            if (image != null && titleImage != null) {
-                layersImages.add(titleImage);
-                titleImage = null;
-            }
-            legendsStack.add(image);
             graphics.dispose();
+            images[i] = image;
+            if (key != null) {
+                RULE_ICONS.put(key, copy(image));
+            }
         }
-        int labelMargin = 3;
-        if (request.getLegendOptions().get("labelMargin") != null
-                && StringUtils.hasText(
-                        request.getLegendOptions().get("labelMargin").toString())) {
-            labelMargin = Integer.parseInt(
-                    request.getLegendOptions().get("labelMargin").toString());
-        }
-        LegendMerger.MergeOptions options = LegendMerger.MergeOptions.createFromRequest(
-                legendsStack, 0, 0, 0, labelMargin, request, forceLabelsOn, forceLabelsOff, forceTitlesOff);
-        if (ruleCount > 0) {
-            BufferedImage image = LegendMerger.mergeLegends(applicableRules, request, options);
+    }
 
-            if (image != null) {
-                layersImages.add(image);
-            }
+    /**
+     * Rule samples can be shared among requests if they do not depend on the sample feature attributes, or on
+     * functions whose value changes over time
+     */
+    private boolean isCacheable(Rule rule) {
+        StyleAttributeExtractor extractor = new StyleAttributeExtractor();
+        for (Symbolizer symbolizer : rule.symbolizers()) {
+            symbolizer.accept(extractor);
         }
+        if (rule.getLegend() != null) {
+            rule.getLegend().accept(extractor);
+        }
+        return extractor.getAttributeNameSet().isEmpty() && !extractor.isUsingVolatileFunctions();
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        ColorModel cm = image.getColorModel();
+        return new BufferedImage(cm, image.copyData(null), cm.isAlphaPremultiplied(), null);
     }
 
+    /** Empties the cache of rule samples */
+    public static void clearRuleIconCache() {
+        RULE_ICONS.invalidateAll();
+    }
+
+    /** Key of a cached rule sample, symbolizers are compared by value */
+    record RuleIconKey(
+            List<Symbolizer> symbolizers,
+            GraphicLegend legend,
+            int width,
+            int height,
+            boolean transparent,
+            Color background,
+            double scaleDenominator,
+            double minimumSymbolSize,
+            List<Double> sizeRange,
+            Map<String, Object> env) {}
+
     private int integerSize(double minimumSymbolSize, double size) {
         return (int) Math.ceil(Math.max(minimumSymbolSize, size));
     }
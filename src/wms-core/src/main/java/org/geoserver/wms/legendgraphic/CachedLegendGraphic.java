@@ -0,0 +1,61 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.legendgraphic;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * A legend graphic already encoded in its output format, served by the {@link LegendGraphicCache}
+ *
+ * @see CachedLegendGraphicResponse
+ */
+public class CachedLegendGraphic implements LegendGraphic {
+
+    final byte[] contents;
+
+    final String mimeType;
+
+    final String etag;
+
+    final Set<String> dependencies;
+
+    /**
+     * @param contents The encoded legend
+     * @param mimeType The legend mime type
+     * @param dependencies The identifiers of the catalog objects the legend depends on
+     */
+    public CachedLegendGraphic(byte[] contents, String mimeType, Set<String> dependencies) {
+        this.contents = contents;
+        this.mimeType = mimeType;
+        this.etag = buildETag(contents);
+        this.dependencies = dependencies;
+    }
+
+    private static String buildETag(byte[] contents) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return "\"" + HexFormat.of().formatHex(digest.digest(contents)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            return "\"" + Integer.toHexString(Arrays.hashCode(contents)) + "-" + contents.length + "\"";
+        }
+    }
+
+    @Override
+    public byte[] getLegend() {
+        return contents;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getETag() {
+        return etag;
+    }
+}
@@ -0,0 +1,50 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.legendgraphic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.geoserver.ows.Response;
+import org.geoserver.ows.util.OwsUtils;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.GetLegendGraphicRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+
+/**
+ * OWS {@link Response} writing out a {@link CachedLegendGraphic}, along with its ETag
+ *
+ * @see LegendGraphicCache
+ */
+public class CachedLegendGraphicResponse extends Response {
+
+    public CachedLegendGraphicResponse() {
+        super(CachedLegendGraphic.class);
+    }
+
+    @Override
+    public boolean canHandle(Operation operation) {
+        return OwsUtils.parameter(operation.getParameters(), GetLegendGraphicRequest.class) != null;
+    }
+
+    @Override
+    public String getMimeType(Object value, Operation operation) throws ServiceException {
+        Assert.isInstanceOf(CachedLegendGraphic.class, value);
+        return ((CachedLegendGraphic) value).getMimeType();
+    }
+
+    @Override
+    public String[][] getHeaders(Object value, Operation operation) throws ServiceException {
+        Assert.isInstanceOf(CachedLegendGraphic.class, value);
+        return new String[][] {{HttpHeaders.ETAG, ((CachedLegendGraphic) value).getETag()}};
+    }
+
+    @Override
+    public void write(Object value, OutputStream output, Operation operation) throws IOException, ServiceException {
+        Assert.isInstanceOf(CachedLegendGraphic.class, value);
+        output.write(((CachedLegendGraphic) value).getLegend());
+    }
+}
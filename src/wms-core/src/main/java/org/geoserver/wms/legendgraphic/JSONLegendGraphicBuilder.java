@@ -289,7 +289,7 @@ public JSONObject buildLegendGraphic(GetLegendGraphicRequest request) {
                 }
                 applicableRules = new Rule[] {rule};
             } else {
-                applicableRules = LegendUtils.getApplicableRules(ftStyles, scaleDenominator);
+                applicableRules = LegendUtils.getApplicableRules(gt2Style, scaleDenominator);
             }
 
             if (countProcessor != null
@@ -284,25 +284,36 @@ protected Feature getSampleFeatureForRule(FeatureType featureType, Feature sampl
      */
     protected LiteShape2 getSampleShape(
             Symbolizer symbolizer, int legendWidth, int legendHeight, int areaWidth, int areaHeight) {
-        LiteShape2 sampleShape;
-        final float hpad = (areaWidth * LegendUtils.hpaddingFactor) + (areaWidth - legendWidth) / 2f;
-        final float vpad = (areaHeight * LegendUtils.vpaddingFactor) + (areaHeight - legendHeight) / 2f;
-
         if (symbolizer instanceof LineSymbolizer) {
             if (this.sampleLine == null) {
-                Coordinate[] coords = {
-                    new Coordinate(hpad, legendHeight - vpad - 1), new Coordinate(legendWidth - hpad - 1, vpad)
-                };
-                LineString geom = geomFac.createLineString(coords);
-
-                try {
-                    this.sampleLine = new LiteShape2(geom, null, null, false);
-                } catch (Exception e) {
-                    this.sampleLine = null;
-                }
+                this.sampleLine = createSampleShape(symbolizer, legendWidth, legendHeight, areaWidth, areaHeight);
+            }
+            return this.sampleLine;
+        } else if (symbolizer instanceof PointSymbolizer || symbolizer instanceof TextSymbolizer) {
+            if (this.samplePoint == null) {
+                this.samplePoint = createSampleShape(symbolizer, legendWidth, legendHeight, areaWidth, areaHeight);
             }
+            return this.samplePoint;
+        }
+        return createSampleShape(symbolizer, legendWidth, legendHeight, areaWidth, areaHeight);
+    }
 
-            sampleShape = this.sampleLine;
+    /**
+     * Creates a new sample shape for the symbolizer, like {@link #getSampleShape(Symbolizer, int, int, int, int)} but
+     * without reusing the line and point ones. {@link LiteShape2} is not thread safe, so shapes painted concurrently
+     * must not be shared.
+     */
+    protected LiteShape2 createSampleShape(
+            Symbolizer symbolizer, int legendWidth, int legendHeight, int areaWidth, int areaHeight) {
+        final float hpad = (areaWidth * LegendUtils.hpaddingFactor) + (areaWidth - legendWidth) / 2f;
+        final float vpad = (areaHeight * LegendUtils.vpaddingFactor) + (areaHeight - legendHeight) / 2f;
+
+        Geometry geom;
+        if (symbolizer instanceof LineSymbolizer) {
+            Coordinate[] coords = {
+                new Coordinate(hpad, legendHeight - vpad - 1), new Coordinate(legendWidth - hpad - 1, vpad)
+            };
+            geom = geomFac.createLineString(coords);
         } else if ((symbolizer instanceof PolygonSymbolizer) || (symbolizer instanceof RasterSymbolizer)) {
             final float w = areaWidth - (2 * hpad) - 1;
             final float h = areaHeight - (2 * vpad) - 1;
@@ -315,30 +326,18 @@ protected LiteShape2 getSampleShape(
                 new Coordinate(hpad, vpad)
             };
             LinearRing shell = geomFac.createLinearRing(coords);
-            Polygon geom = geomFac.createPolygon(shell, null);
-
-            try {
-                return new LiteShape2(geom, null, null, false);
-            } catch (Exception e) {
-                return null;
-            }
+            geom = geomFac.createPolygon(shell, null);
         } else if (symbolizer instanceof PointSymbolizer || symbolizer instanceof TextSymbolizer) {
-            if (this.samplePoint == null) {
-                Coordinate coord = new Coordinate(legendWidth / 2d, legendHeight / 2d);
-
-                try {
-                    this.samplePoint = new LiteShape2(geomFac.createPoint(coord), null, null, false);
-                } catch (Exception e) {
-                    this.samplePoint = null;
-                }
-            }
-
-            sampleShape = this.samplePoint;
+            geom = geomFac.createPoint(new Coordinate(legendWidth / 2d, legendHeight / 2d));
         } else {
             throw new IllegalArgumentException("Unknown symbolizer: " + symbolizer);
         }
 
-        return sampleShape;
+        try {
+            return new LiteShape2(geom, null, null, false);
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     protected SimpleFeature createSampleFeature() {
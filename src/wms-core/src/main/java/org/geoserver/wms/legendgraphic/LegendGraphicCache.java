@@ -0,0 +1,371 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.legendgraphic;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.AbstractCatalogListener;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.config.GeoServerDataDirectory;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.HttpErrorCodeException;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.wms.GetLegendGraphicRequest;
+import org.geoserver.wms.GetLegendGraphicRequest.LegendRequest;
+import org.geoserver.wms.WebMapService;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.Symbolizer;
+import org.geotools.util.logging.Logging;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * {@link WebMapService#getLegendGraphic(GetLegendGraphicRequest)} Spring's AOP method interceptor caching the encoded
+ * legends, so that the ones requested by web clients on each page load do not have to be built, rasterized and encoded
+ * again. Legends are keyed by request parameters (with the scale reduced to the range of rules it activates), the
+ * style identity and last modification time, and the user roles. Entries are dropped when the styles, layers or layer
+ * groups they depend on are modified or removed. Cached legends carry an {@code ETag} header, and a 304 is returned
+ * when the client already has the current legend.
+ *
+ * <p>Legends depending on the data (feature counts, hiding empty rules) or on remote SLD documents are not cached.
+ * The behavior is controlled by the following system, environment or servlet context variables:
+ *
+ * <ul>
+ *   <li>{@code LEGEND_CACHE_ENABLED}: enables the cache, defaults to false
+ *   <li>{@code LEGEND_CACHE_MAX_SIZE}: maximum size of the cache, in bytes, defaults to 16MB
+ *   <li>{@code LEGEND_CACHE_TTL}: time to live of entries, in seconds, defaults to 3600
+ * </ul>
+ */
+public class LegendGraphicCache extends AbstractCatalogListener implements MethodInterceptor {
+
+    static final Logger LOGGER = Logging.getLogger(LegendGraphicCache.class);
+
+    static final String ENABLED_KEY = "LEGEND_CACHE_ENABLED";
+
+    static final String MAX_SIZE_KEY = "LEGEND_CACHE_MAX_SIZE";
+
+    static final String TTL_KEY = "LEGEND_CACHE_TTL";
+
+    static final long DEFAULT_MAX_SIZE = 16 * 1024 * 1024;
+
+    static final long DEFAULT_TTL = 3600;
+
+    /** Headers that can alter the contents of the legend (e.g., the proxy base URL of icons in JSON legends) */
+    static final List<String> KEY_HEADERS = List.of(
+            HttpHeaders.HOST, HttpHeaders.FORWARDED, "X-Forwarded-Host", "X-Forwarded-Proto", "X-Forwarded-Path");
+
+    Catalog catalog;
+
+    GeoServerDataDirectory dataDirectory;
+
+    boolean enabled;
+
+    Cache<String, CachedLegendGraphic> cache;
+
+    public LegendGraphicCache(Catalog catalog, GeoServerDataDirectory dataDirectory) {
+        this.catalog = catalog;
+        this.dataDirectory = dataDirectory;
+        this.enabled = Boolean.parseBoolean(GeoServerExtensions.getProperty(ENABLED_KEY));
+        long maxSize = getLongProperty(MAX_SIZE_KEY, DEFAULT_MAX_SIZE);
+        long ttl = getLongProperty(TTL_KEY, DEFAULT_TTL);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize)
+                .<String, CachedLegendGraphic>weigher((k, v) -> k.length() + v.contents.length)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .build();
+        catalog.addListener(this);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Legend cache enabled: " + enabled + ", max size " + maxSize + ", time to live " + ttl);
+        }
+    }
+
+    private static long getLongProperty(String key, long defaultValue) {
+        String value = GeoServerExtensions.getProperty(key);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.WARNING, "Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Wraps {@link WebMapService#getLegendGraphic(GetLegendGraphicRequest)}, called by the {@link Dispatcher}
+     *
+     * @see org.aopalliance.intercept.MethodInterceptor#invoke(org.aopalliance.intercept.MethodInvocation)
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Request request = Dispatcher.REQUEST.get();
+        Object[] arguments = invocation.getArguments();
+        if (!enabled
+                || request == null
+                || request.getHttpRequest() == null
+                || !request.isGet()
+                || arguments.length != 1
+                || !(arguments[0] instanceof GetLegendGraphicRequest legendRequest)
+                || !isCacheable(request, legendRequest)) {
+            return invocation.proceed();
+        }
+
+        Set<String> dependencies = new HashSet<>();
+        String key = buildKey(request, legendRequest, dependencies);
+        CachedLegendGraphic cached = cache.getIfPresent(key);
+        if (cached == null) {
+            Object legend = invocation.proceed();
+            cached = encode(legend, request.getOperation(), dependencies);
+            if (cached == null) {
+                return legend;
+            }
+            cache.put(key, cached);
+        } else {
+            LOGGER.finer("Serving legend graphic from cache");
+        }
+
+        String ifNoneMatch = request.getHttpRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(cached.getETag())) {
+            // Client already has the current version
+            throw new HttpErrorCodeException(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        return cached;
+    }
+
+    /** Legends depending on data, or on remote styles, are not cached */
+    private boolean isCacheable(Request request, GetLegendGraphicRequest legendRequest) {
+        Map<String, Object> rawKvp = request.getRawKvp();
+        return (rawKvp == null || rawKvp.get("SLD") == null)
+                && !Boolean.TRUE.equals(
+                        legendRequest.getLegendOption(GetLegendGraphicRequest.COUNT_MATCHED_KEY, Boolean.class))
+                && !Boolean.TRUE.equals(
+                        legendRequest.getLegendOption(GetLegendGraphicRequest.HIDE_EMPTY_RULES, Boolean.class));
+    }
+
+    /** Encodes the legend with the same response the dispatcher would use, returns null if none is found */
+    private CachedLegendGraphic encode(Object legend, Operation operation, Set<String> dependencies)
+            throws Exception {
+        if (legend == null || operation == null) {
+            return null;
+        }
+        for (Response response : GeoServerExtensions.extensions(Response.class)) {
+            if (response.getBinding().isAssignableFrom(legend.getClass()) && response.canHandle(operation)) {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                response.write(legend, bos, operation);
+                return new CachedLegendGraphic(
+                        bos.toByteArray(), response.getMimeType(legend, operation), dependencies);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the cache key for the request, and collects the identifiers of the catalog objects the legend depends on
+     */
+    String buildKey(Request request, GetLegendGraphicRequest legendRequest, Set<String> dependencies) {
+        StringBuilder sb = new StringBuilder();
+        HttpServletRequest http = request.getHttpRequest();
+        sb.append(http.getRequestURL()).append('\n');
+
+        // parameters, in a predictable order, the scale is replaced by the rule ranges it activates
+        Map<String, Object> rawKvp = request.getRawKvp();
+        if (rawKvp != null) {
+            Map<String, Object> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            sorted.putAll(rawKvp);
+            sorted.remove("SCALE");
+            sorted.forEach((k, v) -> sb.append(k.toUpperCase()).append('=').append(v).append('&'));
+        }
+        sb.append("\nSCALE=").append(getScaleBucket(legendRequest)).append('\n');
+        for (String header : KEY_HEADERS) {
+            String value = http.getHeader(header);
+            if (value != null) {
+                sb.append(header).append(':').append(value).append('\n');
+            }
+        }
+
+        // the styles, identified by their last modification
+        for (LegendRequest legend : legendRequest.getLegends()) {
+            addDependency(dependencies, legend.getLayerInfo());
+            addDependency(dependencies, legend.getLayerGroupInfo());
+            if (legend.getLayerInfo() != null) {
+                addDependency(dependencies, legend.getLayerInfo().getResource());
+            }
+            StyleInfo style = getStyleInfo(legend);
+            if (style != null) {
+                addDependency(dependencies, style);
+                sb.append(style.getId())
+                        .append('@')
+                        .append(dataDirectory.style(style).lastmodified())
+                        .append('\n');
+            }
+        }
+
+        // the security view
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null) {
+            sb.append(auth.getName());
+            TreeSet<String> roles = new TreeSet<>();
+            for (GrantedAuthority authority : auth.getAuthorities()) {
+                roles.add(authority.getAuthority());
+            }
+            sb.append(roles);
+        }
+
+        return sb.toString();
+    }
+
+    private void addDependency(Set<String> dependencies, CatalogInfo info) {
+        if (info != null && info.getId() != null) {
+            dependencies.add(info.getId());
+        }
+    }
+
+    private StyleInfo getStyleInfo(LegendRequest legend) {
+        if (legend.getStyleName() != null) {
+            // the style can live in the layer workspace, and shadow a global one with the same name
+            WorkspaceInfo ws = getWorkspace(legend);
+            StyleInfo style = ws != null ? catalog.getStyleByName(ws, legend.getStyleName()) : null;
+            return style != null ? style : catalog.getStyleByName(legend.getStyleName());
+        } else if (legend.getLayerInfo() != null) {
+            return legend.getLayerInfo().getDefaultStyle();
+        }
+        return null;
+    }
+
+    private WorkspaceInfo getWorkspace(LegendRequest legend) {
+        if (legend.getLayerInfo() != null) {
+            ResourceInfo resource = legend.getLayerInfo().getResource();
+            return resource != null && resource.getStore() != null ? resource.getStore().getWorkspace() : null;
+        } else if (legend.getLayerGroupInfo() != null) {
+            return legend.getLayerGroupInfo().getWorkspace();
+        }
+        return null;
+    }
+
+    /**
+     * Reduces the scale to the set of rules it activates, so that legends requested at slightly different scales can
+     * share the same entry. Styles using real world units are scale dependent, the scale is used as is for them
+     */
+    static String getScaleBucket(GetLegendGraphicRequest request) {
+        double scale = request.getScale();
+        if (scale <= 0) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (LegendRequest legend : request.getLegends()) {
+            Style style = legend.getStyle();
+            if (style == null) {
+                return String.valueOf(scale);
+            }
+            // counting the rule boundaries below the scale identifies the scale range
+            int boundaries = 0;
+            for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+                for (Rule rule : fts.rules()) {
+                    for (Symbolizer symbolizer : rule.symbolizers()) {
+                        if (symbolizer.getUnitOfMeasure() != null) {
+                            return String.valueOf(scale);
+                        }
+                    }
+                    if (rule.getMinScaleDenominator() <= scale) {
+                        boundaries++;
+                    }
+                    if (rule.getMaxScaleDenominator() <= scale) {
+                        boundaries++;
+                    }
+                }
+            }
+            sb.append(boundaries).append(',');
+        }
+        return sb.toString();
+    }
+
+    /** Returns true if the cache is enabled */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Enables/disables the cache */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            cache.invalidateAll();
+        }
+    }
+
+    /** Empties the cache */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /** Returns the number of cached legends */
+    public long size() {
+        return cache.size();
+    }
+
+    /** Drops the cached legends depending on the given catalog object */
+    public void invalidate(CatalogInfo info) {
+        if (info == null || info.getId() == null) {
+            return;
+        }
+        String id = info.getId();
+        cache.asMap().values().removeIf(v -> v.dependencies.contains(id));
+    }
+
+    private void invalidate(CatalogEvent event) {
+        CatalogInfo source = event.getSource();
+        if (source instanceof StyleInfo
+                || source instanceof LayerInfo
+                || source instanceof LayerGroupInfo
+                || source instanceof ResourceInfo) {
+            invalidate(source);
+        }
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
+        invalidate(event);
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
+        invalidate(event);
+    }
+
+    @Override
+    public void reloaded() {
+        clear();
+    }
+}
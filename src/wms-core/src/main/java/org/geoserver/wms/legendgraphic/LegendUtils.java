@@ -24,6 +24,7 @@
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.text.WordUtils;
+import org.geoserver.catalog.CompiledStyle;
 import org.geoserver.wms.GetLegendGraphicRequest;
 import org.geoserver.wms.map.ImageUtils;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -583,6 +584,20 @@ public static Rule[] getApplicableRules(final FeatureTypeStyle[] ftStyles, doubl
         return ruleList.toArray(new Rule[ruleList.size()]);
     }
 
+    /**
+     * Finds the applicable Rules of a style for the given scale denominator, reusing the rules already computed for the
+     * same scale band, see {@link CompiledStyle}
+     *
+     * @return an array of {@link Rule}s.
+     */
+    public static Rule[] getApplicableRules(final Style style, double scaleDenominator) {
+        ensureNotNull(style, "style");
+        if (scaleDenominator == -1) {
+            return getApplicableRules(style.featureTypeStyles().toArray(new FeatureTypeStyle[0]), scaleDenominator);
+        }
+        return CompiledStyle.of(style).getActiveRules(scaleDenominator).toArray(new Rule[0]);
+    }
+
     /**
      * Checks if a rule can be triggered at the current scale level
      *
@@ -8,17 +8,20 @@
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geoserver.config.ImageProcessingInfo;
 import org.geoserver.platform.Operation;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.DefaultWebMapService;
 import org.geoserver.wms.GetMapRequest;
 import org.geoserver.wms.MapProducerCapabilities;
 import org.geoserver.wms.RasterCleaner;
 import org.geoserver.wms.WMS;
 import org.geoserver.wms.WMSMapContent;
 import org.geoserver.wms.map.png.PNGJWriter;
+import org.geoserver.wms.map.png.ParallelPNGWriter;
 import org.geotools.image.ImageWorker;
 import org.geotools.util.logging.Logging;
 
@@ -59,6 +62,9 @@ public enum QuantizeMethod {
      */
     private static MapProducerCapabilities CAPABILITIES = new MapProducerCapabilities(true, true, true);
 
+    /** Maximum number of blocks of a single image compressed at the same time, when parallel encoding is enabled */
+    static final int PARALLEL_ENCODING_THREADS = Runtime.getRuntime().availableProcessors();
+
     public PNGMapResponse(WMS wms) {
         super(OUTPUT_FORMATS, wms);
     }
@@ -94,7 +100,14 @@ public void formatImageOutputStream(RenderedImage image, OutputStream outStream,
         image = applyPalette(image, mapContent, f -> f != null && f.contains("png8"), true);
         float quality = (100 - wms.getPngCompression()) / 100.0f;
         ImageProcessingInfo.PngEncoderType encoder = wms.getPNGEncoderType();
-        if (encoder == ImageProcessingInfo.PngEncoderType.PNGJ) {
+        ExecutorService pool = DefaultWebMapService.getRenderingPool();
+        if (pool != null
+                && wms.isPNGParallelEncodingEnabled()
+                && ParallelPNGWriter.isSupported(image)
+                && ParallelPNGWriter.isWorthSplitting(image)) {
+            new ParallelPNGWriter(pool, PARALLEL_ENCODING_THREADS).writePNG(image, outStream, quality);
+            RasterCleaner.addImage(image);
+        } else if (encoder == ImageProcessingInfo.PngEncoderType.PNGJ) {
             image = new PNGJWriter().writePNG(image, outStream, quality, mapContent);
             RasterCleaner.addImage(image);
         } else {
@@ -0,0 +1,196 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.awt.Color;
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.MapLayerInfo;
+import org.geoserver.wms.WMSMapContent;
+import org.geotools.api.style.Style;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Cache of the palettes computed for paletted outputs (PNG8, GIF, paletted TIFF), keyed by layers, styles, output
+ * format, transparency, background color and zoom level. Maps of the same layers and styles at similar scales tend to
+ * use the same colors, so the palette quantized for one of them can be reused for the others, replacing the
+ * quantization with a plain inverse color lookup.
+ *
+ * <p>Before being reused a palette is checked against a sample of the image pixels: if too many of them do not have a
+ * close enough match in the palette (e.g., the data changed, or the map shows an area with different colors) the
+ * image is quantized again and the new palette replaces the cached one.
+ *
+ * <p>The cache is disabled by default, it can be enabled setting the {@code PALETTE_CACHE_ENABLED} variable to true,
+ * while {@code PALETTE_CACHE_SIZE} controls the number of palettes kept (100 by default).
+ */
+class PaletteCache {
+
+    static final Logger LOGGER = Logging.getLogger(PaletteCache.class);
+
+    static final int DEFAULT_SIZE = 100;
+
+    /** Number of pixels sampled on each axis when checking a cached palette against an image */
+    static final int SAMPLES = 32;
+
+    /** Max squared distance, summed over the color components, between a pixel and its closest palette entry */
+    static final int MAX_DISTANCE = 3 * 16 * 16;
+
+    /** Max ratio of sampled pixels without a close match in the palette before the image is quantized again */
+    static final double MAX_MISS_RATIO = 0.02;
+
+    static boolean enabled = Boolean.parseBoolean(GeoServerExtensions.getProperty("PALETTE_CACHE_ENABLED"));
+
+    static final Cache<PaletteKey, IndexColorModel> PALETTES =
+            CacheBuilder.newBuilder().maximumSize(getSize()).build();
+
+    private PaletteCache() {}
+
+    private static long getSize() {
+        String value = GeoServerExtensions.getProperty("PALETTE_CACHE_SIZE");
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid value for PALETTE_CACHE_SIZE: " + value + ", using " + DEFAULT_SIZE);
+            }
+        }
+        return DEFAULT_SIZE;
+    }
+
+    /**
+     * Builds the key for the palette of the given map, or returns null if the cache is disabled, or the map cannot be
+     * identified by layer and style names (e.g., styles provided in the request)
+     */
+    static PaletteKey getKey(WMSMapContent mapContent, String format, boolean bitmask) {
+        if (!enabled) {
+            return null;
+        }
+        GetMapRequest request = mapContent.getRequest();
+        if (request.getSld() != null || request.getStyleBody() != null) {
+            return null;
+        }
+        List<String> layers = new ArrayList<>();
+        for (MapLayerInfo layer : request.getLayers()) {
+            layers.add(layer.getName());
+        }
+        List<String> styles = new ArrayList<>();
+        for (Style style : request.getStyles()) {
+            if (style == null || style.getName() == null) {
+                return null;
+            }
+            styles.add(style.getName());
+        }
+        double scale = mapContent.getScaleDenominator();
+        int zoomBand = scale > 0 && Double.isFinite(scale) ? (int) Math.floor(Math.log(scale) / Math.log(2)) : 0;
+        return new PaletteKey(
+                layers, styles, format, request.isTransparent(), request.getBgColor(), bitmask, zoomBand);
+    }
+
+    /**
+     * Returns the cached palette for the given key, provided it's a good match for the colors of the image, or null
+     * otherwise
+     */
+    static IndexColorModel getPalette(PaletteKey key, RenderedImage image) {
+        IndexColorModel palette = PALETTES.getIfPresent(key);
+        if (palette != null && !matches(palette, image, key.bitmask())) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Cached palette does not match the image colors anymore, quantizing again for " + key);
+            }
+            return null;
+        }
+        return palette;
+    }
+
+    /** Caches the palette computed for the given key */
+    static void putPalette(PaletteKey key, ColorModel palette) {
+        if (palette instanceof IndexColorModel icm) {
+            PALETTES.put(key, icm);
+        }
+    }
+
+    /** Drops all the cached palettes */
+    static void clear() {
+        PALETTES.invalidateAll();
+    }
+
+    /** Checks a grid of pixels of the image against the palette, counting those without a close enough match */
+    static boolean matches(IndexColorModel palette, RenderedImage image, boolean bitmask) {
+        int size = palette.getMapSize();
+        int[] entries = new int[size];
+        palette.getRGBs(entries);
+        boolean hasTransparent = false;
+        for (int entry : entries) {
+            hasTransparent |= (entry >>> 24) == 0;
+        }
+
+        ColorModel cm = image.getColorModel();
+        int xStep = Math.max(1, image.getWidth() / SAMPLES);
+        int yStep = Math.max(1, image.getHeight() / SAMPLES);
+        int samples = 0;
+        int misses = 0;
+        Raster tile = null;
+        Object pixel = null;
+        for (int y = image.getMinY() + yStep / 2; y < image.getMinY() + image.getHeight(); y += yStep) {
+            for (int x = image.getMinX() + xStep / 2; x < image.getMinX() + image.getWidth(); x += xStep) {
+                if (tile == null || !tile.getBounds().contains(x, y)) {
+                    tile = image.getTile(
+                            Math.floorDiv(x - image.getTileGridXOffset(), image.getTileWidth()),
+                            Math.floorDiv(y - image.getTileGridYOffset(), image.getTileHeight()));
+                }
+                pixel = tile.getDataElements(x, y, pixel);
+                int argb = cm.getRGB(pixel);
+                samples++;
+                if (!hasMatch(argb, entries, bitmask, hasTransparent)) {
+                    misses++;
+                }
+            }
+        }
+        return misses <= samples * MAX_MISS_RATIO;
+    }
+
+    private static boolean hasMatch(int argb, int[] entries, boolean bitmask, boolean hasTransparent) {
+        int a = argb >>> 24;
+        if (bitmask) {
+            // the bitmask inverter maps any translucent pixel to either transparent or opaque
+            if (a < 128) {
+                return hasTransparent;
+            }
+            a = 255;
+        }
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        for (int entry : entries) {
+            int da = a - (entry >>> 24);
+            int dr = r - ((entry >> 16) & 0xFF);
+            int dg = g - ((entry >> 8) & 0xFF);
+            int db = b - (entry & 0xFF);
+            if (da * da + dr * dr + dg * dg + db * db <= MAX_DISTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Identifies maps expected to share the same palette */
+    record PaletteKey(
+            List<String> layers,
+            List<String> styles,
+            String format,
+            boolean transparent,
+            Color bgColor,
+            boolean bitmask,
+            int zoomBand) {}
+}
@@ -148,8 +148,19 @@ protected RenderedImage applyPalette(
             if (icm != null) {
                 image = forceIndexed8Bitmask(image, PaletteManager.getInverseColorMapOp(icm));
             } else if (palettedFormatCheck.apply(format)) {
-                // or format that needs palette to be applied?
-                image = forceIndexed8Bitmask(image, null);
+                // or format that needs palette to be applied? Reuse the palette of similar maps if possible
+                PaletteCache.PaletteKey key = image.getColorModel() instanceof IndexColorModel
+                        ? null
+                        : PaletteCache.getKey(mapContent, format, true);
+                IndexColorModel cached = key != null ? PaletteCache.getPalette(key, image) : null;
+                if (cached != null) {
+                    image = forceIndexed8Bitmask(image, PaletteManager.getInverseColorMapOp(cached));
+                } else {
+                    image = forceIndexed8Bitmask(image, null);
+                    if (key != null) {
+                        PaletteCache.putPalette(key, image.getColorModel());
+                    }
+                }
             }
         } else {
             if (!(image.getColorModel() instanceof IndexColorModel)
@@ -165,8 +176,18 @@ protected RenderedImage applyPalette(
                 if (mapContent.getPalette() != null) {
                     indexer = new CachingColorIndexer(new LRUColorIndexer(icm, 1024));
                 } else if (palettedFormatCheck.apply(format)) {
-                    // build the palette and grab the optimized color indexer
-                    indexer = new Quantizer(256).subsample().buildColorIndexer(image);
+                    // reuse the palette of similar maps if possible, otherwise build the palette and grab
+                    // the optimized color indexer
+                    PaletteCache.PaletteKey key = PaletteCache.getKey(mapContent, format, false);
+                    IndexColorModel cached = key != null ? PaletteCache.getPalette(key, image) : null;
+                    if (cached != null) {
+                        indexer = new CachingColorIndexer(new LRUColorIndexer(cached, 1024));
+                    } else {
+                        indexer = new Quantizer(256).subsample().buildColorIndexer(image);
+                        if (key != null) {
+                            PaletteCache.putPalette(key, indexer.toIndexColorModel());
+                        }
+                    }
                 }
 
                 // if we have an indexer transform the image
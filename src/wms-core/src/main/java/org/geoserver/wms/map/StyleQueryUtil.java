@@ -17,6 +17,7 @@
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.geoserver.catalog.CompiledStyle;
 import org.geoserver.wms.WMSMapContent;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
@@ -30,7 +31,6 @@
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.api.style.FeatureTypeStyle;
 import org.geotools.api.style.Rule;
-import org.geotools.api.style.Style;
 import org.geotools.data.DataUtilities;
 import org.geotools.feature.FeatureTypes;
 import org.geotools.filter.IllegalFilterException;
@@ -181,9 +181,8 @@ public static int getComputedBuffer(final int requestBufferScreen, List<LiteFeat
      * @return the list of feature type styles
      */
     public static List<LiteFeatureTypeStyle> getFeatureStyles(Layer layer, final double mapScale, FeatureType schema) {
-        Style style = layer.getStyle();
-        List<FeatureTypeStyle> featureStyles = style.featureTypeStyles();
-        return createLiteFeatureTypeStyles(layer, featureStyles, schema, mapScale);
+        CompiledStyle style = CompiledStyle.of(layer.getStyle());
+        return createLiteFeatureTypeStyles(layer, style, schema, mapScale);
     }
 
     private static double[] getPixelSize(final ReferencedEnvelope renderingArea, final Rectangle screenSize) {
@@ -288,18 +287,18 @@ private static Filter reprojectSpatialFilter(
      * @return a list of LiteFeatureTypeStyles
      */
     private static ArrayList<LiteFeatureTypeStyle> createLiteFeatureTypeStyles(
-            Layer layer, List<FeatureTypeStyle> featureStyles, FeatureType ftype, double scaleDenominator) {
+            Layer layer, CompiledStyle style, FeatureType ftype, double scaleDenominator) {
 
         ArrayList<LiteFeatureTypeStyle> result = new ArrayList<>();
 
         LiteFeatureTypeStyle lfts;
 
-        for (FeatureTypeStyle fts : featureStyles) {
+        for (FeatureTypeStyle fts : style.getStyle().featureTypeStyles()) {
             if (isFeatureTypeStyleActive(ftype, fts)) {
                 // DJB: this FTS is compatible with this FT.
 
                 // get applicable rules at the current scale
-                List<Rule>[] splittedRules = splitRules(fts, scaleDenominator);
+                List<Rule>[] splittedRules = splitRules(style.getActiveRules(fts, scaleDenominator));
                 List<Rule> ruleList = splittedRules[0];
                 List<Rule> elseRuleList = splittedRules[1];
 
@@ -319,25 +318,22 @@ private static ArrayList<LiteFeatureTypeStyle> createLiteFeatureTypeStyles(
     }
 
     /**
-     * Splits the rules of a feature type style into two lists: one for the rules that are active at the current scale
+     * Splits the rules of a feature type style active at the current scale into two lists: one for the regular rules
      * and one for the else rules
      *
-     * @param fts the feature type style
-     * @param scaleDenominator the scale denominator
-     * @return an array of two lists: the first one contains the rules that are active at the current
+     * @param activeRules the rules active at the current scale
+     * @return an array of two lists: the first one contains the regular rules, the second one the else rules
      */
-    private static List<Rule>[] splitRules(final FeatureTypeStyle fts, final double scaleDenominator) {
+    private static List<Rule>[] splitRules(final List<Rule> activeRules) {
 
         List<Rule> ruleList = new ArrayList<>();
         List<Rule> elseRuleList = new ArrayList<>();
 
-        for (Rule r : fts.rules()) {
-            if (isWithInScale(r, scaleDenominator)) {
-                if (r.isElseFilter()) {
-                    elseRuleList.add(r);
-                } else {
-                    ruleList.add(r);
-                }
+        for (Rule r : activeRules) {
+            if (r.isElseFilter()) {
+                elseRuleList.add(r);
+            } else {
+                ruleList.add(r);
             }
         }
 
@@ -346,18 +342,6 @@ private static List<Rule>[] splitRules(final FeatureTypeStyle fts, final double
         return ret;
     }
 
-    /**
-     * Checks if a rule can be triggered at the current scale level
-     *
-     * @return true if the scale is compatible with the rule settings
-     */
-    private static boolean isWithInScale(Rule r, double scaleDenominator) {
-        // Tolerance used to compare doubles for equality
-        final double TOLERANCE = 1e-6;
-        return ((r.getMinScaleDenominator() - TOLERANCE) <= scaleDenominator)
-                && ((r.getMaxScaleDenominator() + TOLERANCE) > scaleDenominator);
-    }
-
     /**
      * Checks if a feature type style is active for a given feature type
      *
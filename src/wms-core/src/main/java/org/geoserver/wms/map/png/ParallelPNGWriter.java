@@ -0,0 +1,412 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import java.awt.Rectangle;
+import java.awt.color.ColorSpace;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DirectColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes images in PNG splitting them in blocks of rows, each one filtered and deflated on its own thread. The blocks
+ * are compressed as independent raw deflate streams terminated by a sync flush (the last one is finished instead), so
+ * that their concatenation is a valid zlib stream, and the overall Adler-32 checksum is computed combining the ones
+ * of the blocks. The scanline filter is chosen for each block by sampling a few of its rows, and picking the filter
+ * producing the smallest sum of absolute differences, as suggested by the PNG specification.
+ *
+ * <p>Only 8 bits per sample images are supported, paletted, gray or RGB, with or without alpha, see
+ * {@link #isSupported(RenderedImage)}. The compression ratio is slightly lower than a single stream encoder, as each
+ * block starts with an empty dictionary, in exchange the encoding time of large images scales with the number of
+ * cores.
+ */
+public class ParallelPNGWriter {
+
+    /** Target size of the uncompressed, filtered data of a block */
+    static final int BLOCK_SIZE = 256 * 1024;
+
+    /** Number of rows sampled in each block to choose the filter */
+    static final int SAMPLE_ROWS = 8;
+
+    static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+    /** The zlib stream header, deflate with 32k window */
+    static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9C};
+
+    static final int COLOR_GRAY = 0;
+    static final int COLOR_RGB = 2;
+    static final int COLOR_PALETTE = 3;
+    static final int COLOR_GRAY_ALPHA = 4;
+    static final int COLOR_RGBA = 6;
+
+    static final int FILTER_NONE = 0;
+    static final int FILTER_SUB = 1;
+    static final int FILTER_UP = 2;
+    static final int FILTER_AVERAGE = 3;
+    static final int FILTER_PAETH = 4;
+
+    private final ExecutorService executor;
+
+    private final int parallelism;
+
+    /**
+     * Builds a new writer
+     *
+     * @param executor The executor compressing the blocks
+     * @param parallelism The maximum number of blocks compressed at the same time for a single image
+     */
+    public ParallelPNGWriter(ExecutorService executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Checks if the image can be encoded by this writer, that is, if it has 8 bits samples, and a color model mapping
+     * directly to a PNG color type
+     */
+    public static boolean isSupported(RenderedImage image) {
+        return getColorType(image) >= 0;
+    }
+
+    /** Checks if the image is large enough to be split in at least two blocks */
+    public static boolean isWorthSplitting(RenderedImage image) {
+        long rowBytes = (long) image.getWidth() * image.getSampleModel().getNumBands() + 1;
+        return rowBytes * image.getHeight() >= 2L * BLOCK_SIZE;
+    }
+
+    static int getColorType(RenderedImage image) {
+        SampleModel sm = image.getSampleModel();
+        ColorModel cm = image.getColorModel();
+        if (cm == null || sm == null) {
+            return -1;
+        }
+        for (int size : sm.getSampleSize()) {
+            if (size != 8) {
+                return -1;
+            }
+        }
+        int bands = sm.getNumBands();
+        if (cm instanceof IndexColorModel) {
+            return bands == 1 ? COLOR_PALETTE : -1;
+        }
+        if (!(cm instanceof ComponentColorModel || cm instanceof DirectColorModel)
+                || cm.isAlphaPremultiplied()
+                || cm.getNumComponents() != bands) {
+            return -1;
+        }
+        ColorSpace cs = cm.getColorSpace();
+        if (cs.getType() == ColorSpace.TYPE_GRAY && cm.getNumColorComponents() == 1) {
+            return cm.hasAlpha() ? COLOR_GRAY_ALPHA : COLOR_GRAY;
+        } else if (cs.isCS_sRGB() && cm.getNumColorComponents() == 3) {
+            return cm.hasAlpha() ? COLOR_RGBA : COLOR_RGB;
+        }
+        return -1;
+    }
+
+    /** Maps the quality, between 0 and 1, to a deflate compression level, between 0 and 9 */
+    static int getCompressionLevel(float quality) {
+        int level = Math.round(9 * (1 - quality));
+        return Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, level));
+    }
+
+    /**
+     * Encodes the image in PNG
+     *
+     * @param image The image to be encoded, must be supported, see {@link #isSupported(RenderedImage)}
+     * @param outStream The destination stream, will be flushed, but not closed
+     * @param quality The encoding quality, between 0 (best compression) and 1 (fastest)
+     */
+    public void writePNG(RenderedImage image, OutputStream outStream, float quality) throws IOException {
+        int colorType = getColorType(image);
+        if (colorType < 0) {
+            throw new IllegalArgumentException("Unsupported image, check isSupported() before encoding");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int bands = image.getSampleModel().getNumBands();
+        int rowsPerBlock = Math.max(1, BLOCK_SIZE / (width * bands + 1));
+        int level = getCompressionLevel(quality);
+
+        DataOutputStream out = new DataOutputStream(outStream);
+        out.write(SIGNATURE);
+        writeHeader(out, width, height, colorType);
+        if (colorType == COLOR_PALETTE) {
+            writePalette(out, (IndexColorModel) image.getColorModel());
+        }
+
+        // keep at most "parallelism" blocks in flight, bounding both threads and memory usage
+        Deque<Future<Block>> blocks = new ArrayDeque<>();
+        int nextRow = 0;
+        long adler = 1;
+        boolean first = true;
+        try {
+            while (nextRow < height || !blocks.isEmpty()) {
+                while (nextRow < height && blocks.size() < parallelism) {
+                    int row = nextRow;
+                    int rows = Math.min(rowsPerBlock, height - row);
+                    boolean last = row + rows == height;
+                    blocks.add(executor.submit(() -> encodeBlock(image, row, rows, colorType, level, last)));
+                    nextRow += rows;
+                }
+                Block block = blocks.poll().get();
+                adler = combineAdler32(adler, block.adler, block.length);
+                byte[] prefix = first ? ZLIB_HEADER : new byte[0];
+                byte[] suffix = block.last ? toBytes((int) adler) : new byte[0];
+                writeChunk(out, "IDAT", prefix, block.data, suffix);
+                first = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while encoding the PNG", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Failed to encode the PNG", cause);
+        } finally {
+            blocks.forEach(f -> f.cancel(true));
+        }
+
+        writeChunk(out, "IEND");
+        out.flush();
+    }
+
+    private void writeHeader(DataOutputStream out, int width, int height, int colorType) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(13);
+        DataOutputStream header = new DataOutputStream(bos);
+        header.writeInt(width);
+        header.writeInt(height);
+        header.writeByte(8); // bit depth
+        header.writeByte(colorType);
+        header.writeByte(0); // compression method
+        header.writeByte(0); // filter method
+        header.writeByte(0); // no interlace
+        writeChunk(out, "IHDR", bos.toByteArray());
+    }
+
+    private void writePalette(DataOutputStream out, IndexColorModel icm) throws IOException {
+        int size = icm.getMapSize();
+        byte[] palette = new byte[size * 3];
+        byte[] alphas = new byte[size];
+        int lastTranslucent = -1;
+        for (int i = 0; i < size; i++) {
+            palette[i * 3] = (byte) icm.getRed(i);
+            palette[i * 3 + 1] = (byte) icm.getGreen(i);
+            palette[i * 3 + 2] = (byte) icm.getBlue(i);
+            alphas[i] = (byte) icm.getAlpha(i);
+            if (icm.getAlpha(i) != 255) {
+                lastTranslucent = i;
+            }
+        }
+        writeChunk(out, "PLTE", palette);
+        if (lastTranslucent >= 0) {
+            // trailing opaque entries can be omitted
+            byte[] trns = new byte[lastTranslucent + 1];
+            System.arraycopy(alphas, 0, trns, 0, trns.length);
+            writeChunk(out, "tRNS", trns);
+        }
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[]... parts) throws IOException {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        out.writeInt(length);
+        out.write(typeBytes);
+        for (byte[] part : parts) {
+            crc.update(part);
+            out.write(part);
+        }
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static byte[] toBytes(int value) {
+        return new byte[] {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    /** Filters and compresses a block of rows */
+    static Block encodeBlock(RenderedImage image, int row, int rows, int colorType, int level, boolean last) {
+        int width = image.getWidth();
+        int bpp = image.getSampleModel().getNumBands();
+        int rowBytes = width * bpp;
+
+        // include the row before the block, used as reference by the UP, AVERAGE and PAETH filters
+        int from = row > 0 ? row - 1 : row;
+        int minX = image.getMinX();
+        int minY = image.getMinY();
+        Raster raster = getRows(image, minY + from, row + rows - from);
+        int[] pixels = new int[rowBytes];
+        byte[][] data = new byte[row + rows - from][];
+        for (int i = 0; i < data.length; i++) {
+            raster.getPixels(minX, minY + from + i, width, 1, pixels);
+            byte[] bytes = new byte[rowBytes];
+            for (int j = 0; j < rowBytes; j++) {
+                bytes[j] = (byte) pixels[j];
+            }
+            data[i] = bytes;
+        }
+        int offset = row - from;
+        byte[] empty = new byte[rowBytes];
+
+        // palette images compress better without filtering
+        int filter = colorType == COLOR_PALETTE ? FILTER_NONE : chooseFilter(data, offset, rows, empty, bpp);
+
+        byte[] filtered = new byte[rows * (rowBytes + 1)];
+        for (int i = 0; i < rows; i++) {
+            byte[] previous = offset + i > 0 ? data[offset + i - 1] : empty;
+            filterRow(filter, data[offset + i], previous, bpp, filtered, i * (rowBytes + 1));
+        }
+
+        Adler32 adler = new Adler32();
+        adler.update(filtered);
+        return new Block(deflate(filtered, level, last), adler.getValue(), filtered.length, last);
+    }
+
+    /** Returns a raster containing the given rows, avoiding a copy when the image is made of a single tile */
+    private static Raster getRows(RenderedImage image, int y, int rows) {
+        if (image.getNumXTiles() == 1 && image.getNumYTiles() == 1) {
+            return image.getTile(image.getMinTileX(), image.getMinTileY());
+        }
+        return image.getData(new Rectangle(image.getMinX(), y, image.getWidth(), rows));
+    }
+
+    /** Picks the filter minimizing the sum of the absolute values of the filtered bytes, on a sample of the rows */
+    static int chooseFilter(byte[][] data, int offset, int rows, byte[] empty, int bpp) {
+        int rowBytes = empty.length;
+        byte[] buffer = new byte[rowBytes + 1];
+        long[] sums = new long[FILTER_PAETH + 1];
+        int step = Math.max(1, rows / SAMPLE_ROWS);
+        for (int i = 0; i < rows; i += step) {
+            byte[] previous = offset + i > 0 ? data[offset + i - 1] : empty;
+            for (int filter = FILTER_NONE; filter <= FILTER_PAETH; filter++) {
+                filterRow(filter, data[offset + i], previous, bpp, buffer, 0);
+                long sum = 0;
+                for (int j = 1; j < buffer.length; j++) {
+                    sum += Math.abs(buffer[j]);
+                }
+                sums[filter] += sum;
+            }
+        }
+        int best = FILTER_NONE;
+        for (int filter = FILTER_SUB; filter <= FILTER_PAETH; filter++) {
+            if (sums[filter] < sums[best]) {
+                best = filter;
+            }
+        }
+        return best;
+    }
+
+    static void filterRow(int filter, byte[] current, byte[] previous, int bpp, byte[] out, int offset) {
+        out[offset++] = (byte) filter;
+        int length = current.length;
+        switch (filter) {
+            case FILTER_SUB:
+                for (int i = 0; i < length; i++) {
+                    int left = i >= bpp ? current[i - bpp] & 0xFF : 0;
+                    out[offset + i] = (byte) (current[i] - left);
+                }
+                break;
+            case FILTER_UP:
+                for (int i = 0; i < length; i++) {
+                    out[offset + i] = (byte) (current[i] - previous[i]);
+                }
+                break;
+            case FILTER_AVERAGE:
+                for (int i = 0; i < length; i++) {
+                    int left = i >= bpp ? current[i - bpp] & 0xFF : 0;
+                    out[offset + i] = (byte) (current[i] - ((left + (previous[i] & 0xFF)) >>> 1));
+                }
+                break;
+            case FILTER_PAETH:
+                for (int i = 0; i < length; i++) {
+                    int left = i >= bpp ? current[i - bpp] & 0xFF : 0;
+                    int upLeft = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                    out[offset + i] = (byte) (current[i] - paeth(left, previous[i] & 0xFF, upLeft));
+                }
+                break;
+            default:
+                System.arraycopy(current, 0, out, offset, length);
+        }
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        } else if (pb <= pc) {
+            return b;
+        }
+        return c;
+    }
+
+    /** Compresses the data as a raw deflate stream, sync flushed so that it can be followed by other streams */
+    static byte[] deflate(byte[] data, int level, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(buffer);
+                    bos.write(buffer, 0, n);
+                }
+            } else {
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    bos.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return bos.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Combines the Adler-32 checksums of two consecutive sequences, as zlib adler32_combine does */
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521;
+        long rem = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (rem * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >> 16) & 0xFFFF) + ((adler2 >> 16) & 0xFFFF) + base - rem;
+        if (sum1 >= base) sum1 -= base;
+        if (sum1 >= base) sum1 -= base;
+        if (sum2 >= (base << 1)) sum2 -= (base << 1);
+        if (sum2 >= base) sum2 -= base;
+        return sum1 | (sum2 << 16);
+    }
+
+    /** A compressed block of rows */
+    record Block(byte[] data, long adler, long length, boolean last) {}
+}
@@ -0,0 +1,116 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.dimension;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.DimensionInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.event.impl.CatalogPostModifyEventImpl;
+import org.geoserver.catalog.impl.DimensionInfoImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DimensionDomainCacheTest {
+
+    FeatureTypeInfo typeInfo;
+
+    DataStoreInfo store;
+
+    DimensionInfo dimension;
+
+    AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setup() {
+        store = mock(DataStoreInfo.class);
+        when(store.getId()).thenReturn("store");
+        typeInfo = mock(FeatureTypeInfo.class);
+        when(typeInfo.getId()).thenReturn("ft");
+        when(typeInfo.getStore()).thenReturn(store);
+        dimension = new DimensionInfoImpl();
+        dimension.setEnabled(true);
+        dimension.setAttribute("elevation");
+    }
+
+    private TreeSet<Double> load() {
+        loads.incrementAndGet();
+        return new TreeSet<>(List.of(1d, 2d, 3d));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        DimensionDomainCache cache = new DimensionDomainCache(0);
+        cache.getDomain(typeInfo, ResourceInfo.ELEVATION, dimension, this::load);
+        cache.getDomain(typeInfo, ResourceInfo.ELEVATION, dimension, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testCaching() throws Exception {
+        DimensionDomainCache cache = new DimensionDomainCache(60);
+        TreeSet<Double> domain = cache.getDomain(typeInfo, ResourceInfo.ELEVATION, dimension, this::load);
+        assertEquals(3, domain.size());
+        // the returned domain is a copy, modifying it does not alter the cache
+        domain.clear();
+        domain = cache.getDomain(typeInfo, ResourceInfo.ELEVATION, dimension, this::load);
+        assertEquals(3, domain.size());
+        assertEquals(1, loads.get());
+
+        // a different configuration is a different domain
+        DimensionInfo other = new DimensionInfoImpl(dimension);
+        other.setEndAttribute("endElevation");
+        cache.getDomain(typeInfo, ResourceInfo.ELEVATION, other, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testDimensionName() throws Exception {
+        // custom dimensions with the same configuration, but different names, have separate domains
+        DimensionDomainCache cache = new DimensionDomainCache(60);
+        cache.getDomain(typeInfo, "dim_depth", dimension, this::load);
+        TreeSet<Double> other = cache.getDomain(typeInfo, "dim_level", dimension, () -> new TreeSet<>(List.of(4d)));
+        assertEquals(new TreeSet<>(List.of(4d)), other);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testNullDomain() throws Exception {
+        DimensionDomainCache cache = new DimensionDomainCache(60);
+        assertNull(cache.getDomain(typeInfo, ResourceInfo.TIME, dimension, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.getDomain(typeInfo, ResourceInfo.TIME, dimension, () -> null));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        DimensionDomainCache cache = new DimensionDomainCache(60);
+        cache.getDomain(typeInfo, ResourceInfo.ELEVATION, dimension, this::load);
+
+        // modifying the store drops the cached domain
+        CatalogPostModifyEventImpl event = new CatalogPostModifyEventImpl();
+        event.setSource(store);
+        cache.handlePostModifyEvent(event);
+        cache.getDomain(typeInfo, ResourceInfo.ELEVATION, dimension, this::load);
+        assertEquals(2, loads.get());
+
+        // same goes for the feature type
+        event.setSource(typeInfo);
+        cache.handlePostModifyEvent(event);
+        cache.getDomain(typeInfo, ResourceInfo.ELEVATION, dimension, this::load);
+        assertEquals(3, loads.get());
+    }
+}
@@ -4,21 +4,28 @@
  */
 package org.geoserver.wms.icons;
 
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.startsWith;
 import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.easymock.Capture;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.StyleInfo;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.style.Style;
 import org.junit.Test;
+import org.springframework.http.HttpHeaders;
 
 public class IconServiceTest extends IconTestSupport {
 
@@ -70,8 +77,46 @@ public void testAcceptedNames() throws Exception {
         dispatch("/icon/foo-bar", "0.0.0=", cat);
     }
 
+    @Test
+    public void testCacheAndNotModified() throws Exception {
+        Style style = style(featureTypeStyle(rule(Filter.INCLUDE, grayCircle())));
+
+        StyleInfo s = createNiceMock(StyleInfo.class);
+        expect(s.getStyle()).andReturn(style).anyTimes();
+
+        Catalog cat = createNiceMock(Catalog.class);
+        expect(cat.getStyleByName("foo")).andReturn(s).anyTimes();
+
+        replay(s, cat);
+
+        IconCache.clear();
+        String etag = dispatch("/icon/foo", "0.0.0=", cat);
+        long hits = IconCache.getStats().hitCount();
+
+        // same icon, served from the cache
+        assertEquals(etag, dispatch("/icon/foo", "0.0.0=", cat));
+        assertEquals(hits + 1, IconCache.getStats().hitCount());
+
+        // conditional request, the client copy is still valid
+        HttpServletRequest req = createNiceMock(HttpServletRequest.class);
+        expect(req.getPathInfo()).andReturn("/icon/foo");
+        expect(req.getQueryString()).andReturn("0.0.0=");
+        expect(req.getHeader(HttpHeaders.IF_NONE_MATCH)).andReturn(etag);
+
+        HttpServletResponse res = createMock(HttpServletResponse.class);
+        res.setHeader(eq(HttpHeaders.CACHE_CONTROL), anyString());
+        res.setHeader(HttpHeaders.ETAG, etag);
+        res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        expectLastCall();
+
+        replay(req, res);
+
+        new IconService(cat).handleRequestInternal(req, res);
+        verify(res);
+    }
+
     @SuppressWarnings("PMD.CloseResource")
-    void dispatch(String path, String q, Catalog cat) throws Exception {
+    String dispatch(String path, String q, Catalog cat) throws Exception {
         HttpServletRequest req = createNiceMock(HttpServletRequest.class);
         expect(req.getPathInfo()).andReturn(path);
         expect(req.getQueryString()).andReturn(q);
@@ -80,6 +125,9 @@ void dispatch(String path, String q, Catalog cat) throws Exception {
 
         HttpServletResponse res = createMock(HttpServletResponse.class);
         expect(res.getOutputStream()).andReturn(out).anyTimes();
+        res.setHeader(eq(HttpHeaders.CACHE_CONTROL), startsWith("public, max-age="));
+        Capture<String> etag = Capture.newInstance();
+        res.setHeader(eq(HttpHeaders.ETAG), capture(etag));
         res.setContentType("image/png");
         expectLastCall();
 
@@ -90,5 +138,7 @@ void dispatch(String path, String q, Catalog cat) throws Exception {
 
         verify(cat);
         verify(res);
+
+        return etag.getValue();
     }
 }
@@ -60,6 +60,7 @@
 import org.geotools.image.util.ImageUtilities;
 import org.geotools.referencing.CRS;
 import org.geotools.renderer.lite.RendererUtilities;
+import org.geotools.styling.StyleBuilder;
 import org.geotools.xml.styling.SLDParser;
 import org.junit.Assume;
 import org.junit.Before;
@@ -1424,6 +1425,41 @@ public void testRecode() throws Exception {
         assertColorSimilar(new Color(0, 255, 255), getPixelColor(image, 8, 48), 0);
     }
 
+    @Test
+    public void testManyRules() throws Exception {
+        // enough rules to have their samples painted in parallel
+        StyleBuilder sb = new StyleBuilder();
+        int ruleCount = 32;
+        Rule[] rules = new Rule[ruleCount];
+        for (int i = 0; i < ruleCount; i++) {
+            rules[i] = sb.createRule(sb.createPolygonSymbolizer(new Color(i * 8, 0, 255 - i * 8)));
+        }
+        Style style = sb.createStyle();
+        style.featureTypeStyles().add(sb.createFeatureTypeStyle("Feature", rules));
+
+        GetLegendGraphicRequest req = new GetLegendGraphicRequest(null);
+        req.setWidth(20);
+        req.setHeight(20);
+        FeatureTypeInfo ftInfo = getCatalog()
+                .getFeatureTypeByName(
+                        MockData.BASIC_POLYGONS.getNamespaceURI(), MockData.BASIC_POLYGONS.getLocalPart());
+        req.setLayer(ftInfo.getFeatureType());
+        req.setStyle(style);
+
+        BufferedImageLegendGraphicBuilder.clearRuleIconCache();
+        BufferedImage image = this.legendProducer.buildLegendGraphic(req);
+        assertEquals(20 * ruleCount, image.getHeight());
+        // samples are stacked in rule order
+        for (int i = 0; i < ruleCount; i++) {
+            assertColorSimilar(new Color(i * 8, 0, 255 - i * 8), getPixelColor(image, 10, 10 + 20 * i), 0);
+        }
+
+        // the static samples are cached, and reused by the next request
+        assertEquals(ruleCount, BufferedImageLegendGraphicBuilder.RULE_ICONS.size());
+        BufferedImage cached = this.legendProducer.buildLegendGraphic(req);
+        ImageAssert.assertEquals(image, cached, 0);
+    }
+
     /** */
     private Style readSLD(String sldName) throws IOException {
         StyleFactory styleFactory = CommonFactoryFinder.getStyleFactory(null);
@@ -0,0 +1,59 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import org.junit.Test;
+
+public class PaletteCacheTest {
+
+    static final IndexColorModel PALETTE = new IndexColorModel(
+            8,
+            3,
+            new byte[] {0, (byte) 255, 0},
+            new byte[] {0, 0, (byte) 255},
+            new byte[] {0, 0, 0},
+            new byte[] {0, (byte) 255, (byte) 255});
+
+    @Test
+    public void testMatchingColors() {
+        BufferedImage image = paint(new Color(250, 2, 0), new Color(0, 255, 5));
+        assertTrue(PaletteCache.matches(PALETTE, image, true));
+        assertTrue(PaletteCache.matches(PALETTE, image, false));
+    }
+
+    @Test
+    public void testNewColors() {
+        BufferedImage image = paint(Color.RED, Color.BLUE);
+        assertFalse(PaletteCache.matches(PALETTE, image, true));
+        assertFalse(PaletteCache.matches(PALETTE, image, false));
+    }
+
+    @Test
+    public void testTranslucentPixels() {
+        BufferedImage image = paint(Color.RED, new Color(0, 255, 0, 100));
+        // the bitmask inverter turns the translucent pixels into transparent ones
+        assertTrue(PaletteCache.matches(PALETTE, image, true));
+        // while translucent output needs a translucent entry
+        assertFalse(PaletteCache.matches(PALETTE, image, false));
+    }
+
+    BufferedImage paint(Color left, Color right) {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(left);
+        graphics.fillRect(0, 0, 128, 256);
+        graphics.setColor(right);
+        graphics.fillRect(128, 0, 128, 256);
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,105 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the throughput of the PNGJ based encoder with the parallel one, on a print resolution map. Not a real test,
+ * integrating JMH with JUnit just provides an easy way to run the benchmark from the IDE.
+ */
+@Ignore
+public class PNGEncodingBenchmarkTest {
+
+    @Test
+    public void runBenchmark() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PNGEncodingBenchmark.class.getSimpleName() + ".*")
+                .result("./target/png-benchmark-results.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @Fork(1)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public static class PNGEncodingBenchmark {
+
+        @State(Scope.Benchmark)
+        public static class EncodingState {
+
+            @Param({"2048", "4096"})
+            int size;
+
+            BufferedImage image;
+
+            ExecutorService executor;
+
+            @Setup
+            public void setup() {
+                // a vector map like image, with translucent antialiased lines
+                image = new BufferedImage(size, size, BufferedImage.TYPE_4BYTE_ABGR);
+                Graphics2D graphics = image.createGraphics();
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.setStroke(new BasicStroke(3));
+                Random random = new Random(0);
+                for (int i = 0; i < size; i++) {
+                    graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 200));
+                    graphics.drawLine(
+                            random.nextInt(size), random.nextInt(size), random.nextInt(size), random.nextInt(size));
+                }
+                graphics.dispose();
+                executor = Executors.newCachedThreadPool();
+            }
+
+            @TearDown
+            public void tearDown() {
+                executor.shutdown();
+            }
+        }
+
+        @Benchmark
+        public int pngj(EncodingState state) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            new PNGJWriter().writePNG(state.image, bos, 0.75f, null);
+            return bos.size();
+        }
+
+        @Benchmark
+        public int parallel(EncodingState state) throws Exception {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            new ParallelPNGWriter(state.executor, Runtime.getRuntime().availableProcessors())
+                    .writePNG(state.image, bos, 0.75f);
+            return bos.size();
+        }
+    }
+}
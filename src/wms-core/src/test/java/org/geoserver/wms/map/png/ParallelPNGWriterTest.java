@@ -0,0 +1,115 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+import javax.imageio.ImageIO;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelPNGWriterTest {
+
+    static ExecutorService executor;
+
+    @BeforeClass
+    public static void setupExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRoundTripABGR() throws Exception {
+        assertRoundTrip(BufferedImage.TYPE_4BYTE_ABGR);
+    }
+
+    @Test
+    public void testRoundTripIntARGB() throws Exception {
+        assertRoundTrip(BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Test
+    public void testRoundTripRGB() throws Exception {
+        assertRoundTrip(BufferedImage.TYPE_3BYTE_BGR);
+    }
+
+    @Test
+    public void testRoundTripGray() throws Exception {
+        assertRoundTrip(BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    @Test
+    public void testRoundTripPalette() throws Exception {
+        assertRoundTrip(BufferedImage.TYPE_BYTE_INDEXED);
+    }
+
+    @Test
+    public void testUnsupported() {
+        assertFalse(ParallelPNGWriter.isSupported(new BufferedImage(10, 10, BufferedImage.TYPE_USHORT_GRAY)));
+        assertFalse(ParallelPNGWriter.isSupported(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB_PRE)));
+        assertFalse(ParallelPNGWriter.isSupported(new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_BINARY)));
+    }
+
+    @Test
+    public void testCombineAdler32() {
+        byte[] data = new byte[100_000];
+        new Random(0).nextBytes(data);
+        Adler32 all = new Adler32();
+        all.update(data);
+        Adler32 head = new Adler32();
+        head.update(data, 0, 30_000);
+        Adler32 tail = new Adler32();
+        tail.update(data, 30_000, 70_000);
+        assertEquals(all.getValue(), ParallelPNGWriter.combineAdler32(head.getValue(), tail.getValue(), 70_000));
+    }
+
+    private void assertRoundTrip(int type) throws Exception {
+        // large enough to be split in several blocks
+        int width = 1024;
+        int height = 700;
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, new Color(255, 0, 0, 40), width, height, new Color(0, 0, 255, 220)));
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.GREEN);
+        graphics.fillOval(100, 100, 600, 400);
+        graphics.dispose();
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            image.setRGB(random.nextInt(width), random.nextInt(height), random.nextInt());
+        }
+        assertTrue(ParallelPNGWriter.isSupported(image));
+        assertTrue(ParallelPNGWriter.isWorthSplitting(image));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new ParallelPNGWriter(executor, 4).writePNG(image, bos, 0.75f);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(bos.toByteArray()));
+
+        assertEquals(width, decoded.getWidth());
+        assertEquals(height, decoded.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertEquals("Pixel " + x + "," + y, image.getRGB(x, y), decoded.getRGB(x, y));
+            }
+        }
+    }
+}
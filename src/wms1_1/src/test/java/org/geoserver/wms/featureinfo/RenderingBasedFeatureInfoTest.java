@@ -46,6 +46,7 @@
 import org.geotools.renderer.lite.RendererUtilities;
 import org.junit.After;
 import org.junit.Test;
+import org.kordamp.json.JSONArray;
 import org.kordamp.json.JSONObject;
 import org.locationtech.jts.geom.Envelope;
 
@@ -118,6 +119,7 @@ protected void onSetUp(SystemTestData testData) throws Exception {
     @After
     public void cleanup() {
         VectorRenderingLayerIdentifier.RENDERING_FEATUREINFO_ENABLED = true;
+        VectorRenderingLayerIdentifier.ANALYTIC_FEATUREINFO_ENABLED = false;
         // make sure GetFeatureInfo is not deactivated (this will only update the global service)
         WMSInfo wms = getGeoServer().getService(WMSInfo.class);
         wms.setFeaturesReprojectionDisabled(false);
@@ -566,4 +568,62 @@ public void testGeomFunction() throws Exception {
         // print(result);
         assertEquals(1, result.getJSONArray("features").size());
     }
+
+    @Test
+    public void testAnalytic() throws Exception {
+        String bridges = "wms?REQUEST=GetFeatureInfo&BBOX=0.000196%2C0.000696%2C0.000204%2C0.000704"
+                + "&SERVICE=WMS&INFO_FORMAT=application/json&QUERY_LAYERS=cite%3ABridges&Layers=cite%3ABridges"
+                + "&WIDTH=100&HEIGHT=100&format=image%2Fpng&srs=EPSG%3A4326&version=1.1.1&feature_count=50";
+        String forests = "wms?version=1.1.1&bbox=-0.002,-0.002,0.002,0.002&format=image/png"
+                + "&request=GetFeatureInfo&layers="
+                + getLayerId(MockData.FORESTS)
+                + "&query_layers="
+                + getLayerId(MockData.FORESTS)
+                + "&transparent=true&srs=EPSG:4326&width=20&height=20&x=10&y=10"
+                + "&info_format=application/json&feature_count=50";
+
+        // the geometric model must give the same answers as the rendering based identification
+        // small symbol painted, large one in the inactive rule
+        assertAnalyticFeatures(0, bridges + "&styles=ranged&x=49&y=65");
+        // attribute dependent size, click on the mark and around it
+        assertAnalyticFeatures(1, bridges + "&styles=dynamic&x=49&y=60");
+        assertAnalyticFeatures(1, bridges + "&styles=dynamic&x=54&y=50&buffer=10");
+        // the 22 pixels mark covers 39 to 61 on both axes, the buffer reaches it from a few pixels away
+        assertAnalyticFeatures(1, bridges + "&styles=dynamic&x=63&y=50&buffer=5");
+        assertAnalyticFeatures(0, bridges + "&styles=dynamic&x=69&y=50&buffer=5");
+        assertAnalyticFeatures(1, bridges + "&styles=dynamic&x=50&y=36&buffer=5");
+        assertAnalyticFeatures(0, bridges + "&styles=dynamic&x=50&y=31&buffer=5");
+        // close to the corner the shape of the search area matters, whatever it is it has to be the same
+        assertSameFeatures(bridges + "&styles=dynamic&x=65&y=65&buffer=5");
+        assertSameFeatures(bridges + "&styles=dynamic&x=34&y=34&buffer=5");
+        // uom rescaled symbol
+        assertAnalyticFeatures(1, bridges + "&styles=symbol-uom&x=49&y=60");
+        // two rules matching the same feature
+        assertAnalyticFeatures(1, forests + "&styles=two-rules");
+        // rendering transformations cannot be modeled, and are rendered instead
+        assertAnalyticFeatures(1, forests + "&styles=transform");
+    }
+
+    /** Checks the analytic identification finds the expected number of features, the same as the rendering one */
+    private void assertAnalyticFeatures(int expected, String url) throws Exception {
+        List<String> analytic = getFeatureIds(url, true);
+        assertEquals(url, expected, analytic.size());
+        assertEquals(url, getFeatureIds(url, false), analytic);
+    }
+
+    /** Checks the analytic and rendering based identifications find the same features */
+    private void assertSameFeatures(String url) throws Exception {
+        assertEquals(url, getFeatureIds(url, false), getFeatureIds(url, true));
+    }
+
+    private List<String> getFeatureIds(String url, boolean analytic) throws Exception {
+        VectorRenderingLayerIdentifier.ANALYTIC_FEATUREINFO_ENABLED = analytic;
+        JSONArray features = ((JSONObject) getAsJSON(url)).getJSONArray("features");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < features.size(); i++) {
+            ids.add(features.getJSONObject(i).getString("id"));
+        }
+        Collections.sort(ids);
+        return ids;
+    }
 }
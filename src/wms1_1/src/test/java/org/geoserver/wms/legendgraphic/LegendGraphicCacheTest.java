@@ -0,0 +1,99 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.legendgraphic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.data.test.MockData;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wms.WMSTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class LegendGraphicCacheTest extends WMSTestSupport {
+
+    static final String LEGEND_PATH = "wms?service=WMS&version=1.1.1&request=GetLegendGraphic"
+            + "&format=image/png&width=20&height=20&layer=";
+
+    LegendGraphicCache cache;
+
+    @Before
+    public void enableCache() {
+        cache = GeoServerExtensions.bean(LegendGraphicCache.class);
+        cache.setEnabled(true);
+    }
+
+    @After
+    public void disableCache() {
+        cache.setEnabled(false);
+    }
+
+    @Test
+    public void testCacheAndETag() throws Exception {
+        String path = LEGEND_PATH + getLayerId(MockData.BASIC_POLYGONS);
+
+        // first request, get the etag
+        MockHttpServletResponse response = dispatch(createGetRequestWithHeaders(path));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("image/png", response.getContentType());
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        byte[] contents = response.getContentAsByteArray();
+        assertEquals(1, cache.size());
+
+        // second request, served from the cache, same contents
+        response = dispatch(createGetRequestWithHeaders(path));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("image/png", response.getContentType());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(contents, response.getContentAsByteArray());
+        assertEquals(1, cache.size());
+
+        // conditional request, not modified
+        response = dispatch(createGetRequestWithHeaders(path, HttpHeaders.IF_NONE_MATCH, etag));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+    }
+
+    @Test
+    public void testInvalidateOnStyleChange() throws Exception {
+        String path = LEGEND_PATH + getLayerId(MockData.BASIC_POLYGONS);
+        dispatch(createGetRequestWithHeaders(path));
+        dispatch(createGetRequestWithHeaders(LEGEND_PATH + getLayerId(MockData.LAKES)));
+        assertEquals(2, cache.size());
+
+        // modifying the style only drops the legends using it
+        StyleInfo style = getCatalog().getLayerByName(getLayerId(MockData.BASIC_POLYGONS)).getDefaultStyle();
+        getCatalog().save(style);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testFeatureCountNotCached() throws Exception {
+        String path = LEGEND_PATH + getLayerId(MockData.BASIC_POLYGONS) + "&legend_options=countMatched:true";
+        MockHttpServletResponse response = dispatch(createGetRequestWithHeaders(path));
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(0, cache.size());
+    }
+
+    MockHttpServletRequest createGetRequestWithHeaders(String path, String... headers) {
+        MockHttpServletRequest request = createRequest(path);
+        request.setMethod("GET");
+        request.setContent(new byte[] {});
+
+        for (int i = 0; i < headers.length - 1; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+
+        return request;
+    }
+}